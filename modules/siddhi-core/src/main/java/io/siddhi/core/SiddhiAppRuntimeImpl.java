@@ -62,6 +62,7 @@ import io.siddhi.core.util.parser.helper.QueryParserHelper;
 import io.siddhi.core.util.persistence.util.PersistenceHelper;
 import io.siddhi.core.util.snapshot.PersistenceReference;
 import io.siddhi.core.util.statistics.BufferedEventsTracker;
+import io.siddhi.core.util.statistics.EventBufferHolder;
 import io.siddhi.core.util.statistics.LatencyTracker;
 import io.siddhi.core.util.statistics.MemoryUsageTracker;
 import io.siddhi.core.util.statistics.metrics.Level;
@@ -175,6 +176,8 @@ public class SiddhiAppRuntimeImpl implements SiddhiAppRuntime {
             monitorBufferedEvents();
             onDemandQueryLatencyTracker = QueryParserHelper.createLatencyTracker(siddhiAppContext, "query",
                     SiddhiConstants.METRIC_INFIX_ON_DEMAND_QUERIES, null);
+            siddhiAppContext.getSnapshotService().setPauseLatencyTracker(QueryParserHelper.createLatencyTracker(
+                    siddhiAppContext, "snapshot", SiddhiConstants.METRIC_INFIX_SNAPSHOTS, "pause"));
         }
 
         for (Map.Entry<String, List<Sink>> sinkEntries : sinkMap.entrySet()) {
@@ -480,6 +483,9 @@ public class SiddhiAppRuntimeImpl implements SiddhiAppRuntime {
                 }
                 for (List<Sink> sinks : sinkMap.values()) {
                     for (Sink sink : sinks) {
+                        if (sink.getAsyncPublisher() != null) {
+                            sink.getAsyncPublisher().startProcessing();
+                        }
                         sink.connectWithRetry();
                     }
                 }
@@ -489,6 +495,9 @@ public class SiddhiAppRuntimeImpl implements SiddhiAppRuntime {
                 for (StreamJunction streamJunction : streamJunctionMap.values()) {
                     streamJunction.startProcessing();
                 }
+                for (PartitionRuntime partitionRuntime : partitionMap.values()) {
+                    ((PartitionRuntimeImpl) partitionRuntime).start();
+                }
                 if (incrementalDataPurging) {
                     for (AggregationRuntime aggregationRuntime : aggregationMap.values()) {
                         aggregationRuntime.startPurging();
@@ -637,6 +646,9 @@ public class SiddhiAppRuntimeImpl implements SiddhiAppRuntime {
                 for (StreamJunction streamJunction : streamJunctionMap.values()) {
                     streamJunction.stopProcessing();
                 }
+                for (PartitionRuntime partitionRuntime : partitionMap.values()) {
+                    ((PartitionRuntimeImpl) partitionRuntime).stop();
+                }
                 try {
                     Thread.sleep(1000);
                 } catch (InterruptedException e) {
@@ -689,7 +701,7 @@ public class SiddhiAppRuntimeImpl implements SiddhiAppRuntime {
             sourceMap.values().forEach(list -> list.forEach(Source::pause));
             // take snapshots of execution units
             if (siddhiAppContext.getSiddhiContext().getPersistenceStore() != null) {
-                return PersistenceHelper.persist(siddhiAppContext.getSnapshotService().fullSnapshot(),
+                return PersistenceHelper.persist(siddhiAppContext.getSnapshotService().captureFullSnapshot(),
                         siddhiAppContext);
             } else {
                 return PersistenceHelper.persist(siddhiAppContext.getSnapshotService().incrementalSnapshot(),
@@ -806,16 +818,31 @@ public class SiddhiAppRuntimeImpl implements SiddhiAppRuntime {
                 registerForBufferedEvents(streamJunctionEntry);
             }
         }
+        for (String streamId : sinkMap.keySet()) {
+            int sinkIndex = 0;
+            for (Sink<?> sink : sinkMap.get(streamId)) {
+                if (sink.getAsyncPublisher() != null) {
+                    registerForBufferedEvents(sink.getAsyncPublisher(), SiddhiConstants.METRIC_INFIX_SINKS,
+                            streamId + SiddhiConstants.METRIC_DELIMITER + sink.getType() +
+                                    (sinkIndex > 0 ? SiddhiConstants.METRIC_DELIMITER + sinkIndex : ""));
+                }
+                sinkIndex++;
+            }
+        }
     }
 
     private void registerForBufferedEvents(Map.Entry<String, StreamJunction> entry) {
-        if (entry.getValue().containsBufferedEvents()) {
+        registerForBufferedEvents(entry.getValue(), SiddhiConstants.METRIC_INFIX_STREAMS, entry.getKey());
+    }
+
+    private void registerForBufferedEvents(EventBufferHolder eventBufferHolder, String metricInfix, String name) {
+        if (eventBufferHolder.containsBufferedEvents()) {
             String metricName = siddhiAppContext.getSiddhiContext().getStatisticsConfiguration().getMetricPrefix() +
                     SiddhiConstants.METRIC_DELIMITER + SiddhiConstants.METRIC_INFIX_SIDDHI_APPS +
                     SiddhiConstants.METRIC_DELIMITER + getName() + SiddhiConstants.METRIC_DELIMITER +
                     SiddhiConstants.METRIC_INFIX_SIDDHI + SiddhiConstants.METRIC_DELIMITER +
-                    SiddhiConstants.METRIC_INFIX_STREAMS + SiddhiConstants.METRIC_DELIMITER +
-                    entry.getKey() + SiddhiConstants.METRIC_DELIMITER + "size";
+                    metricInfix + SiddhiConstants.METRIC_DELIMITER +
+                    name + SiddhiConstants.METRIC_DELIMITER + "size";
             boolean matchExist = false;
             for (String regex : siddhiAppContext.getIncludedMetrics()) {
                 if (metricName.matches(regex)) {
@@ -824,7 +851,7 @@ public class SiddhiAppRuntimeImpl implements SiddhiAppRuntime {
                 }
             }
             if (matchExist) {
-                bufferedEventsTracker.registerEventBufferHolder(entry.getValue(), metricName);
+                bufferedEventsTracker.registerEventBufferHolder(eventBufferHolder, metricName);
             }
         }
     }
@@ -31,6 +31,9 @@ import io.siddhi.core.util.parser.SiddhiAppParser;
 import io.siddhi.core.util.persistence.InMemoryPersistenceStore;
 import io.siddhi.core.util.persistence.IncrementalPersistenceStore;
 import io.siddhi.core.util.persistence.PersistenceStore;
+import io.siddhi.core.util.snapshot.serializer.BinaryStateSerializer;
+import io.siddhi.core.util.snapshot.serializer.JavaStateSerializer;
+import io.siddhi.core.util.snapshot.serializer.StateSerializer;
 import io.siddhi.query.api.SiddhiApp;
 import io.siddhi.query.api.definition.StreamDefinition;
 import io.siddhi.query.api.definition.TableDefinition;
@@ -169,6 +172,16 @@ public class SiddhiManager {
         this.siddhiContext.setPersistenceStore(persistenceStore);
     }
 
+    /**
+     * Method to set the serializer used to convert the snapshots of the Siddhi Apps to bytes.
+     * {@link JavaStateSerializer} is the default, and {@link BinaryStateSerializer} provides a compact binary format.
+     *
+     * @param stateSerializer State Serializer implementation to be used.
+     */
+    public void setStateSerializer(StateSerializer stateSerializer) {
+        this.siddhiContext.setStateSerializer(stateSerializer);
+    }
+
     /**
      * Method to set error store for the Siddhi Manager instance.
      *
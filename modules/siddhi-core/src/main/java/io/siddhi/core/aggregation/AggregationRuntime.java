@@ -690,7 +690,7 @@ public class AggregationRuntime implements MemoryCalculable {
                 withinInMemoryCompileCondition, withinTableLowerGranularityCompileCondition, onCompiledCondition,
                 additionalAttributes, perExpressionExecutor, startTimeEndTimeExpressionExecutor,
                 timestampFilterExecutors, aggregateMetaSteamEvent, matchingMetaInfoHolder,
-                metaInfoHolderForTableLookups, variableExpExecutorsForTableLookups);
+                metaInfoHolderForTableLookups, variableExpExecutorsForTableLookups, !shouldApplyReducedCondition);
 
     }
 
@@ -59,15 +59,19 @@ public class BaseIncrementalValueStore {
         this.shouldUpdateTimestamp = shouldUpdateTimestamp;
         this.streamEventFactory = streamEventFactory;
 
-        if (!local) {
-            this.valueStateHolder = siddhiQueryContext.generateStateHolder(aggregatorName + "-" +
-                    this.getClass().getName() + "-value", groupBy, () -> new ValueState());
-            this.storeStateHolder = siddhiQueryContext.generateStateHolder(aggregatorName + "-" +
-                    this.getClass().getName(), false, () -> new StoreState());
-        } else {
-            this.valueStateHolder = new PartitionSyncStateHolder(() -> new ValueState());
-            this.storeStateHolder = new SingleSyncStateHolder(() -> new StoreState());
-        }
+        // State holders are not generic, and hold the states created by the given factories
+        @SuppressWarnings("unchecked")
+        StateHolder<ValueState> valueStateHolder = !local ?
+                siddhiQueryContext.generateStateHolder(aggregatorName + "-" + this.getClass().getName() + "-value",
+                        groupBy, () -> new ValueState()) :
+                new PartitionSyncStateHolder(() -> new ValueState());
+        @SuppressWarnings("unchecked")
+        StateHolder<StoreState> storeStateHolder = !local ?
+                siddhiQueryContext.generateStateHolder(aggregatorName + "-" + this.getClass().getName(),
+                        false, () -> new StoreState()) :
+                new SingleSyncStateHolder(() -> new StoreState());
+        this.valueStateHolder = valueStateHolder;
+        this.storeStateHolder = storeStateHolder;
     }
 
     public synchronized void clearValues(long startTimeOfNewAggregates, StreamEvent resetEvent) {
@@ -121,15 +125,17 @@ public class BaseIncrementalValueStore {
         Map<String, StreamEvent> groupedByEvents = new HashMap<>();
 
         if (isProcessed()) {
-            Map<String, ValueState> baseIncrementalValueStoreMap = this.valueStateHolder.getAllGroupByStates();
+            Map<Object, ValueState> baseIncrementalValueStoreMap = this.valueStateHolder.getAllGroupByStates();
             try {
-                for (Map.Entry<String, ValueState> state : baseIncrementalValueStoreMap.entrySet()) {
+                for (Map.Entry<Object, ValueState> state : baseIncrementalValueStoreMap.entrySet()) {
                     StreamEvent streamEvent = streamEventFactory.newInstance();
                     long timestamp = getTimestamp();
                     streamEvent.setTimestamp(timestamp);
-                    state.getValue().setValue(timestamp, 0);
-                    streamEvent.setOutputData(state.getValue().values);
-                    groupedByEvents.put(state.getKey(), streamEvent);
+                    synchronized (state.getValue()) {
+                        state.getValue().setValue(timestamp, 0);
+                        streamEvent.setOutputData(state.getValue().values.clone());
+                    }
+                    groupedByEvents.put((String) state.getKey(), streamEvent);
                 }
             } finally {
                 this.valueStateHolder.returnGroupByStates(baseIncrementalValueStoreMap);
@@ -138,19 +144,28 @@ public class BaseIncrementalValueStore {
         return groupedByEvents;
     }
 
-    public synchronized void process(StreamEvent streamEvent) {
+    /**
+     * Aggregates the event into the values of its group. Only the values of the same group are locked, hence events
+     * of different groups can be processed in parallel, while clearing and retrieving values are done exclusively
+     * by the caller.
+     *
+     * @param streamEvent event to be aggregated
+     */
+    public void process(StreamEvent streamEvent) {
         ValueState state = valueStateHolder.getState();
         try {
-            boolean shouldUpdate = true;
-            if (shouldUpdateTimestamp != null) {
-                shouldUpdate = shouldUpdate(shouldUpdateTimestamp.execute(streamEvent), state);
-            }
-            for (int i = 0; i < expressionExecutors.size(); i++) { // keeping timestamp value location as null
-                ExpressionExecutor expressionExecutor = expressionExecutors.get(i);
-                if (shouldUpdate) {
-                    state.setValue(expressionExecutor.execute(streamEvent), i + 1);
-                } else if (!(expressionExecutor instanceof VariableExpressionExecutor)) {
-                    state.setValue(expressionExecutor.execute(streamEvent), i + 1);
+            synchronized (state) {
+                boolean shouldUpdate = true;
+                if (shouldUpdateTimestamp != null) {
+                    shouldUpdate = shouldUpdate(shouldUpdateTimestamp.execute(streamEvent), state);
+                }
+                for (int i = 0; i < expressionExecutors.size(); i++) { // keeping timestamp value location as null
+                    ExpressionExecutor expressionExecutor = expressionExecutors.get(i);
+                    if (shouldUpdate) {
+                        state.setValue(expressionExecutor.execute(streamEvent), i + 1);
+                    } else if (!(expressionExecutor instanceof VariableExpressionExecutor)) {
+                        state.setValue(expressionExecutor.execute(streamEvent), i + 1);
+                    }
                 }
             }
             setProcessed(true);
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.aggregation;
+
+import io.siddhi.core.event.ComplexEventChunk;
+import io.siddhi.core.event.stream.StreamEvent;
+import io.siddhi.core.event.stream.StreamEventCloner;
+import io.siddhi.query.api.aggregation.TimePeriod;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Cache of the aggregates read from the duration tables of an incremental aggregation, for buckets that are closed.
+ * Closed buckets are not updated anymore, hence repeated reads of the same within range only need to read the buckets
+ * that were closed after the last read. Per duration, a contiguous range of buckets starting at the start time of
+ * the last read is cached.
+ * Only buckets read through {@link io.siddhi.core.table.Table#find} are cached. Optimised lookups of queryable
+ * stores aggregate the buckets within the store itself, hence they always query the store.
+ */
+public class ClosedBucketCache {
+    static final int MAX_CACHED_EVENTS = 100000;
+
+    private final int timestampPosition;
+    private final StreamEventCloner streamEventCloner;
+    private final Map<TimePeriod.Duration, CachedBuckets> cachedBucketsMap = new EnumMap<>(TimePeriod.Duration.class);
+
+    /**
+     * @param timestampPosition position of the bucket start time in the output data of the events read
+     * @param streamEventCloner cloner of the events read from the tables
+     */
+    public ClosedBucketCache(int timestampPosition, StreamEventCloner streamEventCloner) {
+        this.timestampPosition = timestampPosition;
+        this.streamEventCloner = streamEventCloner;
+    }
+
+    /**
+     * Returns the time until which buckets starting from the given start time are cached.
+     *
+     * @param duration  duration of the buckets
+     * @param startTime start time of the read
+     * @return end of the cached range, or the start time when no buckets are cached
+     */
+    public long getCachedUntil(TimePeriod.Duration duration, long startTime) {
+        CachedBuckets cachedBuckets = cachedBucketsMap.get(duration);
+        if (cachedBuckets != null && cachedBuckets.startTime <= startTime && startTime < cachedBuckets.cachedUntil) {
+            return cachedBuckets.cachedUntil;
+        }
+        return startTime;
+    }
+
+    /**
+     * Adds copies of the cached events of buckets within the given range to the chunk.
+     *
+     * @param duration   duration of the buckets
+     * @param startTime  start of the range, inclusive
+     * @param endTime    end of the range, exclusive
+     * @param eventChunk chunk the events are added to
+     */
+    public void addCachedEvents(TimePeriod.Duration duration, long startTime, long endTime,
+                                ComplexEventChunk<StreamEvent> eventChunk) {
+        CachedBuckets cachedBuckets = cachedBucketsMap.get(duration);
+        if (cachedBuckets == null || startTime >= endTime) {
+            return;
+        }
+        for (List<StreamEvent> events : cachedBuckets.buckets.subMap(startTime, endTime).values()) {
+            for (StreamEvent event : events) {
+                eventChunk.add(streamEventCloner.copyStreamEvent(event));
+            }
+        }
+    }
+
+    /**
+     * Caches the closed buckets of the events read from the table, which were read from the time until which the
+     * buckets were already cached.
+     *
+     * @param duration    duration of the buckets
+     * @param startTime   start time of the read
+     * @param readFrom    time from which the events were read, as returned by {@link #getCachedUntil}
+     * @param closedUntil time before which all the buckets were known to be closed and persisted before the read
+     * @param events      events read from the table
+     */
+    public void cacheEvents(TimePeriod.Duration duration, long startTime, long readFrom, long closedUntil,
+                            StreamEvent events) {
+        CachedBuckets cachedBuckets = cachedBucketsMap.get(duration);
+        if (readFrom == startTime) {
+            cachedBucketsMap.remove(duration);
+            if (closedUntil <= startTime) {
+                return;
+            }
+            cachedBuckets = new CachedBuckets(startTime);
+        } else if (startTime > cachedBuckets.startTime) {
+            // The range moves forward when the same relative range is read repeatedly
+            cachedBuckets.evictBefore(startTime);
+        }
+        if (closedUntil > readFrom) {
+            for (StreamEvent event = events; event != null; event = event.getNext()) {
+                Object timestamp = event.getOutputData()[timestampPosition];
+                if (!(timestamp instanceof Long)) {
+                    cachedBucketsMap.remove(duration);
+                    return;
+                }
+                if ((Long) timestamp >= readFrom && (Long) timestamp < closedUntil) {
+                    cachedBuckets.add((Long) timestamp, streamEventCloner.copyStreamEvent(event));
+                }
+            }
+            cachedBuckets.cachedUntil = closedUntil;
+        }
+        if (cachedBuckets.size > MAX_CACHED_EVENTS) {
+            cachedBucketsMap.remove(duration);
+        } else {
+            cachedBucketsMap.put(duration, cachedBuckets);
+        }
+    }
+
+    private static class CachedBuckets {
+        private final TreeMap<Long, List<StreamEvent>> buckets = new TreeMap<>();
+        private long startTime;
+        private long cachedUntil;
+        private int size;
+
+        private CachedBuckets(long startTime) {
+            this.startTime = startTime;
+            this.cachedUntil = startTime;
+        }
+
+        private void add(long timestamp, StreamEvent event) {
+            buckets.computeIfAbsent(timestamp, k -> new ArrayList<>()).add(event);
+            size++;
+        }
+
+        private void evictBefore(long startTime) {
+            Map<Long, List<StreamEvent>> evicted = buckets.headMap(startTime);
+            for (List<StreamEvent> events : evicted.values()) {
+                size -= events.size();
+            }
+            evicted.clear();
+            this.startTime = startTime;
+        }
+    }
+}
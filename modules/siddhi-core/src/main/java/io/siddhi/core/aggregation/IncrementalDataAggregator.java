@@ -145,7 +145,7 @@ public class IncrementalDataAggregator {
 
     private synchronized ComplexEventChunk<StreamEvent> getProcessedEventChunk() {
         ComplexEventChunk<StreamEvent> streamEventChunk = new ComplexEventChunk<>();
-        Map<String, State> valueStoreMap = this.valueStateHolder.getAllGroupByStates();
+        Map<Object, State> valueStoreMap = this.valueStateHolder.getAllGroupByStates();
         try {
             for (State aState : valueStoreMap.values()) {
                 ValueState state = (ValueState) aState;
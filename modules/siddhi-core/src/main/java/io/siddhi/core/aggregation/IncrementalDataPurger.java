@@ -255,6 +255,7 @@ public class IncrementalDataPurger implements Runnable {
                                         " retention of timestamp : " + purgeTime);
                             }
                             table.deleteEvents(eventChunk, compiledConditionsHolder.get(duration), 1);
+                            notifyPurged(duration, purgeTime);
                         } catch (RuntimeException e) {
                             LOG.error("Exception occurred while deleting events from " +
                                     table.getTableDefinition().getId() + " table", e);
@@ -277,6 +278,23 @@ public class IncrementalDataPurger implements Runnable {
         }
     }
 
+    /**
+     * Letting the incremental executor of the duration know which buckets were purged
+     **/
+    private void notifyPurged(TimePeriod.Duration duration, long purgeTime) {
+        AggregationRuntime aggregationRuntime = aggregationMap.get(aggregationDefinition.getId());
+        if (aggregationRuntime == null) {
+            return;
+        }
+        Map<TimePeriod.Duration, Executor> incrementalExecutorMap =
+                aggregationRuntime.getAggregationDurationExecutorMap().get(aggregationDefinition.getId());
+        Executor executor = incrementalExecutorMap == null ? null : incrementalExecutorMap.get(duration);
+        if (executor instanceof IncrementalExecutor) {
+            // Cached table reads should no longer return the purged buckets
+            ((IncrementalExecutor) executor).setPurgedBefore(purgeTime);
+        }
+    }
+
     /**
      * Building the MatchingMetaInfoHolder for delete records
      **/
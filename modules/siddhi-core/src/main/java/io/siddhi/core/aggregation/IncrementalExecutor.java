@@ -42,7 +42,9 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * Incremental executor class which is responsible for performing incremental aggregation.
@@ -56,11 +58,17 @@ public class IncrementalExecutor implements Executor {
     private final StateHolder<ExecutorState> stateHolder;
     private final String siddhiAppName;
     private final Lock lock = new ReentrantLock();
+    // Held shared while aggregating into the current bucket and exclusively while rolling over to the next bucket
+    private final ReadWriteLock bucketLock = new ReentrantReadWriteLock();
     boolean waitUntillprocessFinish = false;
     private TimePeriod.Duration duration;
     private Table table;
     private boolean isRoot;
     private boolean isProcessingExecutor;
+    private boolean isConcurrent;
+    // Buckets starting before this are fully written to the table, and the ones before purgedBefore are purged
+    private volatile long persistedUntil = -1;
+    private volatile long purgedBefore = -1;
     private Executor next;
     private GroupByKeyGenerator groupByKeyGenerator;
     private StreamEventFactory streamEventFactory;
@@ -108,7 +116,7 @@ public class IncrementalExecutor implements Executor {
     }
 
     @Override
-    public synchronized void execute(ComplexEventChunk streamEventChunk) {
+    public void execute(ComplexEventChunk streamEventChunk) {
         if (LOG.isDebugEnabled()) {
             LOG.debug("Event Chunk received by " + this.duration + " incremental executor: " +
                     streamEventChunk.toString());
@@ -119,18 +127,19 @@ public class IncrementalExecutor implements Executor {
             streamEventChunk.remove();
             ExecutorState executorState = stateHolder.getState();
             try {
-                long timestamp = getTimestamp(streamEvent, executorState);
-                long startTime = executorState.startTimeOfAggregates;
-                executorState.startTimeOfAggregates = IncrementalTimeConverterUtil.getStartTimeOfAggregates(
-                        timestamp, duration, timeZone);
-                if (timestamp >= executorState.nextEmitTime) {
-                    executorState.nextEmitTime = IncrementalTimeConverterUtil.getNextEmitTime(
-                            timestamp, duration, timeZone);
-                    dispatchAggregateEvents(executorState.startTimeOfAggregates);
-                    sendTimerEvent(executorState);
-                }
-                if (streamEvent.getType() == ComplexEvent.Type.CURRENT) {
-                    processAggregates(streamEvent, executorState);
+                if (isConcurrent) {
+                    if (!processInCurrentBucket(streamEvent, executorState)) {
+                        bucketLock.writeLock().lock();
+                        try {
+                            process(streamEvent, executorState);
+                        } finally {
+                            bucketLock.writeLock().unlock();
+                        }
+                    }
+                } else {
+                    synchronized (this) {
+                        process(streamEvent, executorState);
+                    }
                 }
             } finally {
                 stateHolder.returnState(executorState);
@@ -138,6 +147,50 @@ public class IncrementalExecutor implements Executor {
         }
     }
 
+    private void process(StreamEvent streamEvent, ExecutorState executorState) {
+        long timestamp = getTimestamp(streamEvent, executorState);
+        executorState.startTimeOfAggregates = IncrementalTimeConverterUtil.getStartTimeOfAggregates(
+                timestamp, duration, timeZone);
+        if (timestamp >= executorState.nextEmitTime) {
+            executorState.nextEmitTime = IncrementalTimeConverterUtil.getNextEmitTime(
+                    timestamp, duration, timeZone);
+            dispatchAggregateEvents(executorState.startTimeOfAggregates);
+            sendTimerEvent(executorState);
+        }
+        if (streamEvent.getType() == ComplexEvent.Type.CURRENT) {
+            processAggregates(streamEvent, executorState);
+        }
+    }
+
+    /**
+     * Aggregates the event under the shared bucket lock, so that events of different groups are aggregated in
+     * parallel. Events that need a roll-over or a timer to be scheduled are left to be processed exclusively.
+     *
+     * @return whether the event was processed
+     */
+    private boolean processInCurrentBucket(StreamEvent streamEvent, ExecutorState executorState) {
+        if (streamEvent.getType() != ComplexEvent.Type.CURRENT) {
+            return false;
+        }
+        long timestamp = (long) timestampExpressionExecutor.execute(streamEvent);
+        bucketLock.readLock().lock();
+        try {
+            if ((isRoot && !executorState.timerStarted) || timestamp >= executorState.nextEmitTime) {
+                return false;
+            }
+            long startTimeOfAggregates = IncrementalTimeConverterUtil.getStartTimeOfAggregates(
+                    timestamp, duration, timeZone);
+            if (startTimeOfAggregates > executorState.startTimeOfAggregates) {
+                // Other events may be aggregated concurrently, hence the start time is only moved forward here
+                executorState.advanceStartTimeOfAggregates(startTimeOfAggregates);
+            }
+            processAggregates(streamEvent, executorState);
+            return true;
+        } finally {
+            bucketLock.readLock().unlock();
+        }
+    }
+
     private void sendTimerEvent(ExecutorState executorState) {
         if (getNextExecutor() != null) {
             StreamEvent timerEvent = streamEventFactory.newInstance();
@@ -178,18 +231,16 @@ public class IncrementalExecutor implements Executor {
     }
 
     private void processAggregates(StreamEvent streamEvent, ExecutorState executorState) {
-        synchronized (this) {
-            if (groupByKeyGenerator != null) {
-                try {
-                    String groupedByKey = groupByKeyGenerator.constructEventKey(streamEvent);
-                    SiddhiAppContext.startGroupByFlow(groupedByKey);
-                    baseIncrementalValueStore.process(streamEvent);
-                } finally {
-                    SiddhiAppContext.stopGroupByFlow();
-                }
-            } else {
+        if (groupByKeyGenerator != null) {
+            try {
+                String groupedByKey = groupByKeyGenerator.constructEventKey(streamEvent);
+                SiddhiAppContext.startGroupByFlow(groupedByKey);
                 baseIncrementalValueStore.process(streamEvent);
+            } finally {
+                SiddhiAppContext.stopGroupByFlow();
             }
+        } else {
+            baseIncrementalValueStore.process(streamEvent);
         }
     }
 
@@ -218,6 +269,7 @@ public class IncrementalExecutor implements Executor {
                 try {
                     executorService.execute(() -> {
                         table.addEvents(tableEventChunk, streamEventMap.size());
+                        persistedUntil = startTimeOfNewAggregates;
                         isProcessFinished.set(true);
                     });
                 } catch (Throwable t) {
@@ -274,14 +326,42 @@ public class IncrementalExecutor implements Executor {
         }
     }
 
+    /**
+     * Returns the start time of the bucket following the last bucket written to the table. Buckets starting before
+     * it are closed, hence their values in the table will not change unless purged.
+     *
+     * @return start time of the first bucket not known to be persisted, or -1 if nothing is persisted yet
+     */
+    public long getPersistedUntil() {
+        return persistedUntil;
+    }
+
+    public long getPurgedBefore() {
+        return purgedBefore;
+    }
+
+    public void setPurgedBefore(long purgedBefore) {
+        this.purgedBefore = purgedBefore;
+    }
+
     public void setProcessingExecutor(boolean processingExecutor) {
         isProcessingExecutor = processingExecutor;
     }
 
+    /**
+     * Enables aggregating events of different groups in parallel, when events are received from multiple threads.
+     * Roll-overs to the next bucket are still processed exclusively.
+     *
+     * @param concurrent whether events are aggregated concurrently
+     */
+    public void setConcurrent(boolean concurrent) {
+        isConcurrent = concurrent;
+    }
+
 
     class ExecutorState extends State {
         private long nextEmitTime = -1;
-        private long startTimeOfAggregates = -1;
+        private volatile long startTimeOfAggregates = -1;
         private boolean timerStarted = false;
         private boolean canDestroy = false;
 
@@ -309,5 +389,11 @@ public class IncrementalExecutor implements Executor {
         public void setCanDestroy(boolean canDestroy) {
             this.canDestroy = canDestroy;
         }
+
+        private synchronized void advanceStartTimeOfAggregates(long startTimeOfAggregates) {
+            if (startTimeOfAggregates > this.startTimeOfAggregates) {
+                this.startTimeOfAggregates = startTimeOfAggregates;
+            }
+        }
     }
 }
@@ -24,6 +24,7 @@ import io.siddhi.core.event.Event;
 import io.siddhi.core.event.stream.MetaStreamEvent;
 import io.siddhi.core.event.stream.StreamEvent;
 import io.siddhi.core.event.stream.StreamEventFactory;
+import io.siddhi.core.exception.SiddhiAppRuntimeException;
 import io.siddhi.core.query.OnDemandQueryRuntime;
 import io.siddhi.core.table.Table;
 import io.siddhi.core.util.IncrementalTimeConverterUtil;
@@ -36,9 +37,18 @@ import io.siddhi.query.api.execution.query.selection.OrderByAttribute;
 import io.siddhi.query.api.execution.query.selection.Selector;
 import io.siddhi.query.api.expression.Expression;
 import io.siddhi.query.api.expression.condition.Compare;
+import org.apache.log4j.Logger;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import static io.siddhi.core.util.SiddhiConstants.AGG_SHARD_ID_COL;
 import static io.siddhi.core.util.SiddhiConstants.AGG_START_TIMESTAMP_COL;
@@ -48,6 +58,10 @@ import static io.siddhi.core.util.SiddhiConstants.AGG_START_TIMESTAMP_COL;
  * This ensures that the aggregation calculations are done correctly in case of server restart
  */
 public class IncrementalExecutorsInitialiser {
+    private static final Logger LOG = Logger.getLogger(IncrementalExecutorsInitialiser.class);
+    private static final int RECOVERY_PAGE_SIZE = 10000;
+    private static final int RECOVERY_PREFETCH_PAGES = 2;
+
     private final List<TimePeriod.Duration> incrementalDurations;
     private final Map<TimePeriod.Duration, Table> aggregationTables;
     private final Map<TimePeriod.Duration, Executor> incrementalExecutorMap;
@@ -95,76 +109,194 @@ public class IncrementalExecutorsInitialiser {
             // Only cleared when executors change from reading to processing state in one node deployment
             return;
         }
-        Event[] events;
-        Long endOFLatestEventTimestamp = null;
+        int durationCount = incrementalDurations.size();
+        ExecutorService executorService = siddhiAppContext.getExecutorService();
 
-        // Get max(AGG_TIMESTAMP) from table corresponding to max duration
-        Table tableForMaxDuration = aggregationTables.get(incrementalDurations.get(incrementalDurations.size() - 1));
-        OnDemandQuery onDemandQuery = getOnDemandQuery(tableForMaxDuration, true, endOFLatestEventTimestamp);
-        onDemandQuery.setType(OnDemandQuery.OnDemandQueryType.FIND);
-        OnDemandQueryRuntime onDemandQueryRuntime = OnDemandQueryParser.parse(onDemandQuery, null,
-                siddhiAppContext, tableMap, windowMap, aggregationMap);
+        // Get max(AGG_TIMESTAMP) of all the tables in parallel
+        List<Future<Long>> latestEventTimestampFutures = new ArrayList<>(durationCount);
+        for (TimePeriod.Duration duration : incrementalDurations) {
+            Table table = aggregationTables.get(duration);
+            latestEventTimestampFutures.add(executorService.submit(() -> {
+                Event[] events = find(getOnDemandQuery(table, true, null, 1));
+                return events != null ? (Long) events[events.length - 1].getData(0) : null;
+            }));
+        }
+        Long[] latestEventTimestamps = new Long[durationCount];
+        for (int i = 0; i < durationCount; i++) {
+            latestEventTimestamps[i] = getResult(latestEventTimestampFutures.get(i));
+        }
 
-        // Get latest event timestamp in tableForMaxDuration and get the end time of the aggregation record
-        events = onDemandQueryRuntime.execute();
-        if (events != null) {
-            Long lastData = (Long) events[events.length - 1].getData(0);
-            endOFLatestEventTimestamp = IncrementalTimeConverterUtil
-                    .getNextEmitTime(lastData, incrementalDurations.get(incrementalDurations.size() - 1), timeZone);
+        // Each table only needs to be read from the end time of the latest aggregation record of the table above it
+        // (e.g. if we want to recreate for minute duration, take the second table [provided that aggregation is done
+        // for seconds]), hence the position to read each table from is known upfront.
+        Long[] readFromTimestamps = new Long[durationCount];
+        Long endOFLatestEventTimestamp = null;
+        if (latestEventTimestamps[durationCount - 1] != null) {
+            endOFLatestEventTimestamp = IncrementalTimeConverterUtil.getNextEmitTime(
+                    latestEventTimestamps[durationCount - 1], incrementalDurations.get(durationCount - 1), timeZone);
+        }
+        for (int i = durationCount - 1; i > 0; i--) {
+            readFromTimestamps[i - 1] = endOFLatestEventTimestamp;
+            Long latestEventTimestamp = latestEventTimestamps[i - 1];
+            if (latestEventTimestamp != null && (endOFLatestEventTimestamp == null ||
+                    latestEventTimestamp >= endOFLatestEventTimestamp)) {
+                endOFLatestEventTimestamp = IncrementalTimeConverterUtil.getNextEmitTime(
+                        latestEventTimestamp, incrementalDurations.get(i - 1), timeZone);
+            } else {
+                // Nothing to recreate from this table
+                latestEventTimestamps[i - 1] = null;
+            }
         }
-        for (int i = incrementalDurations.size() - 1; i > 0; i--) {
-            TimePeriod.Duration recreateForDuration = incrementalDurations.get(i);
-            Executor incrementalExecutor = incrementalExecutorMap.get(recreateForDuration);
 
+        // Read the tables in parallel, page by page, while replaying them in order from the largest duration
+        Map<Integer, BlockingQueue<RecoveryPage>> recoveryPageQueues = new HashMap<>();
+        List<Future<?>> tableReaders = new ArrayList<>();
+        for (int i = durationCount - 1; i > 0; i--) {
+            if (latestEventTimestamps[i - 1] != null) {
+                Table recreateFromTable = aggregationTables.get(incrementalDurations.get(i - 1));
+                Long readFromTimestamp = readFromTimestamps[i - 1];
+                BlockingQueue<RecoveryPage> recoveryPages = new ArrayBlockingQueue<>(RECOVERY_PREFETCH_PAGES);
+                recoveryPageQueues.put(i, recoveryPages);
+                tableReaders.add(executorService.submit(
+                        () -> readTable(recreateFromTable, readFromTimestamp, recoveryPages)));
+            }
+        }
+        try {
+            for (int i = durationCount - 1; i > 0; i--) {
+                BlockingQueue<RecoveryPage> recoveryPages = recoveryPageQueues.get(i);
+                if (recoveryPages == null) {
+                    continue;
+                }
+                long startTime = System.currentTimeMillis();
+                String tableId = aggregationTables.get(incrementalDurations.get(i - 1)).getTableDefinition().getId();
+                long recoveredEventCount = replay(incrementalExecutorMap.get(incrementalDurations.get(i)),
+                        recoveryPages, tableId);
+                if (recoveredEventCount > 0) {
+                    LOG.info("Recreated in-memory " + incrementalDurations.get(i) + " aggregations from " +
+                            recoveredEventCount + " events of table '" + tableId + "' in " +
+                            (System.currentTimeMillis() - startTime) + " ms");
+                }
+                if (i == 1) {
+                    TimePeriod.Duration rootDuration = incrementalDurations.get(0);
+                    Executor rootIncrementalExecutor = incrementalExecutorMap.get(rootDuration);
+                    long emitTimeOfLatestEventInTable = IncrementalTimeConverterUtil.getNextEmitTime(
+                            latestEventTimestamps[0], rootDuration, timeZone);
 
-            // Get the table previous to the duration for which we need to recreate (e.g. if we want to recreate
-            // for minute duration, take the second table [provided that aggregation is done for seconds])
-            // This lookup is filtered by endOFLatestEventTimestamp
-            Table recreateFromTable = aggregationTables.get(incrementalDurations.get(i - 1));
+                    rootIncrementalExecutor.setEmitTime(emitTimeOfLatestEventInTable);
 
-            onDemandQuery = getOnDemandQuery(recreateFromTable, false, endOFLatestEventTimestamp);
-            onDemandQuery.setType(OnDemandQuery.OnDemandQueryType.FIND);
-            onDemandQueryRuntime = OnDemandQueryParser.parse(onDemandQuery, null, siddhiAppContext,
-                    tableMap, windowMap,
-                    aggregationMap);
-            events = onDemandQueryRuntime.execute();
+                }
+            }
+        } finally {
+            for (Future<?> tableReader : tableReaders) {
+                tableReader.cancel(true);
+            }
+        }
+        this.isInitialised = true;
+    }
 
-            if (events != null) {
-                long referenceToNextLatestEvent = (Long) events[events.length - 1].getData(0);
-                endOFLatestEventTimestamp = IncrementalTimeConverterUtil
-                        .getNextEmitTime(referenceToNextLatestEvent, incrementalDurations.get(i - 1), timeZone);
+    private void readTable(Table table, Long readFromTimestamp, BlockingQueue<RecoveryPage> recoveryPages) {
+        try {
+            try {
+                int pageSize = RECOVERY_PAGE_SIZE;
+                while (true) {
+                    Event[] events = find(getOnDemandQuery(table, false, readFromTimestamp, pageSize));
+                    if (events == null || events.length < pageSize) {
+                        recoveryPages.put(new RecoveryPage(events, null, true));
+                        return;
+                    }
+                    // Events of the last aggregation record time may continue in the next page, hence they are
+                    // read again with it
+                    long lastEventTimestamp = (Long) events[events.length - 1].getData(0);
+                    int lastEventTimestampIndex = events.length - 1;
+                    while (lastEventTimestampIndex > 0 &&
+                            (Long) events[lastEventTimestampIndex - 1].getData(0) == lastEventTimestamp) {
+                        lastEventTimestampIndex--;
+                    }
+                    if (lastEventTimestampIndex == 0) {
+                        // All the events of the page belong to the same time, hence read a larger page
+                        pageSize *= 2;
+                        continue;
+                    }
+                    recoveryPages.put(new RecoveryPage(Arrays.copyOf(events, lastEventTimestampIndex), null,
+                            false));
+                    readFromTimestamp = lastEventTimestamp;
+                    pageSize = RECOVERY_PAGE_SIZE;
+                }
+            } catch (RuntimeException e) {
+                recoveryPages.put(new RecoveryPage(null, e, true));
+            }
+        } catch (InterruptedException e) {
+            // Replaying has stopped
+            Thread.currentThread().interrupt();
+        }
+    }
 
+    private long replay(Executor incrementalExecutor, BlockingQueue<RecoveryPage> recoveryPages, String tableId) {
+        long recoveredEventCount = 0;
+        while (true) {
+            RecoveryPage recoveryPage;
+            try {
+                recoveryPage = recoveryPages.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SiddhiAppRuntimeException("Interrupted while recreating in-memory aggregations from " +
+                        "the tables", e);
+            }
+            if (recoveryPage.error != null) {
+                throw recoveryPage.error;
+            }
+            if (recoveryPage.events != null) {
                 ComplexEventChunk<StreamEvent> complexEventChunk = new ComplexEventChunk<>();
-                for (Event event : events) {
+                for (Event event : recoveryPage.events) {
                     StreamEvent streamEvent = streamEventFactory.newInstance();
                     streamEvent.setOutputData(event.getData());
                     complexEventChunk.add(streamEvent);
                 }
                 incrementalExecutor.execute(complexEventChunk);
+                recoveredEventCount += recoveryPage.events.length;
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Replayed " + recoveredEventCount + " events of table '" + tableId + "'");
+                }
+            }
+            if (recoveryPage.isLast) {
+                return recoveredEventCount;
+            }
+        }
+    }
 
-                if (i == 1) {
-                    TimePeriod.Duration rootDuration = incrementalDurations.get(0);
-                    Executor rootIncrementalExecutor = incrementalExecutorMap.get(rootDuration);
-                    long emitTimeOfLatestEventInTable = IncrementalTimeConverterUtil.getNextEmitTime(
-                            referenceToNextLatestEvent, rootDuration, timeZone);
-
-                    rootIncrementalExecutor.setEmitTime(emitTimeOfLatestEventInTable);
+    private Event[] find(OnDemandQuery onDemandQuery) {
+        onDemandQuery.setType(OnDemandQuery.OnDemandQueryType.FIND);
+        OnDemandQueryRuntime onDemandQueryRuntime = OnDemandQueryParser.parse(onDemandQuery, null,
+                siddhiAppContext, tableMap, windowMap, aggregationMap);
+        return onDemandQueryRuntime.execute();
+    }
 
-                }
+    private Long getResult(Future<Long> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SiddhiAppRuntimeException("Interrupted while recreating in-memory aggregations from " +
+                    "the tables", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
             }
+            throw new SiddhiAppRuntimeException(e.getCause().getMessage(), e.getCause());
         }
-        this.isInitialised = true;
     }
 
-    private OnDemandQuery getOnDemandQuery(Table table, boolean isLargestGranularity, Long endOFLatestEventTimestamp) {
+    private OnDemandQuery getOnDemandQuery(Table table, boolean isLatestEventLookup, Long endOFLatestEventTimestamp,
+                                           int limit) {
         Selector selector = Selector.selector();
-        if (isLargestGranularity) {
+        if (isLatestEventLookup) {
             selector = selector
                     .orderBy(
                             Expression.variable(AGG_START_TIMESTAMP_COL), OrderByAttribute.Order.DESC)
-                    .limit(Expression.value(1));
+                    .limit(Expression.value(limit));
         } else {
-            selector = selector.orderBy(Expression.variable(AGG_START_TIMESTAMP_COL));
+            selector = selector.orderBy(Expression.variable(AGG_START_TIMESTAMP_COL))
+                    .limit(Expression.value(limit));
         }
 
         InputStore inputStore;
@@ -200,4 +332,19 @@ public class IncrementalExecutorsInitialiser {
 
         return OnDemandQuery.query().from(inputStore).select(selector);
     }
+
+    /**
+     * Page of events read from an aggregation table, to recreate in-memory aggregations from.
+     */
+    private static class RecoveryPage {
+        private final Event[] events;
+        private final RuntimeException error;
+        private final boolean isLast;
+
+        private RecoveryPage(Event[] events, RuntimeException error, boolean isLast) {
+            this.events = events;
+            this.error = error;
+            this.isLast = isLast;
+        }
+    }
 }
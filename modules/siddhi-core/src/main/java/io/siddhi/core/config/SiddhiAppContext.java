@@ -25,6 +25,7 @@ import io.siddhi.core.util.IdGenerator;
 import io.siddhi.core.util.Scheduler;
 import io.siddhi.core.util.SiddhiConstants;
 import io.siddhi.core.util.ThreadBarrier;
+import io.siddhi.core.util.TimingWheel;
 import io.siddhi.core.util.extension.holder.ExternalReferencedHolder;
 import io.siddhi.core.util.snapshot.SnapshotService;
 import io.siddhi.core.util.snapshot.state.EmptyStateHolder;
@@ -52,7 +53,7 @@ import java.util.concurrent.ScheduledExecutorService;
  */
 public class SiddhiAppContext {
 
-    private static final ThreadLocal<String> GROUP_BY_KEY = new ThreadLocal<>();
+    private static final ThreadLocal<Object> GROUP_BY_KEY = new ThreadLocal<>();
     private static final ThreadLocal<String> PARTITION_KEY = new ThreadLocal<>();
     private SiddhiContext siddhiContext = null;
     private String name;
@@ -67,11 +68,16 @@ public class SiddhiAppContext {
     private SnapshotService snapshotService;
     private ThreadBarrier threadBarrier = null;
     private TimestampGenerator timestampGenerator = null;
+    private TimingWheel timingWheel = null;
     private IdGenerator idGenerator;
     private Map<String, Script> scriptFunctionMap;
     private ExceptionHandler<Object> disruptorExceptionHandler;
     private ExceptionListener runtimeExceptionListener;
     private int bufferSize;
+    private int eventPoolSize;
+    private boolean compileExpressions;
+    private boolean primitiveLayout;
+    private boolean nonBlockingSnapshot;
     private String siddhiAppString;
     private List<String> includedMetrics;
     private boolean transportChannelCreationEnabled;
@@ -86,7 +92,7 @@ public class SiddhiAppContext {
         this.rootMetricsLevel = Level.OFF;
     }
 
-    public static void startGroupByFlow(String key) {
+    public static void startGroupByFlow(Object key) {
         GROUP_BY_KEY.set(key);
     }
 
@@ -110,7 +116,19 @@ public class SiddhiAppContext {
         return PARTITION_KEY.get();
     }
 
+    /**
+     * @return the string form of the group by key of the current flow, or null when there is no group by flow
+     */
     public static String getGroupByFlowId() {
+        Object key = GROUP_BY_KEY.get();
+        return key == null ? null : key.toString();
+    }
+
+    /**
+     * @return the group by key of the current flow, such as a {@link io.siddhi.core.query.selector.GroupByKey}, or
+     * null when there is no group by flow
+     */
+    public static Object getGroupByFlowKey() {
         return GROUP_BY_KEY.get();
     }
 
@@ -219,6 +237,14 @@ public class SiddhiAppContext {
         this.timestampGenerator = timestampGenerator;
     }
 
+    public TimingWheel getTimingWheel() {
+        return timingWheel;
+    }
+
+    public void setTimingWheel(TimingWheel timingWheel) {
+        this.timingWheel = timingWheel;
+    }
+
     public SnapshotService getSnapshotService() {
         return snapshotService;
     }
@@ -275,6 +301,38 @@ public class SiddhiAppContext {
         this.bufferSize = bufferSize;
     }
 
+    public int getEventPoolSize() {
+        return eventPoolSize;
+    }
+
+    public void setEventPoolSize(int eventPoolSize) {
+        this.eventPoolSize = eventPoolSize;
+    }
+
+    public boolean isCompileExpressions() {
+        return compileExpressions;
+    }
+
+    public void setCompileExpressions(boolean compileExpressions) {
+        this.compileExpressions = compileExpressions;
+    }
+
+    public boolean isPrimitiveLayout() {
+        return primitiveLayout;
+    }
+
+    public void setPrimitiveLayout(boolean primitiveLayout) {
+        this.primitiveLayout = primitiveLayout;
+    }
+
+    public boolean isNonBlockingSnapshot() {
+        return nonBlockingSnapshot;
+    }
+
+    public void setNonBlockingSnapshot(boolean nonBlockingSnapshot) {
+        this.nonBlockingSnapshot = nonBlockingSnapshot;
+    }
+
     public String getSiddhiAppString() {
         return siddhiAppString;
     }
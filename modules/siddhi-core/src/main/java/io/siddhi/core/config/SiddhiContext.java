@@ -31,6 +31,8 @@ import io.siddhi.core.util.error.handler.store.ErrorStore;
 import io.siddhi.core.util.extension.holder.AbstractExtensionHolder;
 import io.siddhi.core.util.persistence.IncrementalPersistenceStore;
 import io.siddhi.core.util.persistence.PersistenceStore;
+import io.siddhi.core.util.snapshot.serializer.JavaStateSerializer;
+import io.siddhi.core.util.snapshot.serializer.StateSerializer;
 import io.siddhi.core.util.statistics.metrics.SiddhiMetricsFactory;
 import org.apache.log4j.Logger;
 
@@ -51,6 +53,7 @@ public class SiddhiContext {
     private PersistenceStore persistenceStore = null;
     private IncrementalPersistenceStore incrementalPersistenceStore = null;
     private ErrorStore errorStore = null;
+    private StateSerializer stateSerializer = new JavaStateSerializer();
     private ConcurrentHashMap<String, DataSource> siddhiDataSources;
     private StatisticsConfiguration statisticsConfiguration;
     private ConcurrentHashMap<Class, AbstractExtensionHolder> extensionHolderMap
@@ -115,6 +118,14 @@ public class SiddhiContext {
         this.incrementalPersistenceStore = incrementalPersistenceStore;
     }
 
+    public StateSerializer getStateSerializer() {
+        return stateSerializer;
+    }
+
+    public void setStateSerializer(StateSerializer stateSerializer) {
+        this.stateSerializer = stateSerializer;
+    }
+
     public synchronized void setErrorStore(ErrorStore errorStore) {
         this.errorStore = errorStore;
     }
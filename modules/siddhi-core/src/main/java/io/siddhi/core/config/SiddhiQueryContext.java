@@ -22,8 +22,8 @@ import io.siddhi.core.util.IdGenerator;
 import io.siddhi.core.util.SiddhiConstants;
 import io.siddhi.core.util.snapshot.SnapshotService;
 import io.siddhi.core.util.snapshot.state.EmptyStateHolder;
+import io.siddhi.core.util.snapshot.state.PartitionConcurrentStateHolder;
 import io.siddhi.core.util.snapshot.state.PartitionStateHolder;
-import io.siddhi.core.util.snapshot.state.PartitionSyncStateHolder;
 import io.siddhi.core.util.snapshot.state.SingleStateHolder;
 import io.siddhi.core.util.snapshot.state.SingleSyncStateHolder;
 import io.siddhi.core.util.snapshot.state.StateFactory;
@@ -49,6 +49,7 @@ public class SiddhiQueryContext implements Serializable {
     private transient LatencyTracker latencyTracker;
     private transient IdGenerator idGenerator;
     private boolean stateful = false;
+    private boolean expiresInArrivalOrder = false;
 
     public SiddhiQueryContext(SiddhiAppContext siddhiAppContext, String queryName) {
         this(siddhiAppContext, queryName, SiddhiConstants.PARTITION_ID_DEFAULT);
@@ -128,7 +129,7 @@ public class SiddhiQueryContext implements Serializable {
                 }
             } else {
                 if (partitioned || groupBy) {
-                    stateHolder = new PartitionSyncStateHolder(stateFactory);
+                    stateHolder = new PartitionConcurrentStateHolder(stateFactory);
                 } else {
                     stateHolder = new SingleSyncStateHolder(stateFactory);
                 }
@@ -150,4 +151,12 @@ public class SiddhiQueryContext implements Serializable {
     public boolean isStateful() {
         return stateful;
     }
+
+    public boolean isExpiresInArrivalOrder() {
+        return expiresInArrivalOrder;
+    }
+
+    public void setExpiresInArrivalOrder(boolean expiresInArrivalOrder) {
+        this.expiresInArrivalOrder = expiresInArrivalOrder;
+    }
 }
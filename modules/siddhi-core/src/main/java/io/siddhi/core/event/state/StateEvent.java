@@ -118,20 +118,7 @@ public class StateEvent implements ComplexEvent {
             if (streamEvent == null) {
                 return;
             }
-            switch (position[STREAM_ATTRIBUTE_TYPE_INDEX]) {
-                case BEFORE_WINDOW_DATA_INDEX:
-                    streamEvent.getBeforeWindowData()[position[STREAM_ATTRIBUTE_INDEX_IN_TYPE]] = object;
-                    break;
-                case OUTPUT_DATA_INDEX:
-                    streamEvent.getOutputData()[position[STREAM_ATTRIBUTE_INDEX_IN_TYPE]] = object;
-                    break;
-                case ON_AFTER_WINDOW_DATA_INDEX:
-                    streamEvent.getOnAfterWindowData()[position[STREAM_ATTRIBUTE_INDEX_IN_TYPE]] = object;
-                    break;
-                default:
-                    throw new IllegalStateException("STREAM_ATTRIBUTE_TYPE_INDEX cannot be " +
-                            position[STREAM_ATTRIBUTE_TYPE_INDEX]);
-            }
+            streamEvent.setAttribute(object, position);
         }
     }
 
@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.event.stream;
+
+import io.siddhi.core.event.stream.converter.StreamEventConverter;
+import io.siddhi.query.api.definition.AbstractDefinition;
+import io.siddhi.query.api.definition.Attribute;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.List;
+
+import static io.siddhi.core.util.SiddhiConstants.BEFORE_WINDOW_DATA_INDEX;
+import static io.siddhi.core.util.SiddhiConstants.ON_AFTER_WINDOW_DATA_INDEX;
+import static io.siddhi.core.util.SiddhiConstants.OUTPUT_DATA_INDEX;
+
+/**
+ * Maps the int and long attributes of a {@link MetaStreamEvent} to slots of a long[], and its float and double
+ * attributes to slots of a double[], such that {@link StreamEvent}s can also hold their numeric attributes unboxed.
+ * String and bool attributes are only kept in the Object[] data of the event.
+ * <p>
+ * The slots of an event are valid only while {@link StreamEvent#getPrimitiveLayout()} returns the layout, as any
+ * change to the Object[] data of the event resets it.
+ */
+public class PrimitiveLayout implements Serializable {
+
+    private static final long serialVersionUID = -2675140321960938718L;
+
+    private final int[][] longSlots;
+    private final int[][] doubleSlots;
+    // Position, and expected value class, of the attribute of each slot
+    private final int[] longSlotTypes;
+    private final int[] longSlotIndexes;
+    private final Class[] longSlotClasses;
+    private final int[] doubleSlotTypes;
+    private final int[] doubleSlotIndexes;
+    private final Class[] doubleSlotClasses;
+
+    private PrimitiveLayout(int[][] longSlots, int[][] doubleSlots, int longSlotCount, int doubleSlotCount) {
+        this.longSlots = longSlots;
+        this.doubleSlots = doubleSlots;
+        this.longSlotTypes = new int[longSlotCount];
+        this.longSlotIndexes = new int[longSlotCount];
+        this.longSlotClasses = new Class[longSlotCount];
+        this.doubleSlotTypes = new int[doubleSlotCount];
+        this.doubleSlotIndexes = new int[doubleSlotCount];
+        this.doubleSlotClasses = new Class[doubleSlotCount];
+    }
+
+    /**
+     * Creates the layout of the attributes converted into the stream events of the given meta stream event.
+     *
+     * @param metaStreamEvent    meta stream event of the events
+     * @param conversionMappings mappings of the input attributes to the positions of the events
+     * @return the layout, or null if the input stream has attributes of type object, or no numeric attributes
+     */
+    public static PrimitiveLayout create(MetaStreamEvent metaStreamEvent,
+                                         List<StreamEventConverter.ConversionMapping> conversionMappings) {
+        AbstractDefinition inputDefinition = metaStreamEvent.getInputDefinitions().get(0);
+        List<Attribute> attributeList = inputDefinition.getAttributeList();
+        for (Attribute attribute : attributeList) {
+            if (attribute.getType() == Attribute.Type.OBJECT) {
+                return null;
+            }
+        }
+        int[] sizes = new int[3];
+        sizes[BEFORE_WINDOW_DATA_INDEX] = metaStreamEvent.getBeforeWindowData().size();
+        sizes[ON_AFTER_WINDOW_DATA_INDEX] = metaStreamEvent.getOnAfterWindowData().size();
+        sizes[OUTPUT_DATA_INDEX] = metaStreamEvent.getOutputData().size();
+        int[][] longSlots = new int[3][];
+        int[][] doubleSlots = new int[3][];
+        for (int i = 0; i < 3; i++) {
+            longSlots[i] = new int[sizes[i]];
+            doubleSlots[i] = new int[sizes[i]];
+            Arrays.fill(longSlots[i], -1);
+            Arrays.fill(doubleSlots[i], -1);
+        }
+        int longSlotCount = 0;
+        int doubleSlotCount = 0;
+        for (StreamEventConverter.ConversionMapping conversionMapping : conversionMappings) {
+            int[] toPosition = conversionMapping.getToPosition();
+            switch (attributeList.get(conversionMapping.getFromPosition()).getType()) {
+                case INT:
+                case LONG:
+                    longSlots[toPosition[0]][toPosition[1]] = longSlotCount++;
+                    break;
+                case FLOAT:
+                case DOUBLE:
+                    doubleSlots[toPosition[0]][toPosition[1]] = doubleSlotCount++;
+                    break;
+                default:
+                    //not kept in slots
+            }
+        }
+        if (longSlotCount + doubleSlotCount == 0) {
+            return null;
+        }
+        PrimitiveLayout primitiveLayout = new PrimitiveLayout(longSlots, doubleSlots, longSlotCount,
+                doubleSlotCount);
+        for (StreamEventConverter.ConversionMapping conversionMapping : conversionMappings) {
+            int[] toPosition = conversionMapping.getToPosition();
+            Attribute.Type type = attributeList.get(conversionMapping.getFromPosition()).getType();
+            int slot = longSlots[toPosition[0]][toPosition[1]];
+            if (slot >= 0) {
+                primitiveLayout.longSlotTypes[slot] = toPosition[0];
+                primitiveLayout.longSlotIndexes[slot] = toPosition[1];
+                primitiveLayout.longSlotClasses[slot] = type == Attribute.Type.INT ? Integer.class : Long.class;
+            }
+            slot = doubleSlots[toPosition[0]][toPosition[1]];
+            if (slot >= 0) {
+                primitiveLayout.doubleSlotTypes[slot] = toPosition[0];
+                primitiveLayout.doubleSlotIndexes[slot] = toPosition[1];
+                primitiveLayout.doubleSlotClasses[slot] = type == Attribute.Type.FLOAT ? Float.class : Double.class;
+            }
+        }
+        return primitiveLayout;
+    }
+
+    /**
+     * @param attributeType type of the data, BEFORE_WINDOW_DATA_INDEX, ON_AFTER_WINDOW_DATA_INDEX or
+     *                      OUTPUT_DATA_INDEX
+     * @param index         index of the attribute in the data
+     * @return the long slot of the int or long attribute, or -1 if the attribute is not kept in a long slot
+     */
+    public int getLongSlot(int attributeType, int index) {
+        if (attributeType < 0 || attributeType >= longSlots.length || index >= longSlots[attributeType].length) {
+            return -1;
+        }
+        return longSlots[attributeType][index];
+    }
+
+    /**
+     * @param attributeType type of the data, BEFORE_WINDOW_DATA_INDEX, ON_AFTER_WINDOW_DATA_INDEX or
+     *                      OUTPUT_DATA_INDEX
+     * @param index         index of the attribute in the data
+     * @return the double slot of the float or double attribute, or -1 if the attribute is not kept in a double slot
+     */
+    public int getDoubleSlot(int attributeType, int index) {
+        if (attributeType < 0 || attributeType >= doubleSlots.length || index >= doubleSlots[attributeType].length) {
+            return -1;
+        }
+        return doubleSlots[attributeType][index];
+    }
+
+    /**
+     * Writes the numeric attributes of the event to its slots. The slots are left invalid if a value is not of the
+     * type of its attribute, in which case the attributes are only read from the Object[] data.
+     *
+     * @param streamEvent event of which the Object[] data is populated
+     */
+    public void populate(StreamEvent streamEvent) {
+        long[] longData = streamEvent.getLongData();
+        if (longData == null || longData.length < longSlotIndexes.length) {
+            longData = new long[longSlotIndexes.length];
+        }
+        double[] doubleData = streamEvent.getDoubleData();
+        if (doubleData == null || doubleData.length < doubleSlotIndexes.length) {
+            doubleData = new double[doubleSlotIndexes.length];
+        }
+        for (int i = 0; i < longSlotIndexes.length; i++) {
+            Object value = getData(streamEvent, longSlotTypes[i])[longSlotIndexes[i]];
+            if (value == null) {
+                // Null values are detected through the Object[] data
+                longData[i] = 0L;
+            } else if (value.getClass() == longSlotClasses[i]) {
+                longData[i] = ((Number) value).longValue();
+            } else {
+                streamEvent.setPrimitiveData(null, longData, doubleData);
+                return;
+            }
+        }
+        for (int i = 0; i < doubleSlotIndexes.length; i++) {
+            Object value = getData(streamEvent, doubleSlotTypes[i])[doubleSlotIndexes[i]];
+            if (value == null) {
+                doubleData[i] = 0.0;
+            } else if (value.getClass() == doubleSlotClasses[i]) {
+                doubleData[i] = ((Number) value).doubleValue();
+            } else {
+                streamEvent.setPrimitiveData(null, longData, doubleData);
+                return;
+            }
+        }
+        streamEvent.setPrimitiveData(this, longData, doubleData);
+    }
+
+    /**
+     * Copies the slots of an event with this layout to its copy, which has the same Object[] data.
+     *
+     * @param streamEvent event having this layout
+     * @param newEvent    copy of the event
+     */
+    public void copy(StreamEvent streamEvent, StreamEvent newEvent) {
+        long[] longData = newEvent.getLongData();
+        if (longData == null || longData.length < longSlotIndexes.length) {
+            longData = new long[longSlotIndexes.length];
+        }
+        double[] doubleData = newEvent.getDoubleData();
+        if (doubleData == null || doubleData.length < doubleSlotIndexes.length) {
+            doubleData = new double[doubleSlotIndexes.length];
+        }
+        System.arraycopy(streamEvent.getLongData(), 0, longData, 0, longSlotIndexes.length);
+        System.arraycopy(streamEvent.getDoubleData(), 0, doubleData, 0, doubleSlotIndexes.length);
+        newEvent.setPrimitiveData(this, longData, doubleData);
+    }
+
+    private static Object[] getData(StreamEvent streamEvent, int attributeType) {
+        switch (attributeType) {
+            case BEFORE_WINDOW_DATA_INDEX:
+                return streamEvent.getBeforeWindowData();
+            case ON_AFTER_WINDOW_DATA_INDEX:
+                return streamEvent.getOnAfterWindowData();
+            default:
+                return streamEvent.getOutputData();
+        }
+    }
+}
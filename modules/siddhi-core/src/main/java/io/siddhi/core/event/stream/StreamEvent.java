@@ -44,6 +44,9 @@ public class StreamEvent implements ComplexEvent {
     private Object[] beforeWindowData;          //Attributes before window execution
     private Object[] onAfterWindowData;         //Attributes on and after window execution
     private StreamEvent next;
+    private transient PrimitiveLayout primitiveLayout;   //Layout of the slots, null when they are not in use
+    private transient long[] longData;                   //Unboxed int and long attributes
+    private transient double[] doubleData;               //Unboxed float and double attributes
 
     public StreamEvent(int beforeWindowDataSize, int onAfterWindowDataSize, int outputDataSize) {
         if (beforeWindowDataSize > 0) {
@@ -67,6 +70,7 @@ public class StreamEvent implements ComplexEvent {
 
     public void setBeforeWindowData(Object[] beforeWindowData) {
         this.beforeWindowData = beforeWindowData;
+        this.primitiveLayout = null;
     }
 
     public Object[] getOnAfterWindowData() {
@@ -75,6 +79,7 @@ public class StreamEvent implements ComplexEvent {
 
     public void setOnAfterWindowData(Object[] onAfterWindowData) {
         this.onAfterWindowData = onAfterWindowData;
+        this.primitiveLayout = null;
     }
 
     public long getTimestamp() {
@@ -91,6 +96,7 @@ public class StreamEvent implements ComplexEvent {
 
     public void setOutputData(Object[] outputData) {
         this.outputData = outputData;
+        this.primitiveLayout = null;
     }
 
 //    public boolean isExpired() {
@@ -145,6 +151,7 @@ public class StreamEvent implements ComplexEvent {
 
     @Override
     public void setAttribute(Object object, int[] position) {
+        primitiveLayout = null;
         switch (position[STREAM_ATTRIBUTE_TYPE_INDEX]) {
             case BEFORE_WINDOW_DATA_INDEX:
                 beforeWindowData[position[STREAM_ATTRIBUTE_INDEX_IN_TYPE]] = object;
@@ -163,14 +170,47 @@ public class StreamEvent implements ComplexEvent {
 
     public void setOutputData(Object object, int index) {
         this.outputData[index] = object;
+        this.primitiveLayout = null;
     }
 
     public void setOnAfterWindowData(Object object, int index) {
         this.onAfterWindowData[index] = object;
+        this.primitiveLayout = null;
     }
 
     public void setBeforeWindowData(Object object, int index) {
         this.beforeWindowData[index] = object;
+        this.primitiveLayout = null;
+    }
+
+    /**
+     * @return the layout of the unboxed numeric attributes of the event, or null if they are not in sync with its
+     * Object[] data
+     */
+    public PrimitiveLayout getPrimitiveLayout() {
+        return primitiveLayout;
+    }
+
+    public long[] getLongData() {
+        return longData;
+    }
+
+    public double[] getDoubleData() {
+        return doubleData;
+    }
+
+    /**
+     * Sets the unboxed numeric attributes of the event. Any later change to the Object[] data of the event resets the
+     * layout, after which they are no longer read.
+     *
+     * @param primitiveLayout layout of the slots, or null if they are not in sync with the Object[] data
+     * @param longData        unboxed int and long attributes
+     * @param doubleData      unboxed float and double attributes
+     */
+    public void setPrimitiveData(PrimitiveLayout primitiveLayout, long[] longData, double[] doubleData) {
+        this.primitiveLayout = primitiveLayout;
+        this.longData = longData;
+        this.doubleData = doubleData;
     }
 
     @Override
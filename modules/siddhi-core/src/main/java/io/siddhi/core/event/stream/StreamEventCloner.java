@@ -62,6 +62,10 @@ public class StreamEventCloner implements Serializable {
         if (outputDataSize > 0) {
             System.arraycopy(streamEvent.getOutputData(), 0, newEvent.getOutputData(), 0, outputDataSize);
         }
+        PrimitiveLayout primitiveLayout = streamEvent.getPrimitiveLayout();
+        if (primitiveLayout != null) {
+            primitiveLayout.copy(streamEvent, newEvent);
+        }
         newEvent.setType(streamEvent.getType());
         newEvent.setTimestamp(streamEvent.getTimestamp());
         return newEvent;
@@ -18,8 +18,13 @@
 package io.siddhi.core.event.stream;
 
 import com.lmax.disruptor.EventFactory;
+import io.siddhi.core.config.SiddhiAppContext;
+import io.siddhi.core.event.ComplexEvent;
+import io.siddhi.core.util.statistics.ThroughputTracker;
+import io.siddhi.core.util.statistics.metrics.Level;
 
 import java.io.Serializable;
+import java.util.Arrays;
 
 /**
  * Event Factory to create new StreamEvents
@@ -30,6 +35,11 @@ public class StreamEventFactory implements EventFactory<StreamEvent>, Serializab
     private int beforeWindowDataSize;
     private int onAfterWindowDataSize;
     private int outputDataSize;
+    private transient StreamEvent[] eventPool;
+    private transient int eventPoolCount;
+    private transient SiddhiAppContext siddhiAppContext;
+    private transient ThroughputTracker eventPoolHitTracker;
+    private transient ThroughputTracker eventPoolMissTracker;
 
     /**
      * Initialization of the factory using MetaStreamEvent
@@ -61,7 +71,88 @@ public class StreamEventFactory implements EventFactory<StreamEvent>, Serializab
      * @return StreamEvent
      */
     public StreamEvent newInstance() {
+        if (eventPool != null) {
+            StreamEvent streamEvent = null;
+            synchronized (this) {
+                if (eventPoolCount > 0) {
+                    streamEvent = eventPool[--eventPoolCount];
+                    eventPool[eventPoolCount] = null;
+                }
+            }
+            if (siddhiAppContext != null && Level.BASIC.compareTo(siddhiAppContext.getRootMetricsLevel()) <= 0) {
+                if (streamEvent != null) {
+                    if (eventPoolHitTracker != null) {
+                        eventPoolHitTracker.eventIn();
+                    }
+                } else if (eventPoolMissTracker != null) {
+                    eventPoolMissTracker.eventIn();
+                }
+            }
+            if (streamEvent != null) {
+                return streamEvent;
+            }
+        }
         return new StreamEvent(beforeWindowDataSize, onAfterWindowDataSize, outputDataSize);
     }
 
+    /**
+     * Enables recycling of the StreamEvents created by this factory. Events handed back through
+     * {@link #release(StreamEvent)} are kept in a bounded free list and reused by {@link #newInstance()}.
+     *
+     * @param eventPoolSize        maximum number of released events retained for reuse
+     * @param siddhiAppContext     siddhi app context used to check the metrics level
+     * @param eventPoolHitTracker  tracker notified when an event is served from the pool, can be null
+     * @param eventPoolMissTracker tracker notified when the pool is empty and a new event is allocated, can be null
+     */
+    public void enablePooling(int eventPoolSize, SiddhiAppContext siddhiAppContext,
+                              ThroughputTracker eventPoolHitTracker, ThroughputTracker eventPoolMissTracker) {
+        this.eventPool = new StreamEvent[eventPoolSize];
+        this.eventPoolCount = 0;
+        this.siddhiAppContext = siddhiAppContext;
+        this.eventPoolHitTracker = eventPoolHitTracker;
+        this.eventPoolMissTracker = eventPoolMissTracker;
+    }
+
+    public boolean isPoolingEnabled() {
+        return eventPool != null;
+    }
+
+    /**
+     * Returns a StreamEvent created by this factory for reuse. The caller must make sure no other
+     * component holds a reference to the event, as its content is cleared.
+     *
+     * @param streamEvent event that is no longer in use
+     */
+    public void release(StreamEvent streamEvent) {
+        if (eventPool == null || streamEvent.getClass() != StreamEvent.class ||
+                !hasSize(streamEvent.getBeforeWindowData(), beforeWindowDataSize) ||
+                !hasSize(streamEvent.getOnAfterWindowData(), onAfterWindowDataSize) ||
+                !hasSize(streamEvent.getOutputData(), outputDataSize)) {
+            return;
+        }
+        streamEvent.setNext(null);
+        streamEvent.setType(ComplexEvent.Type.CURRENT);
+        streamEvent.setTimestamp(-1);
+        if (beforeWindowDataSize > 0) {
+            Arrays.fill(streamEvent.getBeforeWindowData(), null);
+        }
+        if (onAfterWindowDataSize > 0) {
+            Arrays.fill(streamEvent.getOnAfterWindowData(), null);
+        }
+        if (outputDataSize > 0) {
+            Arrays.fill(streamEvent.getOutputData(), null);
+        }
+        // Slot arrays are kept for reuse
+        streamEvent.setPrimitiveData(null, streamEvent.getLongData(), streamEvent.getDoubleData());
+        synchronized (this) {
+            if (eventPoolCount < eventPool.length) {
+                eventPool[eventPoolCount++] = streamEvent;
+            }
+        }
+    }
+
+    private static boolean hasSize(Object[] data, int size) {
+        return size > 0 ? data != null && data.length == size : data == null;
+    }
+
 }
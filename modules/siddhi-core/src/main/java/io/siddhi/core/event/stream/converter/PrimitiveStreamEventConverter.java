@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.event.stream.converter;
+
+import io.siddhi.core.event.ComplexEvent;
+import io.siddhi.core.event.Event;
+import io.siddhi.core.event.stream.PrimitiveLayout;
+import io.siddhi.core.event.stream.StreamEvent;
+
+import java.io.Serializable;
+
+/**
+ * The converter that also writes the numeric attributes of the converted StreamEvents to their primitive slots
+ */
+public class PrimitiveStreamEventConverter implements StreamEventConverter, Serializable {
+
+    private static final long serialVersionUID = -3304876204473385532L;
+    private final StreamEventConverter streamEventConverter;
+    private final PrimitiveLayout primitiveLayout;
+
+    public PrimitiveStreamEventConverter(StreamEventConverter streamEventConverter, PrimitiveLayout primitiveLayout) {
+        this.streamEventConverter = streamEventConverter;
+        this.primitiveLayout = primitiveLayout;
+    }
+
+    @Override
+    public void convertEvent(Event event, StreamEvent newEvent) {
+        streamEventConverter.convertEvent(event, newEvent);
+        primitiveLayout.populate(newEvent);
+    }
+
+    @Override
+    public void convertComplexEvent(ComplexEvent complexEvent, StreamEvent newEvent) {
+        streamEventConverter.convertComplexEvent(complexEvent, newEvent);
+        primitiveLayout.populate(newEvent);
+    }
+
+    @Override
+    public void convertData(long timeStamp, Object[] data, StreamEvent newEvent) {
+        streamEventConverter.convertData(timeStamp, data, newEvent);
+        primitiveLayout.populate(newEvent);
+    }
+
+    @Override
+    public void convertData(long timeStamp, Object[] data, StreamEvent.Type type, StreamEvent newEvent) {
+        streamEventConverter.convertData(timeStamp, data, type, newEvent);
+        primitiveLayout.populate(newEvent);
+    }
+
+    public PrimitiveLayout getPrimitiveLayout() {
+        return primitiveLayout;
+    }
+}
@@ -18,6 +18,7 @@
 package io.siddhi.core.event.stream.converter;
 
 import io.siddhi.core.event.stream.MetaStreamEvent;
+import io.siddhi.core.event.stream.PrimitiveLayout;
 import io.siddhi.query.api.definition.AbstractDefinition;
 import io.siddhi.query.api.definition.Attribute;
 
@@ -30,6 +31,19 @@ import java.util.List;
 public class StreamEventConverterFactory {
 
     public static StreamEventConverter constructEventConverter(MetaStreamEvent metaStreamEvent) {
+        return constructEventConverter(metaStreamEvent, false);
+    }
+
+    /**
+     * Construct the converter of the events of the given meta stream event.
+     *
+     * @param metaStreamEvent meta stream event of the converted events
+     * @param primitiveLayout whether the numeric attributes are also written to the primitive slots of the events,
+     *                        which is only done when the input stream has no attributes of type object
+     * @return the converter
+     */
+    public static StreamEventConverter constructEventConverter(MetaStreamEvent metaStreamEvent,
+                                                               boolean primitiveLayout) {
 
         int beforeWindowDataSize = metaStreamEvent.getBeforeWindowData().size();
         int onAfterWindowDataSize = metaStreamEvent.getOnAfterWindowData().size();
@@ -37,7 +51,22 @@ public class StreamEventConverterFactory {
 
         List<StreamEventConverter.ConversionMapping> conversionMappings = getConversionElements(metaStreamEvent, size);
 
-        if (beforeWindowDataSize + onAfterWindowDataSize > 0) {
+        StreamEventConverter streamEventConverter = constructEventConverter(metaStreamEvent, conversionMappings,
+                beforeWindowDataSize + onAfterWindowDataSize);
+        if (primitiveLayout) {
+            PrimitiveLayout layout = PrimitiveLayout.create(metaStreamEvent, conversionMappings);
+            if (layout != null) {
+                return new PrimitiveStreamEventConverter(streamEventConverter, layout);
+            }
+        }
+        return streamEventConverter;
+    }
+
+    private static StreamEventConverter constructEventConverter(
+            MetaStreamEvent metaStreamEvent, List<StreamEventConverter.ConversionMapping> conversionMappings,
+            int windowDataSize) {
+
+        if (windowDataSize > 0) {
             return new SelectiveStreamEventConverter(conversionMappings);
         } else {
             if (metaStreamEvent.getLastInputDefinition().getAttributeList().size() == conversionMappings.size()) {
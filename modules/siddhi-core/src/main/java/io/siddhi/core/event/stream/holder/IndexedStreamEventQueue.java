@@ -0,0 +1,267 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.event.stream.holder;
+
+import io.siddhi.core.event.stream.StreamEvent;
+import io.siddhi.query.api.expression.condition.Compare;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import static io.siddhi.core.util.SiddhiConstants.STREAM_ATTRIBUTE_INDEX_IN_TYPE;
+import static io.siddhi.core.util.SiddhiConstants.STREAM_ATTRIBUTE_TYPE_INDEX;
+
+/**
+ * {@link SnapshotableStreamEventQueue} which keeps hash and range indexes on the attributes its events are looked up
+ * by, such that joins do not need to scan the whole queue. An index is built when it is first used, and is
+ * maintained as events are added and expired thereafter.
+ */
+public class IndexedStreamEventQueue extends SnapshotableStreamEventQueue {
+    private static final long serialVersionUID = -3420932370476155620L;
+    private transient List<AttributeIndex> indexes;
+    private transient long sequence;
+
+    public IndexedStreamEventQueue(StreamEventClonerHolder eventClonerHolder) {
+        super(eventClonerHolder);
+    }
+
+    public IndexedStreamEventQueue(StreamEventClonerHolder eventClonerHolder, int operationChangeLogThreshold) {
+        super(eventClonerHolder, operationChangeLogThreshold);
+    }
+
+    /**
+     * Finds the events of which the attribute at the given position satisfies the given comparison, in the order
+     * they are held by the queue.
+     *
+     * @param attributePosition position of the attribute within the events
+     * @param operator          comparison operator, other than {@link Compare.Operator#NOT_EQUAL}
+     * @param value             value to compare the attribute with
+     * @return the matching events
+     */
+    public Collection<StreamEvent> findEvents(int[] attributePosition, Compare.Operator operator, Object value) {
+        value = toIndexKey(value);
+        if (value == null) {
+            return Collections.emptyList();
+        }
+        AttributeIndex index = getIndex(attributePosition, operator != Compare.Operator.EQUAL);
+        Collection<ArrayDeque<IndexEntry>> buckets;
+        switch (operator) {
+            case EQUAL:
+                ArrayDeque<IndexEntry> bucket = index.buckets.get(value);
+                if (bucket == null) {
+                    return Collections.emptyList();
+                }
+                List<StreamEvent> events = new ArrayList<>(bucket.size());
+                for (IndexEntry entry : bucket) {
+                    events.add(entry.event);
+                }
+                return events;
+            case LESS_THAN:
+                buckets = ((NavigableMap<Object, ArrayDeque<IndexEntry>>) index.buckets).headMap(value, false)
+                        .values();
+                break;
+            case LESS_THAN_EQUAL:
+                buckets = ((NavigableMap<Object, ArrayDeque<IndexEntry>>) index.buckets).headMap(value, true)
+                        .values();
+                break;
+            case GREATER_THAN:
+                buckets = ((NavigableMap<Object, ArrayDeque<IndexEntry>>) index.buckets).tailMap(value, false)
+                        .values();
+                break;
+            case GREATER_THAN_EQUAL:
+                buckets = ((NavigableMap<Object, ArrayDeque<IndexEntry>>) index.buckets).tailMap(value, true)
+                        .values();
+                break;
+            default:
+                throw new IllegalArgumentException("Operator " + operator + " cannot be served by an index");
+        }
+        List<IndexEntry> entries = new ArrayList<>();
+        for (ArrayDeque<IndexEntry> aBucket : buckets) {
+            entries.addAll(aBucket);
+        }
+        entries.sort(Comparator.comparingLong(entry -> entry.sequence));
+        List<StreamEvent> events = new ArrayList<>(entries.size());
+        for (IndexEntry entry : entries) {
+            events.add(entry.event);
+        }
+        return events;
+    }
+
+    /**
+     * Converts a value to the key it is indexed by. Floating point zeros are merged and NaNs are not indexed, as the
+     * maps order them by their bits, whereas comparisons treat -0.0 as equal to 0.0 and NaN as unequal to any value.
+     *
+     * @param value attribute value
+     * @return the index key, or null if the value does not match any comparison
+     */
+    private static Object toIndexKey(Object value) {
+        if (value instanceof Double) {
+            double doubleValue = (Double) value;
+            if (Double.isNaN(doubleValue)) {
+                return null;
+            }
+            return doubleValue == 0 ? 0.0 : value;
+        } else if (value instanceof Float) {
+            float floatValue = (Float) value;
+            if (Float.isNaN(floatValue)) {
+                return null;
+            }
+            return floatValue == 0 ? 0.0f : value;
+        }
+        return value;
+    }
+
+    private AttributeIndex getIndex(int[] attributePosition, boolean sorted) {
+        if (indexes == null) {
+            indexes = new ArrayList<>();
+        }
+        int attributeType = attributePosition[STREAM_ATTRIBUTE_TYPE_INDEX];
+        int attributeIndex = attributePosition[STREAM_ATTRIBUTE_INDEX_IN_TYPE];
+        for (AttributeIndex index : indexes) {
+            if (index.position[STREAM_ATTRIBUTE_TYPE_INDEX] == attributeType &&
+                    index.position[STREAM_ATTRIBUTE_INDEX_IN_TYPE] == attributeIndex &&
+                    (index.isSorted() || !sorted)) {
+                return index;
+            }
+        }
+        AttributeIndex index = new AttributeIndex(attributePosition.clone(), sorted);
+        for (StreamEvent event = getFirst(); event != null; event = event.getNext()) {
+            index.add(event, sequence++);
+        }
+        indexes.add(index);
+        return index;
+    }
+
+    @Override
+    public void add(StreamEvent events) {
+        super.add(events);
+        if (indexes != null) {
+            for (StreamEvent event = events; event != null; event = event.getNext()) {
+                long eventSequence = sequence++;
+                for (AttributeIndex index : indexes) {
+                    index.add(event, eventSequence);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void remove() {
+        StreamEvent removedEvent = lastReturned;
+        super.remove();
+        removeFromIndexes(removedEvent);
+    }
+
+    @Override
+    public StreamEvent poll() {
+        StreamEvent polledEvent = super.poll();
+        if (polledEvent != null) {
+            removeFromIndexes(polledEvent);
+        }
+        return polledEvent;
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        if (indexes != null) {
+            for (AttributeIndex index : indexes) {
+                index.buckets.clear();
+            }
+        }
+    }
+
+    @Override
+    public void overwrite(StreamEvent streamEvent) {
+        super.overwrite(streamEvent);
+        // Overwritten events can be updated in place, hence their indexed values are no longer known
+        indexes = null;
+    }
+
+    private void removeFromIndexes(StreamEvent event) {
+        if (indexes != null) {
+            for (AttributeIndex index : indexes) {
+                index.remove(event);
+            }
+        }
+    }
+
+    /**
+     * Index of the events by the value of an attribute. Events having the same value are kept in arrival order, such
+     * that expiring events are found at the head of their bucket.
+     */
+    private static class AttributeIndex {
+        private final int[] position;
+        private final Map<Object, ArrayDeque<IndexEntry>> buckets;
+
+        AttributeIndex(int[] position, boolean sorted) {
+            this.position = position;
+            this.buckets = sorted ? new TreeMap<>() : new HashMap<>();
+        }
+
+        boolean isSorted() {
+            return buckets instanceof TreeMap;
+        }
+
+        void add(StreamEvent event, long sequence) {
+            Object key = toIndexKey(event.getAttribute(position));
+            if (key != null) {
+                buckets.computeIfAbsent(key, k -> new ArrayDeque<>()).add(new IndexEntry(sequence, event));
+            }
+        }
+
+        void remove(StreamEvent event) {
+            Object key = toIndexKey(event.getAttribute(position));
+            if (key == null) {
+                return;
+            }
+            ArrayDeque<IndexEntry> bucket = buckets.get(key);
+            if (bucket == null) {
+                return;
+            }
+            for (Iterator<IndexEntry> iterator = bucket.iterator(); iterator.hasNext(); ) {
+                if (iterator.next().event == event) {
+                    iterator.remove();
+                    break;
+                }
+            }
+            if (bucket.isEmpty()) {
+                buckets.remove(key);
+            }
+        }
+    }
+
+    private static class IndexEntry {
+        private final long sequence;
+        private final StreamEvent event;
+
+        IndexEntry(long sequence, StreamEvent event) {
+            this.sequence = sequence;
+            this.event = event;
+        }
+    }
+}
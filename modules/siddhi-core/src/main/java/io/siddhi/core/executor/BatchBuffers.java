@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.executor;
+
+import io.siddhi.core.event.ComplexEvent;
+
+import java.util.Arrays;
+
+/**
+ * Scratch arrays reused by a processor or an executor when evaluating event batches. The arrays grow to the largest
+ * batch seen, and as executors can be called concurrently, each thread uses its own instance through
+ * {@link #threadLocal()}.
+ */
+public final class BatchBuffers {
+
+    private ComplexEvent[] events = new ComplexEvent[0];
+    private Object[] leftValues = new Object[0];
+    private Object[] rightValues = new Object[0];
+    private boolean[] results = new boolean[0];
+    private int[] indexes = new int[0];
+
+    public static ThreadLocal<BatchBuffers> threadLocal() {
+        return ThreadLocal.withInitial(BatchBuffers::new);
+    }
+
+    public ComplexEvent[] events(int size) {
+        if (events.length < size) {
+            events = new ComplexEvent[size];
+        }
+        return events;
+    }
+
+    public Object[] leftValues(int size) {
+        if (leftValues.length < size) {
+            leftValues = new Object[size];
+        }
+        return leftValues;
+    }
+
+    public Object[] rightValues(int size) {
+        if (rightValues.length < size) {
+            rightValues = new Object[size];
+        }
+        return rightValues;
+    }
+
+    public boolean[] results(int size) {
+        if (results.length < size) {
+            results = new boolean[size];
+        }
+        return results;
+    }
+
+    public int[] indexes(int size) {
+        if (indexes.length < size) {
+            indexes = new int[size];
+        }
+        return indexes;
+    }
+
+    /**
+     * Drop the references held to events and attribute values of the last batch, so that they can be collected.
+     *
+     * @param size size of the last batch
+     */
+    public void clear(int size) {
+        Arrays.fill(events, 0, Math.min(size, events.length), null);
+        Arrays.fill(leftValues, 0, Math.min(size, leftValues.length), null);
+        Arrays.fill(rightValues, 0, Math.min(size, rightValues.length), null);
+    }
+}
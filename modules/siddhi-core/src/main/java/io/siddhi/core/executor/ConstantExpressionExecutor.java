@@ -21,16 +21,24 @@ package io.siddhi.core.executor;
 import io.siddhi.core.event.ComplexEvent;
 import io.siddhi.query.api.definition.Attribute;
 
+import java.util.Arrays;
+
 /**
  * Executor class for Constant Siddhi expressions. Function execution logic is implemented in execute method.
  */
-public class ConstantExpressionExecutor implements ExpressionExecutor {
+public class ConstantExpressionExecutor implements PrimitiveExpressionExecutor {
     private Object value;
     private Attribute.Type type;
+    private long longValue;
+    private double doubleValue;
 
     public ConstantExpressionExecutor(Object value, Attribute.Type type) {
         this.value = value;
         this.type = type;
+        if (value instanceof Number) {
+            this.longValue = ((Number) value).longValue();
+            this.doubleValue = ((Number) value).doubleValue();
+        }
     }
 
     @Override
@@ -38,6 +46,26 @@ public class ConstantExpressionExecutor implements ExpressionExecutor {
         return value;
     }
 
+    @Override
+    public void executeBatch(ComplexEvent[] events, int size, Object[] results) {
+        Arrays.fill(results, 0, size, value);
+    }
+
+    @Override
+    public boolean isNull(ComplexEvent event) {
+        return value == null;
+    }
+
+    @Override
+    public long executeLong(ComplexEvent event) {
+        return longValue;
+    }
+
+    @Override
+    public double executeDouble(ComplexEvent event) {
+        return doubleValue;
+    }
+
     public Attribute.Type getReturnType() {
         return type;
     }
@@ -30,6 +30,20 @@ public interface ExpressionExecutor extends Serializable {
 
     Object execute(ComplexEvent event);
 
+    /**
+     * Evaluates the expression for the first {@code size} events, writing each result to the same index of
+     * {@code results}. Executors that can evaluate a batch in a tighter loop override this.
+     *
+     * @param events  events to evaluate
+     * @param size    number of events to evaluate
+     * @param results array receiving the results, at least {@code size} long
+     */
+    default void executeBatch(ComplexEvent[] events, int size, Object[] results) {
+        for (int i = 0; i < size; i++) {
+            results[i] = execute(events[i]);
+        }
+    }
+
     Attribute.Type getReturnType();
 
 }
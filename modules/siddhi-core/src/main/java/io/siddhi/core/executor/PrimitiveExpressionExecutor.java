@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.executor;
+
+import io.siddhi.core.event.ComplexEvent;
+import io.siddhi.query.api.definition.Attribute;
+
+/**
+ * Expression executor of a side effect free expression that can also be evaluated without boxing its result. The
+ * typed math executors evaluate their operands through these methods when both operands support them, hence nested
+ * arithmetic over event attributes and constants does not box its intermediate results, and attributes are read from
+ * the primitive slots of the events when they have them.
+ */
+public interface PrimitiveExpressionExecutor extends ExpressionExecutor {
+
+    /**
+     * @param expressionExecutor executor to check
+     * @return whether the executor can be evaluated through the methods of this interface
+     */
+    static boolean supportsPrimitive(ExpressionExecutor expressionExecutor) {
+        return expressionExecutor instanceof PrimitiveExpressionExecutor &&
+                ((PrimitiveExpressionExecutor) expressionExecutor).isPrimitive();
+    }
+
+    /**
+     * @return whether the methods of this interface can be used, which is not the case for math executors having an
+     * operand that cannot be evaluated through them
+     */
+    default boolean isPrimitive() {
+        return true;
+    }
+
+    /**
+     * @param event event to be evaluated
+     * @return whether the expression evaluates to null
+     */
+    boolean isNull(ComplexEvent event);
+
+    /**
+     * Evaluates an expression of type int or long, which must not evaluate to null for the event.
+     *
+     * @param event event to be evaluated
+     * @return the result
+     */
+    long executeLong(ComplexEvent event);
+
+    /**
+     * Evaluates an expression of a numeric type, which must not evaluate to null for the event.
+     *
+     * @param event event to be evaluated
+     * @return the result
+     */
+    double executeDouble(ComplexEvent event);
+
+    /**
+     * Evaluates an expression of type int, long or float, which must not evaluate to null for the event.
+     *
+     * @param event event to be evaluated
+     * @return the result
+     */
+    default float executeFloat(ComplexEvent event) {
+        Attribute.Type type = getReturnType();
+        if (type == Attribute.Type.INT || type == Attribute.Type.LONG) {
+            return executeLong(event);
+        }
+        return (float) executeDouble(event);
+    }
+
+}
@@ -19,17 +19,23 @@
 package io.siddhi.core.executor;
 
 import io.siddhi.core.event.ComplexEvent;
+import io.siddhi.core.event.state.StateEvent;
+import io.siddhi.core.event.stream.PrimitiveLayout;
+import io.siddhi.core.event.stream.StreamEvent;
 import io.siddhi.query.api.definition.Attribute;
 
+import static io.siddhi.core.util.SiddhiConstants.STATE_OUTPUT_DATA_INDEX;
+import static io.siddhi.core.util.SiddhiConstants.STREAM_ATTRIBUTE_INDEX_IN_TYPE;
+import static io.siddhi.core.util.SiddhiConstants.STREAM_ATTRIBUTE_TYPE_INDEX;
 import static io.siddhi.core.util.SiddhiConstants.STREAM_EVENT_CHAIN_INDEX;
 import static io.siddhi.core.util.SiddhiConstants.STREAM_EVENT_INDEX_IN_CHAIN;
 import static io.siddhi.core.util.SiddhiConstants.UNKNOWN_STATE;
 
 /**
  * Executor class for Siddhi event attributes. This executor is used to extract attribute value from
- * {@link ComplexEvent}.
+ * {@link ComplexEvent}. Numeric attributes are read from the primitive slots of the stream event when it has them.
  */
-public class VariableExpressionExecutor implements ExpressionExecutor {
+public class VariableExpressionExecutor implements PrimitiveExpressionExecutor {
     private Attribute attribute;
     private int[] position = new int[]{UNKNOWN_STATE, UNKNOWN_STATE, UNKNOWN_STATE, UNKNOWN_STATE};
     //Position[stream event chain index, stream event index, stream attribute type index, stream attribute index]
@@ -46,6 +52,65 @@ public class VariableExpressionExecutor implements ExpressionExecutor {
         return event.getAttribute(position);
     }
 
+    @Override
+    public void executeBatch(ComplexEvent[] events, int size, Object[] results) {
+        int[] position = this.position;
+        for (int i = 0; i < size; i++) {
+            results[i] = events[i].getAttribute(position);
+        }
+    }
+
+    @Override
+    public boolean isNull(ComplexEvent event) {
+        return event.getAttribute(position) == null;
+    }
+
+    @Override
+    public long executeLong(ComplexEvent event) {
+        StreamEvent streamEvent = getStreamEvent(event);
+        if (streamEvent != null) {
+            PrimitiveLayout primitiveLayout = streamEvent.getPrimitiveLayout();
+            if (primitiveLayout != null) {
+                int slot = primitiveLayout.getLongSlot(position[STREAM_ATTRIBUTE_TYPE_INDEX],
+                        position[STREAM_ATTRIBUTE_INDEX_IN_TYPE]);
+                if (slot >= 0) {
+                    return streamEvent.getLongData()[slot];
+                }
+            }
+        }
+        return ((Number) event.getAttribute(position)).longValue();
+    }
+
+    @Override
+    public double executeDouble(ComplexEvent event) {
+        StreamEvent streamEvent = getStreamEvent(event);
+        if (streamEvent != null) {
+            PrimitiveLayout primitiveLayout = streamEvent.getPrimitiveLayout();
+            if (primitiveLayout != null) {
+                int slot = primitiveLayout.getDoubleSlot(position[STREAM_ATTRIBUTE_TYPE_INDEX],
+                        position[STREAM_ATTRIBUTE_INDEX_IN_TYPE]);
+                if (slot >= 0) {
+                    return streamEvent.getDoubleData()[slot];
+                }
+                slot = primitiveLayout.getLongSlot(position[STREAM_ATTRIBUTE_TYPE_INDEX],
+                        position[STREAM_ATTRIBUTE_INDEX_IN_TYPE]);
+                if (slot >= 0) {
+                    return streamEvent.getLongData()[slot];
+                }
+            }
+        }
+        return ((Number) event.getAttribute(position)).doubleValue();
+    }
+
+    private StreamEvent getStreamEvent(ComplexEvent event) {
+        if (event instanceof StreamEvent) {
+            return (StreamEvent) event;
+        } else if (event instanceof StateEvent && position[STREAM_ATTRIBUTE_TYPE_INDEX] != STATE_OUTPUT_DATA_INDEX) {
+            return ((StateEvent) event).getStreamEvent(position);
+        }
+        return null;
+    }
+
 
     public Attribute.Type getReturnType() {
         return attribute.getType();
@@ -20,6 +20,7 @@ package io.siddhi.core.executor.condition;
 
 import io.siddhi.core.event.ComplexEvent;
 import io.siddhi.core.exception.OperationNotSupportedException;
+import io.siddhi.core.executor.BatchBuffers;
 import io.siddhi.core.executor.ExpressionExecutor;
 import io.siddhi.query.api.definition.Attribute;
 
@@ -29,6 +30,7 @@ import io.siddhi.query.api.definition.Attribute;
 public class AndConditionExpressionExecutor extends ConditionExpressionExecutor {
     protected ExpressionExecutor leftConditionExecutor;
     protected ExpressionExecutor rightConditionExecutor;
+    private transient ThreadLocal<BatchBuffers> batchBuffers;
 
     public AndConditionExpressionExecutor(ExpressionExecutor leftConditionExecutor,
                                           ExpressionExecutor rightConditionExecutor) {
@@ -73,6 +75,12 @@ public class AndConditionExpressionExecutor extends ConditionExpressionExecutor
         return Boolean.FALSE;
     }
 
+    @Override
+    public void executeBatch(ComplexEvent[] events, int size, boolean[] results) {
+        executeBatch(leftConditionExecutor, events, size, results);
+        executeSelected(rightConditionExecutor, events, size, results, true, batchBuffers());
+    }
+
     public ExpressionExecutor getLeftConditionExecutor() {
         return leftConditionExecutor;
     }
@@ -81,4 +89,10 @@ public class AndConditionExpressionExecutor extends ConditionExpressionExecutor
         return rightConditionExecutor;
     }
 
+    private BatchBuffers batchBuffers() {
+        if (batchBuffers == null) {
+            batchBuffers = BatchBuffers.threadLocal();
+        }
+        return batchBuffers.get();
+    }
 }
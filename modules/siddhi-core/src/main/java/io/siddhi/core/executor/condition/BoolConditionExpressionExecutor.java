@@ -49,4 +49,13 @@ public class BoolConditionExpressionExecutor extends ConditionExpressionExecutor
         }
     }
 
+    @Override
+    public void executeBatch(ComplexEvent[] events, int size, boolean[] results) {
+        executeBatch(conditionExecutor, events, size, results);
+    }
+
+    public ExpressionExecutor getConditionExecutor() {
+        return conditionExecutor;
+    }
+
 }
@@ -19,6 +19,7 @@
 package io.siddhi.core.executor.condition;
 
 import io.siddhi.core.event.ComplexEvent;
+import io.siddhi.core.executor.BatchBuffers;
 import io.siddhi.core.executor.ExpressionExecutor;
 import io.siddhi.query.api.definition.Attribute;
 
@@ -34,4 +35,76 @@ public abstract class ConditionExpressionExecutor implements ExpressionExecutor
 
     public abstract Boolean execute(ComplexEvent event);
 
+    /**
+     * Evaluates the condition for the first {@code size} events, treating a null result as false.
+     *
+     * @param events  events to evaluate
+     * @param size    number of events to evaluate
+     * @param results array receiving the matches, at least {@code size} long
+     */
+    public void executeBatch(ComplexEvent[] events, int size, boolean[] results) {
+        for (int i = 0; i < size; i++) {
+            Boolean result = execute(events[i]);
+            results[i] = result != null && result;
+        }
+    }
+
+    /**
+     * Evaluates the given condition executor over a batch, using the batch implementation of condition executors
+     * and a per event loop for others.
+     *
+     * @param conditionExecutor executor returning BOOL
+     * @param events            events to evaluate
+     * @param size              number of events to evaluate
+     * @param results           array receiving the matches, at least {@code size} long
+     */
+    public static void executeBatch(ExpressionExecutor conditionExecutor, ComplexEvent[] events, int size,
+                                    boolean[] results) {
+        if (conditionExecutor instanceof ConditionExpressionExecutor) {
+            ((ConditionExpressionExecutor) conditionExecutor).executeBatch(events, size, results);
+        } else {
+            for (int i = 0; i < size; i++) {
+                Object result = conditionExecutor.execute(events[i]);
+                results[i] = result != null && (Boolean) result;
+            }
+        }
+    }
+
+    /**
+     * Evaluates the given condition executor only for the events whose {@code results} entry equals
+     * {@code selected}, and writes those entries back with the outcome. Other entries are left untouched, so
+     * conditions keep their short-circuit behaviour when evaluated in batches. The selected events are collected
+     * into the given buffers of the calling executor.
+     */
+    static void executeSelected(ExpressionExecutor conditionExecutor, ComplexEvent[] events, int size,
+                                boolean[] results, boolean selected, BatchBuffers buffers) {
+        int[] indexes = buffers.indexes(size);
+        int selectedSize = 0;
+        for (int i = 0; i < size; i++) {
+            if (results[i] == selected) {
+                indexes[selectedSize++] = i;
+            }
+        }
+        if (selectedSize == 0) {
+            return;
+        }
+        if (selectedSize == size) {
+            executeBatch(conditionExecutor, events, size, results);
+            return;
+        }
+        ComplexEvent[] selectedEvents = buffers.events(selectedSize);
+        for (int i = 0; i < selectedSize; i++) {
+            selectedEvents[i] = events[indexes[i]];
+        }
+        boolean[] selectedResults = buffers.results(selectedSize);
+        try {
+            executeBatch(conditionExecutor, selectedEvents, selectedSize, selectedResults);
+        } finally {
+            buffers.clear(selectedSize);
+        }
+        for (int i = 0; i < selectedSize; i++) {
+            results[indexes[i]] = selectedResults[i];
+        }
+    }
+
 }
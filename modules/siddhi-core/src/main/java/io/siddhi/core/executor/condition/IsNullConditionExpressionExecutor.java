@@ -19,6 +19,7 @@
 package io.siddhi.core.executor.condition;
 
 import io.siddhi.core.event.ComplexEvent;
+import io.siddhi.core.executor.BatchBuffers;
 import io.siddhi.core.executor.ExpressionExecutor;
 
 /**
@@ -27,6 +28,7 @@ import io.siddhi.core.executor.ExpressionExecutor;
 public class IsNullConditionExpressionExecutor extends ConditionExpressionExecutor {
 
     private ExpressionExecutor expressionExecutor;
+    private transient ThreadLocal<BatchBuffers> batchBuffers;
 
     public IsNullConditionExpressionExecutor(ExpressionExecutor expressionExecutor) {
         this.expressionExecutor = expressionExecutor;
@@ -41,4 +43,24 @@ public class IsNullConditionExpressionExecutor extends ConditionExpressionExecut
         }
     }
 
+    @Override
+    public void executeBatch(ComplexEvent[] events, int size, boolean[] results) {
+        BatchBuffers buffers = batchBuffers();
+        Object[] values = buffers.leftValues(size);
+        try {
+            expressionExecutor.executeBatch(events, size, values);
+            for (int i = 0; i < size; i++) {
+                results[i] = values[i] == null;
+            }
+        } finally {
+            buffers.clear(size);
+        }
+    }
+
+    private BatchBuffers batchBuffers() {
+        if (batchBuffers == null) {
+            batchBuffers = BatchBuffers.threadLocal();
+        }
+        return batchBuffers.get();
+    }
 }
@@ -49,4 +49,16 @@ public class NotConditionExpressionExecutor extends ConditionExpressionExecutor
         }
     }
 
+    @Override
+    public void executeBatch(ComplexEvent[] events, int size, boolean[] results) {
+        executeBatch(conditionExecutor, events, size, results);
+        for (int i = 0; i < size; i++) {
+            results[i] = !results[i];
+        }
+    }
+
+    public ExpressionExecutor getConditionExecutor() {
+        return conditionExecutor;
+    }
+
 }
@@ -20,6 +20,7 @@ package io.siddhi.core.executor.condition;
 
 import io.siddhi.core.event.ComplexEvent;
 import io.siddhi.core.exception.OperationNotSupportedException;
+import io.siddhi.core.executor.BatchBuffers;
 import io.siddhi.core.executor.ExpressionExecutor;
 import io.siddhi.query.api.definition.Attribute;
 
@@ -30,6 +31,7 @@ public class OrConditionExpressionExecutor extends ConditionExpressionExecutor {
 
     protected ExpressionExecutor leftConditionExecutor;
     protected ExpressionExecutor rightConditionExecutor;
+    private transient ThreadLocal<BatchBuffers> batchBuffers;
 
     public OrConditionExpressionExecutor(ExpressionExecutor leftConditionExecutor,
                                          ExpressionExecutor rightConditionExecutor) {
@@ -75,4 +77,24 @@ public class OrConditionExpressionExecutor extends ConditionExpressionExecutor {
         return Boolean.FALSE;
     }
 
+    @Override
+    public void executeBatch(ComplexEvent[] events, int size, boolean[] results) {
+        executeBatch(leftConditionExecutor, events, size, results);
+        executeSelected(rightConditionExecutor, events, size, results, false, batchBuffers());
+    }
+
+    public ExpressionExecutor getLeftConditionExecutor() {
+        return leftConditionExecutor;
+    }
+
+    public ExpressionExecutor getRightConditionExecutor() {
+        return rightConditionExecutor;
+    }
+
+    private BatchBuffers batchBuffers() {
+        if (batchBuffers == null) {
+            batchBuffers = BatchBuffers.threadLocal();
+        }
+        return batchBuffers.get();
+    }
 }
@@ -18,6 +18,7 @@
 package io.siddhi.core.executor.condition.compare;
 
 import io.siddhi.core.event.ComplexEvent;
+import io.siddhi.core.executor.BatchBuffers;
 import io.siddhi.core.executor.ExpressionExecutor;
 import io.siddhi.core.executor.condition.ConditionExpressionExecutor;
 
@@ -27,6 +28,7 @@ import io.siddhi.core.executor.condition.ConditionExpressionExecutor;
 public abstract class CompareConditionExpressionExecutor extends ConditionExpressionExecutor {
     protected ExpressionExecutor leftExpressionExecutor;
     protected ExpressionExecutor rightExpressionExecutor;
+    private transient ThreadLocal<BatchBuffers> batchBuffers;
 
     public CompareConditionExpressionExecutor(ExpressionExecutor leftExpressionExecutor,
                                               ExpressionExecutor rightExpressionExecutor) {
@@ -41,6 +43,24 @@ public abstract class CompareConditionExpressionExecutor extends ConditionExpres
         return !(left == null || right == null) && execute(left, right);
     }
 
+    @Override
+    public void executeBatch(ComplexEvent[] events, int size, boolean[] results) {
+        BatchBuffers buffers = batchBuffers();
+        Object[] leftValues = buffers.leftValues(size);
+        Object[] rightValues = buffers.rightValues(size);
+        try {
+            leftExpressionExecutor.executeBatch(events, size, leftValues);
+            rightExpressionExecutor.executeBatch(events, size, rightValues);
+            for (int i = 0; i < size; i++) {
+                Object left = leftValues[i];
+                Object right = rightValues[i];
+                results[i] = !(left == null || right == null) && execute(left, right);
+            }
+        } finally {
+            buffers.clear(size);
+        }
+    }
+
     protected abstract Boolean execute(Object left, Object right);
 
     public ExpressionExecutor getLeftExpressionExecutor() {
@@ -50,4 +70,14 @@ public abstract class CompareConditionExpressionExecutor extends ConditionExpres
     public ExpressionExecutor getRightExpressionExecutor() {
         return rightExpressionExecutor;
     }
+
+    /**
+     * @return the batch buffers of the calling thread, created lazily as they are not kept when serialized
+     */
+    protected BatchBuffers batchBuffers() {
+        if (batchBuffers == null) {
+            batchBuffers = BatchBuffers.threadLocal();
+        }
+        return batchBuffers.get();
+    }
 }
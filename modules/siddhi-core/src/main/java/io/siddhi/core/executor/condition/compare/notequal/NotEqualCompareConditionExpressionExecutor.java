@@ -18,6 +18,7 @@
 package io.siddhi.core.executor.condition.compare.notequal;
 
 import io.siddhi.core.event.ComplexEvent;
+import io.siddhi.core.executor.BatchBuffers;
 import io.siddhi.core.executor.ExpressionExecutor;
 import io.siddhi.core.executor.condition.compare.CompareConditionExpressionExecutor;
 
@@ -36,4 +37,22 @@ public abstract class NotEqualCompareConditionExpressionExecutor extends Compare
         Object right = rightExpressionExecutor.execute(event);
         return left == null || right == null || execute(left, right);
     }
+
+    @Override
+    public void executeBatch(ComplexEvent[] events, int size, boolean[] results) {
+        BatchBuffers buffers = batchBuffers();
+        Object[] leftValues = buffers.leftValues(size);
+        Object[] rightValues = buffers.rightValues(size);
+        try {
+            leftExpressionExecutor.executeBatch(events, size, leftValues);
+            rightExpressionExecutor.executeBatch(events, size, rightValues);
+            for (int i = 0; i < size; i++) {
+                Object left = leftValues[i];
+                Object right = rightValues[i];
+                results[i] = left == null || right == null || execute(left, right);
+            }
+        } finally {
+            buffers.clear(size);
+        }
+    }
 }
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.executor.condition.compiled;
+
+import io.siddhi.core.event.ComplexEvent;
+import io.siddhi.core.executor.ExpressionExecutor;
+import io.siddhi.core.executor.condition.ConditionExpressionExecutor;
+
+/**
+ * Condition executor produced by {@link ConditionCompiler}. The interpreted executor tree is flattened into
+ * {@link ConditionNode}s that evaluate to primitive booleans, while the original executor is retained for
+ * reference.
+ */
+public class CompiledConditionExpressionExecutor extends ConditionExpressionExecutor {
+    private static final long serialVersionUID = -5368289249700993924L;
+
+    private final ConditionNode conditionNode;
+    private final ExpressionExecutor interpretedExecutor;
+
+    CompiledConditionExpressionExecutor(ConditionNode conditionNode, ExpressionExecutor interpretedExecutor) {
+        this.conditionNode = conditionNode;
+        this.interpretedExecutor = interpretedExecutor;
+    }
+
+    @Override
+    public Boolean execute(ComplexEvent event) {
+        return conditionNode.evaluate(event);
+    }
+
+    @Override
+    public void executeBatch(ComplexEvent[] events, int size, boolean[] results) {
+        ConditionNode conditionNode = this.conditionNode;
+        for (int i = 0; i < size; i++) {
+            results[i] = conditionNode.evaluate(events[i]);
+        }
+    }
+
+    public ExpressionExecutor getInterpretedExecutor() {
+        return interpretedExecutor;
+    }
+
+}
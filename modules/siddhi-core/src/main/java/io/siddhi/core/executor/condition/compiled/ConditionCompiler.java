@@ -0,0 +1,405 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.executor.condition.compiled;
+
+import io.siddhi.core.event.ComplexEvent;
+import io.siddhi.core.executor.ConstantExpressionExecutor;
+import io.siddhi.core.executor.ExpressionExecutor;
+import io.siddhi.core.executor.condition.AndConditionExpressionExecutor;
+import io.siddhi.core.executor.condition.BoolConditionExpressionExecutor;
+import io.siddhi.core.executor.condition.ConditionExpressionExecutor;
+import io.siddhi.core.executor.condition.NotConditionExpressionExecutor;
+import io.siddhi.core.executor.condition.OrConditionExpressionExecutor;
+import io.siddhi.core.executor.condition.compare.CompareConditionExpressionExecutor;
+import io.siddhi.core.executor.condition.compare.equal.EqualCompareConditionExpressionExecutor;
+import io.siddhi.core.executor.condition.compare.greaterthan.GreaterThanCompareConditionExpressionExecutor;
+import io.siddhi.core.executor.condition.compare.greaterthanequal.GreaterThanEqualCompareConditionExpressionExecutor;
+import io.siddhi.core.executor.condition.compare.lessthan.LessThanCompareConditionExpressionExecutor;
+import io.siddhi.core.executor.condition.compare.lessthanequal.LessThanEqualCompareConditionExpressionExecutor;
+import io.siddhi.core.executor.condition.compare.notequal.NotEqualCompareConditionExpressionExecutor;
+import io.siddhi.query.api.definition.Attribute;
+import io.siddhi.query.api.expression.condition.Compare;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compiles interpreted condition executor trees into {@link CompiledConditionExpressionExecutor}s.
+ * <p>
+ * Nested and/or conditions are flattened, not conditions are folded into their operand, and numeric
+ * comparisons are evaluated on unboxed values using Java's binary numeric promotion, with constant operands
+ * unboxed once at compile time. Any other executor, such as extension functions, string comparisons or
+ * aggregators, is kept as an interpreted leaf of the compiled tree.
+ */
+public final class ConditionCompiler {
+
+    private ConditionCompiler() {
+    }
+
+    /**
+     * Compile the given executor if it is a condition.
+     *
+     * @param expressionExecutor interpreted executor
+     * @return compiled executor, or the given executor when there is nothing to compile
+     */
+    public static ExpressionExecutor compile(ExpressionExecutor expressionExecutor) {
+        if (!(expressionExecutor instanceof ConditionExpressionExecutor) ||
+                expressionExecutor instanceof CompiledConditionExpressionExecutor) {
+            return expressionExecutor;
+        }
+        ConditionNode conditionNode = compileCondition(expressionExecutor);
+        if (conditionNode instanceof ExecutorNode) {
+            return expressionExecutor;
+        }
+        return new CompiledConditionExpressionExecutor(conditionNode, expressionExecutor);
+    }
+
+    private static ConditionNode compileCondition(ExpressionExecutor expressionExecutor) {
+        if (expressionExecutor instanceof AndConditionExpressionExecutor) {
+            List<ConditionNode> conditionNodes = new ArrayList<>();
+            flattenAnd(expressionExecutor, conditionNodes);
+            return new AndNode(conditionNodes.toArray(new ConditionNode[0]));
+        } else if (expressionExecutor instanceof OrConditionExpressionExecutor) {
+            List<ConditionNode> conditionNodes = new ArrayList<>();
+            flattenOr(expressionExecutor, conditionNodes);
+            return new OrNode(conditionNodes.toArray(new ConditionNode[0]));
+        } else if (expressionExecutor instanceof NotConditionExpressionExecutor) {
+            return new NotNode(compileCondition(
+                    ((NotConditionExpressionExecutor) expressionExecutor).getConditionExecutor()));
+        } else if (expressionExecutor instanceof BoolConditionExpressionExecutor) {
+            return compileCondition(((BoolConditionExpressionExecutor) expressionExecutor).getConditionExecutor());
+        } else if (expressionExecutor instanceof CompareConditionExpressionExecutor) {
+            return compileCompare((CompareConditionExpressionExecutor) expressionExecutor);
+        }
+        return new ExecutorNode(expressionExecutor);
+    }
+
+    private static void flattenAnd(ExpressionExecutor expressionExecutor, List<ConditionNode> conditionNodes) {
+        if (expressionExecutor instanceof AndConditionExpressionExecutor) {
+            flattenAnd(((AndConditionExpressionExecutor) expressionExecutor).getLeftConditionExecutor(),
+                    conditionNodes);
+            flattenAnd(((AndConditionExpressionExecutor) expressionExecutor).getRightConditionExecutor(),
+                    conditionNodes);
+        } else {
+            conditionNodes.add(compileCondition(expressionExecutor));
+        }
+    }
+
+    private static void flattenOr(ExpressionExecutor expressionExecutor, List<ConditionNode> conditionNodes) {
+        if (expressionExecutor instanceof OrConditionExpressionExecutor) {
+            flattenOr(((OrConditionExpressionExecutor) expressionExecutor).getLeftConditionExecutor(),
+                    conditionNodes);
+            flattenOr(((OrConditionExpressionExecutor) expressionExecutor).getRightConditionExecutor(),
+                    conditionNodes);
+        } else {
+            conditionNodes.add(compileCondition(expressionExecutor));
+        }
+    }
+
+    private static ConditionNode compileCompare(CompareConditionExpressionExecutor compareExecutor) {
+        ExpressionExecutor leftExecutor = compareExecutor.getLeftExpressionExecutor();
+        ExpressionExecutor rightExecutor = compareExecutor.getRightExpressionExecutor();
+        Attribute.Type leftType = leftExecutor.getReturnType();
+        Attribute.Type rightType = rightExecutor.getReturnType();
+        Compare.Operator operator = getOperator(compareExecutor);
+        if (operator == null || !isNumeric(leftType) || !isNumeric(rightType) ||
+                isNullConstant(leftExecutor) || isNullConstant(rightExecutor)) {
+            return new ExecutorNode(compareExecutor);
+        }
+        if (leftType == Attribute.Type.DOUBLE || rightType == Attribute.Type.DOUBLE) {
+            return new DoubleCompareNode(operator, leftExecutor, rightExecutor);
+        } else if ((operator == Compare.Operator.EQUAL || operator == Compare.Operator.NOT_EQUAL) &&
+                (leftType == Attribute.Type.LONG || rightType == Attribute.Type.LONG) &&
+                (leftType == Attribute.Type.FLOAT || rightType == Attribute.Type.FLOAT)) {
+            // Equality of float and long is interpreted over their double values
+            return new DoubleCompareNode(operator, leftExecutor, rightExecutor);
+        } else if (leftType == Attribute.Type.FLOAT || rightType == Attribute.Type.FLOAT) {
+            return new FloatCompareNode(operator, leftExecutor, rightExecutor);
+        } else {
+            return new LongCompareNode(operator, leftExecutor, rightExecutor);
+        }
+    }
+
+    private static Compare.Operator getOperator(CompareConditionExpressionExecutor compareExecutor) {
+        if (compareExecutor instanceof LessThanCompareConditionExpressionExecutor) {
+            return Compare.Operator.LESS_THAN;
+        } else if (compareExecutor instanceof GreaterThanCompareConditionExpressionExecutor) {
+            return Compare.Operator.GREATER_THAN;
+        } else if (compareExecutor instanceof LessThanEqualCompareConditionExpressionExecutor) {
+            return Compare.Operator.LESS_THAN_EQUAL;
+        } else if (compareExecutor instanceof GreaterThanEqualCompareConditionExpressionExecutor) {
+            return Compare.Operator.GREATER_THAN_EQUAL;
+        } else if (compareExecutor instanceof EqualCompareConditionExpressionExecutor) {
+            return Compare.Operator.EQUAL;
+        } else if (compareExecutor instanceof NotEqualCompareConditionExpressionExecutor) {
+            return Compare.Operator.NOT_EQUAL;
+        }
+        return null;
+    }
+
+    private static boolean isNumeric(Attribute.Type type) {
+        return type == Attribute.Type.INT || type == Attribute.Type.LONG || type == Attribute.Type.FLOAT ||
+                type == Attribute.Type.DOUBLE;
+    }
+
+    private static boolean isNullConstant(ExpressionExecutor expressionExecutor) {
+        return expressionExecutor instanceof ConstantExpressionExecutor &&
+                ((ConstantExpressionExecutor) expressionExecutor).getValue() == null;
+    }
+
+    private static ExpressionExecutor nonConstant(ExpressionExecutor expressionExecutor) {
+        return expressionExecutor instanceof ConstantExpressionExecutor ? null : expressionExecutor;
+    }
+
+    private static Number constantValue(ExpressionExecutor expressionExecutor) {
+        return expressionExecutor instanceof ConstantExpressionExecutor ?
+                (Number) ((ConstantExpressionExecutor) expressionExecutor).getValue() : null;
+    }
+
+    /**
+     * Leaf evaluating an interpreted executor, treating null as false.
+     */
+    private static final class ExecutorNode implements ConditionNode {
+        private static final long serialVersionUID = 6973843691208625389L;
+        private final ExpressionExecutor expressionExecutor;
+
+        private ExecutorNode(ExpressionExecutor expressionExecutor) {
+            this.expressionExecutor = expressionExecutor;
+        }
+
+        @Override
+        public boolean evaluate(ComplexEvent event) {
+            Object result = expressionExecutor.execute(event);
+            return result != null && (Boolean) result;
+        }
+    }
+
+    private static final class AndNode implements ConditionNode {
+        private static final long serialVersionUID = -6933125095176345201L;
+        private final ConditionNode[] conditionNodes;
+
+        private AndNode(ConditionNode[] conditionNodes) {
+            this.conditionNodes = conditionNodes;
+        }
+
+        @Override
+        public boolean evaluate(ComplexEvent event) {
+            for (ConditionNode conditionNode : conditionNodes) {
+                if (!conditionNode.evaluate(event)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private static final class OrNode implements ConditionNode {
+        private static final long serialVersionUID = -7035721626433509737L;
+        private final ConditionNode[] conditionNodes;
+
+        private OrNode(ConditionNode[] conditionNodes) {
+            this.conditionNodes = conditionNodes;
+        }
+
+        @Override
+        public boolean evaluate(ComplexEvent event) {
+            for (ConditionNode conditionNode : conditionNodes) {
+                if (conditionNode.evaluate(event)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static final class NotNode implements ConditionNode {
+        private static final long serialVersionUID = -8407822683851340777L;
+        private final ConditionNode conditionNode;
+
+        private NotNode(ConditionNode conditionNode) {
+            this.conditionNode = conditionNode;
+        }
+
+        @Override
+        public boolean evaluate(ComplexEvent event) {
+            return !conditionNode.evaluate(event);
+        }
+    }
+
+    private static final class LongCompareNode implements ConditionNode {
+        private static final long serialVersionUID = -5317041603914800604L;
+        private final Compare.Operator operator;
+        private final ExpressionExecutor leftExecutor;
+        private final ExpressionExecutor rightExecutor;
+        private final long leftConstant;
+        private final long rightConstant;
+
+        private LongCompareNode(Compare.Operator operator, ExpressionExecutor leftExecutor,
+                                ExpressionExecutor rightExecutor) {
+            this.operator = operator;
+            this.leftExecutor = nonConstant(leftExecutor);
+            this.rightExecutor = nonConstant(rightExecutor);
+            this.leftConstant = this.leftExecutor == null ? constantValue(leftExecutor).longValue() : 0L;
+            this.rightConstant = this.rightExecutor == null ? constantValue(rightExecutor).longValue() : 0L;
+        }
+
+        @Override
+        public boolean evaluate(ComplexEvent event) {
+            Object leftObject = leftExecutor == null ? null : leftExecutor.execute(event);
+            Object rightObject = rightExecutor == null ? null : rightExecutor.execute(event);
+            long left;
+            long right;
+            if (leftExecutor == null) {
+                left = leftConstant;
+            } else if (leftObject == null) {
+                return operator == Compare.Operator.NOT_EQUAL;
+            } else {
+                left = ((Number) leftObject).longValue();
+            }
+            if (rightExecutor == null) {
+                right = rightConstant;
+            } else if (rightObject == null) {
+                return operator == Compare.Operator.NOT_EQUAL;
+            } else {
+                right = ((Number) rightObject).longValue();
+            }
+            switch (operator) {
+                case LESS_THAN:
+                    return left < right;
+                case GREATER_THAN:
+                    return left > right;
+                case LESS_THAN_EQUAL:
+                    return left <= right;
+                case GREATER_THAN_EQUAL:
+                    return left >= right;
+                case EQUAL:
+                    return left == right;
+                default:
+                    return left != right;
+            }
+        }
+    }
+
+    private static final class FloatCompareNode implements ConditionNode {
+        private static final long serialVersionUID = 3098335967658130025L;
+        private final Compare.Operator operator;
+        private final ExpressionExecutor leftExecutor;
+        private final ExpressionExecutor rightExecutor;
+        private final float leftConstant;
+        private final float rightConstant;
+
+        private FloatCompareNode(Compare.Operator operator, ExpressionExecutor leftExecutor,
+                                 ExpressionExecutor rightExecutor) {
+            this.operator = operator;
+            this.leftExecutor = nonConstant(leftExecutor);
+            this.rightExecutor = nonConstant(rightExecutor);
+            this.leftConstant = this.leftExecutor == null ? constantValue(leftExecutor).floatValue() : 0f;
+            this.rightConstant = this.rightExecutor == null ? constantValue(rightExecutor).floatValue() : 0f;
+        }
+
+        @Override
+        public boolean evaluate(ComplexEvent event) {
+            Object leftObject = leftExecutor == null ? null : leftExecutor.execute(event);
+            Object rightObject = rightExecutor == null ? null : rightExecutor.execute(event);
+            float left;
+            float right;
+            if (leftExecutor == null) {
+                left = leftConstant;
+            } else if (leftObject == null) {
+                return operator == Compare.Operator.NOT_EQUAL;
+            } else {
+                left = ((Number) leftObject).floatValue();
+            }
+            if (rightExecutor == null) {
+                right = rightConstant;
+            } else if (rightObject == null) {
+                return operator == Compare.Operator.NOT_EQUAL;
+            } else {
+                right = ((Number) rightObject).floatValue();
+            }
+            switch (operator) {
+                case LESS_THAN:
+                    return left < right;
+                case GREATER_THAN:
+                    return left > right;
+                case LESS_THAN_EQUAL:
+                    return left <= right;
+                case GREATER_THAN_EQUAL:
+                    return left >= right;
+                case EQUAL:
+                    return left == right;
+                default:
+                    return left != right;
+            }
+        }
+    }
+
+    private static final class DoubleCompareNode implements ConditionNode {
+        private static final long serialVersionUID = 8418719638624845797L;
+        private final Compare.Operator operator;
+        private final ExpressionExecutor leftExecutor;
+        private final ExpressionExecutor rightExecutor;
+        private final double leftConstant;
+        private final double rightConstant;
+
+        private DoubleCompareNode(Compare.Operator operator, ExpressionExecutor leftExecutor,
+                                  ExpressionExecutor rightExecutor) {
+            this.operator = operator;
+            this.leftExecutor = nonConstant(leftExecutor);
+            this.rightExecutor = nonConstant(rightExecutor);
+            this.leftConstant = this.leftExecutor == null ? constantValue(leftExecutor).doubleValue() : 0d;
+            this.rightConstant = this.rightExecutor == null ? constantValue(rightExecutor).doubleValue() : 0d;
+        }
+
+        @Override
+        public boolean evaluate(ComplexEvent event) {
+            Object leftObject = leftExecutor == null ? null : leftExecutor.execute(event);
+            Object rightObject = rightExecutor == null ? null : rightExecutor.execute(event);
+            double left;
+            double right;
+            if (leftExecutor == null) {
+                left = leftConstant;
+            } else if (leftObject == null) {
+                return operator == Compare.Operator.NOT_EQUAL;
+            } else {
+                left = ((Number) leftObject).doubleValue();
+            }
+            if (rightExecutor == null) {
+                right = rightConstant;
+            } else if (rightObject == null) {
+                return operator == Compare.Operator.NOT_EQUAL;
+            } else {
+                right = ((Number) rightObject).doubleValue();
+            }
+            switch (operator) {
+                case LESS_THAN:
+                    return left < right;
+                case GREATER_THAN:
+                    return left > right;
+                case LESS_THAN_EQUAL:
+                    return left <= right;
+                case GREATER_THAN_EQUAL:
+                    return left >= right;
+                case EQUAL:
+                    return left == right;
+                default:
+                    return left != right;
+            }
+        }
+    }
+}
@@ -75,6 +75,7 @@ import java.util.concurrent.TimeUnit;
 public class PartitionRuntimeImpl implements PartitionRuntime {
 
     private final StateHolder<PartitionState> stateHolder;
+    private PartitionWorkerPool workerPool;
     //default every 5 min
     private long purgeExecutionInterval = 300000;
     private boolean purgingEnabled = false;
@@ -145,6 +146,35 @@ public class PartitionRuntimeImpl implements PartitionRuntime {
                 purgeExecutionInterval = Expression.Time.timeToLong(interval);
             }
         }
+        Annotation async = AnnotationHelper.getAnnotation(SiddhiConstants.ANNOTATION_ASYNC,
+                partition.getAnnotations());
+        if (async != null) {
+            int workers = Runtime.getRuntime().availableProcessors();
+            int bufferSize = SiddhiConstants.DEFAULT_EVENT_BUFFER_SIZE;
+            String workersString = async.getElement(SiddhiConstants.ANNOTATION_ELEMENT_WORKERS);
+            if (workersString != null) {
+                workers = Integer.parseInt(workersString);
+                if (workers <= 0) {
+                    throw new SiddhiAppCreationException("Annotation element '" +
+                            SiddhiConstants.ANNOTATION_ELEMENT_WORKERS + "' cannot be negative or zero, " +
+                            "but found, '" + workers + "'.", async.getQueryContextStartIndex(),
+                            async.getQueryContextEndIndex(), siddhiAppContext.getName(),
+                            siddhiAppContext.getSiddhiAppString());
+                }
+            }
+            String bufferSizeString = async.getElement(SiddhiConstants.ANNOTATION_ELEMENT_BUFFER_SIZE);
+            if (bufferSizeString != null) {
+                bufferSize = Integer.parseInt(bufferSizeString);
+                if (bufferSize <= 0) {
+                    throw new SiddhiAppCreationException("Annotation element '" +
+                            SiddhiConstants.ANNOTATION_ELEMENT_BUFFER_SIZE + "' cannot be negative or zero, " +
+                            "but found, '" + bufferSize + "'.", async.getQueryContextStartIndex(),
+                            async.getQueryContextEndIndex(), siddhiAppContext.getName(),
+                            siddhiAppContext.getSiddhiAppString());
+                }
+            }
+            workerPool = new PartitionWorkerPool(partitionName, workers, bufferSize, siddhiAppContext);
+        }
         this.partition = partition;
         this.streamDefinitionMap = streamDefinitionMap;
         this.windowDefinitionMap = windowDefinitionMap;
@@ -323,6 +353,26 @@ public class PartitionRuntimeImpl implements PartitionRuntime {
         }
     }
 
+    /**
+     * Starts the workers of an asynchronous partition. Events of a synchronous partition are processed on the
+     * threads sending them, hence there is nothing to start.
+     */
+    public void start() {
+        if (workerPool != null) {
+            workerPool.start();
+        }
+    }
+
+    public void stop() {
+        if (workerPool != null) {
+            workerPool.stop();
+        }
+    }
+
+    PartitionWorkerPool getWorkerPool() {
+        return workerPool;
+    }
+
     public String getPartitionName() {
         return partitionName;
     }
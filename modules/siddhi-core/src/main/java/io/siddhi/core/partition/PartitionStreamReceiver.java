@@ -23,6 +23,7 @@ import io.siddhi.core.event.ComplexEventChunk;
 import io.siddhi.core.event.Event;
 import io.siddhi.core.event.stream.MetaStreamEvent;
 import io.siddhi.core.event.stream.StreamEvent;
+import io.siddhi.core.event.stream.StreamEventCloner;
 import io.siddhi.core.event.stream.StreamEventFactory;
 import io.siddhi.core.event.stream.converter.StreamEventConverter;
 import io.siddhi.core.event.stream.converter.StreamEventConverterFactory;
@@ -44,7 +45,9 @@ import java.util.Map;
 public class PartitionStreamReceiver implements StreamJunction.Receiver {
 
     private final StreamEventFactory streamEventFactory;
+    private final PartitionWorkerPool workerPool;
     private StreamEventConverter streamEventConverter;
+    private StreamEventCloner streamEventCloner;
     private String streamId;
     private MetaStreamEvent metaStreamEvent;
     private StreamDefinition streamDefinition;
@@ -65,11 +68,13 @@ public class PartitionStreamReceiver implements StreamJunction.Receiver {
         this.siddhiAppContext = siddhiAppContext;
         this.streamId = streamDefinition.getId();
         this.streamEventFactory = new StreamEventFactory(metaStreamEvent);
+        this.workerPool = this.partitionRuntime.getWorkerPool();
 
     }
 
     public void init() {
         streamEventConverter = StreamEventConverterFactory.constructEventConverter(metaStreamEvent);
+        streamEventCloner = new StreamEventCloner(metaStreamEvent, streamEventFactory);
     }
 
     @Override
@@ -151,7 +156,7 @@ public class PartitionStreamReceiver implements StreamJunction.Receiver {
         streamEventConverter.convertEvent(event, newEvent);
         for (PartitionExecutor partitionExecutor : partitionExecutors) {
             String key = partitionExecutor.execute(newEvent);
-            send(key, newEvent);
+            sendShared(key, newEvent);
         }
         if (partitionExecutors.size() == 0) {
             send(newEvent);
@@ -167,19 +172,24 @@ public class PartitionStreamReceiver implements StreamJunction.Receiver {
         } else {
             for (PartitionExecutor partitionExecutor : partitionExecutors) {
                 String key = partitionExecutor.execute(newEvent);
-                send(key, newEvent);
+                sendShared(key, newEvent);
             }
         }
     }
 
     @Override
     public void receive(Event[] events) {
+        receive(events, events.length);
+    }
+
+    @Override
+    public void receive(Event[] events, int length) {
         if (partitionExecutors.size() == 0) {
             StreamEvent currentEvent;
             StreamEvent firstEvent = streamEventFactory.newInstance();
             streamEventConverter.convertEvent(events[0], firstEvent);
             currentEvent = firstEvent;
-            for (int i = 1; i < events.length; i++) {
+            for (int i = 1; i < length; i++) {
                 StreamEvent nextEvent = streamEventFactory.newInstance();
                 streamEventConverter.convertEvent(events[i], nextEvent);
                 currentEvent.setNext(nextEvent);
@@ -187,30 +197,13 @@ public class PartitionStreamReceiver implements StreamJunction.Receiver {
             }
             send(firstEvent);
         } else {
-            String key = null;
-            StreamEvent firstEvent = null;
-            StreamEvent currentEvent = null;
-            for (Event event : events) {
+            KeyedEventChain eventChain = new KeyedEventChain();
+            for (int i = 0; i < length; i++) {
                 StreamEvent nextEvent = streamEventFactory.newInstance();
-                streamEventConverter.convertEvent(event, nextEvent);
-                for (PartitionExecutor partitionExecutor : partitionExecutors) {
-                    String currentKey = partitionExecutor.execute(nextEvent);
-                    if (currentKey != null) {
-                        if (key == null) {
-                            key = currentKey;
-                            firstEvent = nextEvent;
-                        } else if (!currentKey.equals(key)) {
-                            send(key, firstEvent);
-                            key = currentKey;
-                            firstEvent = nextEvent;
-                        } else {
-                            currentEvent.setNext(nextEvent);
-                        }
-                        currentEvent = nextEvent;
-                    }
-                }
+                streamEventConverter.convertEvent(events[i], nextEvent);
+                eventChain.add(nextEvent);
             }
-            send(key, firstEvent);
+            eventChain.send();
         }
 
     }
@@ -232,46 +225,56 @@ public class PartitionStreamReceiver implements StreamJunction.Receiver {
             }
             send(firstEvent);
         } else {
-            String key = null;
-            StreamEvent firstEvent = null;
-            StreamEvent currentEvent = null;
+            KeyedEventChain eventChain = new KeyedEventChain();
             for (Event event : events) {
                 StreamEvent nextEvent = streamEventFactory.newInstance();
                 streamEventConverter.convertEvent(event, nextEvent);
-                for (PartitionExecutor partitionExecutor : partitionExecutors) {
-                    String currentKey = partitionExecutor.execute(nextEvent);
-                    if (currentKey != null) {
-                        if (key == null) {
-                            key = currentKey;
-                            firstEvent = nextEvent;
-                        } else if (!currentKey.equals(key)) {
-                            send(key, firstEvent);
-                            key = currentKey;
-                            firstEvent = nextEvent;
-                        } else {
-                            currentEvent.setNext(nextEvent);
-                        }
-                        currentEvent = nextEvent;
-                    }
-                }
+                eventChain.add(nextEvent);
             }
-            send(key, firstEvent);
+            eventChain.send();
         }
     }
 
+    /**
+     * Sends an event that is also evaluated against the other partition executors. When the partition is
+     * asynchronous each partition key gets its own copy, as the keys can be processed by different workers.
+     */
+    private void sendShared(String key, StreamEvent event) {
+        if (key != null && workerPool != null && partitionExecutors.size() > 1) {
+            event = streamEventCloner.copyStreamEvent(event);
+        }
+        send(key, event);
+    }
+
     private void send(String key, ComplexEvent event) {
         if (key != null) {
-            SiddhiAppContext.startPartitionFlow(key);
-            try {
+            if (workerPool != null) {
+                workerPool.dispatch(key, event, true, this);
+            } else {
+                sendToPartition(key, event, true);
+            }
+        }
+    }
+
+    void sendToPartition(String key, ComplexEvent event, boolean initPartition) {
+        SiddhiAppContext.startPartitionFlow(key);
+        try {
+            if (initPartition) {
                 partitionRuntime.initPartition();
-                streamJunctionMap.get(streamId).sendEvent(event);
-            } finally {
-                SiddhiAppContext.stopPartitionFlow();
             }
+            streamJunctionMap.get(streamId).sendEvent(event);
+        } finally {
+            SiddhiAppContext.stopPartitionFlow();
         }
     }
 
     private void send(ComplexEvent event) {
+        if (workerPool != null) {
+            for (String key : partitionRuntime.getPartitionKeys()) {
+                workerPool.dispatch(key, copyEventChunk(event), false, this);
+            }
+            return;
+        }
         for (String key : partitionRuntime.getPartitionKeys()) {
             SiddhiAppContext.startPartitionFlow(key);
             try {
@@ -282,6 +285,21 @@ public class PartitionStreamReceiver implements StreamJunction.Receiver {
         }
     }
 
+    private StreamEvent copyEventChunk(ComplexEvent event) {
+        StreamEvent firstEvent = null;
+        StreamEvent lastEvent = null;
+        for (ComplexEvent aEvent = event; aEvent != null; aEvent = aEvent.getNext()) {
+            StreamEvent copiedEvent = streamEventCloner.copyStreamEvent((StreamEvent) aEvent);
+            if (firstEvent == null) {
+                firstEvent = copiedEvent;
+            } else {
+                lastEvent.setNext(copiedEvent);
+            }
+            lastEvent = copiedEvent;
+        }
+        return firstEvent;
+    }
+
     /**
      * create local streamJunctions through which events received by partitionStreamReceiver, are sent to
      * queryStreamReceivers
@@ -315,4 +333,41 @@ public class PartitionStreamReceiver implements StreamJunction.Receiver {
                 siddhiAppContext.getBufferSize(), null, siddhiAppContext);
     }
 
+    /**
+     * Chains consecutive events of the same partition key, and sends the chain when the key changes. An event
+     * matching more than one partition executor is copied for each further key, so that the chains never share an
+     * event; a sent chain can still be walked by a partition worker while the next chain is being built.
+     */
+    private class KeyedEventChain {
+        private String key;
+        private StreamEvent firstEvent;
+        private StreamEvent lastEvent;
+
+        void add(StreamEvent event) {
+            boolean matched = false;
+            for (PartitionExecutor partitionExecutor : partitionExecutors) {
+                String currentKey = partitionExecutor.execute(event);
+                if (currentKey != null) {
+                    StreamEvent keyEvent = matched ? streamEventCloner.copyStreamEvent(event) : event;
+                    matched = true;
+                    if (key != null && !currentKey.equals(key)) {
+                        send();
+                    }
+                    key = currentKey;
+                    if (firstEvent == null) {
+                        firstEvent = keyEvent;
+                    } else {
+                        lastEvent.setNext(keyEvent);
+                    }
+                    lastEvent = keyEvent;
+                }
+            }
+        }
+
+        void send() {
+            PartitionStreamReceiver.this.send(key, firstEvent);
+            firstEvent = null;
+            lastEvent = null;
+        }
+    }
 }
@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.partition;
+
+import io.siddhi.core.config.SiddhiAppContext;
+import io.siddhi.core.event.ComplexEvent;
+import io.siddhi.core.exception.SiddhiAppRuntimeException;
+import org.apache.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Fixed pool of workers processing the events of an asynchronous partition. Partition keys are sharded across the
+ * workers by their hash and each worker consumes its own queue, hence events of the same key are always processed
+ * by the same worker in the order they were received.
+ */
+class PartitionWorkerPool {
+
+    private static final Logger log = Logger.getLogger(PartitionWorkerPool.class);
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 10000;
+    private static final PartitionTask STOP_TASK = new PartitionTask(null, null, false, null);
+
+    private final String partitionName;
+    private final SiddhiAppContext siddhiAppContext;
+    private final List<BlockingQueue<PartitionTask>> queues;
+    private final List<Future<?>> workerFutures = new ArrayList<>();
+    private volatile State state = State.STOPPED;
+
+    PartitionWorkerPool(String partitionName, int workers, int bufferSize, SiddhiAppContext siddhiAppContext) {
+        this.partitionName = partitionName;
+        this.siddhiAppContext = siddhiAppContext;
+        this.queues = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            queues.add(new ArrayBlockingQueue<>(bufferSize));
+        }
+    }
+
+    /**
+     * Queues the event to the worker of the given partition key. Events received while the pool is stopping are
+     * still queued behind the pending events of their key, and events received once the pool is stopped are
+     * processed on the caller's thread.
+     *
+     * @param key           partition key of the event
+     * @param event         event chunk belonging to the partition key
+     * @param initPartition whether the partition instance of the key should be created if it does not exist
+     * @param receiver      receiver sending the event to the partition instance
+     */
+    void dispatch(String key, ComplexEvent event, boolean initPartition, PartitionStreamReceiver receiver) {
+        int hash = key.hashCode();
+        hash ^= hash >>> 16;
+        BlockingQueue<PartitionTask> queue = queues.get((hash & Integer.MAX_VALUE) % queues.size());
+        if (state == State.STOPPED) {
+            synchronized (queue) {
+                processPending(queue);
+                receiver.sendToPartition(key, event, initPartition);
+            }
+            return;
+        }
+        try {
+            queue.put(new PartitionTask(key, event, initPartition, receiver));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SiddhiAppRuntimeException("Interrupted while queuing events of partition key '" + key +
+                    "' of partition '" + partitionName + "' in Siddhi App '" + siddhiAppContext.getName() + "'", e);
+        }
+        if (state == State.STOPPED) {
+            // The workers stopped while the event was being queued
+            synchronized (queue) {
+                processPending(queue);
+            }
+        }
+    }
+
+    synchronized void start() {
+        if (state != State.STOPPED) {
+            return;
+        }
+        state = State.RUNNING;
+        for (BlockingQueue<PartitionTask> queue : queues) {
+            workerFutures.add(siddhiAppContext.getExecutorService().submit(() -> consume(queue)));
+        }
+    }
+
+    /**
+     * Stops the workers once they have processed the events queued to them, waiting at most
+     * {@link #SHUTDOWN_TIMEOUT_MILLIS}. Events that are still queued after that are processed on the calling
+     * thread.
+     */
+    synchronized void stop() {
+        if (state != State.RUNNING) {
+            return;
+        }
+        state = State.STOPPING;
+        long deadline = System.currentTimeMillis() + SHUTDOWN_TIMEOUT_MILLIS;
+        try {
+            for (BlockingQueue<PartitionTask> queue : queues) {
+                if (!queue.offer(STOP_TASK, Math.max(0, deadline - System.currentTimeMillis()),
+                        TimeUnit.MILLISECONDS)) {
+                    throw new TimeoutException();
+                }
+            }
+            for (Future<?> workerFuture : workerFutures) {
+                workerFuture.get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.error("Error in SiddhiApp '" + siddhiAppContext.getName() + "' while stopping the workers of " +
+                    "partition '" + partitionName + "', " + e.getMessage(), e);
+        } catch (TimeoutException e) {
+            log.warn("Error on '" + siddhiAppContext.getName() + "'. Workers of partition '" + partitionName +
+                    "' could not process their queued events within " + SHUTDOWN_TIMEOUT_MILLIS + " ms of " +
+                    "stopping, hence processing the remaining events on the stopping thread.");
+        }
+        state = State.STOPPED;
+        for (Future<?> workerFuture : workerFutures) {
+            workerFuture.cancel(true);
+        }
+        workerFutures.clear();
+        for (BlockingQueue<PartitionTask> queue : queues) {
+            synchronized (queue) {
+                processPending(queue);
+            }
+        }
+    }
+
+    private void consume(BlockingQueue<PartitionTask> queue) {
+        List<PartitionTask> tasks = new ArrayList<>();
+        boolean stopRequested = false;
+        while (!stopRequested || !queue.isEmpty()) {
+            try {
+                tasks.add(queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            queue.drainTo(tasks);
+            for (PartitionTask task : tasks) {
+                if (task == STOP_TASK) {
+                    stopRequested = true;
+                } else {
+                    process(task);
+                }
+            }
+            tasks.clear();
+        }
+    }
+
+    private void processPending(BlockingQueue<PartitionTask> queue) {
+        PartitionTask task;
+        while ((task = queue.poll()) != null) {
+            if (task != STOP_TASK) {
+                process(task);
+            }
+        }
+    }
+
+    private void process(PartitionTask task) {
+        try {
+            task.receiver.sendToPartition(task.key, task.event, task.initPartition);
+        } catch (Exception e) {
+            if (siddhiAppContext.getRuntimeExceptionListener() != null) {
+                siddhiAppContext.getRuntimeExceptionListener().exceptionThrown(e);
+            }
+            log.error("Error in SiddhiApp '" + siddhiAppContext.getName() + "' after consuming events " +
+                    "of partition key '" + task.key + "' in partition '" + partitionName + "', " +
+                    e.getMessage() + ". Hence, dropping event '" + task.event + "'", e);
+        }
+    }
+
+    /**
+     * Lifecycle states of the pool.
+     */
+    private enum State {
+        RUNNING, STOPPING, STOPPED
+    }
+
+    /**
+     * Events of a partition key waiting to be processed by a worker.
+     */
+    private static class PartitionTask {
+        private final String key;
+        private final ComplexEvent event;
+        private final boolean initPartition;
+        private final PartitionStreamReceiver receiver;
+
+        private PartitionTask(String key, ComplexEvent event, boolean initPartition,
+                              PartitionStreamReceiver receiver) {
+            this.key = key;
+            this.event = event;
+            this.initPartition = initPartition;
+            this.receiver = receiver;
+        }
+    }
+}
@@ -154,9 +154,15 @@ public class MultiProcessStreamReceiver extends ProcessStreamReceiver {
 
     @Override
     public void receive(Event[] events) {
+        receive(events, events.length);
+    }
+
+    @Override
+    public void receive(Event[] events, int length) {
         List<ReturnEventHolder> returnEventHolderList = new ArrayList<>(eventSequence.length);
         synchronized (patternSyncObject) {
-            for (Event event : events) {
+            for (int i = 0; i < length; i++) {
+                Event event = events[i];
                 try {
                     multiProcessReturn.set(new ReturnEventHolder());
                     stabilizeStates(event.getTimestamp());
@@ -290,7 +296,8 @@ public class MultiProcessStreamReceiver extends ProcessStreamReceiver {
         for (int i = 0, nextLength = streamEventConverters.length; i < nextLength; i++) {
             StreamEventConverter streamEventConverter = streamEventConverters[i];
             if (streamEventConverter == null) {
-                streamEventConverters[i] = StreamEventConverterFactory.constructEventConverter(metaStreamEvents[i]);
+                streamEventConverters[i] = StreamEventConverterFactory.constructEventConverter(metaStreamEvents[i],
+                        siddhiQueryContext.getSiddhiAppContext().isPrimitiveLayout());
                 break;
             }
         }
@@ -130,10 +130,15 @@ public class ProcessStreamReceiver implements StreamJunction.Receiver {
 
     @Override
     public void receive(Event[] events) {
+        receive(events, events.length);
+    }
+
+    @Override
+    public void receive(Event[] events, int length) {
         StreamEvent firstEvent = streamEventFactory.newInstance();
         streamEventConverter.convertEvent(events[0], firstEvent);
         StreamEvent currentEvent = firstEvent;
-        for (int i = 1, eventsLength = events.length; i < eventsLength; i++) {
+        for (int i = 1; i < length; i++) {
             StreamEvent nextEvent = streamEventFactory.newInstance();
             streamEventConverter.convertEvent(events[i], nextEvent);
             currentEvent.setNext(nextEvent);
@@ -196,6 +201,10 @@ public class ProcessStreamReceiver implements StreamJunction.Receiver {
         this.next = next;
     }
 
+    public StreamEventFactory getStreamEventFactory() {
+        return streamEventFactory;
+    }
+
     public void setStreamEventFactory(StreamEventFactory streamEventFactory) {
         this.streamEventFactory = streamEventFactory;
     }
@@ -205,7 +214,8 @@ public class ProcessStreamReceiver implements StreamJunction.Receiver {
     }
 
     public void init() {
-        streamEventConverter = StreamEventConverterFactory.constructEventConverter(metaStreamEvent);
+        streamEventConverter = StreamEventConverterFactory.constructEventConverter(metaStreamEvent,
+                siddhiQueryContext.getSiddhiAppContext().isPrimitiveLayout());
     }
 
     public void addStatefulProcessorForStream(PreStateProcessor stateProcessor) {
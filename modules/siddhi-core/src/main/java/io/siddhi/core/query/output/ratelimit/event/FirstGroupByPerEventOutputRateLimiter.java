@@ -22,6 +22,7 @@ import io.siddhi.core.event.ComplexEvent;
 import io.siddhi.core.event.ComplexEventChunk;
 import io.siddhi.core.event.GroupedComplexEvent;
 import io.siddhi.core.query.output.ratelimit.OutputRateLimiter;
+import io.siddhi.core.query.selector.GroupByKey;
 import io.siddhi.core.util.snapshot.state.State;
 import io.siddhi.core.util.snapshot.state.StateFactory;
 
@@ -56,14 +57,15 @@ public class FirstGroupByPerEventOutputRateLimiter
                     ComplexEvent event = complexEventChunk.next();
                     complexEventChunk.remove();
                     GroupedComplexEvent groupedComplexEvent = ((GroupedComplexEvent) event);
-                    Integer count = state.groupByOutputTime.get(groupedComplexEvent.getGroupKey());
+                    state.moveStringKey(groupedComplexEvent.getGroupByKey());
+                    Integer count = state.groupByOutputTime.get(groupedComplexEvent.getGroupByKey());
                     if (count == null) {
-                        state.groupByOutputTime.put(groupedComplexEvent.getGroupKey(), 1);
+                        state.groupByOutputTime.put(groupedComplexEvent.getGroupByKey(), 1);
                         outputEventChunk.add(groupedComplexEvent);
                     } else if (count.equals(value - 1)) {
-                        state.groupByOutputTime.remove(groupedComplexEvent.getGroupKey());
+                        state.groupByOutputTime.remove(groupedComplexEvent.getGroupByKey());
                     } else {
-                        state.groupByOutputTime.put(groupedComplexEvent.getGroupKey(), count + 1);
+                        state.groupByOutputTime.put(groupedComplexEvent.getGroupByKey(), count + 1);
                     }
                 }
             }
@@ -82,7 +84,9 @@ public class FirstGroupByPerEventOutputRateLimiter
     }
 
     class RateLimiterState extends State {
-        private Map<String, Integer> groupByOutputTime = new HashMap();
+        private Map<Object, Integer> groupByOutputTime = new HashMap();
+        // Groups restored from snapshots taken before group keys were typed are keyed by their String form
+        private int stringKeyCount;
 
         @Override
         public boolean canDestroy() {
@@ -98,7 +102,14 @@ public class FirstGroupByPerEventOutputRateLimiter
 
         @Override
         public void restore(Map<String, Object> state) {
-            groupByOutputTime = (Map<String, Integer>) state.get("GroupByOutputTime");
+            groupByOutputTime = (Map<Object, Integer>) state.get("GroupByOutputTime");
+            stringKeyCount = GroupByKey.countStringKeys(groupByOutputTime);
+        }
+
+        private void moveStringKey(Object groupByKey) {
+            if (stringKeyCount > 0 && GroupByKey.moveStringKey(groupByOutputTime, groupByKey)) {
+                stringKeyCount--;
+            }
         }
     }
 
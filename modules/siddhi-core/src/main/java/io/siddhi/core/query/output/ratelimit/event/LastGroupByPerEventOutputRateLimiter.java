@@ -23,6 +23,7 @@ import io.siddhi.core.event.ComplexEvent;
 import io.siddhi.core.event.ComplexEventChunk;
 import io.siddhi.core.event.GroupedComplexEvent;
 import io.siddhi.core.query.output.ratelimit.OutputRateLimiter;
+import io.siddhi.core.query.selector.GroupByKey;
 import io.siddhi.core.util.snapshot.state.State;
 import io.siddhi.core.util.snapshot.state.StateFactory;
 
@@ -59,7 +60,8 @@ public class LastGroupByPerEventOutputRateLimiter extends
                     if (event.getType() == ComplexEvent.Type.CURRENT || event.getType() == ComplexEvent.Type.EXPIRED) {
                         complexEventChunk.remove();
                         GroupedComplexEvent groupedComplexEvent = ((GroupedComplexEvent) event);
-                        state.allGroupByKeyEvents.put(groupedComplexEvent.getGroupKey(),
+                        state.moveStringKey(groupedComplexEvent.getGroupByKey());
+                        state.allGroupByKeyEvents.put(groupedComplexEvent.getGroupByKey(),
                                 groupedComplexEvent.getComplexEvent());
                         if (++state.counter == value) {
                             state.counter = 0;
@@ -68,6 +70,7 @@ public class LastGroupByPerEventOutputRateLimiter extends
                                     outputEventChunk.add(complexEvent);
                                 }
                                 state.allGroupByKeyEvents.clear();
+                                state.stringKeyCount = 0;
                             }
                         }
                     }
@@ -90,7 +93,9 @@ public class LastGroupByPerEventOutputRateLimiter extends
     class RateLimiterState extends State {
 
         private volatile int counter = 0;
-        private Map<String, ComplexEvent> allGroupByKeyEvents = new LinkedHashMap<String, ComplexEvent>();
+        private Map<Object, ComplexEvent> allGroupByKeyEvents = new LinkedHashMap<Object, ComplexEvent>();
+        // Groups restored from snapshots taken before group keys were typed are keyed by their String form
+        private int stringKeyCount;
 
         @Override
         public boolean canDestroy() {
@@ -108,7 +113,14 @@ public class LastGroupByPerEventOutputRateLimiter extends
         @Override
         public void restore(Map<String, Object> state) {
             counter = (int) state.get("Counter");
-            allGroupByKeyEvents = (Map<String, ComplexEvent>) state.get("AllGroupByKeyEvents");
+            allGroupByKeyEvents = (Map<Object, ComplexEvent>) state.get("AllGroupByKeyEvents");
+            stringKeyCount = GroupByKey.countStringKeys(allGroupByKeyEvents);
+        }
+
+        private void moveStringKey(Object groupByKey) {
+            if (stringKeyCount > 0 && GroupByKey.moveStringKey(allGroupByKeyEvents, groupByKey)) {
+                stringKeyCount--;
+            }
         }
     }
 }
@@ -23,6 +23,7 @@ import io.siddhi.core.event.ComplexEvent;
 import io.siddhi.core.event.ComplexEventChunk;
 import io.siddhi.core.event.GroupedComplexEvent;
 import io.siddhi.core.event.stream.StreamEventFactory;
+import io.siddhi.core.query.selector.GroupByKey;
 import io.siddhi.core.util.parser.SchedulerParser;
 import io.siddhi.core.util.snapshot.state.StateFactory;
 
@@ -66,7 +67,7 @@ public class AggregationGroupByWindowedPerSnapshotOutputRateLimiter extends
         try {
             synchronized (state) {
                 complexEventChunk.reset();
-                String currentGroupByKey = null;
+                Object currentGroupByKey = null;
                 Map<Integer, Object> currentAggregateAttributeValueMap = null;
                 while (complexEventChunk.hasNext()) {
                     ComplexEvent event = complexEventChunk.next();
@@ -76,8 +77,9 @@ public class AggregationGroupByWindowedPerSnapshotOutputRateLimiter extends
                         complexEventChunk.remove();
                         tryFlushEvents(outputEventChunks, event, state);
                         GroupedComplexEvent groupedComplexEvent = ((GroupedComplexEvent) event);
-                        if (currentGroupByKey == null || !currentGroupByKey.equals(groupedComplexEvent.getGroupKey())) {
-                            currentGroupByKey = groupedComplexEvent.getGroupKey();
+                        if (currentGroupByKey == null || !currentGroupByKey.equals(groupedComplexEvent.getGroupByKey())) {
+                            currentGroupByKey = groupedComplexEvent.getGroupByKey();
+                            state.moveStringKey(currentGroupByKey);
                             currentAggregateAttributeValueMap =
                                     state.groupByAggregateAttributeValueMap.get(currentGroupByKey);
                             if (currentAggregateAttributeValueMap == null) {
@@ -109,6 +111,7 @@ public class AggregationGroupByWindowedPerSnapshotOutputRateLimiter extends
                         } else if (groupedComplexEvent.getType() == ComplexEvent.Type.RESET) {
                             state.eventList.clear();
                             state.groupByAggregateAttributeValueMap.clear();
+                            state.stringKeyCount = 0;
                         }
                     }
                 }
@@ -132,16 +135,16 @@ public class AggregationGroupByWindowedPerSnapshotOutputRateLimiter extends
     private void constructOutputChunk(List<ComplexEventChunk> outputEventChunks,
                                       AggregationGroupByRateLimiterState state) {
         ComplexEventChunk<ComplexEvent> outputEventChunk = new ComplexEventChunk<>();
-        Set<String> outputGroupingKeys = new HashSet<>();
+        Set<Object> outputGroupingKeys = new HashSet<>();
         for (GroupedComplexEvent originalComplexEvent : state.eventList) {
-            String currentGroupByKey = originalComplexEvent.getGroupKey();
+            Object currentGroupByKey = originalComplexEvent.getGroupByKey();
             if (!outputGroupingKeys.contains(currentGroupByKey)) {
                 outputGroupingKeys.add(currentGroupByKey);
                 Map<Integer, Object> currentAggregateAttributeValueMap = state.groupByAggregateAttributeValueMap.get
                         (currentGroupByKey);
                 ComplexEvent eventCopy = cloneComplexEvent(originalComplexEvent.getComplexEvent());
                 for (Integer position : aggregateAttributePositionList) {
-                    eventCopy.getOutputData()[position] = currentAggregateAttributeValueMap.get(position);
+                    eventCopy.setOutputData(currentAggregateAttributeValueMap.get(position), position);
                 }
                 outputEventChunk.add(eventCopy);
             }
@@ -152,7 +155,9 @@ public class AggregationGroupByWindowedPerSnapshotOutputRateLimiter extends
     class AggregationGroupByRateLimiterState extends AggregationRateLimiterState {
 
         private List<GroupedComplexEvent> eventList;
-        private Map<String, Map<Integer, Object>> groupByAggregateAttributeValueMap;
+        private Map<Object, Map<Integer, Object>> groupByAggregateAttributeValueMap;
+        // Groups restored from snapshots taken before group keys were typed are keyed by their String form
+        private int stringKeyCount;
 
         public AggregationGroupByRateLimiterState() {
             groupByAggregateAttributeValueMap = new HashMap<>();
@@ -176,9 +181,23 @@ public class AggregationGroupByWindowedPerSnapshotOutputRateLimiter extends
         @Override
         public void restore(Map<String, Object> state) {
             eventList = (List<GroupedComplexEvent>) state.get("EventList");
-            groupByAggregateAttributeValueMap = (Map<String, Map<Integer, Object>>) state.get
+            groupByAggregateAttributeValueMap = (Map<Object, Map<Integer, Object>>) state.get
                     ("GroupByAggregateAttributeValueMap");
+            stringKeyCount = GroupByKey.countStringKeys(groupByAggregateAttributeValueMap);
             scheduledTime = (Long) state.get("ScheduledTime");
         }
+
+        private void moveStringKey(Object groupByKey) {
+            if (stringKeyCount > 0 && GroupByKey.moveStringKey(groupByAggregateAttributeValueMap, groupByKey)) {
+                stringKeyCount--;
+                // Restored events of the group are output under its typed key as well
+                String stringKey = groupByKey.toString();
+                for (GroupedComplexEvent event : eventList) {
+                    if (stringKey.equals(event.getGroupByKey())) {
+                        event.setGroupKey(groupByKey);
+                    }
+                }
+            }
+        }
     }
 }
@@ -143,7 +143,7 @@ public class AggregationWindowedPerSnapshotOutputRateLimiter
             for (ComplexEvent originalComplexEvent : state.eventList) {
                 ComplexEvent eventCopy = cloneComplexEvent(originalComplexEvent);
                 for (Integer position : aggregateAttributePositionList) {
-                    eventCopy.getOutputData()[position] = state.aggregateAttributeValueMap.get(position);
+                    eventCopy.setOutputData(state.aggregateAttributeValueMap.get(position), position);
                 }
                 outputEventChunk.add(eventCopy);
             }
@@ -24,6 +24,7 @@ import io.siddhi.core.event.ComplexEvent;
 import io.siddhi.core.event.ComplexEventChunk;
 import io.siddhi.core.event.GroupedComplexEvent;
 import io.siddhi.core.event.stream.StreamEventFactory;
+import io.siddhi.core.query.selector.GroupByKey;
 import io.siddhi.core.util.Scheduler;
 import io.siddhi.core.util.parser.SchedulerParser;
 import io.siddhi.core.util.snapshot.state.State;
@@ -77,10 +78,11 @@ public class AllAggregationGroupByWindowedPerSnapshotOutputRateLimiter
                         complexEventChunk.remove();
                         tryFlushEvents(outputEventChunks, event, state);
                         GroupedComplexEvent groupedComplexEvent = ((GroupedComplexEvent) event);
-                        LastEventHolder lastEventHolder = state.groupByKeyEvents.get(groupedComplexEvent.getGroupKey());
+                        state.moveStringKey(groupedComplexEvent.getGroupByKey());
+                        LastEventHolder lastEventHolder = state.groupByKeyEvents.get(groupedComplexEvent.getGroupByKey());
                         if (lastEventHolder == null) {
                             lastEventHolder = new LastEventHolder();
-                            state.groupByKeyEvents.put(groupedComplexEvent.getGroupKey(), lastEventHolder);
+                            state.groupByKeyEvents.put(groupedComplexEvent.getGroupByKey(), lastEventHolder);
                         }
                         if (groupedComplexEvent.getType() == ComplexEvent.Type.CURRENT) {
                             lastEventHolder.addLastInEvent(groupedComplexEvent.getComplexEvent());
@@ -88,6 +90,7 @@ public class AllAggregationGroupByWindowedPerSnapshotOutputRateLimiter
                             lastEventHolder.removeLastInEvent(groupedComplexEvent.getComplexEvent());
                         } else if (groupedComplexEvent.getType() == ComplexEvent.Type.RESET) {
                             state.groupByKeyEvents.clear();
+                            state.stringKeyCount = 0;
                         }
                     }
                 }
@@ -103,9 +106,9 @@ public class AllAggregationGroupByWindowedPerSnapshotOutputRateLimiter
                                 RateLimiterState state) {
         if (event.getTimestamp() >= state.scheduledTime) {
             ComplexEventChunk<ComplexEvent> outputEventChunk = new ComplexEventChunk<>();
-            for (Iterator<Map.Entry<String, LastEventHolder>> iterator = state.groupByKeyEvents.entrySet().iterator();
+            for (Iterator<Map.Entry<Object, LastEventHolder>> iterator = state.groupByKeyEvents.entrySet().iterator();
                  iterator.hasNext(); ) {
-                Map.Entry<String, LastEventHolder> lastEventHolderEntry = iterator.next();
+                Map.Entry<Object, LastEventHolder> lastEventHolderEntry = iterator.next();
 
                 //clearing expired events after update
                 lastEventHolderEntry.getValue().checkAndClearLastInEvent();
@@ -158,7 +161,9 @@ public class AllAggregationGroupByWindowedPerSnapshotOutputRateLimiter
 
     class RateLimiterState extends State {
         public long scheduledTime;
-        private Map<String, LastEventHolder> groupByKeyEvents = new LinkedHashMap<>();
+        private Map<Object, LastEventHolder> groupByKeyEvents = new LinkedHashMap<>();
+        // Groups restored from snapshots taken before group keys were typed are keyed by their String form
+        private int stringKeyCount;
 
         @Override
         public boolean canDestroy() {
@@ -175,8 +180,15 @@ public class AllAggregationGroupByWindowedPerSnapshotOutputRateLimiter
 
         @Override
         public void restore(Map<String, Object> state) {
-            groupByKeyEvents = (Map<String, LastEventHolder>) state.get("GroupByKeyEvents");
+            groupByKeyEvents = (Map<Object, LastEventHolder>) state.get("GroupByKeyEvents");
+            stringKeyCount = GroupByKey.countStringKeys(groupByKeyEvents);
             scheduledTime = (Long) state.get("ScheduledTime");
         }
+
+        private void moveStringKey(Object groupByKey) {
+            if (stringKeyCount > 0 && GroupByKey.moveStringKey(groupByKeyEvents, groupByKey)) {
+                stringKeyCount--;
+            }
+        }
     }
 }
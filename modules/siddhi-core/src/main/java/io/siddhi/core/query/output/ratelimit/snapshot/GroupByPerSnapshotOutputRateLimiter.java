@@ -23,6 +23,7 @@ import io.siddhi.core.event.ComplexEvent;
 import io.siddhi.core.event.ComplexEventChunk;
 import io.siddhi.core.event.GroupedComplexEvent;
 import io.siddhi.core.event.stream.StreamEventFactory;
+import io.siddhi.core.query.selector.GroupByKey;
 import io.siddhi.core.util.Scheduler;
 import io.siddhi.core.util.parser.SchedulerParser;
 import io.siddhi.core.util.snapshot.state.State;
@@ -78,7 +79,8 @@ public class GroupByPerSnapshotOutputRateLimiter
                         complexEventChunk.remove();
                         tryFlushEvents(outputEventChunks, event, state);
                         GroupedComplexEvent groupedComplexEvent = ((GroupedComplexEvent) event);
-                        state.groupByKeyEvents.put(groupedComplexEvent.getGroupKey(),
+                        state.moveStringKey(groupedComplexEvent.getGroupByKey());
+                        state.groupByKeyEvents.put(groupedComplexEvent.getGroupByKey(),
                                 groupedComplexEvent.getComplexEvent());
                     }
                 }
@@ -118,7 +120,9 @@ public class GroupByPerSnapshotOutputRateLimiter
 
     class RateLimiterState extends State {
         public long scheduledTime;
-        private Map<String, ComplexEvent> groupByKeyEvents = new LinkedHashMap<>();
+        private Map<Object, ComplexEvent> groupByKeyEvents = new LinkedHashMap<>();
+        // Groups restored from snapshots taken before group keys were typed are keyed by their String form
+        private int stringKeyCount;
 
         @Override
         public boolean canDestroy() {
@@ -135,8 +139,15 @@ public class GroupByPerSnapshotOutputRateLimiter
 
         @Override
         public void restore(Map<String, Object> state) {
-            groupByKeyEvents = (Map<String, ComplexEvent>) state.get("groupByKeyEvents");
+            groupByKeyEvents = (Map<Object, ComplexEvent>) state.get("GroupByKeyEvents");
+            stringKeyCount = GroupByKey.countStringKeys(groupByKeyEvents);
             scheduledTime = (Long) state.get("ScheduledTime");
         }
+
+        private void moveStringKey(Object groupByKey) {
+            if (stringKeyCount > 0 && GroupByKey.moveStringKey(groupByKeyEvents, groupByKey)) {
+                stringKeyCount--;
+            }
+        }
     }
 }
@@ -22,6 +22,7 @@ import io.siddhi.core.event.ComplexEvent;
 import io.siddhi.core.event.ComplexEventChunk;
 import io.siddhi.core.event.GroupedComplexEvent;
 import io.siddhi.core.query.output.ratelimit.OutputRateLimiter;
+import io.siddhi.core.query.selector.GroupByKey;
 import io.siddhi.core.util.Schedulable;
 import io.siddhi.core.util.snapshot.state.State;
 import io.siddhi.core.util.snapshot.state.StateFactory;
@@ -63,9 +64,10 @@ public class FirstGroupByPerTimeOutputRateLimiter
                     ComplexEvent event = complexEventChunk.next();
                     complexEventChunk.remove();
                     GroupedComplexEvent groupedComplexEvent = ((GroupedComplexEvent) event);
-                    Long outputTime = state.groupByOutputTime.get(groupedComplexEvent.getGroupKey());
+                    state.moveStringKey(groupedComplexEvent.getGroupByKey());
+                    Long outputTime = state.groupByOutputTime.get(groupedComplexEvent.getGroupByKey());
                     if (outputTime == null || outputTime + value <= currentTime) {
-                        state.groupByOutputTime.put(groupedComplexEvent.getGroupKey(), currentTime);
+                        state.groupByOutputTime.put(groupedComplexEvent.getGroupByKey(), currentTime);
                         outputEventChunk.add(groupedComplexEvent);
                     }
                 }
@@ -86,7 +88,11 @@ public class FirstGroupByPerTimeOutputRateLimiter
 
     class RateLimiterState extends State {
 
-        private Map<String, Long> groupByOutputTime = new HashMap();
+        private Map<Object, Long> groupByOutputTime = new HashMap();
+
+        // Groups restored from snapshots taken before group keys were typed are keyed by their String form
+
+        private int stringKeyCount;
 
         @Override
         public boolean canDestroy() {
@@ -102,7 +108,14 @@ public class FirstGroupByPerTimeOutputRateLimiter
 
         @Override
         public void restore(Map<String, Object> state) {
-            groupByOutputTime = (Map<String, Long>) state.get("GroupByOutputTime");
+            groupByOutputTime = (Map<Object, Long>) state.get("GroupByOutputTime");
+            stringKeyCount = GroupByKey.countStringKeys(groupByOutputTime);
+        }
+
+        private void moveStringKey(Object groupByKey) {
+            if (stringKeyCount > 0 && GroupByKey.moveStringKey(groupByOutputTime, groupByKey)) {
+                stringKeyCount--;
+            }
         }
     }
 }
@@ -24,6 +24,7 @@ import io.siddhi.core.event.ComplexEventChunk;
 import io.siddhi.core.event.GroupedComplexEvent;
 import io.siddhi.core.event.stream.StreamEventFactory;
 import io.siddhi.core.query.output.ratelimit.OutputRateLimiter;
+import io.siddhi.core.query.selector.GroupByKey;
 import io.siddhi.core.util.Schedulable;
 import io.siddhi.core.util.Scheduler;
 import io.siddhi.core.util.parser.SchedulerParser;
@@ -75,6 +76,7 @@ public class LastGroupByPerTimeOutputRateLimiter
                                     outputEventChunk.add(complexEvent);
                                 }
                                 state.allGroupByKeyEvents.clear();
+                                state.stringKeyCount = 0;
                             }
                             state.scheduledTime = state.scheduledTime + value;
                             scheduler.notifyAt(state.scheduledTime);
@@ -83,7 +85,8 @@ public class LastGroupByPerTimeOutputRateLimiter
                             .EXPIRED) {
                         complexEventChunk.remove();
                         GroupedComplexEvent groupedComplexEvent = ((GroupedComplexEvent) event);
-                        state.allGroupByKeyEvents.put(groupedComplexEvent.getGroupKey(),
+                        state.moveStringKey(groupedComplexEvent.getGroupByKey());
+                        state.allGroupByKeyEvents.put(groupedComplexEvent.getGroupByKey(),
                                 groupedComplexEvent.getComplexEvent());
                     }
                 }
@@ -114,7 +117,9 @@ public class LastGroupByPerTimeOutputRateLimiter
     class RateLimiterState extends State {
 
         public long scheduledTime;
-        private Map<String, ComplexEvent> allGroupByKeyEvents = new LinkedHashMap<String, ComplexEvent>();
+        private Map<Object, ComplexEvent> allGroupByKeyEvents = new LinkedHashMap<Object, ComplexEvent>();
+        // Groups restored from snapshots taken before group keys were typed are keyed by their String form
+        private int stringKeyCount;
 
         @Override
         public boolean canDestroy() {
@@ -131,9 +136,16 @@ public class LastGroupByPerTimeOutputRateLimiter
 
         @Override
         public void restore(Map<String, Object> state) {
-            allGroupByKeyEvents = (Map<String, ComplexEvent>) state.get("AllGroupByKeyEvents");
+            allGroupByKeyEvents = (Map<Object, ComplexEvent>) state.get("AllGroupByKeyEvents");
+            stringKeyCount = GroupByKey.countStringKeys(allGroupByKeyEvents);
             scheduledTime = (Long) state.get("ScheduledTime");
         }
+
+        private void moveStringKey(Object groupByKey) {
+            if (stringKeyCount > 0 && GroupByKey.moveStringKey(allGroupByKeyEvents, groupByKey)) {
+                stringKeyCount--;
+            }
+        }
     }
 
 }
@@ -19,8 +19,12 @@ package io.siddhi.core.query.processor.filter;
 
 import io.siddhi.core.event.ComplexEvent;
 import io.siddhi.core.event.ComplexEventChunk;
+import io.siddhi.core.event.stream.StreamEvent;
+import io.siddhi.core.event.stream.StreamEventFactory;
 import io.siddhi.core.exception.OperationNotSupportedException;
+import io.siddhi.core.executor.BatchBuffers;
 import io.siddhi.core.executor.ExpressionExecutor;
+import io.siddhi.core.executor.condition.ConditionExpressionExecutor;
 import io.siddhi.core.query.processor.Processor;
 import io.siddhi.query.api.definition.Attribute;
 
@@ -33,8 +37,22 @@ public class FilterProcessor implements Processor {
 
     protected Processor next;
     private ExpressionExecutor conditionExecutor;
+    private boolean batchEvaluation;
+    private StreamEventFactory recyclingStreamEventFactory = null;
+    private ThreadLocal<BatchBuffers> batchBuffers = BatchBuffers.threadLocal();
 
     public FilterProcessor(ExpressionExecutor conditionExecutor) {
+        this(conditionExecutor, false);
+    }
+
+    /**
+     * @param conditionExecutor filter condition
+     * @param batchEvaluation   evaluate the condition over whole event chunks. The condition executors then see the
+     *                          events in a different order than one event at a time, hence this must only be enabled
+     *                          for conditions that do not hold state, such as aggregators and functions.
+     */
+    public FilterProcessor(ExpressionExecutor conditionExecutor, boolean batchEvaluation) {
+        this.batchEvaluation = batchEvaluation;
         if (Attribute.Type.BOOL.equals(conditionExecutor.getReturnType())) {
             this.conditionExecutor = conditionExecutor;
         } else {
@@ -46,12 +64,17 @@ public class FilterProcessor implements Processor {
 
     @Override
     public void process(ComplexEventChunk complexEventChunk) {
-        complexEventChunk.reset();
-        while (complexEventChunk.hasNext()) {
-            ComplexEvent complexEvent = complexEventChunk.next();
-            Object result = conditionExecutor.execute(complexEvent);
-            if (result == null || !(Boolean) result) {
-                complexEventChunk.remove();
+        ComplexEvent first = complexEventChunk.getFirst();
+        if (batchEvaluation && first != null && first.getNext() != null) {
+            processBatch(complexEventChunk);
+        } else {
+            complexEventChunk.reset();
+            while (complexEventChunk.hasNext()) {
+                ComplexEvent complexEvent = complexEventChunk.next();
+                Object result = conditionExecutor.execute(complexEvent);
+                if (result == null || !(Boolean) result) {
+                    removeEvent(complexEventChunk, complexEvent);
+                }
             }
         }
         if (complexEventChunk.getFirst() != null) {
@@ -59,6 +82,43 @@ public class FilterProcessor implements Processor {
         }
     }
 
+    /**
+     * Evaluates the condition for the whole chunk at once and then drops the events that did not match, so the
+     * condition executors run their batch loops instead of being dispatched per event.
+     */
+    private void processBatch(ComplexEventChunk complexEventChunk) {
+        int size = 0;
+        for (ComplexEvent event = complexEventChunk.getFirst(); event != null; event = event.getNext()) {
+            size++;
+        }
+        BatchBuffers buffers = batchBuffers.get();
+        ComplexEvent[] events = buffers.events(size);
+        int index = 0;
+        for (ComplexEvent event = complexEventChunk.getFirst(); event != null; event = event.getNext()) {
+            events[index++] = event;
+        }
+        boolean[] results = buffers.results(size);
+        try {
+            ConditionExpressionExecutor.executeBatch(conditionExecutor, events, size, results);
+        } finally {
+            buffers.clear(size);
+        }
+        complexEventChunk.reset();
+        for (int i = 0; i < size; i++) {
+            ComplexEvent complexEvent = complexEventChunk.next();
+            if (!results[i]) {
+                removeEvent(complexEventChunk, complexEvent);
+            }
+        }
+    }
+
+    private void removeEvent(ComplexEventChunk complexEventChunk, ComplexEvent complexEvent) {
+        complexEventChunk.remove();
+        if (recyclingStreamEventFactory != null && complexEvent instanceof StreamEvent) {
+            recyclingStreamEventFactory.release((StreamEvent) complexEvent);
+        }
+    }
+
 
     @Override
     public void process(List<ComplexEventChunk> complexEventChunks) {
@@ -69,6 +129,10 @@ public class FilterProcessor implements Processor {
         process(complexEventChunk);
     }
 
+    public void setRecyclingStreamEventFactory(StreamEventFactory recyclingStreamEventFactory) {
+        this.recyclingStreamEventFactory = recyclingStreamEventFactory;
+    }
+
     @Override
     public Processor getNextProcessor() {
         return next;
@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.query.processor.stream.window;
+
+import io.siddhi.annotation.Example;
+import io.siddhi.annotation.Extension;
+import io.siddhi.annotation.Parameter;
+import io.siddhi.annotation.ParameterOverload;
+import io.siddhi.annotation.util.DataType;
+import io.siddhi.core.config.SiddhiQueryContext;
+import io.siddhi.core.event.ComplexEventChunk;
+import io.siddhi.core.event.state.StateEvent;
+import io.siddhi.core.event.stream.StreamEvent;
+import io.siddhi.core.event.stream.StreamEventCloner;
+import io.siddhi.core.executor.ConstantExpressionExecutor;
+import io.siddhi.core.executor.ExpressionExecutor;
+import io.siddhi.core.executor.VariableExpressionExecutor;
+import io.siddhi.core.query.processor.Processor;
+import io.siddhi.core.table.Table;
+import io.siddhi.core.util.SiddhiConstants;
+import io.siddhi.core.util.collection.operator.CompiledCondition;
+import io.siddhi.core.util.collection.operator.MatchingMetaInfoHolder;
+import io.siddhi.core.util.collection.operator.Operator;
+import io.siddhi.core.util.config.ConfigReader;
+import io.siddhi.core.util.parser.OperatorParser;
+import io.siddhi.core.util.sketch.SpaceSavingSketch;
+import io.siddhi.core.util.snapshot.state.State;
+import io.siddhi.core.util.snapshot.state.StateFactory;
+import io.siddhi.query.api.exception.SiddhiAppValidationException;
+import io.siddhi.query.api.expression.Expression;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementation of {@link WindowProcessor} which represent a Window operating based on frequency of incoming events.
+ * Implementation uses the Space-Saving algorithm, hence it only keeps a fixed number of counters decided by the
+ * error bound.
+ */
+@Extension(
+        name = "approximateFrequent",
+        namespace = "",
+        description = "This window identifies and returns all the events of which the current frequency exceeds " +
+                "the support threshold, using a fixed amount of memory. Frequencies are approximated using the " +
+                "Space-Saving algorithm, which keeps `1/error.bound` counters. Every value occurring more often " +
+                "than the error bound is tracked, and its frequency is overestimated by at most the error bound. " +
+                "The latest emitted event of each tracked value is kept in the window, and it is expired when its " +
+                "value stops being tracked.",
+        parameters = {
+                @Parameter(name = "support.threshold",
+                        description = "The support threshold value.",
+                        type = {DataType.DOUBLE}),
+                @Parameter(name = "error.bound",
+                        description = "The error bound value.",
+                        optional = true,
+                        defaultValue = "`support.threshold`/10",
+                        type = {DataType.DOUBLE}),
+                @Parameter(name = "attribute",
+                        description = "The attributes to group the events. If no attributes are given, " +
+                                "the concatenation of all the attributes of the event is considered.",
+                        type = {DataType.STRING},
+                        optional = true,
+                        dynamic = true,
+                        defaultValue = "The concatenation of all the attributes of the event is considered.")
+        },
+        parameterOverloads = {
+                @ParameterOverload(parameterNames = {"support.threshold"}),
+                @ParameterOverload(parameterNames = {"support.threshold", "error.bound"}),
+                @ParameterOverload(parameterNames = {"support.threshold", "error.bound", "attribute", "..."})
+        },
+        examples = {
+                @Example(
+                        syntax = "define stream purchase (cardNo string, price float);\n" +
+                                "@info(name = 'query1')\n" +
+                                "from purchase[price >= 30]#window.approximateFrequent(0.1, 0.001, cardNo)\n" +
+                                "select cardNo, price\n" +
+                                "insert all events into PotentialFraud;",
+                        description = "approximateFrequent(0.1, 0.001, cardNo) returns the events of which the " +
+                                "cardNo occurs in more than 10% of the events, while keeping only 1000 counters."
+                )
+        }
+)
+public class ApproximateFrequentWindowProcessor extends
+        SlidingFindableWindowProcessor<ApproximateFrequentWindowProcessor.WindowState> {
+    private VariableExpressionExecutor[] variableExpressionExecutors;
+    private double support;
+    private int capacity;
+
+    @Override
+    protected StateFactory<WindowState> init(ExpressionExecutor[] attributeExpressionExecutors,
+                                             ConfigReader configReader,
+                                             SiddhiQueryContext siddhiQueryContext) {
+        support = ((Number) ((ConstantExpressionExecutor) attributeExpressionExecutors[0]).getValue()).doubleValue();
+        double error;
+        if (attributeExpressionExecutors.length > 1) {
+            error = ((Number) ((ConstantExpressionExecutor) attributeExpressionExecutors[1]).getValue())
+                    .doubleValue();
+        } else {
+            error = support / 10;
+        }
+        if (support <= 0 || support > 1) {
+            throw new SiddhiAppValidationException("Support threshold of the approximateFrequent window should be " +
+                    "within (0, 1], but found " + support);
+        }
+        if (error <= 0 || error > support) {
+            throw new SiddhiAppValidationException("Error bound of the approximateFrequent window should be " +
+                    "within (0, support.threshold], but found " + error);
+        }
+        capacity = (int) Math.ceil(1 / error);
+        variableExpressionExecutors = new VariableExpressionExecutor[Math.max(0,
+                attributeExpressionExecutors.length - 2)];
+        for (int i = 2; i < attributeExpressionExecutors.length; i++) {
+            variableExpressionExecutors[i - 2] = (VariableExpressionExecutor) attributeExpressionExecutors[i];
+        }
+        return () -> new WindowState();
+    }
+
+    @Override
+    protected void process(ComplexEventChunk<StreamEvent> streamEventChunk, Processor nextProcessor,
+                           StreamEventCloner streamEventCloner, WindowState state) {
+        synchronized (state) {
+            long currentTime = siddhiQueryContext.getSiddhiAppContext().getTimestampGenerator().currentTime();
+            StreamEvent streamEvent = streamEventChunk.getFirst();
+            streamEventChunk.clear();
+            while (streamEvent != null) {
+                StreamEvent next = streamEvent.getNext();
+                streamEvent.setNext(null);
+
+                StreamEvent clonedEvent = streamEventCloner.copyStreamEvent(streamEvent);
+                clonedEvent.setType(StreamEvent.Type.EXPIRED);
+
+                String key = generateKey(streamEvent);
+                String evictedKey = state.sketch.offer(key);
+                if (evictedKey != null) {
+                    StreamEvent expiredEvent = state.map.remove(evictedKey);
+                    if (expiredEvent != null) {
+                        expiredEvent.setTimestamp(currentTime);
+                        streamEventChunk.add(expiredEvent);
+                    }
+                }
+                if (state.sketch.estimateCount(key) >= support * state.sketch.getTotalCount()) {
+                    state.map.put(key, clonedEvent);
+                    streamEventChunk.add(streamEvent);
+                }
+                streamEvent = next;
+            }
+        }
+        nextProcessor.process(streamEventChunk);
+    }
+
+    @Override
+    public void start() {
+        //Do nothing
+    }
+
+    @Override
+    public void stop() {
+        //Do nothing
+    }
+
+    private String generateKey(StreamEvent event) {
+        StringBuilder stringBuilder = new StringBuilder();
+        if (variableExpressionExecutors.length == 0) {
+            for (Object data : event.getOutputData()) {
+                stringBuilder.append(data).append(SiddhiConstants.KEY_DELIMITER);
+            }
+        } else {
+            for (VariableExpressionExecutor executor : variableExpressionExecutors) {
+                stringBuilder.append(event.getAttribute(executor.getPosition())).append(SiddhiConstants.KEY_DELIMITER);
+            }
+        }
+        return stringBuilder.toString();
+    }
+
+    @Override
+    public CompiledCondition compileCondition(Expression condition, MatchingMetaInfoHolder matchingMetaInfoHolder,
+                                              List<VariableExpressionExecutor> variableExpressionExecutors,
+                                              Map<String, Table> tableMap, WindowState state,
+                                              SiddhiQueryContext siddhiQueryContext) {
+        return OperatorParser.constructOperator(state.map.values(), condition, matchingMetaInfoHolder,
+                variableExpressionExecutors, tableMap, siddhiQueryContext);
+    }
+
+    @Override
+    public StreamEvent find(StateEvent matchingEvent, CompiledCondition compiledCondition,
+                            StreamEventCloner streamEventCloner, WindowState state) {
+        return ((Operator) compiledCondition).find(matchingEvent, state.map.values(), streamEventCloner);
+    }
+
+    class WindowState extends State {
+        private SpaceSavingSketch<String> sketch = new SpaceSavingSketch<>(capacity);
+        private Map<String, StreamEvent> map = new HashMap<>();
+
+        @Override
+        public boolean canDestroy() {
+            return map.isEmpty() && sketch.size() == 0;
+        }
+
+        @Override
+        public Map<String, Object> snapshot() {
+            Map<String, Object> state = new HashMap<>();
+            state.put("Sketch", sketch);
+            state.put("Map", map);
+            return state;
+        }
+
+        @Override
+        public void restore(Map<String, Object> state) {
+            sketch = (SpaceSavingSketch<String>) state.get("Sketch");
+            map = (Map<String, StreamEvent>) state.get("Map");
+        }
+    }
+}
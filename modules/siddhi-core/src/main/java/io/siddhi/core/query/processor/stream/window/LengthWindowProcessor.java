@@ -28,6 +28,7 @@ import io.siddhi.core.event.ComplexEventChunk;
 import io.siddhi.core.event.state.StateEvent;
 import io.siddhi.core.event.stream.StreamEvent;
 import io.siddhi.core.event.stream.StreamEventCloner;
+import io.siddhi.core.event.stream.holder.IndexedStreamEventQueue;
 import io.siddhi.core.event.stream.holder.SnapshotableStreamEventQueue;
 import io.siddhi.core.executor.ConstantExpressionExecutor;
 import io.siddhi.core.executor.ExpressionExecutor;
@@ -167,12 +168,17 @@ public class LengthWindowProcessor extends SlidingFindableWindowProcessor<Length
         //Do nothing
     }
 
+    @Override
+    public boolean expiresInArrivalOrder() {
+        return true;
+    }
+
 
     class WindowState extends State {
 
         private int count = 0;
         private SnapshotableStreamEventQueue expiredEventQueue =
-                new SnapshotableStreamEventQueue(streamEventClonerHolder, length);
+                new IndexedStreamEventQueue(streamEventClonerHolder, length);
 
         @Override
         public boolean canDestroy() {
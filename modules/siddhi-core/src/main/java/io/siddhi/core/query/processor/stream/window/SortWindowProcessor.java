@@ -43,12 +43,18 @@ import io.siddhi.core.util.snapshot.state.StateFactory;
 import io.siddhi.query.api.definition.Attribute;
 import io.siddhi.query.api.expression.Expression;
 
+import java.util.AbstractCollection;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.TreeMap;
 
 /**
  * Sample Query:
@@ -167,10 +173,9 @@ public class SortWindowProcessor extends SlidingFindableWindowProcessor<SortWind
                 streamEvent.setNext(null);
                 streamEventChunk.add(streamEvent);
 
-                state.sortedWindow.add(clonedEvent);
-                if (state.sortedWindow.size() > lengthToKeep) {
-                    Collections.sort(state.sortedWindow, eventComparator);
-                    StreamEvent expiredEvent = state.sortedWindow.remove(state.sortedWindow.size() - 1);
+                state.add(clonedEvent);
+                if (state.size > lengthToKeep) {
+                    StreamEvent expiredEvent = state.removeLast();
                     expiredEvent.setTimestamp(currentTime);
                     streamEventChunk.add(expiredEvent);
                 }
@@ -196,14 +201,14 @@ public class SortWindowProcessor extends SlidingFindableWindowProcessor<SortWind
                                               List<VariableExpressionExecutor> variableExpressionExecutors,
                                               Map<String, Table> tableMap, WindowState state,
                                               SiddhiQueryContext siddhiQueryContext) {
-        return OperatorParser.constructOperator(state.sortedWindow, condition, matchingMetaInfoHolder,
+        return OperatorParser.constructOperator(state.sortedEvents, condition, matchingMetaInfoHolder,
                 variableExpressionExecutors, tableMap, siddhiQueryContext);
     }
 
     @Override
     public StreamEvent find(StateEvent matchingEvent, CompiledCondition compiledCondition,
                             StreamEventCloner streamEventCloner, WindowState state) {
-        return ((Operator) compiledCondition).find(matchingEvent, state.sortedWindow, streamEventCloner);
+        return ((Operator) compiledCondition).find(matchingEvent, state.sortedEvents, streamEventCloner);
 
     }
 
@@ -224,24 +229,84 @@ public class SortWindowProcessor extends SlidingFindableWindowProcessor<SortWind
         }
     }
 
+    /**
+     * Keeps the events ordered by the {@link EventComparator}, while the events comparing equal are kept in their
+     * arrival order. Hence the last event is the one a stable sort of the arrived events would place last.
+     */
     class WindowState extends State {
-        private List<StreamEvent> sortedWindow = new ArrayList<StreamEvent>();
+        private final TreeMap<StreamEvent, ArrayDeque<StreamEvent>> sortedWindow = new TreeMap<>(eventComparator);
+        private final Collection<StreamEvent> sortedEvents = new SortedEvents();
+        private int size;
+
+        private void add(StreamEvent streamEvent) {
+            sortedWindow.computeIfAbsent(streamEvent, key -> new ArrayDeque<>()).addLast(streamEvent);
+            size++;
+        }
+
+        private StreamEvent removeLast() {
+            Map.Entry<StreamEvent, ArrayDeque<StreamEvent>> lastEntry = sortedWindow.lastEntry();
+            StreamEvent lastEvent = lastEntry.getValue().pollLast();
+            if (lastEntry.getValue().isEmpty()) {
+                sortedWindow.pollLastEntry();
+            }
+            size--;
+            return lastEvent;
+        }
 
         @Override
         public boolean canDestroy() {
-            return sortedWindow.isEmpty();
+            return size == 0;
         }
 
         @Override
         public Map<String, Object> snapshot() {
             Map<String, Object> state = new HashMap<>();
-            state.put("SortedWindow", sortedWindow);
+            state.put("SortedWindow", new ArrayList<>(sortedEvents));
             return state;
         }
 
         @Override
         public void restore(Map<String, Object> state) {
-            sortedWindow = (List<StreamEvent>) state.get("SortedWindow");
+            sortedWindow.clear();
+            size = 0;
+            for (StreamEvent streamEvent : (List<StreamEvent>) state.get("SortedWindow")) {
+                add(streamEvent);
+            }
+        }
+
+        /**
+         * Read only view of the events of the window in the sorted order.
+         */
+        private class SortedEvents extends AbstractCollection<StreamEvent> {
+
+            @Override
+            public Iterator<StreamEvent> iterator() {
+                Iterator<ArrayDeque<StreamEvent>> groupIterator = sortedWindow.values().iterator();
+                return new Iterator<StreamEvent>() {
+                    private Iterator<StreamEvent> eventIterator = Collections.emptyIterator();
+
+                    @Override
+                    public boolean hasNext() {
+                        while (!eventIterator.hasNext() && groupIterator.hasNext()) {
+                            eventIterator = groupIterator.next().iterator();
+                        }
+                        return eventIterator.hasNext();
+                    }
+
+                    @Override
+                    public StreamEvent next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        return eventIterator.next();
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
         }
     }
 }
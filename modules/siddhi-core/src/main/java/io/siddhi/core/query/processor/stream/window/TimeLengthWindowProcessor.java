@@ -215,6 +215,11 @@ public class TimeLengthWindowProcessor extends SlidingFindableWindowProcessor<Ti
         }
     }
 
+    @Override
+    public boolean expiresInArrivalOrder() {
+        return true;
+    }
+
     class WindowState extends State {
         private SnapshotableStreamEventQueue expiredEventQueue;
         private int count = 0;
@@ -27,6 +27,7 @@ import io.siddhi.core.event.ComplexEventChunk;
 import io.siddhi.core.event.state.StateEvent;
 import io.siddhi.core.event.stream.StreamEvent;
 import io.siddhi.core.event.stream.StreamEventCloner;
+import io.siddhi.core.event.stream.holder.IndexedStreamEventQueue;
 import io.siddhi.core.event.stream.holder.SnapshotableStreamEventQueue;
 import io.siddhi.core.event.stream.holder.StreamEventClonerHolder;
 import io.siddhi.core.executor.ConstantExpressionExecutor;
@@ -193,13 +194,18 @@ public class TimeWindowProcessor extends SlidingFindableWindowProcessor<TimeWind
         //Do nothing
     }
 
+    @Override
+    public boolean expiresInArrivalOrder() {
+        return true;
+    }
+
     class WindowState extends State {
         protected SnapshotableStreamEventQueue expiredEventQueue;
         protected volatile long lastTimestamp = Long.MIN_VALUE;
 
 
         WindowState(StreamEventClonerHolder streamEventClonerHolder) {
-            expiredEventQueue = new SnapshotableStreamEventQueue(streamEventClonerHolder);
+            expiredEventQueue = new IndexedStreamEventQueue(streamEventClonerHolder);
         }
 
         @Override
@@ -37,4 +37,14 @@ public abstract class WindowProcessor<S extends State> extends AbstractStreamPro
     public List<Attribute> getReturnAttributes() {
         return new ArrayList<>(0);
     }
+
+    /**
+     * Whether the window emits the expired events in the arrival order of their current events. Aggregators such
+     * as min and max then only need to check the oldest value of their state on expiry.
+     *
+     * @return true if the events expire in their arrival order
+     */
+    public boolean expiresInArrivalOrder() {
+        return false;
+    }
 }
@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.query.selector;
+
+import io.siddhi.core.util.SiddhiConstants;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Typed key of a GroupBy group. Keys compare by the group by values themselves, and their hash is computed once
+ * when the key is created. {@link #toString()} returns the delimited form used when group keys are written to
+ * snapshots.
+ */
+public abstract class GroupByKey implements Serializable {
+
+    private static final long serialVersionUID = -6196314717367306591L;
+
+    public static GroupByKey of(Object[] values) {
+        return new CompositeKey(values);
+    }
+
+    public static GroupByKey of(long value) {
+        return new LongKey(value);
+    }
+
+    /**
+     * Moves the value of a group restored from a snapshot taken before group keys were typed, in which groups are
+     * keyed by the delimited form of their key, to the typed key of the group.
+     *
+     * @param groupByValues values of the groups
+     * @param groupByKey    key of the group
+     * @param <V>           type of the values
+     * @return whether a value was moved
+     */
+    public static <V> boolean moveStringKey(Map<Object, V> groupByValues, Object groupByKey) {
+        if (groupByKey instanceof GroupByKey && !groupByValues.containsKey(groupByKey)) {
+            V value = groupByValues.remove(groupByKey.toString());
+            if (value != null) {
+                groupByValues.put(groupByKey, value);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param groupByValues values of the groups
+     * @return the number of groups keyed by the delimited form of their key
+     */
+    public static int countStringKeys(Map<Object, ?> groupByValues) {
+        int count = 0;
+        for (Object groupByKey : groupByValues.keySet()) {
+            if (groupByKey instanceof String) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return the values of a key created by {@link #of(Object[])}, or null for a key created by {@link #of(long)}
+     */
+    public abstract Object[] getValues();
+
+    /**
+     * @return the value of a key created by {@link #of(long)}
+     */
+    public abstract long getLongValue();
+
+    /**
+     * Key of one or more group by values of any type.
+     */
+    static final class CompositeKey extends GroupByKey {
+
+        private static final long serialVersionUID = 4410312383346585519L;
+        private final Object[] values;
+        private final int hash;
+
+        CompositeKey(Object[] values) {
+            this.values = values;
+            this.hash = Arrays.hashCode(values);
+        }
+
+        @Override
+        public Object[] getValues() {
+            return values;
+        }
+
+        @Override
+        public long getLongValue() {
+            throw new UnsupportedOperationException("Key of multiple group by values does not have a long value");
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CompositeKey)) {
+                return false;
+            }
+            CompositeKey that = (CompositeKey) o;
+            return hash == that.hash && Arrays.equals(values, that.values);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            for (Object value : values) {
+                sb.append(value).append(SiddhiConstants.KEY_DELIMITER);
+            }
+            return sb.toString();
+        }
+    }
+
+    /**
+     * Key of a single INT or LONG group by value, held as a primitive long.
+     */
+    static final class LongKey extends GroupByKey {
+
+        private static final long serialVersionUID = 2960580512532945123L;
+        private final long value;
+
+        LongKey(long value) {
+            this.value = value;
+        }
+
+        @Override
+        public Object[] getValues() {
+            return null;
+        }
+
+        @Override
+        public long getLongValue() {
+            return value;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return this == o || (o instanceof LongKey && value == ((LongKey) o).value);
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(value);
+        }
+
+        @Override
+        public String toString() {
+            return value + SiddhiConstants.KEY_DELIMITER;
+        }
+    }
+}
@@ -26,6 +26,7 @@ import io.siddhi.core.query.processor.ProcessingMode;
 import io.siddhi.core.table.Table;
 import io.siddhi.core.util.SiddhiConstants;
 import io.siddhi.core.util.parser.ExpressionParser;
+import io.siddhi.query.api.definition.Attribute;
 import io.siddhi.query.api.expression.Expression;
 
 import java.util.List;
@@ -37,6 +38,7 @@ import java.util.Map;
 public class GroupByKeyGenerator {
 
     private ExpressionExecutor[] groupByExecutors = null;
+    private Attribute.Type singleKeyType = null;
 
     public GroupByKeyGenerator(List<Expression> groupByList,
                                MetaComplexEvent metaComplexEvent,
@@ -51,7 +53,34 @@ public class GroupByKeyGenerator {
                         false, 0, ProcessingMode.BATCH, false,
                         siddhiQueryContext);
             }
+            if (groupByExecutors.length == 1) {
+                singleKeyType = groupByExecutors[0].getReturnType();
+            }
+        }
+    }
+
+    /**
+     * generate typed groupBy key of a complexEvent
+     *
+     * @param event complexEvent
+     * @return GroupByKey, or null when there are no group by attributes
+     */
+    public GroupByKey constructGroupByKey(ComplexEvent event) {
+        if (groupByExecutors == null) {
+            return null;
+        }
+        if (singleKeyType == Attribute.Type.LONG || singleKeyType == Attribute.Type.INT) {
+            Object value = groupByExecutors[0].execute(event);
+            if (value instanceof Long || value instanceof Integer) {
+                return GroupByKey.of(((Number) value).longValue());
+            }
+            return GroupByKey.of(new Object[]{value});
+        }
+        Object[] values = new Object[groupByExecutors.length];
+        for (int i = 0; i < groupByExecutors.length; i++) {
+            values[i] = groupByExecutors[i].execute(event);
         }
+        return GroupByKey.of(values);
     }
 
     /**
@@ -24,6 +24,7 @@ import io.siddhi.core.event.ComplexEventChunk;
 import io.siddhi.core.event.GroupedComplexEvent;
 import io.siddhi.core.event.state.populater.StateEventPopulator;
 import io.siddhi.core.event.stream.StreamEvent;
+import io.siddhi.core.event.stream.StreamEventFactory;
 import io.siddhi.core.exception.SiddhiAppCreationException;
 import io.siddhi.core.executor.condition.ConditionExpressionExecutor;
 import io.siddhi.core.query.output.ratelimit.OutputRateLimiter;
@@ -37,6 +38,9 @@ import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * Processor implementation representing selector portion of the Siddhi query.
@@ -45,6 +49,7 @@ public class QuerySelector implements Processor {
 
 
     private static final Logger log = Logger.getLogger(QuerySelector.class);
+    private static final int LOCK_STRIPES = 64;
     private Selector selector;
     private SiddhiQueryContext siddhiQueryContext;
     private boolean currentOn = false;
@@ -62,6 +67,9 @@ public class QuerySelector implements Processor {
     private boolean batchingEnabled = true;
     private long limit = SiddhiConstants.UNKNOWN_STATE;
     private long offset = SiddhiConstants.UNKNOWN_STATE;
+    private StreamEventFactory recyclingStreamEventFactory = null;
+    private final Object[] stripeLocks = new Object[LOCK_STRIPES];
+    private final ReadWriteLock resetLock = new ReentrantReadWriteLock();
 
     public QuerySelector(String id, Selector selector, boolean currentOn, boolean expiredOn, SiddhiQueryContext
             siddhiQueryContext) {
@@ -70,6 +78,19 @@ public class QuerySelector implements Processor {
         this.expiredOn = expiredOn;
         this.selector = selector;
         this.siddhiQueryContext = siddhiQueryContext;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            stripeLocks[i] = new Object();
+        }
+    }
+
+    /**
+     * Returns the lock guarding the states of the current partition key and the given group by key. Events of
+     * different keys take different locks, so they can be processed in parallel by different threads.
+     */
+    private Object getStripeLock(Object groupByKey) {
+        int hash = 31 * Objects.hashCode(SiddhiAppContext.getPartitionFlowId()) + Objects.hashCode(groupByKey);
+        hash ^= hash >>> 16;
+        return stripeLocks[hash & (LOCK_STRIPES - 1)];
     }
 
     @Override
@@ -95,6 +116,29 @@ public class QuerySelector implements Processor {
         }
         if (outputComplexEventChunk != null) {
             outputRateLimiter.process(outputComplexEventChunk);
+            if (recyclingStreamEventFactory != null) {
+                releaseEvents(outputComplexEventChunk);
+            }
+        }
+    }
+
+    /**
+     * Hands the events of an already delivered output chunk back to the event pool. Only used when
+     * the query is known not to retain the output events beyond the output callbacks.
+     */
+    private void releaseEvents(ComplexEventChunk outputComplexEventChunk) {
+        ComplexEvent complexEvent = outputComplexEventChunk.getFirst();
+        outputComplexEventChunk.clear();
+        while (complexEvent != null) {
+            ComplexEvent nextEvent = complexEvent.getNext();
+            ComplexEvent event = complexEvent;
+            if (event instanceof GroupedComplexEvent) {
+                event = ((GroupedComplexEvent) event).getComplexEvent();
+            }
+            if (event instanceof StreamEvent) {
+                recyclingStreamEventFactory.release((StreamEvent) event);
+            }
+            complexEvent = nextEvent;
         }
     }
 
@@ -160,7 +204,7 @@ public class QuerySelector implements Processor {
 
     private ComplexEventChunk processNoGroupBy(ComplexEventChunk complexEventChunk) {
         complexEventChunk.reset();
-        synchronized (this) {
+        synchronized (getStripeLock(null)) {
             while (complexEventChunk.hasNext()) {
                 ComplexEvent event = complexEventChunk.next();
                 switch (event.getType()) {
@@ -204,53 +248,76 @@ public class QuerySelector implements Processor {
         return null;
     }
 
+    /**
+     * Processes the attributes of an event against the states of its group, and returns whether the event is
+     * selected for output.
+     */
+    private boolean processGroupByEvent(ComplexEvent event, GroupByKey groupByKey) {
+        SiddhiAppContext.startGroupByFlow(groupByKey);
+        try {
+            for (AttributeProcessor attributeProcessor : attributeProcessorList) {
+                attributeProcessor.process(event);
+            }
+            return ((event.getType() == StreamEvent.Type.CURRENT && currentOn) ||
+                    (event.getType() == StreamEvent.Type.EXPIRED && expiredOn)) &&
+                    !(havingConditionExecutor != null && !havingConditionExecutor.execute(event));
+        } finally {
+            SiddhiAppContext.stopGroupByFlow();
+        }
+    }
+
+    private void processGroupByReset(ComplexEvent event) {
+        resetLock.writeLock().lock();
+        try {
+            for (AttributeProcessor attributeProcessor : attributeProcessorList) {
+                attributeProcessor.process(event);
+            }
+        } finally {
+            resetLock.writeLock().unlock();
+        }
+    }
+
     private ComplexEventChunk<ComplexEvent> processGroupBy(ComplexEventChunk complexEventChunk) {
         complexEventChunk.reset();
         ComplexEventChunk<ComplexEvent> currentComplexEventChunk = new ComplexEventChunk<ComplexEvent>
                 ();
 
-        synchronized (this) {
-            int limitCount = 0;
-            while (complexEventChunk.hasNext()) {
-                ComplexEvent event = complexEventChunk.next();
-                switch (event.getType()) {
-                    case CURRENT:
-                    case EXPIRED:
-                        eventPopulator.populateStateEvent(event);
-                        String groupByKey = groupByKeyGenerator.constructEventKey(event);
-                        SiddhiAppContext.startGroupByFlow(groupByKey);
-                        try {
-                            for (AttributeProcessor attributeProcessor : attributeProcessorList) {
-                                attributeProcessor.process(event);
-                            }
-                            if ((event.getType() == StreamEvent.Type.CURRENT && currentOn) || (event.getType() ==
-                                    StreamEvent.Type.EXPIRED && expiredOn)) {
-                                if (!(havingConditionExecutor != null && !havingConditionExecutor.execute(event))) {
-                                    complexEventChunk.remove();
-                                    if (limit == SiddhiConstants.UNKNOWN_STATE) {
-                                        currentComplexEventChunk.add(new GroupedComplexEvent(groupByKey, event));
-                                    } else {
-                                        if (limitCount < limit) {
-                                            currentComplexEventChunk.add(new GroupedComplexEvent(groupByKey, event));
-                                            limitCount++;
-                                        }
-                                    }
-                                }
-                            }
-                        } finally {
-                            SiddhiAppContext.stopGroupByFlow();
+        int limitCount = 0;
+        while (complexEventChunk.hasNext()) {
+            ComplexEvent event = complexEventChunk.next();
+            switch (event.getType()) {
+                case CURRENT:
+                case EXPIRED:
+                    eventPopulator.populateStateEvent(event);
+                    GroupByKey groupByKey = groupByKeyGenerator.constructGroupByKey(event);
+                    boolean selected;
+                    resetLock.readLock().lock();
+                    try {
+                        synchronized (getStripeLock(groupByKey)) {
+                            selected = processGroupByEvent(event, groupByKey);
                         }
-                        break;
-                    case TIMER:
-                        break;
-                    case RESET:
-                        for (AttributeProcessor attributeProcessor : attributeProcessorList) {
-                            attributeProcessor.process(event);
+                    } finally {
+                        resetLock.readLock().unlock();
+                    }
+                    if (selected) {
+                        complexEventChunk.remove();
+                        if (limit == SiddhiConstants.UNKNOWN_STATE) {
+                            currentComplexEventChunk.add(new GroupedComplexEvent(groupByKey, event));
+                        } else {
+                            if (limitCount < limit) {
+                                currentComplexEventChunk.add(new GroupedComplexEvent(groupByKey, event));
+                                limitCount++;
+                            }
                         }
-                        break;
-                }
-
+                    }
+                    break;
+                case TIMER:
+                    break;
+                case RESET:
+                    processGroupByReset(event);
+                    break;
             }
+
         }
         if (isOrderBy) {
             orderEventChunk(complexEventChunk);
@@ -272,7 +339,7 @@ public class QuerySelector implements Processor {
         complexEventChunk.reset();
         ComplexEvent lastEvent = null;
 
-        synchronized (this) {
+        synchronized (getStripeLock(null)) {
             while (complexEventChunk.hasNext()) {
                 ComplexEvent event = complexEventChunk.next();
                 switch (event.getType()) {
@@ -313,48 +380,42 @@ public class QuerySelector implements Processor {
     }
 
     private ComplexEventChunk processInBatchGroupBy(ComplexEventChunk complexEventChunk) {
-        Map<String, ComplexEvent> groupedEvents = new LinkedHashMap<String, ComplexEvent>();
+        Map<GroupByKey, ComplexEvent> groupedEvents = new LinkedHashMap<GroupByKey, ComplexEvent>();
         complexEventChunk.reset();
 
-        synchronized (this) {
-            while (complexEventChunk.hasNext()) {
-                ComplexEvent event = complexEventChunk.next();
-                switch (event.getType()) {
-
-                    case CURRENT:
-                    case EXPIRED:
-                        eventPopulator.populateStateEvent(event);
-                        String groupByKey = groupByKeyGenerator.constructEventKey(event);
-                        SiddhiAppContext.startGroupByFlow(groupByKey);
-                        try {
-                            for (AttributeProcessor attributeProcessor : attributeProcessorList) {
-                                attributeProcessor.process(event);
-                            }
-                            if (!(havingConditionExecutor != null && !havingConditionExecutor.execute(event))) {
-                                if ((event.getType() == StreamEvent.Type.CURRENT && currentOn) || (event.getType() ==
-                                        StreamEvent.Type.EXPIRED && expiredOn)) {
-                                    complexEventChunk.remove();
-                                    groupedEvents.put(groupByKey, event);
-                                }
-                            }
-                        } finally {
-                            SiddhiAppContext.stopGroupByFlow();
-                        }
-                        break;
-                    case TIMER:
-                        break;
-                    case RESET:
-                        for (AttributeProcessor attributeProcessor : attributeProcessorList) {
-                            attributeProcessor.process(event);
+        while (complexEventChunk.hasNext()) {
+            ComplexEvent event = complexEventChunk.next();
+            switch (event.getType()) {
+
+                case CURRENT:
+                case EXPIRED:
+                    eventPopulator.populateStateEvent(event);
+                    GroupByKey groupByKey = groupByKeyGenerator.constructGroupByKey(event);
+                    boolean selected;
+                    resetLock.readLock().lock();
+                    try {
+                        synchronized (getStripeLock(groupByKey)) {
+                            selected = processGroupByEvent(event, groupByKey);
                         }
-                        break;
-                }
+                    } finally {
+                        resetLock.readLock().unlock();
+                    }
+                    if (selected) {
+                        complexEventChunk.remove();
+                        groupedEvents.put(groupByKey, event);
+                    }
+                    break;
+                case TIMER:
+                    break;
+                case RESET:
+                    processGroupByReset(event);
+                    break;
             }
         }
 
         if (groupedEvents.size() != 0) {
             complexEventChunk.clear();
-            for (Map.Entry<String, ComplexEvent> groupedEventEntry : groupedEvents.entrySet()) {
+            for (Map.Entry<GroupByKey, ComplexEvent> groupedEventEntry : groupedEvents.entrySet()) {
                 complexEventChunk.add(new GroupedComplexEvent(groupedEventEntry.getKey(),
                         groupedEventEntry.getValue()));
             }
@@ -429,6 +490,10 @@ public class QuerySelector implements Processor {
         this.batchingEnabled = batchingEnabled;
     }
 
+    public void setRecyclingStreamEventFactory(StreamEventFactory recyclingStreamEventFactory) {
+        this.recyclingStreamEventFactory = recyclingStreamEventFactory;
+    }
+
     public void setEventPopulator(StateEventPopulator eventPopulator) {
         this.eventPopulator = eventPopulator;
     }
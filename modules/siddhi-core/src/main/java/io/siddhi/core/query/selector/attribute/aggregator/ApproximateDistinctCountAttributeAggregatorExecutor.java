@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.query.selector.attribute.aggregator;
+
+import io.siddhi.annotation.Example;
+import io.siddhi.annotation.Extension;
+import io.siddhi.annotation.Parameter;
+import io.siddhi.annotation.ParameterOverload;
+import io.siddhi.annotation.ReturnAttribute;
+import io.siddhi.annotation.util.DataType;
+import io.siddhi.core.config.SiddhiQueryContext;
+import io.siddhi.core.exception.OperationNotSupportedException;
+import io.siddhi.core.executor.ConstantExpressionExecutor;
+import io.siddhi.core.executor.ExpressionExecutor;
+import io.siddhi.core.query.processor.ProcessingMode;
+import io.siddhi.core.util.config.ConfigReader;
+import io.siddhi.core.util.sketch.HyperLogLog;
+import io.siddhi.core.util.snapshot.state.State;
+import io.siddhi.core.util.snapshot.state.StateFactory;
+import io.siddhi.query.api.definition.Attribute;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@link AttributeAggregatorExecutor} to estimate distinct count based on an event attribute, using a HyperLogLog
+ * sketch of fixed size.
+ */
+@Extension(
+        name = "approximateDistinctCount",
+        namespace = "",
+        description = "This returns an estimate of the count of distinct occurrences for a given arg, using a " +
+                "HyperLogLog sketch. Unlike `distinctCount`, the memory used is fixed by the relative error, " +
+                "irrespective of the number of distinct values. As a sketch cannot forget values, this cannot be " +
+                "used with sliding windows, but can be used over batch windows and streams without windows.",
+        parameters = {
+                @Parameter(name = "arg",
+                        description = "The object for which the number of distinct occurrences needs to be counted.",
+                        type = {DataType.INT, DataType.LONG, DataType.DOUBLE, DataType.FLOAT, DataType.STRING},
+                        dynamic = true),
+                @Parameter(name = "relative.error",
+                        description = "The expected relative error of the estimate. The sketch uses " +
+                                "`2^ceil(2*log2(1.04/relative.error))` bytes, bounded between 16 bytes and 256KB.",
+                        type = {DataType.DOUBLE},
+                        optional = true,
+                        defaultValue = "0.01")
+        },
+        parameterOverloads = {
+                @ParameterOverload(parameterNames = {"arg"}),
+                @ParameterOverload(parameterNames = {"arg", "relative.error"})
+        },
+        returnAttributes = @ReturnAttribute(
+                description = "Returns the estimated count of distinct occurrences for a given arg.",
+                type = {DataType.LONG}),
+        examples = @Example(
+                syntax = "from fooStream#window.timeBatch(1 hour)\n" +
+                        "select approximateDistinctCount(userID, 0.02) as users\n" +
+                        "insert into barStream;",
+                description = "approximateDistinctCount(userID, 0.02) estimates the number of distinct users " +
+                        "in each hour within 2% relative error, using 4KB of memory."
+        )
+)
+public class ApproximateDistinctCountAttributeAggregatorExecutor extends
+        AttributeAggregatorExecutor<ApproximateDistinctCountAttributeAggregatorExecutor.AggregatorState> {
+    private static final long serialVersionUID = 8234572061517528139L;
+    private static final double DEFAULT_RELATIVE_ERROR = 0.01;
+    private double relativeError = DEFAULT_RELATIVE_ERROR;
+
+    /**
+     * The initialization method for FunctionExecutor
+     *
+     * @param attributeExpressionExecutors are the executors of each attributes in the function
+     * @param processingMode               query processing mode
+     * @param outputExpectsExpiredEvents   is expired events sent as output
+     * @param configReader                 this hold the {@link ApproximateDistinctCountAttributeAggregatorExecutor}
+     *                                     configuration reader.
+     * @param siddhiQueryContext           Siddhi query runtime context
+     */
+    @Override
+    protected StateFactory<AggregatorState> init(ExpressionExecutor[] attributeExpressionExecutors,
+                                                 ProcessingMode processingMode,
+                                                 boolean outputExpectsExpiredEvents, ConfigReader configReader,
+                                                 SiddhiQueryContext siddhiQueryContext) {
+        if (attributeExpressionExecutors.length != 1 && attributeExpressionExecutors.length != 2) {
+            throw new OperationNotSupportedException("Approximate distinct count aggregator has to have 1 or 2 " +
+                    "parameters, currently " + attributeExpressionExecutors.length + " parameters provided");
+        }
+        if (attributeExpressionExecutors.length == 2) {
+            if (!(attributeExpressionExecutors[1] instanceof ConstantExpressionExecutor) ||
+                    !(((ConstantExpressionExecutor) attributeExpressionExecutors[1]).getValue() instanceof Number)) {
+                throw new OperationNotSupportedException("Relative error of the approximate distinct count " +
+                        "aggregator should be a constant double");
+            }
+            relativeError = ((Number) ((ConstantExpressionExecutor) attributeExpressionExecutors[1]).getValue())
+                    .doubleValue();
+            if (relativeError <= 0 || relativeError >= 1) {
+                throw new OperationNotSupportedException("Relative error of the approximate distinct count " +
+                        "aggregator should be within (0, 1), but found " + relativeError);
+            }
+        }
+        if (processingMode == ProcessingMode.SLIDE) {
+            throw new OperationNotSupportedException("Approximate distinct count aggregator cannot be used with " +
+                    "sliding windows as expired values cannot be removed from its sketch, use distinctCount instead");
+        }
+        return () -> new AggregatorState();
+    }
+
+    public Attribute.Type getReturnType() {
+        return Attribute.Type.LONG;
+    }
+
+    @Override
+    public Object processAdd(Object data, AggregatorState state) {
+        state.sketch.offer(data);
+        return state.sketch.estimate();
+    }
+
+    @Override
+    public Object processAdd(Object[] data, AggregatorState state) {
+        // Only the first argument is counted, the second is the relative error
+        state.sketch.offer(data[0]);
+        return state.sketch.estimate();
+    }
+
+    @Override
+    public Object processRemove(Object data, AggregatorState state) {
+        // Values expired by batch windows are cleared through reset
+        return state.sketch.estimate();
+    }
+
+    @Override
+    public Object processRemove(Object[] data, AggregatorState state) {
+        return state.sketch.estimate();
+    }
+
+    @Override
+    public Object reset(AggregatorState state) {
+        state.sketch.clear();
+        return state.sketch.estimate();
+    }
+
+    class AggregatorState extends State {
+
+        private HyperLogLog sketch = new HyperLogLog(relativeError);
+
+        @Override
+        public boolean canDestroy() {
+            return sketch.isEmpty();
+        }
+
+        @Override
+        public Map<String, Object> snapshot() {
+            Map<String, Object> state = new HashMap<>();
+            state.put("Sketch", sketch);
+            return state;
+        }
+
+        @Override
+        public void restore(Map<String, Object> state) {
+            sketch = (HyperLogLog) state.get("Sketch");
+        }
+    }
+}
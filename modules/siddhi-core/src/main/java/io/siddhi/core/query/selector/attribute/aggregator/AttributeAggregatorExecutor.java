@@ -49,8 +49,11 @@ public abstract class AttributeAggregatorExecutor<S extends State> implements Ex
             InputParameterValidator.validateExpressionExecutors(this, attributeExpressionExecutors);
             StateFactory<S> stateFactory = init(attributeExpressionExecutors, processingMode,
                     outputExpectsExpiredEvents, configReader, siddhiQueryContext);
+            // The query selector processes different partition and group by keys in parallel, hence only the
+            // states of queries without them are accessed by one thread at a time
+            boolean unSafe = !groupBy && !siddhiQueryContext.isPartitioned();
             stateHolder = siddhiQueryContext.generateStateHolder(this.getClass().getName(),
-                    groupBy, stateFactory, true);
+                    groupBy, stateFactory, unSafe);
         } catch (Throwable t) {
             throw new SiddhiAppCreationException(t);
         }
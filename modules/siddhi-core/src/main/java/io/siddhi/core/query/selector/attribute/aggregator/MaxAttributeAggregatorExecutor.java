@@ -33,10 +33,7 @@ import io.siddhi.core.util.snapshot.state.StateFactory;
 import io.siddhi.query.api.definition.Attribute;
 
 import java.util.Arrays;
-import java.util.Deque;
 import java.util.HashMap;
-import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.Map;
 
 /**
@@ -98,16 +95,17 @@ public class MaxAttributeAggregatorExecutor
         attributeExpressionExecutor = attributeExpressionExecutors[0];
         returnType = attributeExpressionExecutors[0].getReturnType();
         boolean finalTrackFutureStates = trackFutureStates;
+        boolean expiresInArrivalOrder = siddhiQueryContext.isExpiresInArrivalOrder();
         return () -> {
             switch (returnType) {
                 case FLOAT:
-                    return new MaxAttributeAggregatorStateFloat(finalTrackFutureStates);
+                    return new MaxAttributeAggregatorStateFloat(finalTrackFutureStates, expiresInArrivalOrder);
                 case INT:
-                    return new MaxAttributeAggregatorStateInt(finalTrackFutureStates);
+                    return new MaxAttributeAggregatorStateInt(finalTrackFutureStates, expiresInArrivalOrder);
                 case LONG:
-                    return new MaxAttributeAggregatorStateLong(finalTrackFutureStates);
+                    return new MaxAttributeAggregatorStateLong(finalTrackFutureStates, expiresInArrivalOrder);
                 case DOUBLE:
-                    return new MaxAttributeAggregatorStateDouble(finalTrackFutureStates);
+                    return new MaxAttributeAggregatorStateDouble(finalTrackFutureStates, expiresInArrivalOrder);
                 default:
                     throw new OperationNotSupportedException("Max not supported for " + returnType);
             }
@@ -157,12 +155,12 @@ public class MaxAttributeAggregatorExecutor
 
     class MaxAttributeAggregatorStateDouble extends MaxAggregatorState {
 
-        private Deque<Double> maxDeque = null;
+        private MonotonicDeque<Double> maxDeque = null;
         private volatile Double maxValue = null;
 
-        public MaxAttributeAggregatorStateDouble(boolean trackFutureStates) {
+        public MaxAttributeAggregatorStateDouble(boolean trackFutureStates, boolean expiresInArrivalOrder) {
             if (trackFutureStates) {
-                maxDeque = new LinkedList<>();
+                maxDeque = new MonotonicDeque<>(true, expiresInArrivalOrder);
             }
         }
 
@@ -170,14 +168,7 @@ public class MaxAttributeAggregatorExecutor
         public Object processAdd(Object data) {
             Double value = (Double) data;
             if (maxDeque != null) {
-                for (Iterator<Double> iterator = maxDeque.descendingIterator(); iterator.hasNext(); ) {
-                    if (iterator.next() < value) {
-                        iterator.remove();
-                    } else {
-                        break;
-                    }
-                }
-                maxDeque.addLast(value);
+                maxDeque.add(value);
             }
             if (maxValue == null || maxValue < value) {
                 maxValue = value;
@@ -188,8 +179,8 @@ public class MaxAttributeAggregatorExecutor
         @Override
         public Object processRemove(Object data) {
             if (maxDeque != null) {
-                maxDeque.removeFirstOccurrence(data);
-                maxValue = maxDeque.peekFirst();
+                maxDeque.remove((Double) data);
+                maxValue = maxDeque.peek();
             } else {
                 if (maxValue != null && maxValue.equals(data)) {
                     maxValue = null;
@@ -216,14 +207,18 @@ public class MaxAttributeAggregatorExecutor
         public Map<String, Object> snapshot() {
             Map<String, Object> state = new HashMap<>();
             state.put("MaxValue", maxValue);
-            state.put("MaxDeque", maxDeque);
+            if (maxDeque != null) {
+                maxDeque.snapshot(state, "Max");
+            }
             return state;
         }
 
         @Override
         public void restore(Map<String, Object> state) {
             maxValue = (Double) state.get("MaxValue");
-            maxDeque = (Deque<Double>) state.get("MaxDeque");
+            if (maxDeque != null) {
+                maxDeque.restore(state, "Max");
+            }
         }
 
         protected Object currentValue() {
@@ -233,12 +228,12 @@ public class MaxAttributeAggregatorExecutor
 
     class MaxAttributeAggregatorStateFloat extends MaxAggregatorState {
 
-        private Deque<Float> maxDeque = null;
+        private MonotonicDeque<Float> maxDeque = null;
         private volatile Float maxValue = null;
 
-        public MaxAttributeAggregatorStateFloat(boolean trackFutureStates) {
+        public MaxAttributeAggregatorStateFloat(boolean trackFutureStates, boolean expiresInArrivalOrder) {
             if (trackFutureStates) {
-                maxDeque = new LinkedList<>();
+                maxDeque = new MonotonicDeque<>(true, expiresInArrivalOrder);
             }
         }
 
@@ -246,14 +241,7 @@ public class MaxAttributeAggregatorExecutor
         public Object processAdd(Object data) {
             Float value = (Float) data;
             if (maxDeque != null) {
-                for (Iterator<Float> iterator = maxDeque.descendingIterator(); iterator.hasNext(); ) {
-                    if (iterator.next() < value) {
-                        iterator.remove();
-                    } else {
-                        break;
-                    }
-                }
-                maxDeque.addLast(value);
+                maxDeque.add(value);
             }
             if (maxValue == null || maxValue < value) {
                 maxValue = value;
@@ -264,8 +252,8 @@ public class MaxAttributeAggregatorExecutor
         @Override
         public Object processRemove(Object data) {
             if (maxDeque != null) {
-                maxDeque.removeFirstOccurrence(data);
-                maxValue = maxDeque.peekFirst();
+                maxDeque.remove((Float) data);
+                maxValue = maxDeque.peek();
             } else {
                 if (maxValue != null && maxValue.equals(data)) {
                     maxValue = null;
@@ -292,14 +280,18 @@ public class MaxAttributeAggregatorExecutor
         public Map<String, Object> snapshot() {
             Map<String, Object> state = new HashMap<>();
             state.put("MaxValue", maxValue);
-            state.put("MaxDeque", maxDeque);
+            if (maxDeque != null) {
+                maxDeque.snapshot(state, "Max");
+            }
             return state;
         }
 
         @Override
         public void restore(Map<String, Object> state) {
             maxValue = (Float) state.get("MaxValue");
-            maxDeque = (Deque<Float>) state.get("MaxDeque");
+            if (maxDeque != null) {
+                maxDeque.restore(state, "Max");
+            }
         }
 
         protected Object currentValue() {
@@ -310,12 +302,12 @@ public class MaxAttributeAggregatorExecutor
 
     class MaxAttributeAggregatorStateInt extends MaxAggregatorState {
 
-        private Deque<Integer> maxDeque = null;
+        private MonotonicDeque<Integer> maxDeque = null;
         private volatile Integer maxValue = null;
 
-        public MaxAttributeAggregatorStateInt(boolean trackFutureStates) {
+        public MaxAttributeAggregatorStateInt(boolean trackFutureStates, boolean expiresInArrivalOrder) {
             if (trackFutureStates) {
-                maxDeque = new LinkedList<>();
+                maxDeque = new MonotonicDeque<>(true, expiresInArrivalOrder);
             }
         }
 
@@ -323,14 +315,7 @@ public class MaxAttributeAggregatorExecutor
         public Object processAdd(Object data) {
             Integer value = (Integer) data;
             if (maxDeque != null) {
-                for (Iterator<Integer> iterator = maxDeque.descendingIterator(); iterator.hasNext(); ) {
-                    if (iterator.next() < value) {
-                        iterator.remove();
-                    } else {
-                        break;
-                    }
-                }
-                maxDeque.addLast(value);
+                maxDeque.add(value);
             }
             if (maxValue == null || maxValue < value) {
                 maxValue = value;
@@ -341,8 +326,8 @@ public class MaxAttributeAggregatorExecutor
         @Override
         public Object processRemove(Object data) {
             if (maxDeque != null) {
-                maxDeque.removeFirstOccurrence(data);
-                maxValue = maxDeque.peekFirst();
+                maxDeque.remove((Integer) data);
+                maxValue = maxDeque.peek();
             } else {
                 if (maxValue != null && maxValue.equals(data)) {
                     maxValue = null;
@@ -369,14 +354,18 @@ public class MaxAttributeAggregatorExecutor
         public Map<String, Object> snapshot() {
             Map<String, Object> state = new HashMap<>();
             state.put("MaxValue", maxValue);
-            state.put("MaxDeque", maxDeque);
+            if (maxDeque != null) {
+                maxDeque.snapshot(state, "Max");
+            }
             return state;
         }
 
         @Override
         public void restore(Map<String, Object> state) {
             maxValue = (Integer) state.get("MaxValue");
-            maxDeque = (Deque<Integer>) state.get("MaxDeque");
+            if (maxDeque != null) {
+                maxDeque.restore(state, "Max");
+            }
         }
 
         protected Object currentValue() {
@@ -387,12 +376,12 @@ public class MaxAttributeAggregatorExecutor
 
     class MaxAttributeAggregatorStateLong extends MaxAggregatorState {
 
-        private Deque<Long> maxDeque = null;
+        private MonotonicDeque<Long> maxDeque = null;
         private volatile Long maxValue = null;
 
-        public MaxAttributeAggregatorStateLong(boolean trackFutureStates) {
+        public MaxAttributeAggregatorStateLong(boolean trackFutureStates, boolean expiresInArrivalOrder) {
             if (trackFutureStates) {
-                maxDeque = new LinkedList<>();
+                maxDeque = new MonotonicDeque<>(true, expiresInArrivalOrder);
             }
         }
 
@@ -400,14 +389,7 @@ public class MaxAttributeAggregatorExecutor
         public Object processAdd(Object data) {
             Long value = (Long) data;
             if (maxDeque != null) {
-                for (Iterator<Long> iterator = maxDeque.descendingIterator(); iterator.hasNext(); ) {
-                    if (iterator.next() < value) {
-                        iterator.remove();
-                    } else {
-                        break;
-                    }
-                }
-                maxDeque.addLast(value);
+                maxDeque.add(value);
             }
             if (maxValue == null || maxValue < value) {
                 maxValue = value;
@@ -418,8 +400,8 @@ public class MaxAttributeAggregatorExecutor
         @Override
         public Object processRemove(Object data) {
             if (maxDeque != null) {
-                maxDeque.removeFirstOccurrence(data);
-                maxValue = maxDeque.peekFirst();
+                maxDeque.remove((Long) data);
+                maxValue = maxDeque.peek();
             } else {
                 if (maxValue != null && maxValue.equals(data)) {
                     maxValue = null;
@@ -446,14 +428,18 @@ public class MaxAttributeAggregatorExecutor
         public Map<String, Object> snapshot() {
             Map<String, Object> state = new HashMap<>();
             state.put("MaxValue", maxValue);
-            state.put("MaxDeque", maxDeque);
+            if (maxDeque != null) {
+                maxDeque.snapshot(state, "Max");
+            }
             return state;
         }
 
         @Override
         public void restore(Map<String, Object> state) {
             maxValue = (Long) state.get("MaxValue");
-            maxDeque = (Deque<Long>) state.get("MaxDeque");
+            if (maxDeque != null) {
+                maxDeque.restore(state, "Max");
+            }
         }
 
         protected Object currentValue() {
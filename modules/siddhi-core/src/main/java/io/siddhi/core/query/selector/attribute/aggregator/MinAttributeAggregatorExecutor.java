@@ -33,10 +33,7 @@ import io.siddhi.core.util.snapshot.state.StateFactory;
 import io.siddhi.query.api.definition.Attribute;
 
 import java.util.Arrays;
-import java.util.Deque;
 import java.util.HashMap;
-import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.Map;
 
 /**
@@ -98,18 +95,19 @@ public class MinAttributeAggregatorExecutor
         }
         returnType = attributeExpressionExecutors[0].getReturnType();
         boolean finalTrackFutureStates = trackFutureStates;
+        boolean expiresInArrivalOrder = siddhiQueryContext.isExpiresInArrivalOrder();
         return new StateFactory<MinAggregatorState>() {
             @Override
             public MinAggregatorState createNewState() {
                 switch (returnType) {
                     case FLOAT:
-                        return new MinAttributeAggregatorStateFloat(finalTrackFutureStates);
+                        return new MinAttributeAggregatorStateFloat(finalTrackFutureStates, expiresInArrivalOrder);
                     case INT:
-                        return new MinAttributeAggregatorStateInt(finalTrackFutureStates);
+                        return new MinAttributeAggregatorStateInt(finalTrackFutureStates, expiresInArrivalOrder);
                     case LONG:
-                        return new MinAttributeAggregatorStateLong(finalTrackFutureStates);
+                        return new MinAttributeAggregatorStateLong(finalTrackFutureStates, expiresInArrivalOrder);
                     case DOUBLE:
-                        return new MinAttributeAggregatorStateDouble(finalTrackFutureStates);
+                        return new MinAttributeAggregatorStateDouble(finalTrackFutureStates, expiresInArrivalOrder);
                     default:
                         throw new OperationNotSupportedException("Min not supported for " + returnType);
                 }
@@ -158,12 +156,12 @@ public class MinAttributeAggregatorExecutor
     class MinAttributeAggregatorStateDouble extends MinAggregatorState {
 
         private final Attribute.Type type = Attribute.Type.DOUBLE;
-        private Deque<Double> minDeque = null;
+        private MonotonicDeque<Double> minDeque = null;
         private volatile Double minValue = null;
 
-        public MinAttributeAggregatorStateDouble(boolean trackFutureStates) {
+        public MinAttributeAggregatorStateDouble(boolean trackFutureStates, boolean expiresInArrivalOrder) {
             if (trackFutureStates) {
-                minDeque = new LinkedList<>();
+                minDeque = new MonotonicDeque<>(false, expiresInArrivalOrder);
             }
         }
 
@@ -175,14 +173,7 @@ public class MinAttributeAggregatorExecutor
         public Object processAdd(Object data) {
             Double value = (Double) data;
             if (minDeque != null) {
-                for (Iterator<Double> iterator = minDeque.descendingIterator(); iterator.hasNext(); ) {
-                    if (iterator.next() > value) {
-                        iterator.remove();
-                    } else {
-                        break;
-                    }
-                }
-                minDeque.addLast(value);
+                minDeque.add(value);
             }
             if (minValue == null || minValue > value) {
                 minValue = value;
@@ -193,8 +184,8 @@ public class MinAttributeAggregatorExecutor
         @Override
         public Object processRemove(Object data) {
             if (minDeque != null) {
-                minDeque.removeFirstOccurrence(data);
-                minValue = minDeque.peekFirst();
+                minDeque.remove((Double) data);
+                minValue = minDeque.peek();
             } else {
                 if (minValue != null && minValue.equals(data)) {
                     minValue = null;
@@ -221,14 +212,18 @@ public class MinAttributeAggregatorExecutor
         public Map<String, Object> snapshot() {
             Map<String, Object> state = new HashMap<>();
             state.put("MinValue", minValue);
-            state.put("MinDeque", minDeque);
+            if (minDeque != null) {
+                minDeque.snapshot(state, "Min");
+            }
             return state;
         }
 
         @Override
         public void restore(Map<String, Object> state) {
             minValue = (Double) state.get("MinValue");
-            minDeque = (Deque<Double>) state.get("MinDeque");
+            if (minDeque != null) {
+                minDeque.restore(state, "Min");
+            }
         }
 
         protected Object currentValue() {
@@ -240,12 +235,12 @@ public class MinAttributeAggregatorExecutor
     class MinAttributeAggregatorStateFloat extends MinAggregatorState {
 
         private final Attribute.Type type = Attribute.Type.FLOAT;
-        private Deque<Float> minDeque = null;
+        private MonotonicDeque<Float> minDeque = null;
         private volatile Float minValue = null;
 
-        public MinAttributeAggregatorStateFloat(boolean trackFutureStates) {
+        public MinAttributeAggregatorStateFloat(boolean trackFutureStates, boolean expiresInArrivalOrder) {
             if (trackFutureStates) {
-                minDeque = new LinkedList<>();
+                minDeque = new MonotonicDeque<>(false, expiresInArrivalOrder);
             }
         }
 
@@ -257,14 +252,7 @@ public class MinAttributeAggregatorExecutor
         public Object processAdd(Object data) {
             Float value = (Float) data;
             if (minDeque != null) {
-                for (Iterator<Float> iterator = minDeque.descendingIterator(); iterator.hasNext(); ) {
-                    if (iterator.next() > value) {
-                        iterator.remove();
-                    } else {
-                        break;
-                    }
-                }
-                minDeque.addLast(value);
+                minDeque.add(value);
             }
             if (minValue == null || minValue > value) {
                 minValue = value;
@@ -275,8 +263,8 @@ public class MinAttributeAggregatorExecutor
         @Override
         public Object processRemove(Object data) {
             if (minDeque != null) {
-                minDeque.removeFirstOccurrence(data);
-                minValue = minDeque.peekFirst();
+                minDeque.remove((Float) data);
+                minValue = minDeque.peek();
             } else {
                 if (minValue != null && minValue.equals(data)) {
                     minValue = null;
@@ -303,14 +291,18 @@ public class MinAttributeAggregatorExecutor
         public Map<String, Object> snapshot() {
             Map<String, Object> state = new HashMap<>();
             state.put("MinValue", minValue);
-            state.put("MinDeque", minDeque);
+            if (minDeque != null) {
+                minDeque.snapshot(state, "Min");
+            }
             return state;
         }
 
         @Override
         public void restore(Map<String, Object> state) {
             minValue = (Float) state.get("MinValue");
-            minDeque = (Deque<Float>) state.get("MinDeque");
+            if (minDeque != null) {
+                minDeque.restore(state, "Min");
+            }
         }
 
         protected Object currentValue() {
@@ -321,12 +313,12 @@ public class MinAttributeAggregatorExecutor
     class MinAttributeAggregatorStateInt extends MinAggregatorState {
 
         private final Attribute.Type type = Attribute.Type.INT;
-        private Deque<Integer> minDeque = null;
+        private MonotonicDeque<Integer> minDeque = null;
         private volatile Integer minValue = null;
 
-        public MinAttributeAggregatorStateInt(boolean trackFutureStates) {
+        public MinAttributeAggregatorStateInt(boolean trackFutureStates, boolean expiresInArrivalOrder) {
             if (trackFutureStates) {
-                minDeque = new LinkedList<>();
+                minDeque = new MonotonicDeque<>(false, expiresInArrivalOrder);
             }
         }
 
@@ -338,15 +330,7 @@ public class MinAttributeAggregatorExecutor
         public Object processAdd(Object data) {
             Integer value = (Integer) data;
             if (minDeque != null) {
-                for (Iterator<Integer> iterator = minDeque.descendingIterator(); iterator.hasNext(); ) {
-
-                    if (iterator.next() > value) {
-                        iterator.remove();
-                    } else {
-                        break;
-                    }
-                }
-                minDeque.addLast(value);
+                minDeque.add(value);
             }
             if (minValue == null || minValue > value) {
                 minValue = value;
@@ -371,8 +355,8 @@ public class MinAttributeAggregatorExecutor
         @Override
         public Object processRemove(Object data) {
             if (minDeque != null) {
-                minDeque.removeFirstOccurrence(data);
-                minValue = minDeque.peekFirst();
+                minDeque.remove((Integer) data);
+                minValue = minDeque.peek();
             } else {
                 if (minValue != null && minValue.equals(data)) {
                     minValue = null;
@@ -385,14 +369,18 @@ public class MinAttributeAggregatorExecutor
         public Map<String, Object> snapshot() {
             Map<String, Object> state = new HashMap<>();
             state.put("MinValue", minValue);
-            state.put("MinDeque", minDeque);
+            if (minDeque != null) {
+                minDeque.snapshot(state, "Min");
+            }
             return state;
         }
 
         @Override
         public void restore(Map<String, Object> state) {
             minValue = (Integer) state.get("MinValue");
-            minDeque = (Deque<Integer>) state.get("MinDeque");
+            if (minDeque != null) {
+                minDeque.restore(state, "Min");
+            }
         }
 
         protected Object currentValue() {
@@ -403,12 +391,12 @@ public class MinAttributeAggregatorExecutor
     class MinAttributeAggregatorStateLong extends MinAggregatorState {
 
         private final Attribute.Type type = Attribute.Type.LONG;
-        private Deque<Long> minDeque = null;
+        private MonotonicDeque<Long> minDeque = null;
         private volatile Long minValue = null;
 
-        public MinAttributeAggregatorStateLong(boolean trackFutureStates) {
+        public MinAttributeAggregatorStateLong(boolean trackFutureStates, boolean expiresInArrivalOrder) {
             if (trackFutureStates) {
-                minDeque = new LinkedList<>();
+                minDeque = new MonotonicDeque<>(false, expiresInArrivalOrder);
             }
         }
 
@@ -420,14 +408,7 @@ public class MinAttributeAggregatorExecutor
         public Object processAdd(Object data) {
             Long value = (Long) data;
             if (minDeque != null) {
-                for (Iterator<Long> iterator = minDeque.descendingIterator(); iterator.hasNext(); ) {
-                    if (iterator.next() > value) {
-                        iterator.remove();
-                    } else {
-                        break;
-                    }
-                }
-                minDeque.addLast(value);
+                minDeque.add(value);
             }
             if (minValue == null || minValue > value) {
                 minValue = value;
@@ -452,8 +433,8 @@ public class MinAttributeAggregatorExecutor
         @Override
         public Object processRemove(Object data) {
             if (minDeque != null) {
-                minDeque.removeFirstOccurrence(data);
-                minValue = minDeque.peekFirst();
+                minDeque.remove((Long) data);
+                minValue = minDeque.peek();
             } else {
                 if (minValue != null && minValue.equals(data)) {
                     minValue = null;
@@ -466,14 +447,18 @@ public class MinAttributeAggregatorExecutor
         public Map<String, Object> snapshot() {
             Map<String, Object> state = new HashMap<>();
             state.put("MinValue", minValue);
-            state.put("MinDeque", minDeque);
+            if (minDeque != null) {
+                minDeque.snapshot(state, "Min");
+            }
             return state;
         }
 
         @Override
         public void restore(Map<String, Object> state) {
             minValue = (Long) state.get("MinValue");
-            minDeque = (Deque<Long>) state.get("MinDeque");
+            if (minDeque != null) {
+                minDeque.restore(state, "Min");
+            }
         }
 
         protected Object currentValue() {
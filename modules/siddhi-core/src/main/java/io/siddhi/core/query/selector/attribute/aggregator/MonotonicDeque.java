@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.query.selector.attribute.aggregator;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Tracks the maximum, or the minimum, of the values of a window.
+ * <p>
+ * When the window expires its values in their arrival order, this is a monotonic deque of the values that can still
+ * become the extreme value, in arrival order, such that the head is the current extreme value. Each candidate is
+ * tagged with its arrival sequence number, and as the expiring value is always the oldest value of the window, expiry
+ * only checks whether the head candidate is that value. Only the candidates are kept.
+ * <p>
+ * Otherwise the expiring value can be any value of the window, hence every value is kept in a sorted map of value
+ * counts, and the extreme value is its first or last key.
+ *
+ * @param <T> type of the values
+ */
+final class MonotonicDeque<T extends Comparable<T>> {
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private final boolean max;
+    private final boolean inArrivalOrder;
+
+    // Candidates of windows expiring in arrival order, as a ring buffer
+    private Object[] candidates;
+    private long[] sequences;
+    private int head;
+    private int size;
+    private long added;
+    private long expired;
+    // False when restored from a snapshot without the candidate sequences, then candidates expire by value
+    private boolean sequenced = true;
+
+    // Values of windows expiring out of arrival order, with their number of occurrences
+    private TreeMap<T, Integer> values;
+
+    /**
+     * @param max            track the maximum instead of the minimum
+     * @param inArrivalOrder whether the window expires its values in their arrival order
+     */
+    MonotonicDeque(boolean max, boolean inArrivalOrder) {
+        this.max = max;
+        this.inArrivalOrder = inArrivalOrder;
+        if (inArrivalOrder) {
+            this.candidates = new Object[INITIAL_CAPACITY];
+            this.sequences = new long[INITIAL_CAPACITY];
+        } else {
+            this.values = new TreeMap<>();
+        }
+    }
+
+    void add(T value) {
+        if (!inArrivalOrder) {
+            values.merge(value, 1, Integer::sum);
+            return;
+        }
+        while (size > 0 && isDroppedBy(candidate(size - 1), value)) {
+            candidates[index(size - 1)] = null;
+            size--;
+        }
+        if (size == candidates.length) {
+            grow();
+        }
+        candidates[index(size)] = value;
+        sequences[index(size)] = added++;
+        size++;
+    }
+
+    void remove(T value) {
+        if (!inArrivalOrder) {
+            values.computeIfPresent(value, (key, count) -> count == 1 ? null : count - 1);
+            return;
+        }
+        if (sequenced) {
+            // The expiring value is the oldest value of the window, which is either the head or already dropped
+            if (size > 0 && sequences[head] == expired) {
+                pollFirst();
+            }
+            expired++;
+        } else if (size > 0 && value.equals(candidate(0))) {
+            pollFirst();
+        }
+    }
+
+    T peek() {
+        if (!inArrivalOrder) {
+            if (values.isEmpty()) {
+                return null;
+            }
+            return max ? values.lastKey() : values.firstKey();
+        }
+        return size == 0 ? null : candidate(0);
+    }
+
+    void clear() {
+        if (!inArrivalOrder) {
+            values.clear();
+            return;
+        }
+        for (int i = 0; i < size; i++) {
+            candidates[index(i)] = null;
+        }
+        head = 0;
+        size = 0;
+        added = 0;
+        expired = 0;
+        sequenced = true;
+    }
+
+    boolean isEmpty() {
+        return inArrivalOrder ? size == 0 : values.isEmpty();
+    }
+
+    void snapshot(Map<String, Object> state, String prefix) {
+        if (!inArrivalOrder) {
+            state.put(prefix + "WindowValueCounts", new TreeMap<>(values));
+            return;
+        }
+        Deque<T> candidateValues = new ArrayDeque<>(size);
+        long[] positions = new long[size];
+        for (int i = 0; i < size; i++) {
+            candidateValues.addLast(candidate(i));
+            // Position of the candidate among the values left in the window
+            positions[i] = sequences[index(i)] - expired;
+        }
+        state.put(prefix + "Deque", candidateValues);
+        state.put(prefix + "DequePositions", sequenced ? positions : null);
+        state.put(prefix + "WindowSize", added - expired);
+    }
+
+    void restore(Map<String, Object> state, String prefix) {
+        clear();
+        Map<T, Integer> windowValues = (Map<T, Integer>) state.get(prefix + "WindowValueCounts");
+        Iterable<T> candidateValues = (Iterable<T>) state.get(prefix + "Deque");
+        if (!inArrivalOrder) {
+            if (windowValues != null) {
+                values.putAll(windowValues);
+            } else if (candidateValues != null) {
+                // Snapshots taken before the values were kept only have the candidates
+                for (T value : candidateValues) {
+                    add(value);
+                }
+            }
+            return;
+        }
+        if (candidateValues == null) {
+            return;
+        }
+        long[] positions = (long[]) state.get(prefix + "DequePositions");
+        Long windowSize = (Long) state.get(prefix + "WindowSize");
+        sequenced = positions != null && windowSize != null;
+        int i = 0;
+        for (T value : candidateValues) {
+            if (size == candidates.length) {
+                grow();
+            }
+            candidates[index(size)] = value;
+            sequences[index(size)] = sequenced ? positions[i++] : 0;
+            size++;
+        }
+        if (sequenced) {
+            added = windowSize;
+        }
+    }
+
+    private boolean isDroppedBy(T value, T laterValue) {
+        int comparison = value.compareTo(laterValue);
+        return max ? comparison < 0 : comparison > 0;
+    }
+
+    private T candidate(int i) {
+        return (T) candidates[index(i)];
+    }
+
+    private int index(int i) {
+        return (head + i) % candidates.length;
+    }
+
+    private void pollFirst() {
+        candidates[head] = null;
+        head = (head + 1) % candidates.length;
+        size--;
+    }
+
+    private void grow() {
+        Object[] grownCandidates = new Object[candidates.length * 2];
+        long[] grownSequences = new long[sequences.length * 2];
+        for (int i = 0; i < size; i++) {
+            grownCandidates[i] = candidates[index(i)];
+            grownSequences[i] = sequences[index(i)];
+        }
+        candidates = grownCandidates;
+        sequences = grownSequences;
+        head = 0;
+    }
+}
@@ -183,6 +183,10 @@ public class StdDevAttributeAggregatorExecutor
                 sum -= value;
                 mean = sum / count;
                 stdDeviation -= (value - oldMean) * (value - mean);
+                if (stdDeviation < 0) {
+                    // Rounding errors accumulated over long sliding windows must not lead to NaN
+                    stdDeviation = 0.0;
+                }
             }
 
             if (count == 1) {
@@ -215,9 +219,9 @@ public class StdDevAttributeAggregatorExecutor
 
         @Override
         public void restore(Map<String, Object> state) {
-            sum = (Long) state.get("Sum");
-            mean = (Long) state.get("Mean");
-            stdDeviation = (Long) state.get("stdDeviation");
+            sum = (Double) state.get("Sum");
+            mean = (Double) state.get("Mean");
+            stdDeviation = (Double) state.get("stdDeviation");
             count = (int) state.get("Count");
         }
 
@@ -19,7 +19,11 @@
 package io.siddhi.core.stream;
 
 import com.lmax.disruptor.BlockingWaitStrategy;
+import com.lmax.disruptor.BusySpinWaitStrategy;
 import com.lmax.disruptor.RingBuffer;
+import com.lmax.disruptor.SleepingWaitStrategy;
+import com.lmax.disruptor.WaitStrategy;
+import com.lmax.disruptor.YieldingWaitStrategy;
 import com.lmax.disruptor.dsl.Disruptor;
 import com.lmax.disruptor.dsl.ProducerType;
 import io.siddhi.core.config.SiddhiAppContext;
@@ -44,6 +48,7 @@ import io.siddhi.core.util.statistics.ThroughputTracker;
 import io.siddhi.core.util.statistics.metrics.Level;
 import io.siddhi.query.api.annotation.Annotation;
 import io.siddhi.query.api.definition.StreamDefinition;
+import io.siddhi.query.api.exception.AttributeNotExistException;
 import io.siddhi.query.api.exception.DuplicateAnnotationException;
 import io.siddhi.query.api.util.AnnotationHelper;
 import org.apache.log4j.Logger;
@@ -51,6 +56,7 @@ import org.apache.log4j.Logger;
 import java.beans.ExceptionListener;
 import java.lang.reflect.Constructor;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
@@ -67,6 +73,8 @@ public class StreamJunction implements EventBufferHolder {
     private final StreamDefinition streamDefinition;
     private int batchSize;
     private int workers = -1;
+    private int[] partitionByPositions = null;
+    private WaitStrategyType waitStrategyType = WaitStrategyType.BLOCKING;
     private int bufferSize;
     private List<Receiver> receivers = new LinkedList<>();
     private List<Publisher> publishers = new LinkedList<>();
@@ -131,6 +139,48 @@ public class StreamJunction implements EventBufferHolder {
                                 siddhiAppContext.getSiddhiAppString());
                     }
                 }
+                String waitStrategyString = asyncAnnotation.getElement(
+                        SiddhiConstants.ANNOTATION_ELEMENT_WAIT_STRATEGY);
+                if (waitStrategyString != null) {
+                    try {
+                        this.waitStrategyType = WaitStrategyType.valueOf(waitStrategyString.trim().toUpperCase()
+                                .replace('.', '_'));
+                    } catch (IllegalArgumentException e) {
+                        throw new SiddhiAppCreationException("Annotation element '" +
+                                SiddhiConstants.ANNOTATION_ELEMENT_WAIT_STRATEGY + "' only supports values " +
+                                "'blocking', 'sleeping', 'yielding' and 'busy.spin', but found, '" +
+                                waitStrategyString + "'.", asyncAnnotation.getQueryContextStartIndex(),
+                                asyncAnnotation.getQueryContextEndIndex(), siddhiAppContext.getName(),
+                                siddhiAppContext.getSiddhiAppString());
+                    }
+                }
+                String partitionByString = asyncAnnotation.getElement(
+                        SiddhiConstants.ANNOTATION_ELEMENT_PARTITION_BY);
+                if (partitionByString != null) {
+                    if (workers <= 0) {
+                        throw new SiddhiAppCreationException("Annotation element '" +
+                                SiddhiConstants.ANNOTATION_ELEMENT_PARTITION_BY + "' requires the element '" +
+                                SiddhiConstants.ANNOTATION_ELEMENT_WORKERS + "' to be defined.",
+                                asyncAnnotation.getQueryContextStartIndex(),
+                                asyncAnnotation.getQueryContextEndIndex(), siddhiAppContext.getName(),
+                                siddhiAppContext.getSiddhiAppString());
+                    }
+                    String[] attributeNames = partitionByString.split(",");
+                    this.partitionByPositions = new int[attributeNames.length];
+                    for (int i = 0; i < attributeNames.length; i++) {
+                        try {
+                            partitionByPositions[i] = streamDefinition.getAttributePosition(
+                                    attributeNames[i].trim());
+                        } catch (AttributeNotExistException e) {
+                            throw new SiddhiAppCreationException("Annotation element '" +
+                                    SiddhiConstants.ANNOTATION_ELEMENT_PARTITION_BY + "' refers to attribute '" +
+                                    attributeNames[i].trim() + "' that does not exist in stream '" +
+                                    streamDefinition.getId() + "'.", asyncAnnotation.getQueryContextStartIndex(),
+                                    asyncAnnotation.getQueryContextEndIndex(), siddhiAppContext.getName(),
+                                    siddhiAppContext.getSiddhiAppString());
+                        }
+                    }
+                }
             }
             Annotation onErrorAnnotation = AnnotationHelper.getAnnotation(SiddhiConstants.ANNOTATION_ON_ERROR,
                     streamDefinition.getAnnotations());
@@ -160,7 +210,7 @@ public class StreamJunction implements EventBufferHolder {
                 try {
                     EventExchangeHolder eventExchangeHolder = ringBuffer.get(sequenceNo);
                     eventExchangeHolder.getEvent().copyFrom(complexEventList);
-                    eventExchangeHolder.getAndSetIsProcessed(false);
+                    assignWorker(eventExchangeHolder);
                 } finally {
                     ringBuffer.publish(sequenceNo);
                 }
@@ -193,7 +243,7 @@ public class StreamJunction implements EventBufferHolder {
             try {
                 EventExchangeHolder eventExchangeHolder = ringBuffer.get(sequenceNo);
                 eventExchangeHolder.getEvent().copyFrom(event);
-                eventExchangeHolder.getAndSetIsProcessed(false);
+                assignWorker(eventExchangeHolder);
             } finally {
                 ringBuffer.publish(sequenceNo);
             }
@@ -212,14 +262,19 @@ public class StreamJunction implements EventBufferHolder {
             log.trace("Event is received by streamJunction " + this);
         }
         if (disruptor != null) {
-            for (Event event : events) {   // Todo : optimize for arrays
-                long sequenceNo = ringBuffer.next();
+            int index = 0;
+            while (index < events.length) {
+                int batchLength = Math.min(events.length - index, bufferSize);
+                long highSequenceNo = ringBuffer.next(batchLength);
+                long lowSequenceNo = highSequenceNo - batchLength + 1;
                 try {
-                    EventExchangeHolder eventExchangeHolder = ringBuffer.get(sequenceNo);
-                    eventExchangeHolder.getEvent().copyFrom(event);
-                    eventExchangeHolder.getAndSetIsProcessed(false);
+                    for (long sequenceNo = lowSequenceNo; sequenceNo <= highSequenceNo; sequenceNo++) {
+                        EventExchangeHolder eventExchangeHolder = ringBuffer.get(sequenceNo);
+                        eventExchangeHolder.getEvent().copyFrom(events[index++]);
+                        assignWorker(eventExchangeHolder);
+                    }
                 } finally {
-                    ringBuffer.publish(sequenceNo);
+                    ringBuffer.publish(lowSequenceNo, highSequenceNo);
                 }
             }
         } else {
@@ -234,19 +289,26 @@ public class StreamJunction implements EventBufferHolder {
             log.trace("Event is received by streamJunction " + this);
         }
         if (disruptor != null) {
-            for (Event event : events) {   // Todo : optimize for arrays
-                long sequenceNo = ringBuffer.next();
+            Iterator<Event> iterator = events.iterator();
+            int remaining = events.size();
+            while (remaining > 0) {
+                int batchLength = Math.min(remaining, bufferSize);
+                long highSequenceNo = ringBuffer.next(batchLength);
+                long lowSequenceNo = highSequenceNo - batchLength + 1;
                 try {
-                    EventExchangeHolder eventExchangeHolder = ringBuffer.get(sequenceNo);
-                    eventExchangeHolder.getEvent().copyFrom(event);
-                    eventExchangeHolder.getAndSetIsProcessed(false);
+                    for (long sequenceNo = lowSequenceNo; sequenceNo <= highSequenceNo; sequenceNo++) {
+                        EventExchangeHolder eventExchangeHolder = ringBuffer.get(sequenceNo);
+                        eventExchangeHolder.getEvent().copyFrom(iterator.next());
+                        assignWorker(eventExchangeHolder);
+                    }
                 } finally {
-                    ringBuffer.publish(sequenceNo);
+                    ringBuffer.publish(lowSequenceNo, highSequenceNo);
                 }
+                remaining -= batchLength;
             }
         } else {
             for (Receiver receiver : receivers) {
-                receiver.receive(events.toArray(new Event[events.size()]));
+                receiver.receive(events);
             }
         }
     }
@@ -259,10 +321,10 @@ public class StreamJunction implements EventBufferHolder {
             long sequenceNo = ringBuffer.next();
             try {
                 EventExchangeHolder eventExchangeHolder = ringBuffer.get(sequenceNo);
-                eventExchangeHolder.getAndSetIsProcessed(false);
                 eventExchangeHolder.getEvent().setTimestamp(timeStamp);
                 eventExchangeHolder.getEvent().setIsExpired(false);
                 System.arraycopy(data, 0, eventExchangeHolder.getEvent().getData(), 0, data.length);
+                assignWorker(eventExchangeHolder);
             } finally {
                 ringBuffer.publish(sequenceNo);
             }
@@ -273,6 +335,26 @@ public class StreamJunction implements EventBufferHolder {
         }
     }
 
+    /**
+     * Marks the exchange holder as unprocessed so that it is consumed by the first free worker, or when
+     * '{@value SiddhiConstants#ANNOTATION_ELEMENT_PARTITION_BY}' is defined, assigns it to the worker owning the hash
+     * of its partition attributes so that events of the same key are always processed in order by the same worker.
+     */
+    private void assignWorker(EventExchangeHolder eventExchangeHolder) {
+        if (partitionByPositions == null) {
+            eventExchangeHolder.getAndSetIsProcessed(false);
+        } else {
+            Object[] data = eventExchangeHolder.getEvent().getData();
+            int hash = 0;
+            for (int position : partitionByPositions) {
+                Object value = data[position];
+                hash = 31 * hash + (value == null ? 0 : value.hashCode());
+            }
+            hash ^= (hash >>> 16);
+            eventExchangeHolder.setWorkerIndex((hash & Integer.MAX_VALUE) % workers);
+        }
+    }
+
     /**
      * Create and start disruptor based on annotations given in the streamDefinition.
      */
@@ -285,7 +367,7 @@ public class StreamJunction implements EventBufferHolder {
                     disruptor = new Disruptor<EventExchangeHolder>(
                             new EventExchangeHolderFactory(streamDefinition.getAttributeList().size()),
                             bufferSize, executorService, producerType,
-                            new BlockingWaitStrategy());
+                            waitStrategyType.createWaitStrategy());
                     disruptor.handleExceptionsWith(siddhiAppContext.getDisruptorExceptionHandler());
                     break;
                 }
@@ -296,14 +378,18 @@ public class StreamJunction implements EventBufferHolder {
                         bufferSize, executorService);
                 disruptor.handleExceptionsWith(siddhiAppContext.getDisruptorExceptionHandler());
             }
+            // A handler can never hold more events than the ring buffer size in a single batch
+            int handlerBatchSize = (batchSize > 0 && batchSize < bufferSize) ? batchSize : bufferSize;
             if (workers > 0) {
                 for (int i = 0; i < workers; i++) {
-                    disruptor.handleEventsWith(new StreamHandler(receivers, batchSize, streamDefinition.getId(),
-                            siddhiAppContext.getName(), faultStreamJunction, onErrorAction, exceptionListener));
+                    disruptor.handleEventsWith(new StreamHandler(receivers, handlerBatchSize,
+                            streamDefinition.getId(), siddhiAppContext.getName(), faultStreamJunction, onErrorAction,
+                            exceptionListener, partitionByPositions != null ? i : -1));
                 }
             } else {
-                disruptor.handleEventsWith(new StreamHandler(receivers, batchSize, streamDefinition.getId(),
-                        siddhiAppContext.getName(), faultStreamJunction, onErrorAction, exceptionListener));
+                disruptor.handleEventsWith(new StreamHandler(receivers, handlerBatchSize,
+                        streamDefinition.getId(), siddhiAppContext.getName(), faultStreamJunction, onErrorAction,
+                        exceptionListener));
             }
             ringBuffer = disruptor.start();
         } else {
@@ -462,6 +548,29 @@ public class StreamJunction implements EventBufferHolder {
         STORE
     }
 
+    /**
+     * Wait strategies supported by the disruptor of an async Stream Junction
+     */
+    public enum WaitStrategyType {
+        BLOCKING,
+        SLEEPING,
+        YIELDING,
+        BUSY_SPIN;
+
+        WaitStrategy createWaitStrategy() {
+            switch (this) {
+                case SLEEPING:
+                    return new SleepingWaitStrategy();
+                case YIELDING:
+                    return new YieldingWaitStrategy();
+                case BUSY_SPIN:
+                    return new BusySpinWaitStrategy();
+                default:
+                    return new BlockingWaitStrategy();
+            }
+        }
+    }
+
     /**
      * Interface to be implemented by all receivers who need to subscribe to Stream Junction and receive events.
      */
@@ -478,6 +587,18 @@ public class StreamJunction implements EventBufferHolder {
         void receive(long timeStamp, Object[] data);
 
         void receive(Event[] events);
+
+        /**
+         * Receive the first {@code length} events of the given array. The array is owned and reused by the caller,
+         * hence implementations should not keep references to it after returning. By default the events are copied
+         * into a new array and passed to {@link #receive(Event[])}.
+         *
+         * @param events array containing the events
+         * @param length number of valid events in the array
+         */
+        default void receive(Event[] events, int length) {
+            receive(Arrays.copyOf(events, length));
+        }
     }
 
     /**
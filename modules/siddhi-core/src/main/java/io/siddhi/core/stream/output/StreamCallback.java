@@ -113,6 +113,11 @@ public abstract class StreamCallback implements StreamJunction.Receiver {
         receiveEvents(events.toArray(new Event[events.size()]));
     }
 
+    @Override
+    public void receive(Event[] events, int length) {
+        receiveEvents(Arrays.copyOf(events, length));
+    }
+
     public void receive(long timestamp, Object[] data) {
         receiveEvents(new Event[]{new Event(timestamp, data)});
     }
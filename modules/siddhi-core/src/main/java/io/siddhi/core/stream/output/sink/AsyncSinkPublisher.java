@@ -0,0 +1,375 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.stream.output.sink;
+
+import com.lmax.disruptor.BlockingWaitStrategy;
+import com.lmax.disruptor.EventHandler;
+import com.lmax.disruptor.InsufficientCapacityException;
+import com.lmax.disruptor.LifecycleAware;
+import com.lmax.disruptor.RingBuffer;
+import com.lmax.disruptor.TimeoutBlockingWaitStrategy;
+import com.lmax.disruptor.TimeoutException;
+import com.lmax.disruptor.TimeoutHandler;
+import com.lmax.disruptor.dsl.Disruptor;
+import com.lmax.disruptor.dsl.ProducerType;
+import io.siddhi.core.config.SiddhiAppContext;
+import io.siddhi.core.event.Event;
+import io.siddhi.core.exception.SiddhiAppCreationException;
+import io.siddhi.core.util.SiddhiConstants;
+import io.siddhi.core.util.event.handler.EventExchangeHolder;
+import io.siddhi.core.util.event.handler.EventExchangeHolderFactory;
+import io.siddhi.core.util.statistics.EventBufferHolder;
+import io.siddhi.query.api.annotation.Annotation;
+import io.siddhi.query.api.definition.StreamDefinition;
+import org.apache.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decouples the threads sending events to a {@link Sink} from its mapping and publishing, when the sink is annotated
+ * with {@code @async}. Events are buffered in a bounded ring buffer, and worker threads map and publish them in
+ * batches through the {@link SinkMapper} of the sink. A batch is published once it reaches the batch size, or once
+ * its first event has waited for '{@value SiddhiConstants#ANNOTATION_ELEMENT_FLUSH_INTERVAL}' milliseconds, or right
+ * away when that is not defined. When the buffer is full, senders either wait for space or the events get dropped,
+ * based on the '{@value SiddhiConstants#ANNOTATION_ELEMENT_ON_OVERFLOW}' element.
+ */
+public class AsyncSinkPublisher implements EventBufferHolder {
+
+    private static final Logger LOG = Logger.getLogger(AsyncSinkPublisher.class);
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 10000;
+
+    private final Sink<?> sink;
+    private final StreamDefinition streamDefinition;
+    private final SiddhiAppContext siddhiAppContext;
+    private final AtomicLong droppedEvents = new AtomicLong();
+    private int bufferSize;
+    private int batchSize;
+    private int workers = 1;
+    private long flushInterval = 0;
+    private OverflowAction overflowAction = OverflowAction.WAIT;
+    private Disruptor<EventExchangeHolder> disruptor;
+    private volatile RingBuffer<EventExchangeHolder> ringBuffer;
+    private List<PublishingHandler> publishingHandlers;
+    private CountDownLatch shutdownLatch;
+
+    public AsyncSinkPublisher(Sink<?> sink, Annotation asyncAnnotation, StreamDefinition streamDefinition,
+                              SiddhiAppContext siddhiAppContext) {
+        this.sink = sink;
+        this.streamDefinition = streamDefinition;
+        this.siddhiAppContext = siddhiAppContext;
+        this.bufferSize = SiddhiConstants.DEFAULT_EVENT_BUFFER_SIZE;
+        String bufferSizeString = asyncAnnotation.getElement(SiddhiConstants.ANNOTATION_ELEMENT_BUFFER_SIZE);
+        if (bufferSizeString != null) {
+            this.bufferSize = parsePositiveInt(SiddhiConstants.ANNOTATION_ELEMENT_BUFFER_SIZE, bufferSizeString,
+                    asyncAnnotation);
+            if (Integer.bitCount(bufferSize) != 1) {
+                throw new SiddhiAppCreationException("Annotation element '" +
+                        SiddhiConstants.ANNOTATION_ELEMENT_BUFFER_SIZE + "' must be a power of 2, but found, '" +
+                        bufferSize + "'.", asyncAnnotation, siddhiAppContext);
+            }
+        }
+        this.batchSize = bufferSize;
+        String batchSizeString = asyncAnnotation.getElement(SiddhiConstants.ANNOTATION_ELEMENT_BATCH_SIZE);
+        if (batchSizeString != null) {
+            // A worker can never hold more events than the ring buffer size in a single batch
+            this.batchSize = Math.min(parsePositiveInt(SiddhiConstants.ANNOTATION_ELEMENT_BATCH_SIZE,
+                    batchSizeString, asyncAnnotation), bufferSize);
+        }
+        String workersString = asyncAnnotation.getElement(SiddhiConstants.ANNOTATION_ELEMENT_WORKERS);
+        if (workersString != null) {
+            this.workers = parsePositiveInt(SiddhiConstants.ANNOTATION_ELEMENT_WORKERS, workersString,
+                    asyncAnnotation);
+        }
+        String flushIntervalString = asyncAnnotation.getElement(SiddhiConstants.ANNOTATION_ELEMENT_FLUSH_INTERVAL);
+        if (flushIntervalString != null) {
+            this.flushInterval = parsePositiveInt(SiddhiConstants.ANNOTATION_ELEMENT_FLUSH_INTERVAL,
+                    flushIntervalString, asyncAnnotation);
+        }
+        String overflowString = asyncAnnotation.getElement(SiddhiConstants.ANNOTATION_ELEMENT_ON_OVERFLOW);
+        if (overflowString != null) {
+            try {
+                this.overflowAction = OverflowAction.valueOf(overflowString.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new SiddhiAppCreationException("Annotation element '" +
+                        SiddhiConstants.ANNOTATION_ELEMENT_ON_OVERFLOW + "' only supports values 'wait' and " +
+                        "'drop', but found, '" + overflowString + "'.", asyncAnnotation, siddhiAppContext);
+            }
+        }
+    }
+
+    private int parsePositiveInt(String elementName, String value, Annotation asyncAnnotation) {
+        int intValue;
+        try {
+            intValue = Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new SiddhiAppCreationException("Annotation element '" + elementName + "' expects an integer, " +
+                    "but found, '" + value + "'.", e, asyncAnnotation.getQueryContextStartIndex(),
+                    asyncAnnotation.getQueryContextEndIndex(), siddhiAppContext);
+        }
+        if (intValue <= 0) {
+            throw new SiddhiAppCreationException("Annotation element '" + elementName + "' cannot be negative or " +
+                    "zero, but found, '" + intValue + "'.", asyncAnnotation, siddhiAppContext);
+        }
+        return intValue;
+    }
+
+    /**
+     * Create and start the disruptor and its publishing workers.
+     */
+    public synchronized void startProcessing() {
+        if (disruptor != null) {
+            return;
+        }
+        disruptor = new Disruptor<>(new EventExchangeHolderFactory(streamDefinition.getAttributeList().size()),
+                bufferSize, siddhiAppContext.getExecutorService(), ProducerType.MULTI,
+                flushInterval > 0 ? new TimeoutBlockingWaitStrategy(flushInterval, TimeUnit.MILLISECONDS) :
+                        new BlockingWaitStrategy());
+        disruptor.setDefaultExceptionHandler(siddhiAppContext.getDisruptorExceptionHandler());
+        publishingHandlers = new ArrayList<>(workers);
+        shutdownLatch = new CountDownLatch(workers);
+        for (int i = 0; i < workers; i++) {
+            PublishingHandler publishingHandler = new PublishingHandler();
+            publishingHandlers.add(publishingHandler);
+            disruptor.handleEventsWith(publishingHandler);
+        }
+        ringBuffer = disruptor.start();
+    }
+
+    /**
+     * Stop accepting events, and wait till the buffered events are published.
+     */
+    public synchronized void stopProcessing() {
+        if (disruptor == null) {
+            return;
+        }
+        RingBuffer<EventExchangeHolder> ringBuffer = this.ringBuffer;
+        this.ringBuffer = null;
+        long shutdownDeadline = System.currentTimeMillis() + SHUTDOWN_TIMEOUT_MILLIS;
+        try {
+            // Returns once the workers have consumed all the events, and then halts them. Each worker publishes its
+            // partially filled batch when it is halted.
+            disruptor.shutdown(SHUTDOWN_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            if (!shutdownLatch.await(Math.max(0, shutdownDeadline - System.currentTimeMillis()),
+                    TimeUnit.MILLISECONDS)) {
+                logShutdownTimeout(getBatchedEvents());
+            }
+        } catch (TimeoutException e) {
+            logShutdownTimeout(bufferSize - ringBuffer.remainingCapacity() + getBatchedEvents());
+            disruptor.halt();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logShutdownTimeout(getBatchedEvents());
+        }
+        disruptor = null;
+    }
+
+    private void logShutdownTimeout(long unpublishedEvents) {
+        LOG.warn("Error on '" + siddhiAppContext.getName() + "'. Sink '" + sink.getType() + "' at '" +
+                streamDefinition.getId() + "' could not publish its buffered events within " +
+                SHUTDOWN_TIMEOUT_MILLIS + " ms of shutting down, hence dropping " + unpublishedEvents + " events.");
+    }
+
+    private long getBatchedEvents() {
+        long batchedEvents = 0;
+        for (PublishingHandler publishingHandler : publishingHandlers) {
+            batchedEvents += publishingHandler.eventBufferLength;
+        }
+        return batchedEvents;
+    }
+
+    public void send(Event event) {
+        RingBuffer<EventExchangeHolder> ringBuffer = this.ringBuffer;
+        if (ringBuffer == null) {
+            // Not started, or shutting down
+            publish(new Event[]{event});
+            return;
+        }
+        long sequenceNo;
+        if (overflowAction == OverflowAction.WAIT) {
+            sequenceNo = ringBuffer.next();
+        } else {
+            try {
+                sequenceNo = ringBuffer.tryNext();
+            } catch (InsufficientCapacityException e) {
+                onOverflow(1, event);
+                return;
+            }
+        }
+        try {
+            EventExchangeHolder eventExchangeHolder = ringBuffer.get(sequenceNo);
+            eventExchangeHolder.getEvent().copyFrom(event);
+            eventExchangeHolder.getAndSetIsProcessed(false);
+        } finally {
+            ringBuffer.publish(sequenceNo);
+        }
+    }
+
+    public void send(Event[] events) {
+        RingBuffer<EventExchangeHolder> ringBuffer = this.ringBuffer;
+        if (ringBuffer == null) {
+            // Not started, or shutting down
+            publish(events);
+            return;
+        }
+        int index = 0;
+        while (index < events.length) {
+            int batchLength = Math.min(events.length - index, bufferSize);
+            long highSequenceNo;
+            if (overflowAction == OverflowAction.WAIT) {
+                highSequenceNo = ringBuffer.next(batchLength);
+            } else {
+                try {
+                    highSequenceNo = ringBuffer.tryNext(batchLength);
+                } catch (InsufficientCapacityException e) {
+                    onOverflow(batchLength, events[index]);
+                    index += batchLength;
+                    continue;
+                }
+            }
+            long lowSequenceNo = highSequenceNo - batchLength + 1;
+            try {
+                for (long sequenceNo = lowSequenceNo; sequenceNo <= highSequenceNo; sequenceNo++) {
+                    EventExchangeHolder eventExchangeHolder = ringBuffer.get(sequenceNo);
+                    eventExchangeHolder.getEvent().copyFrom(events[index++]);
+                    eventExchangeHolder.getAndSetIsProcessed(false);
+                }
+            } finally {
+                ringBuffer.publish(lowSequenceNo, highSequenceNo);
+            }
+        }
+    }
+
+    private void onOverflow(int eventCount, Event firstEvent) {
+        long dropped = droppedEvents.addAndGet(eventCount);
+        // Log the first drop and then once per buffer full of dropped events
+        if (dropped == eventCount || dropped / bufferSize != (dropped - eventCount) / bufferSize) {
+            LOG.warn("Error on '" + siddhiAppContext.getName() + "'. Dropping events at Sink '" + sink.getType() +
+                    "' at '" + streamDefinition.getId() + "' as its buffer of size " + bufferSize + " is full, " +
+                    "dropped " + dropped + " events so far including '" + firstEvent + "'");
+        }
+    }
+
+    private void publish(Event[] events) {
+        if (sink.getHandler() != null) {
+            sink.getHandler().handle(events);
+        } else {
+            sink.getMapper().mapAndSend(events);
+        }
+    }
+
+    public long getDroppedEvents() {
+        return droppedEvents.get();
+    }
+
+    @Override
+    public long getBufferedEvents() {
+        RingBuffer<EventExchangeHolder> ringBuffer = this.ringBuffer;
+        if (ringBuffer != null) {
+            return bufferSize - ringBuffer.remainingCapacity() + getBatchedEvents();
+        }
+        return 0L;
+    }
+
+    @Override
+    public boolean containsBufferedEvents() {
+        return true;
+    }
+
+    /**
+     * Actions when the buffer of the sink is full
+     */
+    public enum OverflowAction {
+        WAIT,
+        DROP
+    }
+
+    /**
+     * Worker that copies the events it claims from the ring buffer into batches, and publishes them when the batch is
+     * full, or when there are no more events to consume and the oldest event has waited for the flush interval. The
+     * events consumed into a batch are no longer counted by the ring buffer, hence the batch is also published when
+     * the worker is shut down.
+     */
+    private class PublishingHandler implements EventHandler<EventExchangeHolder>, TimeoutHandler, LifecycleAware {
+        private final Event[] eventBuffer = new Event[batchSize];
+        private int eventBufferLength = 0;
+        private long firstEventBufferedTime;
+
+        @Override
+        public void onEvent(EventExchangeHolder eventExchangeHolder, long sequence, boolean endOfBatch) {
+            if (!eventExchangeHolder.getAndSetIsProcessed(true)) {
+                Event event = new Event(streamDefinition.getAttributeList().size());
+                event.copyFrom(eventExchangeHolder.getEvent());
+                if (eventBufferLength == 0 && flushInterval > 0) {
+                    firstEventBufferedTime = System.currentTimeMillis();
+                }
+                eventBuffer[eventBufferLength++] = event;
+                if (eventBufferLength == batchSize) {
+                    flush();
+                    return;
+                }
+            }
+            if (endOfBatch && eventBufferLength != 0 && (flushInterval <= 0 ||
+                    System.currentTimeMillis() - firstEventBufferedTime >= flushInterval)) {
+                flush();
+            }
+        }
+
+        @Override
+        public void onTimeout(long sequence) {
+            if (eventBufferLength != 0) {
+                flush();
+            }
+        }
+
+        @Override
+        public void onStart() {
+            //Do nothing
+        }
+
+        @Override
+        public void onShutdown() {
+            try {
+                if (eventBufferLength != 0) {
+                    flush();
+                }
+            } finally {
+                shutdownLatch.countDown();
+            }
+        }
+
+        private void flush() {
+            Event[] events = Arrays.copyOf(eventBuffer, eventBufferLength);
+            Arrays.fill(eventBuffer, 0, eventBufferLength, null);
+            eventBufferLength = 0;
+            try {
+                publish(events);
+            } catch (RuntimeException e) {
+                LOG.error("Error on '" + siddhiAppContext.getName() + "'. Dropping events at Sink '" +
+                        sink.getType() + "' at '" + streamDefinition.getId() + "' as there is an issue when " +
+                        "publishing them: '" + e.getMessage() + "', events dropped '" + Arrays.toString(events) +
+                        "'", e);
+            }
+        }
+    }
+}
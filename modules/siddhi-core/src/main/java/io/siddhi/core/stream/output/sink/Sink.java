@@ -67,6 +67,7 @@ public abstract class Sink<S extends State> implements SinkListener {
     private String type;
     private SinkMapper mapper;
     private SinkHandler handler;
+    private AsyncSinkPublisher asyncPublisher;
     private DistributedTransport.ConnectionCallback connectionCallback = null;
     private StreamJunction streamJunction;
     private SiddhiAppContext siddhiAppContext;
@@ -281,6 +282,14 @@ public abstract class Sink<S extends State> implements SinkListener {
         return handler;
     }
 
+    public final AsyncSinkPublisher getAsyncPublisher() {
+        return asyncPublisher;
+    }
+
+    public final void setAsyncPublisher(AsyncSinkPublisher asyncPublisher) {
+        this.asyncPublisher = asyncPublisher;
+    }
+
     public void connectWithRetry() {
         connectWithRetry(false);
     }
@@ -321,6 +330,9 @@ public abstract class Sink<S extends State> implements SinkListener {
 
     public void shutdown() {
         isShutdown.set(true);
+        if (asyncPublisher != null) {
+            asyncPublisher.stopProcessing();
+        }
         disconnect();
         destroy();
         setConnected(false);
@@ -49,7 +49,9 @@ public class SinkCallback extends StreamCallback {
     public void receive(Event event) {
         if (event != null) {
             for (Sink sink : sinks) {
-                if (sink.getHandler() != null) {
+                if (sink.getAsyncPublisher() != null) {
+                    sink.getAsyncPublisher().send(event);
+                } else if (sink.getHandler() != null) {
                     sink.getHandler().handle(event);
                 } else {
                     sink.getMapper().mapAndSend(event);
@@ -62,7 +64,9 @@ public class SinkCallback extends StreamCallback {
     public void receive(Event[] events) {
         if (events != null) {
             for (Sink sink : sinks) {
-                if (sink.getHandler() != null) {
+                if (sink.getAsyncPublisher() != null) {
+                    sink.getAsyncPublisher().send(events);
+                } else if (sink.getHandler() != null) {
                     sink.getHandler().handle(events);
                 } else {
                     sink.getMapper().mapAndSend(events);
@@ -42,9 +42,11 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.function.UnaryOperator;
 
 import static io.siddhi.core.event.stream.Operation.Operator.ADD;
 import static io.siddhi.core.event.stream.Operation.Operator.CLEAR;
@@ -75,6 +77,8 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
     private Map<String, Integer> multiPrimaryKeyMetaData = new LinkedHashMap<>();
     private Map<String, Integer> allIndexMetaData = new HashMap<>();
     private ArrayList<Operation> operationChangeLog = new ArrayList<>();
+    private Set<Object> changedPrimaryKeys = new LinkedHashSet<>();
+    private boolean clearedSinceSnapshot = false;
     private long eventsCount;
     private boolean forceFullSnapshot = true;
     private boolean isOperationLogEnabled = true;
@@ -126,7 +130,37 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
 
     }
 
+    private IndexEventHolder(IndexEventHolder source, Map<Object, StreamEvent> primaryKeyData,
+                             Map<String, TreeMap<Object, Set<StreamEvent>>> indexData) {
+        this.tableStreamEventFactory = source.tableStreamEventFactory;
+        this.eventConverter = source.eventConverter;
+        this.primaryKeyReferenceHolders = source.primaryKeyReferenceHolders;
+        this.indexMetaData = source.indexMetaData;
+        this.tableName = source.tableName;
+        this.siddhiAppName = source.siddhiAppName;
+        this.siddhiAppContext = source.siddhiAppContext;
+        this.primaryKeyAttributes = source.primaryKeyAttributes;
+        this.multiPrimaryKeyMetaData = source.multiPrimaryKeyMetaData;
+        this.allIndexMetaData = source.allIndexMetaData;
+        this.eventsCount = source.eventsCount;
+        this.primaryKeyData = primaryKeyData;
+        this.indexData = indexData;
+    }
+
+    /**
+     * Creates a copy of the table data for a full snapshot, without serializing it.
+     *
+     * @param copier copies the data maps and the events referred by them, such that the events shared between the
+     *               primary key and the index maps are copied once
+     * @return holder referring the copied data, which is only meant to be serialized
+     */
+    public IndexEventHolder copy(UnaryOperator<Object> copier) {
+        return new IndexEventHolder(this, (Map<Object, StreamEvent>) copier.apply(primaryKeyData),
+                (Map<String, TreeMap<Object, Set<StreamEvent>>>) copier.apply(indexData));
+    }
+
     public void replace(Object key, StreamEvent streamEvent) {
+        markChanged(key);
         primaryKeyData.replace(key, streamEvent);
     }
 
@@ -167,7 +201,7 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
             StreamEvent streamEvent = tableStreamEventFactory.newInstance();
             eventConverter.convertComplexEvent(complexEvent, streamEvent);
             eventsCount++;
-            if (isOperationLogEnabled) {
+            if (isOperationLogEnabled && primaryKeyData == null) {
                 if (!isFullSnapshot()) {
                     StreamEvent streamEvent2 = tableStreamEventFactory.newInstance();
                     eventConverter.convertComplexEvent(complexEvent, streamEvent2);
@@ -186,6 +220,9 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
         if (primaryKeyData != null) {
             Object primaryKey = constructPrimaryKey(streamEvent, primaryKeyReferenceHolders);
             existingValue = primaryKeyData.putIfAbsent(primaryKey, streamEvent);
+            if (existingValue == null) {
+                markChanged(primaryKey);
+            }
             if (existingValue != null) {
                 Exception e = new SiddhiAppRuntimeException("Siddhi App '" + siddhiAppName + "' table '" +
                         tableName + "' dropping event : " + streamEvent + ", as there is already an event stored " +
@@ -234,7 +271,7 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
 
     @Override
     public void overwrite(StreamEvent streamEvent) {
-        if (isOperationLogEnabled) {
+        if (isOperationLogEnabled && primaryKeyData == null) {
             if (!isFullSnapshot()) {
                 StreamEvent streamEvent2 = tableStreamEventFactory.newInstance();
                 eventConverter.convertComplexEvent(streamEvent, streamEvent2);
@@ -248,22 +285,20 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
         if (primaryKeyData != null) {
             Object primaryKey = constructPrimaryKey(streamEvent, primaryKeyReferenceHolders);
             deletedEvent = primaryKeyData.put(primaryKey, streamEvent);
+            markChanged(primaryKey);
             if (deletedEvent != null) {
                 handleCachePolicyAttributeUpdate(streamEvent);
             }
         }
 
         if (indexData != null) {
+            if (deletedEvent != null) {
+                // Indexed values of the replaced event can differ from the ones of the new event
+                deleteFromIndexes(deletedEvent);
+            }
             for (Map.Entry<String, Integer> indexEntry : indexMetaData.entrySet()) {
                 TreeMap<Object, Set<StreamEvent>> indexMap = indexData.get(indexEntry.getKey());
                 Object key = streamEvent.getOutputData()[indexEntry.getValue()];
-                if (deletedEvent != null) {
-                    Set<StreamEvent> values = indexMap.get(key);
-                    values.remove(deletedEvent);
-                    if (values.size() == 0) {
-                        indexMap.remove(key);
-                    }
-                }
                 Set<StreamEvent> values = indexMap.get(key);
                 if (values == null) {
                     values = new HashSet<StreamEvent>();
@@ -300,6 +335,7 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
     }
 
     public void deleteEvent(Object key) {
+        markChanged(key);
         primaryKeyData.remove(key);
     }
 
@@ -394,13 +430,19 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
     @Override
     public void deleteAll() {
         if (isOperationLogEnabled) {
-            if (!isFullSnapshot()) {
+            if (primaryKeyData != null) {
+                markCleared();
+            } else if (!isFullSnapshot()) {
                 operationChangeLog.add(new Operation(CLEAR));
             } else {
                 operationChangeLog.clear();
                 forceFullSnapshot = true;
             }
         }
+        clear();
+    }
+
+    private void clear() {
         if (primaryKeyData != null) {
             primaryKeyData.clear();
         }
@@ -414,7 +456,7 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
     @Override
     public void deleteAll(Collection<StreamEvent> storeEventSet) {
         for (StreamEvent streamEvent : storeEventSet) {
-            if (isOperationLogEnabled) {
+            if (isOperationLogEnabled && primaryKeyData == null) {
                 if (!isFullSnapshot()) {
                     StreamEvent streamEvent2 = tableStreamEventFactory.newInstance();
                     eventConverter.convertComplexEvent(streamEvent, streamEvent2);
@@ -433,6 +475,7 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
         if (primaryKeyData != null) {
             Object primaryKey = constructPrimaryKey(streamEvent, primaryKeyReferenceHolders);
             StreamEvent deletedEvent = primaryKeyData.remove(primaryKey);
+            markChanged(primaryKey);
             if (indexData != null) {
                 deleteFromIndexes(deletedEvent);
             }
@@ -444,7 +487,7 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
     @Override
     public void delete(String attribute, Compare.Operator operator, Object value) {
 
-        if (isOperationLogEnabled) {
+        if (isOperationLogEnabled && primaryKeyData == null) {
             if (!isFullSnapshot()) {
                 operationChangeLog.add(new Operation(DELETE_BY_OPERATOR, new Object[]{attribute, operator, value}));
             } else {
@@ -457,50 +500,56 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
             switch (operator) {
 
                 case LESS_THAN:
-                    for (Iterator<StreamEvent> iterator = ((TreeMap<Object, StreamEvent>) primaryKeyData).
-                            headMap(value, false).values().iterator();
+                    for (Iterator<Map.Entry<Object, StreamEvent>> iterator =
+                         ((TreeMap<Object, StreamEvent>) primaryKeyData).headMap(value, false).entrySet().iterator();
                          iterator.hasNext(); ) {
-                        StreamEvent toDeleteEvent = iterator.next();
+                        Map.Entry<Object, StreamEvent> toDeleteEntry = iterator.next();
                         iterator.remove();
-                        deleteFromIndexes(toDeleteEvent);
+                        markChanged(toDeleteEntry.getKey());
+                        deleteFromIndexes(toDeleteEntry.getValue());
                     }
                     return;
                 case GREATER_THAN:
-                    for (Iterator<StreamEvent> iterator = ((TreeMap<Object, StreamEvent>) primaryKeyData).
-                            tailMap(value, false).values().iterator();
+                    for (Iterator<Map.Entry<Object, StreamEvent>> iterator =
+                         ((TreeMap<Object, StreamEvent>) primaryKeyData).tailMap(value, false).entrySet().iterator();
                          iterator.hasNext(); ) {
-                        StreamEvent toDeleteEvent = iterator.next();
+                        Map.Entry<Object, StreamEvent> toDeleteEntry = iterator.next();
                         iterator.remove();
-                        deleteFromIndexes(toDeleteEvent);
+                        markChanged(toDeleteEntry.getKey());
+                        deleteFromIndexes(toDeleteEntry.getValue());
                     }
                     return;
                 case LESS_THAN_EQUAL:
-                    for (Iterator<StreamEvent> iterator = ((TreeMap<Object, StreamEvent>) primaryKeyData).
-                            headMap(value, true).values().iterator();
+                    for (Iterator<Map.Entry<Object, StreamEvent>> iterator =
+                         ((TreeMap<Object, StreamEvent>) primaryKeyData).headMap(value, true).entrySet().iterator();
                          iterator.hasNext(); ) {
-                        StreamEvent toDeleteEvent = iterator.next();
+                        Map.Entry<Object, StreamEvent> toDeleteEntry = iterator.next();
                         iterator.remove();
-                        deleteFromIndexes(toDeleteEvent);
+                        markChanged(toDeleteEntry.getKey());
+                        deleteFromIndexes(toDeleteEntry.getValue());
                     }
                     return;
                 case GREATER_THAN_EQUAL:
-                    for (Iterator<StreamEvent> iterator = ((TreeMap<Object, StreamEvent>) primaryKeyData).
-                            tailMap(value, true).values().iterator();
+                    for (Iterator<Map.Entry<Object, StreamEvent>> iterator =
+                         ((TreeMap<Object, StreamEvent>) primaryKeyData).tailMap(value, true).entrySet().iterator();
                          iterator.hasNext(); ) {
-                        StreamEvent toDeleteEvent = iterator.next();
+                        Map.Entry<Object, StreamEvent> toDeleteEntry = iterator.next();
                         iterator.remove();
-                        deleteFromIndexes(toDeleteEvent);
+                        markChanged(toDeleteEntry.getKey());
+                        deleteFromIndexes(toDeleteEntry.getValue());
                     }
                     return;
                 case EQUAL:
                     StreamEvent deletedEvent = primaryKeyData.remove(value);
                     if (deletedEvent != null) {
+                        markChanged(value);
                         deleteFromIndexes(deletedEvent);
                     }
                     return;
                 case NOT_EQUAL:
                     StreamEvent streamEvent = primaryKeyData.get(value);
-                    deleteAll();
+                    markCleared();
+                    clear();
                     if (streamEvent != null) {
                         add(streamEvent);
                     }
@@ -553,9 +602,14 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
                     return;
                 case NOT_EQUAL:
                     Set<StreamEvent> matchingEventSet = indexData.get(attribute).get(value);
-                    deleteAll();
-                    for (StreamEvent matchingEvent : matchingEventSet) {
-                        add(matchingEvent);
+                    if (primaryKeyData != null) {
+                        markCleared();
+                    }
+                    clear();
+                    if (matchingEventSet != null) {
+                        for (StreamEvent matchingEvent : matchingEventSet) {
+                            add(matchingEvent);
+                        }
                     }
                     return;
             }
@@ -609,6 +663,7 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
             if (primaryKeyData != null) {
                 Object primaryKey = constructPrimaryKey(deletedEvent, primaryKeyReferenceHolders);
                 primaryKeyData.remove(primaryKey);
+                markChanged(primaryKey);
             }
             for (Map.Entry<String, Integer> indexEntry : indexMetaData.entrySet()) {
                 if (!currentAttribute.equals(indexEntry.getKey())) {
@@ -648,10 +703,55 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
                 || SnapshotRequest.isRequestForFullSnapshot();
     }
 
+    @Override
+    public void notifyUpdate(StreamEvent streamEvent) {
+        if (isOperationLogEnabled) {
+            if (primaryKeyData != null) {
+                if (!forceFullSnapshot) {
+                    markChanged(constructPrimaryKey(streamEvent, primaryKeyReferenceHolders));
+                }
+            } else {
+                // Operation log cannot express in place updates
+                operationChangeLog.clear();
+                forceFullSnapshot = true;
+            }
+        }
+    }
+
+    /**
+     * Records the primary key changed since the last snapshot. Keys are only recorded while the next snapshot can be
+     * incremental, and once more keys are changed than the table holds, a full snapshot is taken instead.
+     */
+    private void markChanged(Object primaryKey) {
+        if (isOperationLogEnabled && !forceFullSnapshot) {
+            changedPrimaryKeys.add(primaryKey);
+            if (changedPrimaryKeys.size() > primaryKeyData.size()) {
+                changedPrimaryKeys.clear();
+                clearedSinceSnapshot = false;
+                forceFullSnapshot = true;
+            }
+        }
+    }
+
+    private void markCleared() {
+        if (isOperationLogEnabled && !forceFullSnapshot) {
+            changedPrimaryKeys.clear();
+            clearedSinceSnapshot = true;
+        }
+    }
+
     public Snapshot getSnapshot() {
         if (isFullSnapshot()) {
             forceFullSnapshot = false;
+            operationChangeLog.clear();
+            changedPrimaryKeys.clear();
+            clearedSinceSnapshot = false;
             return new Snapshot(this, false);
+        } else if (primaryKeyData != null) {
+            Snapshot snapshot = new Snapshot(getPrimaryKeyChanges(), true);
+            changedPrimaryKeys.clear();
+            clearedSinceSnapshot = false;
+            return snapshot;
         } else {
             Snapshot snapshot = new Snapshot(operationChangeLog, true);
             operationChangeLog = new ArrayList<>();
@@ -659,6 +759,29 @@ public class IndexEventHolder implements IndexedEventHolder, Serializable {
         }
     }
 
+    /**
+     * Encodes the changes since the last snapshot as the latest value of each changed primary key, such that
+     * repeated updates on the same key are persisted once.
+     */
+    private ArrayList<Operation> getPrimaryKeyChanges() {
+        ArrayList<Operation> operations = new ArrayList<>(changedPrimaryKeys.size() + 1);
+        if (clearedSinceSnapshot) {
+            operations.add(new Operation(CLEAR));
+        }
+        for (Object primaryKey : changedPrimaryKeys) {
+            StreamEvent streamEvent = primaryKeyData.get(primaryKey);
+            if (streamEvent != null) {
+                StreamEvent streamEvent2 = tableStreamEventFactory.newInstance();
+                eventConverter.convertComplexEvent(streamEvent, streamEvent2);
+                operations.add(new Operation(OVERWRITE, streamEvent2));
+            } else if (!clearedSinceSnapshot) {
+                operations.add(new Operation(DELETE_BY_OPERATOR,
+                        new Object[]{primaryKeyAttributes, Compare.Operator.EQUAL, primaryKey}));
+            }
+        }
+        return operations;
+    }
+
     public void restore(SnapshotStateList snapshotStatelist) {
         TreeMap<Long, Snapshot> revisions = snapshotStatelist.getSnapshotStates();
         Iterator<Map.Entry<Long, Snapshot>> itr = revisions.entrySet().iterator();
@@ -52,4 +52,13 @@ public interface IndexedEventHolder extends EventHolder {
     PrimaryKeyReferenceHolder[] getPrimaryKeyReferenceHolders();
 
     boolean isMultiPrimaryKeyAttribute(String attributeName);
+
+    /**
+     * Notifies that the given stored event was updated in place, without being removed and added back.
+     *
+     * @param streamEvent the updated event
+     */
+    default void notifyUpdate(StreamEvent streamEvent) {
+
+    }
 }
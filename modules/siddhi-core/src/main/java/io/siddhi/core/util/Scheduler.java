@@ -18,7 +18,6 @@
 
 package io.siddhi.core.util;
 
-import com.google.common.collect.TreeMultimap;
 import io.siddhi.core.config.SiddhiAppContext;
 import io.siddhi.core.config.SiddhiQueryContext;
 import io.siddhi.core.event.ComplexEventChunk;
@@ -30,7 +29,6 @@ import io.siddhi.core.util.snapshot.state.State;
 import io.siddhi.core.util.snapshot.state.StateHolder;
 import io.siddhi.core.util.statistics.LatencyTracker;
 import io.siddhi.core.util.statistics.metrics.Level;
-import io.siddhi.core.util.timestamp.TimestampGeneratorImpl;
 import org.apache.log4j.Logger;
 
 import java.util.HashMap;
@@ -38,9 +36,7 @@ import java.util.Map;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.Semaphore;
-import java.util.concurrent.TimeUnit;
 
 /**
  * Scheduler implementation to take periodic snapshots
@@ -55,6 +51,7 @@ public class Scheduler implements ExternalReferencedHolder {
     private SiddhiQueryContext siddhiQueryContext;
     private LockWrapper lockWrapper;
     private ScheduledExecutorService scheduledExecutorService;
+    private TimingWheel timingWheel;
     private StreamEventFactory streamEventFactory;
     private LatencyTracker latencyTracker;
     private StateHolder<SchedulerState> stateHolder;
@@ -67,40 +64,7 @@ public class Scheduler implements ExternalReferencedHolder {
         this.singleThreadEntryValve = singleThreadEntryValve;
         this.scheduledExecutorService = siddhiQueryContext.getSiddhiAppContext().getScheduledExecutorService();
         this.mutex = new Semaphore(1);
-
-        siddhiQueryContext.getSiddhiAppContext().getTimestampGenerator()
-                .addTimeChangeListener(new TimestampGeneratorImpl.TimeChangeListener() {
-                    @Override
-                    public synchronized void onTimeChange(long currentTimestamp) {
-                        Map<String, Map<String, SchedulerState>> allStates = stateHolder.getAllStates();
-                        try {
-                            TreeMultimap<Long, SchedulerState> sortedExpires = TreeMultimap.create();
-                            for (Map.Entry<String, Map<String, SchedulerState>> allStatesEntry :
-                                    allStates.entrySet()) {
-                                for (Map.Entry<String, SchedulerState> stateEntry :
-                                        allStatesEntry.getValue().entrySet()) {
-                                    Long lastTime = stateEntry.getValue().toNotifyQueue.peek();
-                                    if (lastTime != null && lastTime <= currentTimestamp) {
-                                        sortedExpires.put(lastTime, stateEntry.getValue());
-                                    }
-                                }
-                            }
-                            for (Map.Entry<Long, SchedulerState> entry : sortedExpires.entries()) {
-                                try {
-                                    SiddhiAppContext.startPartitionFlow(entry.getValue().key);
-                                    // If executed in a separate thread, while it is processing,
-                                    // the new event will come into the window. As the result of it,
-                                    // the window will emit the new event as an existing current event.
-                                    sendTimerEvents(entry.getValue());
-                                } finally {
-                                    SiddhiAppContext.stopPartitionFlow();
-                                }
-                            }
-                        } finally {
-                            stateHolder.returnAllStates(allStates);
-                        }
-                    }
-                });
+        this.timingWheel = siddhiQueryContext.getSiddhiAppContext().getTimingWheel();
     }
 
     public void init(LockWrapper lockWrapper, String queryName) {
@@ -127,29 +91,19 @@ public class Scheduler implements ExternalReferencedHolder {
     }
 
     private void schedule(long time, SchedulerState state, boolean force) {
-        if (!siddhiQueryContext.getSiddhiAppContext().isPlayback()) {
-            if (!state.running && (state.toNotifyQueue.size() == 1 || force)) {
-                try {
-                    mutex.acquire();
-                    if (!state.running) {
-                        state.running = true;
-                        long timeDiff = time - siddhiQueryContext.getSiddhiAppContext().
-                                getTimestampGenerator().currentTime();
-                        if (timeDiff > 0) {
-                            state.scheduledFuture = scheduledExecutorService.schedule(state.eventCaller,
-                                    timeDiff, TimeUnit.MILLISECONDS);
-                        } else {
-                            state.scheduledFuture = scheduledExecutorService.schedule(state.eventCaller,
-                                    0, TimeUnit.MILLISECONDS);
-                        }
-                    }
-
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    log.error("Error when scheduling System Time Based Scheduler", e);
-                } finally {
-                    mutex.release();
+        if (!state.running && (state.toNotifyQueue.size() == 1 || force)) {
+            try {
+                mutex.acquire();
+                if (!state.running) {
+                    state.running = true;
+                    state.timeout = timingWheel.schedule(time, state.eventCaller);
                 }
+
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.error("Error when scheduling Scheduler", e);
+            } finally {
+                mutex.release();
             }
         }
     }
@@ -212,10 +166,14 @@ public class Scheduler implements ExternalReferencedHolder {
      * Schedule events which are not scheduled in the queue when switching back from event time to system current time
      */
     public void switchToLiveMode() {
-        Map<String, Map<String, SchedulerState>> allStates = stateHolder.getAllStates();
+        Map<String, Map<Object, SchedulerState>> allStates = stateHolder.getAllStates();
         try {
-            for (Map.Entry<String, Map<String, SchedulerState>> allStatesEntry : allStates.entrySet()) {
-                for (Map.Entry<String, SchedulerState> stateEntry : allStatesEntry.getValue().entrySet()) {
+            for (Map.Entry<String, Map<Object, SchedulerState>> allStatesEntry : allStates.entrySet()) {
+                for (Map.Entry<Object, SchedulerState> stateEntry : allStatesEntry.getValue().entrySet()) {
+                    if (stateEntry.getValue().timeout != null) {
+                        stateEntry.getValue().timeout.cancel();
+                    }
+                    stateEntry.getValue().running = false;
                     Long toNotifyTime = stateEntry.getValue().toNotifyQueue.peek();
                     if (toNotifyTime != null) {
                         SiddhiAppContext.startPartitionFlow(allStatesEntry.getKey());
@@ -235,19 +193,30 @@ public class Scheduler implements ExternalReferencedHolder {
     }
 
     /**
-     * this can be used to release
-     * the acquired resources for processing.
+     * Move the scheduled notifications from the system time to the event time, so that they are
+     * triggered based on the event time of the playback mode.
      */
     public void switchToPlayBackMode() {
-        Map<String, Map<String, SchedulerState>> allStates = stateHolder.getAllStates();
+        Map<String, Map<Object, SchedulerState>> allStates = stateHolder.getAllStates();
         try {
-            for (Map.Entry<String, Map<String, SchedulerState>> allStatesEntry : allStates.entrySet()) {
-                for (Map.Entry<String, SchedulerState> stateEntry : allStatesEntry.getValue().entrySet()) {
-                    if (stateEntry.getValue().scheduledFuture != null) {
-                        stateEntry.getValue().scheduledFuture.cancel(true);
+            for (Map.Entry<String, Map<Object, SchedulerState>> allStatesEntry : allStates.entrySet()) {
+                for (Map.Entry<Object, SchedulerState> stateEntry : allStatesEntry.getValue().entrySet()) {
+                    if (stateEntry.getValue().timeout != null) {
+                        stateEntry.getValue().timeout.cancel();
                     }
                     //Make the scheduler running flag to false to make sure scheduler will schedule next time starts
                     stateEntry.getValue().running = false;
+                    Long toNotifyTime = stateEntry.getValue().toNotifyQueue.peek();
+                    if (toNotifyTime != null) {
+                        SiddhiAppContext.startPartitionFlow(allStatesEntry.getKey());
+                        SiddhiAppContext.startGroupByFlow(stateEntry.getKey());
+                        try {
+                            schedule(toNotifyTime, stateEntry.getValue(), true);
+                        } finally {
+                            SiddhiAppContext.stopGroupByFlow();
+                            SiddhiAppContext.stopPartitionFlow();
+                        }
+                    }
                 }
             }
         } finally {
@@ -290,33 +259,29 @@ public class Scheduler implements ExternalReferencedHolder {
             }
             SiddhiAppContext.startPartitionFlow(key);
             try {
-                if (!siddhiQueryContext.getSiddhiAppContext().isPlayback()) {
-                    sendTimerEvents(state);
-
-                    Long toNotifyTime = state.toNotifyQueue.peek();
-                    long currentTime = siddhiQueryContext.getSiddhiAppContext().getTimestampGenerator().currentTime();
-
-                    if (toNotifyTime != null) {
-                        state.scheduledFuture = scheduledExecutorService.
-                                schedule(this, toNotifyTime - currentTime, TimeUnit.MILLISECONDS);
-                    } else {
-                        try {
-                            mutex.acquire();
-                            state.running = false;
-                            if (state.toNotifyQueue.peek() != null) {
-                                state.running = true;
-                                state.scheduledFuture = scheduledExecutorService.schedule(this,
-                                        0, TimeUnit.MILLISECONDS);
-                            }
-                        } catch (InterruptedException e) {
-                            Thread.currentThread().interrupt();
-                            log.error("Error when scheduling System Time Based Scheduler", e);
-                        } finally {
-                            mutex.release();
+                // If executed in a separate thread in playback mode, while it is processing,
+                // the new event will come into the window. As the result of it,
+                // the window will emit the new event as an existing current event.
+                sendTimerEvents(state);
+
+                Long toNotifyTime = state.toNotifyQueue.peek();
+                if (toNotifyTime != null) {
+                    state.timeout = timingWheel.schedule(toNotifyTime, this);
+                } else {
+                    try {
+                        mutex.acquire();
+                        state.running = false;
+                        toNotifyTime = state.toNotifyQueue.peek();
+                        if (toNotifyTime != null) {
+                            state.running = true;
+                            state.timeout = timingWheel.schedule(toNotifyTime, this);
                         }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        log.error("Error when scheduling Scheduler", e);
+                    } finally {
+                        mutex.release();
                     }
-                } else {
-                    state.running = false;
                 }
             } catch (Throwable t) {
                 log.error("Error while executing Scheduled Timer Event Caller, " + t.getMessage(), t);
@@ -333,7 +298,7 @@ public class Scheduler implements ExternalReferencedHolder {
         private final String key;
         private volatile boolean running = false;
         private EventCaller eventCaller;
-        private ScheduledFuture scheduledFuture;
+        private TimingWheel.Timeout timeout;
 
         public SchedulerState() {
             this.key = SiddhiAppContext.getPartitionFlowId();
@@ -342,7 +307,7 @@ public class Scheduler implements ExternalReferencedHolder {
 
         @Override
         public boolean canDestroy() {
-            return toNotifyQueue.isEmpty() && (scheduledFuture == null || scheduledFuture.isDone());
+            return toNotifyQueue.isEmpty() && (timeout == null || timeout.isDone());
         }
 
         @Override
@@ -72,6 +72,11 @@ public final class SiddhiConstants {
     public static final String ANNOTATION_ELEMENT_BUFFER_SIZE = "buffer.size";
     public static final String ANNOTATION_ELEMENT_WORKERS = "workers";
     public static final String ANNOTATION_ELEMENT_MAX_BATCH_SIZE = "batch.size.max";
+    public static final String ANNOTATION_ELEMENT_PARTITION_BY = "partition.by";
+    public static final String ANNOTATION_ELEMENT_WAIT_STRATEGY = "wait.strategy";
+    public static final String ANNOTATION_ELEMENT_BATCH_SIZE = "batch.size";
+    public static final String ANNOTATION_ELEMENT_FLUSH_INTERVAL = "flush.interval";
+    public static final String ANNOTATION_ELEMENT_ON_OVERFLOW = "on.overflow";
     public static final String ANNOTATION_ELEMENT_IDLE_TIME = "idle.time";
     public static final String ANNOTATION_ELEMENT_INCREMENT = "increment";
     public static final String ANNOTATION_ELEMENT_TYPE = "type";
@@ -84,6 +89,13 @@ public final class SiddhiConstants {
     public static final String ANNOTATION_ELEMENT_INCLUDE = "include";
     public static final String ANNOTATION_PARTITION_BY_ID = "PartitionById";
     public static final String ANNOTATION_PERSISTED_AGGREGATION = "persistedAggregation";
+    public static final String ANNOTATION_CONCURRENT_AGGREGATION = "concurrentAggregation";
+    public static final String ANNOTATION_EVENT_POOL = "EventPool";
+    public static final String ANNOTATION_COMPILE = "Compile";
+    public static final String ANNOTATION_PRIMITIVE_LAYOUT = "PrimitiveLayout";
+    public static final String ANNOTATION_ELEMENT_SIZE = "size";
+    public static final String ANNOTATION_SNAPSHOT = "Snapshot";
+    public static final String ANNOTATION_ELEMENT_NON_BLOCKING = "non.blocking";
 
     public static final String TRUE = "true";
     public static final String TRIGGER_START = "start";
@@ -110,12 +122,15 @@ public final class SiddhiConstants {
     public static final String METRIC_INFIX_SOURCE_MAPPERS = "SourceMappers";
     public static final String METRIC_INFIX_SINKS = "Sinks";
     public static final String METRIC_INFIX_SINK_MAPPERS = "SinkMappers";
+    public static final String METRIC_INFIX_SNAPSHOTS = "Snapshots";
     public static final String METRIC_TYPE_FIND = "find";
     public static final String METRIC_TYPE_INSERT = "insert";
     public static final String METRIC_TYPE_UPDATE = "update";
     public static final String METRIC_TYPE_DELETE = "delete";
     public static final String METRIC_TYPE_UPDATE_OR_INSERT = "updateOrInsert";
     public static final String METRIC_TYPE_CONTAINS = "contains";
+    public static final String METRIC_TYPE_EVENT_POOL_HITS = "eventPoolHits";
+    public static final String METRIC_TYPE_EVENT_POOL_MISSES = "eventPoolMisses";
     public static final String METRIC_DELIMITER = ".";
     public static final String METRIC_AGGREGATE_ANNOTATION = "[+]";
     public static final String EXTENSION_SEPARATOR = ":";
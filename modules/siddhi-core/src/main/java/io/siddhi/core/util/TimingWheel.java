@@ -0,0 +1,304 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.util;
+
+import io.siddhi.core.config.SiddhiAppContext;
+import io.siddhi.core.util.timestamp.TimestampGeneratorImpl;
+import org.apache.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hierarchical timing wheel shared by the {@link Scheduler}s of a Siddhi App.
+ * <p>
+ * Timeouts are bucketed by their expiry time into wheels of {@link #WHEEL_SIZE} slots, where each level covers
+ * {@link #WHEEL_SIZE} times the range of the level below it. Adding a timeout is O(1) and only non-empty buckets
+ * are tracked in a queue ordered by expiry, hence advancing the time touches only the timeouts that are due or that
+ * move down to a finer level.
+ * <p>
+ * Timeouts scheduled in playback mode are kept in an event time wheel that is advanced by the
+ * {@link io.siddhi.core.util.timestamp.TimestampGenerator} and fired on the thread changing the time. Timeouts
+ * scheduled in system time are kept in a separate wheel, driven by a single task on the app's
+ * {@link java.util.concurrent.ScheduledExecutorService}, and fired on that executor.
+ */
+public class TimingWheel implements TimestampGeneratorImpl.TimeChangeListener {
+
+    private static final Logger log = Logger.getLogger(TimingWheel.class);
+    private static final int WHEEL_SIZE = 64;
+    private static final long TICK_MS = 1;
+
+    private final SiddhiAppContext siddhiAppContext;
+    private final Wheel eventTimeWheel;
+    private final Wheel systemTimeWheel;
+    private final Runnable ticker = this::tick;
+    private ScheduledFuture<?> tickerFuture;
+    private long tickerTime = Long.MAX_VALUE;
+
+    public TimingWheel(SiddhiAppContext siddhiAppContext) {
+        this.siddhiAppContext = siddhiAppContext;
+        this.eventTimeWheel = new Wheel(0);
+        this.systemTimeWheel = new Wheel(System.currentTimeMillis());
+        siddhiAppContext.getTimestampGenerator().addTimeChangeListener(this);
+    }
+
+    /**
+     * Schedules the task to run at the given time, of the event time when the app is in playback mode and of the
+     * system time otherwise. Tasks that are already due run on the next advance of the time.
+     *
+     * @param time time at which the task should run
+     * @param task task to run
+     * @return timeout that can be used to cancel the task
+     */
+    public Timeout schedule(long time, Runnable task) {
+        Timeout timeout = new Timeout(time, task);
+        if (siddhiAppContext.isPlayback()) {
+            synchronized (this) {
+                eventTimeWheel.add(timeout);
+            }
+        } else {
+            synchronized (this) {
+                systemTimeWheel.add(timeout);
+                long nextExpiration = systemTimeWheel.nextExpiration();
+                if (nextExpiration < tickerTime) {
+                    scheduleTicker(nextExpiration);
+                }
+            }
+        }
+        return timeout;
+    }
+
+    @Override
+    public void onTimeChange(long currentTimestamp) {
+        List<Timeout> dueTimeouts;
+        synchronized (this) {
+            dueTimeouts = eventTimeWheel.advance(currentTimestamp);
+        }
+        for (Timeout timeout : dueTimeouts) {
+            if (timeout.fire()) {
+                timeout.task.run();
+            }
+        }
+    }
+
+    private void tick() {
+        List<Timeout> dueTimeouts;
+        synchronized (this) {
+            tickerTime = Long.MAX_VALUE;
+            tickerFuture = null;
+            dueTimeouts = systemTimeWheel.advance(System.currentTimeMillis());
+            long nextExpiration = systemTimeWheel.nextExpiration();
+            if (nextExpiration != Long.MAX_VALUE) {
+                scheduleTicker(nextExpiration);
+            }
+        }
+        for (Timeout timeout : dueTimeouts) {
+            if (timeout.fire()) {
+                try {
+                    siddhiAppContext.getScheduledExecutorService().execute(timeout.task);
+                } catch (RejectedExecutionException e) {
+                    if (!siddhiAppContext.getScheduledExecutorService().isShutdown()) {
+                        log.error("Error when running the timer of Siddhi App '" + siddhiAppContext.getName() +
+                                "' scheduled at " + timeout.time, e);
+                    }
+                }
+            }
+        }
+    }
+
+    private void scheduleTicker(long time) {
+        if (tickerFuture != null) {
+            tickerFuture.cancel(false);
+        }
+        try {
+            long currentTime = System.currentTimeMillis();
+            tickerFuture = siddhiAppContext.getScheduledExecutorService().schedule(ticker,
+                    time > currentTime ? time - currentTime : 0, TimeUnit.MILLISECONDS);
+            tickerTime = time;
+        } catch (RejectedExecutionException e) {
+            tickerFuture = null;
+            tickerTime = Long.MAX_VALUE;
+            if (!siddhiAppContext.getScheduledExecutorService().isShutdown()) {
+                log.error("Error when scheduling the timing wheel of Siddhi App '" +
+                        siddhiAppContext.getName() + "'", e);
+            }
+        }
+    }
+
+    /**
+     * Task scheduled to run at a given time.
+     */
+    public static class Timeout {
+        private final long time;
+        private final Runnable task;
+        private volatile boolean cancelled = false;
+        private volatile boolean fired = false;
+
+        private Timeout(long time, Runnable task) {
+            this.time = time;
+            this.task = task;
+        }
+
+        public long getTime() {
+            return time;
+        }
+
+        public void cancel() {
+            cancelled = true;
+        }
+
+        public boolean isDone() {
+            return cancelled || fired;
+        }
+
+        private synchronized boolean fire() {
+            if (cancelled || fired) {
+                return false;
+            }
+            fired = true;
+            return true;
+        }
+    }
+
+    /**
+     * Timeouts of a slot that expire within the same tick of its level.
+     */
+    private static class Bucket {
+        private long expiration = Long.MIN_VALUE;
+        private List<Timeout> timeouts = new ArrayList<>();
+    }
+
+    /**
+     * Levels of the hierarchical wheel, along with the queue of their non-empty buckets and the timeouts that were
+     * already due when they were added.
+     */
+    private static class Wheel {
+        private final PriorityQueue<Bucket> bucketQueue =
+                new PriorityQueue<>(Comparator.comparingLong(bucket -> bucket.expiration));
+        private final Level root;
+        private List<Timeout> expiredTimeouts = new ArrayList<>();
+
+        private Wheel(long startTime) {
+            this.root = new Level(TICK_MS, startTime, bucketQueue);
+        }
+
+        private void add(Timeout timeout) {
+            if (!timeout.cancelled && !root.add(timeout)) {
+                expiredTimeouts.add(timeout);
+            }
+        }
+
+        private long nextExpiration() {
+            if (!expiredTimeouts.isEmpty()) {
+                return Long.MIN_VALUE;
+            }
+            Bucket bucket = bucketQueue.peek();
+            return bucket == null ? Long.MAX_VALUE : bucket.expiration;
+        }
+
+        /**
+         * Advances the wheel to the given time and returns the timeouts that are due, ordered by their time.
+         */
+        private List<Timeout> advance(long currentTime) {
+            List<Timeout> dueTimeouts = expiredTimeouts;
+            expiredTimeouts = new ArrayList<>();
+            Bucket bucket = bucketQueue.peek();
+            while (bucket != null && bucket.expiration <= currentTime) {
+                bucketQueue.poll();
+                root.advanceClock(bucket.expiration);
+                List<Timeout> timeouts = bucket.timeouts;
+                bucket.timeouts = new ArrayList<>();
+                bucket.expiration = Long.MIN_VALUE;
+                for (Timeout timeout : timeouts) {
+                    if (!timeout.cancelled && !root.add(timeout)) {
+                        dueTimeouts.add(timeout);
+                    }
+                }
+                bucket = bucketQueue.peek();
+            }
+            root.advanceClock(currentTime);
+            if (dueTimeouts.size() > 1) {
+                dueTimeouts.sort(Comparator.comparingLong(Timeout::getTime));
+            }
+            return dueTimeouts;
+        }
+    }
+
+    /**
+     * Level of the hierarchical wheel. Timeouts beyond the range of the level are added to its overflow level,
+     * which is created on demand. The range of the top most level covers all representable times.
+     */
+    private static class Level {
+        private final long tickMs;
+        private final long interval;
+        private final boolean topLevel;
+        private final Bucket[] buckets = new Bucket[WHEEL_SIZE];
+        private final PriorityQueue<Bucket> bucketQueue;
+        private long currentTime;
+        private Level overflowLevel;
+
+        private Level(long tickMs, long startTime, PriorityQueue<Bucket> bucketQueue) {
+            this.tickMs = tickMs;
+            this.topLevel = tickMs > Long.MAX_VALUE / ((long) WHEEL_SIZE * WHEEL_SIZE);
+            this.interval = topLevel ? Long.MAX_VALUE : tickMs * WHEEL_SIZE;
+            this.currentTime = startTime - Math.floorMod(startTime, tickMs);
+            this.bucketQueue = bucketQueue;
+            for (int i = 0; i < WHEEL_SIZE; i++) {
+                buckets[i] = new Bucket();
+            }
+        }
+
+        /**
+         * Adds the timeout to the level, and returns false if the timeout has already expired.
+         */
+        private boolean add(Timeout timeout) {
+            if (timeout.time - currentTime < tickMs) {
+                return false;
+            } else if (topLevel || timeout.time - currentTime < interval) {
+                long virtualId = Math.floorDiv(timeout.time, tickMs);
+                Bucket bucket = buckets[(int) Math.floorMod(virtualId, (long) WHEEL_SIZE)];
+                bucket.timeouts.add(timeout);
+                if (bucket.expiration != virtualId * tickMs) {
+                    bucket.expiration = virtualId * tickMs;
+                    bucketQueue.add(bucket);
+                }
+                return true;
+            } else {
+                if (overflowLevel == null) {
+                    overflowLevel = new Level(interval, currentTime, bucketQueue);
+                }
+                return overflowLevel.add(timeout);
+            }
+        }
+
+        private void advanceClock(long time) {
+            if (time - currentTime >= tickMs) {
+                currentTime = time - Math.floorMod(time, tickMs);
+                if (overflowLevel != null) {
+                    overflowLevel.advanceClock(currentTime);
+                }
+            }
+        }
+    }
+}
@@ -18,6 +18,7 @@
 
 package io.siddhi.core.util.collection.operator;
 
+import io.siddhi.core.aggregation.ClosedBucketCache;
 import io.siddhi.core.aggregation.Executor;
 import io.siddhi.core.aggregation.IncrementalDataAggregator;
 import io.siddhi.core.aggregation.IncrementalExecutor;
@@ -50,6 +51,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
+import static io.siddhi.core.util.SiddhiConstants.AGG_START_TIMESTAMP_COL;
 import static io.siddhi.query.api.expression.Expression.Time.normalizeDuration;
 
 /**
@@ -84,6 +86,7 @@ public class IncrementalAggregateCompileCondition implements CompiledCondition {
     private MetaStreamEvent tableMetaStreamEvent;
     private ComplexEventPopulater complexEventPopulater;
     private MatchingMetaInfoHolder alteredMatchingMetaInfoHolder;
+    private ClosedBucketCache closedBucketCache;
 
 
     private MatchingMetaInfoHolder matchingHolderInfoForTableLookups;
@@ -103,7 +106,7 @@ public class IncrementalAggregateCompileCondition implements CompiledCondition {
             List<ExpressionExecutor> timestampFilterExecutors,
             MetaStreamEvent aggregateMetaSteamEvent, MatchingMetaInfoHolder alteredMatchingMetaInfoHolder,
             MatchingMetaInfoHolder matchingHolderInfoForTableLookups,
-            List<VariableExpressionExecutor> variableExpExecutorsForTableLookups) {
+            List<VariableExpressionExecutor> variableExpExecutorsForTableLookups, boolean isWithinOnlyTableLookup) {
 
         this.isOnDemandQuery = isOnDemandQuery;
         this.aggregationName = aggregationName;
@@ -135,6 +138,19 @@ public class IncrementalAggregateCompileCondition implements CompiledCondition {
         this.matchingHolderInfoForTableLookups = matchingHolderInfoForTableLookups;
         this.variableExpExecutorsForTableLookups = variableExpExecutorsForTableLookups;
 
+        // Closed buckets read from tables can be cached when they are only filtered by the within time range.
+        // Optimised lookups are not cached, as the store aggregates the buckets and returns no per bucket events.
+        int timestampPosition = -1;
+        List<Attribute> tableOutputAttributes = tableMetaStreamEvent.getOutputData();
+        for (int i = 0; i < tableOutputAttributes.size(); i++) {
+            if (tableOutputAttributes.get(i).getName().equals(AGG_START_TIMESTAMP_COL)) {
+                timestampPosition = i;
+            }
+        }
+        if (isWithinOnlyTableLookup && !isOptimisedLookup && !isDistributed && !isProcessingOnExternalTime &&
+                timestampPosition != -1) {
+            this.closedBucketCache = new ClosedBucketCache(timestampPosition, tableEventCloner);
+        }
     }
 
     public void init() {
@@ -202,11 +218,17 @@ public class IncrementalAggregateCompileCondition implements CompiledCondition {
             withinMatchFromPersistedEvents = query(tableForPerDuration, matchingEvent,
                     withinTableCompiledConditions.get(perValue), withinTableCompiledSelection.get(perValue),
                     tableMetaStreamEvent.getLastInputDefinition().getAttributeList().toArray(new Attribute[0]));
+        } else if (closedBucketCache != null && incrementalExecutorMap.get(perValue) instanceof IncrementalExecutor) {
+            withinMatchFromPersistedEvents = findThroughClosedBucketCache(tableForPerDuration, matchingEvent, perValue,
+                    (IncrementalExecutor) incrementalExecutorMap.get(perValue), timestampFilters,
+                    complexEventChunkToHoldWithinMatches);
         } else {
             withinMatchFromPersistedEvents = tableForPerDuration.find(matchingEvent,
                     withinTableCompiledConditions.get(perValue));
         }
-        complexEventChunkToHoldWithinMatches.add(withinMatchFromPersistedEvents);
+        if (withinMatchFromPersistedEvents != null) {
+            complexEventChunkToHoldWithinMatches.add(withinMatchFromPersistedEvents);
+        }
 
         // Optimization step.
         long oldestInMemoryEventTimestamp = getOldestInMemoryEventTimestamp(incrementalExecutorMap,
@@ -281,6 +303,47 @@ public class IncrementalAggregateCompileCondition implements CompiledCondition {
                 aggregateEventCloner);
     }
 
+    /**
+     * Adds the cached events of the closed buckets within the range to the chunk, and reads only the buckets after
+     * them from the table.
+     *
+     * @return events read from the table
+     */
+    private StreamEvent findThroughClosedBucketCache(Table tableForPerDuration, StateEvent matchingEvent,
+                                                     TimePeriod.Duration perValue,
+                                                     IncrementalExecutor incrementalExecutor, Long[] timestampFilters,
+                                                     ComplexEventChunk<StreamEvent> eventChunk) {
+        long startTime = timestampFilters[0];
+        long endTime = timestampFilters[1];
+        // Read before the table, so that all the buckets before it are in the table
+        long closedUntil = Math.min(endTime, incrementalExecutor.getPersistedUntil());
+        long purgedBefore = incrementalExecutor.getPurgedBefore();
+        synchronized (closedBucketCache) {
+            long cachedUntil = closedBucketCache.getCachedUntil(perValue, startTime);
+            closedBucketCache.addCachedEvents(perValue, Math.max(startTime, purgedBefore),
+                    Math.min(endTime, cachedUntil), eventChunk);
+            StreamEvent withinMatchFromTable = null;
+            if (cachedUntil < endTime) {
+                if (cachedUntil != startTime) {
+                    timestampFilters[0] = cachedUntil;
+                    complexEventPopulater.populateComplexEvent(matchingEvent.getStreamEvent(0), timestampFilters);
+                }
+                try {
+                    withinMatchFromTable = tableForPerDuration.find(matchingEvent,
+                            withinTableCompiledConditions.get(perValue));
+                } finally {
+                    if (cachedUntil != startTime) {
+                        timestampFilters[0] = startTime;
+                        complexEventPopulater.populateComplexEvent(matchingEvent.getStreamEvent(0),
+                                timestampFilters);
+                    }
+                }
+            }
+            closedBucketCache.cacheEvents(perValue, startTime, cachedUntil, closedUntil, withinMatchFromTable);
+            return withinMatchFromTable;
+        }
+    }
+
     private StreamEvent query(Table tableForPerDuration, StateEvent matchingEvent, CompiledCondition compiledCondition,
                               CompiledSelection compiledSelection, Attribute[] outputAttributes) {
         if (tableForPerDuration.getIsConnected()) {
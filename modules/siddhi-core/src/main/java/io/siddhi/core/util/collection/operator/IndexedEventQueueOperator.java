@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.util.collection.operator;
+
+import io.siddhi.core.event.ComplexEventChunk;
+import io.siddhi.core.event.state.StateEvent;
+import io.siddhi.core.event.stream.StreamEvent;
+import io.siddhi.core.event.stream.StreamEventCloner;
+import io.siddhi.core.event.stream.holder.IndexedStreamEventQueue;
+import io.siddhi.core.executor.ExpressionExecutor;
+import io.siddhi.core.executor.VariableExpressionExecutor;
+import io.siddhi.query.api.expression.condition.Compare;
+
+import java.util.Collection;
+
+/**
+ * Operator which is related to window operations, where the candidate events are looked up through an index of the
+ * {@link IndexedStreamEventQueue} before the complete condition is evaluated on them.
+ */
+public class IndexedEventQueueOperator extends SnapshotableEventQueueOperator {
+    private static final long serialVersionUID = 1600437367918438460L;
+    private final VariableExpressionExecutor storeAttributeExecutor;
+    private final ExpressionExecutor valueExecutor;
+    private final Compare.Operator operator;
+
+    public IndexedEventQueueOperator(ExpressionExecutor expressionExecutor, int storeEventPosition,
+                                     VariableExpressionExecutor storeAttributeExecutor,
+                                     ExpressionExecutor valueExecutor, Compare.Operator operator) {
+        super(expressionExecutor, storeEventPosition);
+        this.storeAttributeExecutor = storeAttributeExecutor;
+        this.valueExecutor = valueExecutor;
+        this.operator = operator;
+    }
+
+    @Override
+    public StreamEvent find(StateEvent matchingEvent, Object storeEvents, StreamEventCloner storeEventCloner) {
+        ComplexEventChunk<StreamEvent> returnEventChunk = new ComplexEventChunk<>();
+        for (StreamEvent storeEvent : findCandidates(matchingEvent, (IndexedStreamEventQueue) storeEvents)) {
+            matchingEvent.setEvent(storeEventPosition, storeEvent);
+            if ((Boolean) expressionExecutor.execute(matchingEvent)) {
+                returnEventChunk.add(storeEventCloner.copyStreamEvent(storeEvent));
+            }
+            matchingEvent.setEvent(storeEventPosition, null);
+        }
+        return returnEventChunk.getFirst();
+    }
+
+    @Override
+    public boolean contains(StateEvent matchingEvent, Object storeEvents) {
+        try {
+            for (StreamEvent storeEvent : findCandidates(matchingEvent, (IndexedStreamEventQueue) storeEvents)) {
+                matchingEvent.setEvent(storeEventPosition, storeEvent);
+                if ((Boolean) expressionExecutor.execute(matchingEvent)) {
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            matchingEvent.setEvent(storeEventPosition, null);
+        }
+    }
+
+    private Collection<StreamEvent> findCandidates(StateEvent matchingEvent, IndexedStreamEventQueue storeEvents) {
+        return storeEvents.findEvents(storeAttributeExecutor.getPosition(), operator,
+                valueExecutor.execute(matchingEvent));
+    }
+}
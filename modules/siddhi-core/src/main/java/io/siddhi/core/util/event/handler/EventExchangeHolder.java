@@ -29,6 +29,7 @@ public class EventExchangeHolder {
 
     private AtomicBoolean processed = new AtomicBoolean(false);
     private Event event;
+    private int workerIndex;
 
     public EventExchangeHolder(int dataSize) {
         this.event = new Event(dataSize);
@@ -41,4 +42,12 @@ public class EventExchangeHolder {
     public boolean getAndSetIsProcessed(boolean isProcessed) {
         return processed.getAndSet(isProcessed);
     }
+
+    public int getWorkerIndex() {
+        return workerIndex;
+    }
+
+    public void setWorkerIndex(int workerIndex) {
+        this.workerIndex = workerIndex;
+    }
 }
@@ -24,7 +24,6 @@ import io.siddhi.core.stream.StreamJunction;
 import org.apache.log4j.Logger;
 
 import java.beans.ExceptionListener;
-import java.util.LinkedList;
 import java.util.List;
 
 /**
@@ -38,65 +37,85 @@ public class StreamHandler implements EventHandler<EventExchangeHolder> {
     private final StreamJunction faultStreamJunction;
     private final StreamJunction.OnErrorAction onErrorAction;
     private final ExceptionListener exceptionListener;
+    private final int workerIndex;
     private List<StreamJunction.Receiver> receivers;
     private int batchSize;
-    private List<Event> eventBuffer = new LinkedList<>();
+    private Event[] eventBuffer;
+    private int eventBufferLength = 0;
 
     public StreamHandler(List<StreamJunction.Receiver> receivers, int batchSize,
                          String streamName, String siddhiAppName, StreamJunction faultStreamJunction,
                          StreamJunction.OnErrorAction onErrorAction, ExceptionListener exceptionListener) {
+        this(receivers, batchSize, streamName, siddhiAppName, faultStreamJunction, onErrorAction, exceptionListener,
+                -1);
+    }
+
+    /**
+     * Creates a handler that only consumes the events assigned to the given worker index. When the worker index is
+     * negative, the handler competes with the other handlers of the junction for every event.
+     */
+    public StreamHandler(List<StreamJunction.Receiver> receivers, int batchSize,
+                         String streamName, String siddhiAppName, StreamJunction faultStreamJunction,
+                         StreamJunction.OnErrorAction onErrorAction, ExceptionListener exceptionListener,
+                         int workerIndex) {
         this.receivers = receivers;
         this.batchSize = batchSize;
+        this.eventBuffer = new Event[batchSize];
         this.streamName = streamName;
         this.siddhiAppName = siddhiAppName;
         this.faultStreamJunction = faultStreamJunction;
         this.onErrorAction = onErrorAction;
         this.exceptionListener = exceptionListener;
+        this.workerIndex = workerIndex;
     }
 
     public void onEvent(EventExchangeHolder eventExchangeHolder, long sequence, boolean endOfBatch) {
-        boolean isProcessed = eventExchangeHolder.getAndSetIsProcessed(true);
+        boolean isProcessed;
+        if (workerIndex < 0) {
+            isProcessed = eventExchangeHolder.getAndSetIsProcessed(true);
+        } else {
+            isProcessed = eventExchangeHolder.getWorkerIndex() != workerIndex;
+        }
         if (!isProcessed) {
-            eventBuffer.add(eventExchangeHolder.getEvent());
-            if (eventBuffer.size() == batchSize || endOfBatch) {
-                for (StreamJunction.Receiver receiver : receivers) {
-                    try {
-                        receiver.receive(eventBuffer);
-                    } catch (Exception e) {
-                        onError(eventBuffer, e);
-                    }
-                }
-                eventBuffer.clear();
+            eventBuffer[eventBufferLength++] = eventExchangeHolder.getEvent();
+            if (eventBufferLength == batchSize || endOfBatch) {
+                flush();
             }
         } else if (endOfBatch) {
-            if (eventBuffer.size() != 0) {
-                for (StreamJunction.Receiver receiver : receivers) {
-                    try {
-                        receiver.receive(eventBuffer);
-                    } catch (Exception e) {
-                        onError(eventBuffer, e);
-                    }
-                }
-                eventBuffer.clear();
+            if (eventBufferLength != 0) {
+                flush();
             }
         }
 
     }
 
-    private void onError(List<Event> eventBuffer, Exception e) {
+    private void flush() {
+        for (StreamJunction.Receiver receiver : receivers) {
+            try {
+                receiver.receive(eventBuffer, eventBufferLength);
+            } catch (Exception e) {
+                onError(eventBuffer, eventBufferLength, e);
+            }
+        }
+        eventBufferLength = 0;
+    }
+
+    private void onError(Event[] eventBuffer, int eventBufferLength, Exception e) {
         if (exceptionListener != null) {
             exceptionListener.exceptionThrown(e);
         }
         switch (onErrorAction) {
             case LOG:
-                for (Event event : eventBuffer) {
+                for (int i = 0; i < eventBufferLength; i++) {
+                    Event event = eventBuffer[i];
                     log.error("Error in SiddhiApp '" + siddhiAppName +
                             "' after consuming events from Stream '" + streamName + "', " + e.getMessage() +
                             ". Hence, dropping event '" + event.toString() + "'", e);
                 }
                 break;
             case STREAM:
-                for (Event event : eventBuffer) {
+                for (int i = 0; i < eventBufferLength; i++) {
+                    Event event = eventBuffer[i];
                     if (faultStreamJunction != null) {
                         faultStreamJunction.sendEvent(event);
                     } else {
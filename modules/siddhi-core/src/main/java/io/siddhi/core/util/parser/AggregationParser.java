@@ -110,6 +110,7 @@ import static io.siddhi.core.util.SiddhiConstants.AGG_EXTERNAL_TIMESTAMP_COL;
 import static io.siddhi.core.util.SiddhiConstants.AGG_LAST_TIMESTAMP_COL;
 import static io.siddhi.core.util.SiddhiConstants.AGG_SHARD_ID_COL;
 import static io.siddhi.core.util.SiddhiConstants.AGG_START_TIMESTAMP_COL;
+import static io.siddhi.core.util.SiddhiConstants.ANNOTATION_CONCURRENT_AGGREGATION;
 import static io.siddhi.core.util.SiddhiConstants.ANNOTATION_ELEMENT_ENABLE;
 import static io.siddhi.core.util.SiddhiConstants.ANNOTATION_PARTITION_BY_ID;
 import static io.siddhi.core.util.SiddhiConstants.ANNOTATION_PERSISTED_AGGREGATION;
@@ -180,6 +181,14 @@ public class AggregationParser {
             isPersistedAggregation = persistedAggregationMode == null || Boolean.parseBoolean(persistedAggregationMode);
         }
 
+        boolean isConcurrentAggregation = false;
+        Annotation concurrentAggregation = AnnotationHelper.getAnnotation(ANNOTATION_CONCURRENT_AGGREGATION,
+                aggregationDefinition.getAnnotations());
+        if (concurrentAggregation != null) {
+            String enableElement = concurrentAggregation.getElement(ANNOTATION_ELEMENT_ENABLE);
+            isConcurrentAggregation = enableElement == null || Boolean.parseBoolean(enableElement);
+        }
+
         if (isPersistedAggregation) {
             aggregationDefinition.getSelector().getSelectionList().stream().forEach(outputAttribute -> {
                 if (outputAttribute.getExpression() instanceof AttributeFunction &&
@@ -445,7 +454,13 @@ public class AggregationParser {
                     aggregatorName, shouldUpdateTimestamp, timeZone, isPersistedAggregation,
                     incomingOutputStreamDefinition, isDistributed, shardId, isProcessingOnExternalTime, aggregationDefinition,
                     configManager, groupByVariableList);
-
+            if (isConcurrentAggregation) {
+                // Only the root executor receives events from multiple threads, the others are fed by its roll-overs
+                Executor rootExecutor = incrementalExecutorMap.get(aggregationDurations.get(0));
+                if (rootExecutor instanceof IncrementalExecutor) {
+                    ((IncrementalExecutor) rootExecutor).setConcurrent(true);
+                }
+            }
 
             aggregationDurationExecutorMap.put(aggregatorName, incrementalExecutorMap);
 
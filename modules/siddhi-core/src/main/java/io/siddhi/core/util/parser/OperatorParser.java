@@ -21,6 +21,7 @@ package io.siddhi.core.util.parser;
 import io.siddhi.core.config.SiddhiQueryContext;
 import io.siddhi.core.event.ComplexEventChunk;
 import io.siddhi.core.event.stream.MetaStreamEvent;
+import io.siddhi.core.event.stream.holder.IndexedStreamEventQueue;
 import io.siddhi.core.event.stream.holder.SnapshotableStreamEventQueue;
 import io.siddhi.core.exception.OperationNotSupportedException;
 import io.siddhi.core.executor.ExpressionExecutor;
@@ -37,6 +38,7 @@ import io.siddhi.core.util.collection.expression.CompareCollectionExpression;
 import io.siddhi.core.util.collection.operator.CollectionOperator;
 import io.siddhi.core.util.collection.operator.EventChunkOperator;
 import io.siddhi.core.util.collection.operator.IndexOperator;
+import io.siddhi.core.util.collection.operator.IndexedEventQueueOperator;
 import io.siddhi.core.util.collection.operator.IndexOperatorForCache;
 import io.siddhi.core.util.collection.operator.MapOperator;
 import io.siddhi.core.util.collection.operator.MatchingMetaInfoHolder;
@@ -46,13 +48,16 @@ import io.siddhi.core.util.collection.operator.OverwriteTableIndexOperatorForCac
 import io.siddhi.core.util.collection.operator.SnapshotableEventQueueOperator;
 import io.siddhi.query.api.expression.Expression;
 import io.siddhi.query.api.expression.Variable;
+import io.siddhi.query.api.expression.condition.And;
 import io.siddhi.query.api.expression.condition.Compare;
+import io.siddhi.query.api.expression.constant.Constant;
 
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
+import static io.siddhi.core.util.SiddhiConstants.STREAM_EVENT_CHAIN_INDEX;
 import static io.siddhi.core.util.collection.expression.CollectionExpression.CollectionScope.INDEXED_RESULT_SET;
 import static io.siddhi.core.util.collection.expression.CollectionExpression.CollectionScope.PRIMARY_KEY_RESULT_SET;
 
@@ -94,6 +99,17 @@ public class OperatorParser {
                     variableExpressionExecutors, false, 0,
                     ProcessingMode.BATCH, false, siddhiQueryContext);
             return new EventChunkOperator(expressionExecutor, matchingMetaInfoHolder.getStoreEventIndex());
+        } else if (storeEvents instanceof IndexedStreamEventQueue) {
+            ExpressionExecutor expressionExecutor = ExpressionParser.parseExpression(expression,
+                    matchingMetaInfoHolder.getMetaStateEvent(), matchingMetaInfoHolder.getCurrentState(), tableMap,
+                    variableExpressionExecutors, false, 0,
+                    ProcessingMode.BATCH, false, siddhiQueryContext);
+            Operator operator = constructIndexedEventQueueOperator(expression, expressionExecutor,
+                    matchingMetaInfoHolder, variableExpressionExecutors, tableMap, siddhiQueryContext);
+            if (operator != null) {
+                return operator;
+            }
+            return new SnapshotableEventQueueOperator(expressionExecutor, matchingMetaInfoHolder.getStoreEventIndex());
         } else if (storeEvents instanceof SnapshotableStreamEventQueue) {
             ExpressionExecutor expressionExecutor = ExpressionParser.parseExpression(expression,
                     matchingMetaInfoHolder.getMetaStateEvent(), matchingMetaInfoHolder.getCurrentState(), tableMap,
@@ -153,6 +169,94 @@ public class OperatorParser {
                 tableMap, siddhiQueryContext);
     }
 
+    /**
+     * Infers an index lookup for the given condition, when it is, or is a conjunction containing, a comparison
+     * between an attribute of the store events and a constant or an attribute of the matching event.
+     *
+     * @return the indexed operator, or null when the condition cannot be served by an index
+     */
+    private static Operator constructIndexedEventQueueOperator(Expression condition,
+                                                               ExpressionExecutor conditionExecutor,
+                                                               MatchingMetaInfoHolder matchingMetaInfoHolder,
+                                                               List<VariableExpressionExecutor>
+                                                                       variableExpressionExecutors,
+                                                               Map<String, Table> tableMap,
+                                                               SiddhiQueryContext siddhiQueryContext) {
+        if (condition instanceof And) {
+            Operator operator = constructIndexedEventQueueOperator(((And) condition).getLeftExpression(),
+                    conditionExecutor, matchingMetaInfoHolder, variableExpressionExecutors, tableMap,
+                    siddhiQueryContext);
+            if (operator != null) {
+                return operator;
+            }
+            return constructIndexedEventQueueOperator(((And) condition).getRightExpression(), conditionExecutor,
+                    matchingMetaInfoHolder, variableExpressionExecutors, tableMap, siddhiQueryContext);
+        }
+        if (!(condition instanceof Compare) || ((Compare) condition).getOperator() == Compare.Operator.NOT_EQUAL) {
+            return null;
+        }
+        Compare compare = (Compare) condition;
+        if (!isIndexableOperand(compare.getLeftExpression()) || !isIndexableOperand(compare.getRightExpression())) {
+            return null;
+        }
+        ExpressionExecutor leftExecutor = ExpressionParser.parseExpression(compare.getLeftExpression(),
+                matchingMetaInfoHolder.getMetaStateEvent(), matchingMetaInfoHolder.getCurrentState(), tableMap,
+                variableExpressionExecutors, false, 0, ProcessingMode.BATCH, false, siddhiQueryContext);
+        ExpressionExecutor rightExecutor = ExpressionParser.parseExpression(compare.getRightExpression(),
+                matchingMetaInfoHolder.getMetaStateEvent(), matchingMetaInfoHolder.getCurrentState(), tableMap,
+                variableExpressionExecutors, false, 0, ProcessingMode.BATCH, false, siddhiQueryContext);
+        if (leftExecutor.getReturnType() != rightExecutor.getReturnType()) {
+            return null;
+        }
+        switch (leftExecutor.getReturnType()) {
+            case STRING:
+            case INT:
+            case LONG:
+            case FLOAT:
+            case DOUBLE:
+            case BOOL:
+                break;
+            default:
+                return null;
+        }
+        int storeEventIndex = matchingMetaInfoHolder.getStoreEventIndex();
+        boolean isLeftStoreAttribute = isStoreAttribute(leftExecutor, storeEventIndex);
+        boolean isRightStoreAttribute = isStoreAttribute(rightExecutor, storeEventIndex);
+        if (isLeftStoreAttribute && !isRightStoreAttribute) {
+            return new IndexedEventQueueOperator(conditionExecutor, storeEventIndex,
+                    (VariableExpressionExecutor) leftExecutor, rightExecutor, compare.getOperator());
+        } else if (isRightStoreAttribute && !isLeftStoreAttribute) {
+            return new IndexedEventQueueOperator(conditionExecutor, storeEventIndex,
+                    (VariableExpressionExecutor) rightExecutor, leftExecutor, mirror(compare.getOperator()));
+        }
+        return null;
+    }
+
+    private static boolean isIndexableOperand(Expression expression) {
+        return expression instanceof Variable || expression instanceof Constant;
+    }
+
+    private static boolean isStoreAttribute(ExpressionExecutor expressionExecutor, int storeEventIndex) {
+        return expressionExecutor instanceof VariableExpressionExecutor &&
+                ((VariableExpressionExecutor) expressionExecutor).getPosition()[STREAM_EVENT_CHAIN_INDEX]
+                        == storeEventIndex;
+    }
+
+    private static Compare.Operator mirror(Compare.Operator operator) {
+        switch (operator) {
+            case LESS_THAN:
+                return Compare.Operator.GREATER_THAN;
+            case GREATER_THAN:
+                return Compare.Operator.LESS_THAN;
+            case LESS_THAN_EQUAL:
+                return Compare.Operator.GREATER_THAN_EQUAL;
+            case GREATER_THAN_EQUAL:
+                return Compare.Operator.LESS_THAN_EQUAL;
+            default:
+                return operator;
+        }
+    }
+
     private static boolean isTableIndexVariable(MatchingMetaInfoHolder matchingMetaInfoHolder, Expression expression,
                                                 String indexAttribute) {
         if (expression instanceof Variable) {
@@ -37,6 +37,10 @@ import io.siddhi.core.query.output.callback.OutputCallback;
 import io.siddhi.core.query.output.ratelimit.OutputRateLimiter;
 import io.siddhi.core.query.output.ratelimit.snapshot.WrappedSnapshotOutputRateLimiter;
 import io.siddhi.core.query.processor.Processor;
+import io.siddhi.core.query.processor.stream.AbstractStreamProcessor;
+import io.siddhi.core.query.processor.stream.LogStreamProcessor;
+import io.siddhi.core.query.processor.stream.function.StreamFunctionProcessor;
+import io.siddhi.core.query.processor.stream.window.WindowProcessor;
 import io.siddhi.core.query.selector.QuerySelector;
 import io.siddhi.core.table.Table;
 import io.siddhi.core.table.record.AbstractQueryableRecordTable;
@@ -137,6 +141,7 @@ public class QueryParser {
                     query, streamDefinitionMap, tableDefinitionMap, windowDefinitionMap,
                     aggregationDefinitionMap, tableMap, windowMap, aggregationMap, executors,
                     outputExpectsExpiredEvents, siddhiQueryContext);
+            siddhiQueryContext.setExpiresInArrivalOrder(expiresInArrivalOrder(streamRuntime));
             QuerySelector selector;
             if (streamRuntime.getQuerySelector() != null) {
                 selector = streamRuntime.getQuerySelector();
@@ -253,6 +258,8 @@ public class QueryParser {
 
             selector.setEventPopulator(StateEventPopulatorFactory.constructEventPopulator(streamRuntime
                     .getMetaComplexEvent()));
+            QueryParserHelper.initEventPooling(streamRuntime, selector, outputRateLimiter, outputCallback,
+                    siddhiQueryContext);
 
             queryRuntime = new QueryRuntimeImpl(query, streamRuntime, selector, outputRateLimiter, outputCallback,
                     streamRuntime.getMetaComplexEvent(), siddhiQueryContext);
@@ -280,4 +287,32 @@ public class QueryParser {
         }
         return queryRuntime;
     }
+
+    /**
+     * Check whether the expired events reach the selector in the arrival order of their current events. This holds
+     * for a single stream with exactly one window that expires its events in their arrival order, when the other
+     * stream processors are stream functions.
+     *
+     * @param streamRuntime stream runtime of the query
+     * @return true if the events expire in their arrival order
+     */
+    private static boolean expiresInArrivalOrder(StreamRuntime streamRuntime) {
+        if (!(streamRuntime instanceof SingleStreamRuntime)) {
+            return false;
+        }
+        WindowProcessor windowProcessor = null;
+        for (Processor processor = ((SingleStreamRuntime) streamRuntime).getProcessorChain(); processor != null;
+             processor = processor.getNextProcessor()) {
+            if (processor instanceof WindowProcessor) {
+                if (windowProcessor != null) {
+                    return false;
+                }
+                windowProcessor = (WindowProcessor) processor;
+            } else if (processor instanceof AbstractStreamProcessor && !(processor instanceof StreamFunctionProcessor)
+                    && !(processor instanceof LogStreamProcessor)) {
+                return false;
+            }
+        }
+        return windowProcessor != null && windowProcessor.expiresInArrivalOrder();
+    }
 }
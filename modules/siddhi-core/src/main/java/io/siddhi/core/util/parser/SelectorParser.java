@@ -26,6 +26,7 @@ import io.siddhi.core.executor.ConstantExpressionExecutor;
 import io.siddhi.core.executor.ExpressionExecutor;
 import io.siddhi.core.executor.VariableExpressionExecutor;
 import io.siddhi.core.executor.condition.ConditionExpressionExecutor;
+import io.siddhi.core.executor.condition.compiled.ConditionCompiler;
 import io.siddhi.core.query.processor.ProcessingMode;
 import io.siddhi.core.query.selector.GroupByKeyGenerator;
 import io.siddhi.core.query.selector.OrderByEventComparator;
@@ -234,6 +235,9 @@ public class SelectorParser {
                 } else {
                     ((MetaStreamEvent) metaComplexEvent).addOutputDataAllowingDuplicate(null);
                 }
+                if (siddhiQueryContext.getSiddhiAppContext().isCompileExpressions()) {
+                    expressionExecutor = ConditionCompiler.compile(expressionExecutor);
+                }
                 AttributeProcessor attributeProcessor = new AttributeProcessor(expressionExecutor);
                 attributeProcessor.setOutputPosition(i);
                 attributeProcessorList.add(attributeProcessor);
@@ -256,6 +260,10 @@ public class SelectorParser {
                     metaComplexEvent, SiddhiConstants.HAVING_STATE, tableMap, variableExpressionExecutors,
                     false, 0, ProcessingMode.BATCH,
                     false, siddhiQueryContext);
+            if (siddhiQueryContext.getSiddhiAppContext().isCompileExpressions()) {
+                havingConditionExecutor = (ConditionExpressionExecutor) ConditionCompiler.compile(
+                        havingConditionExecutor);
+            }
         }
         return havingConditionExecutor;
     }
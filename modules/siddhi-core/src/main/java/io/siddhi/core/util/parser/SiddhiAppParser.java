@@ -29,6 +29,7 @@ import io.siddhi.core.util.IdGenerator;
 import io.siddhi.core.util.SiddhiAppRuntimeBuilder;
 import io.siddhi.core.util.SiddhiConstants;
 import io.siddhi.core.util.ThreadBarrier;
+import io.siddhi.core.util.TimingWheel;
 import io.siddhi.core.util.snapshot.SnapshotService;
 import io.siddhi.core.util.statistics.metrics.Level;
 import io.siddhi.core.util.timestamp.TimestampGenerator;
@@ -110,6 +111,55 @@ public class SiddhiAppParser {
                         annotation.getQueryContextStartIndex(), annotation.getQueryContextEndIndex());
             }
 
+            annotation = AnnotationHelper.getAnnotation(SiddhiConstants.ANNOTATION_EVENT_POOL,
+                    siddhiApp.getAnnotations());
+            if (annotation != null) {
+                int eventPoolSize = SiddhiConstants.DEFAULT_EVENT_BUFFER_SIZE;
+                Element sizeElement = AnnotationHelper.getAnnotationElement(SiddhiConstants.ANNOTATION_EVENT_POOL,
+                        SiddhiConstants.ANNOTATION_ELEMENT_SIZE, siddhiApp.getAnnotations());
+                if (sizeElement != null) {
+                    try {
+                        eventPoolSize = Integer.parseInt(sizeElement.getValue().trim());
+                    } catch (NumberFormatException e) {
+                        throw new SiddhiAppCreationException("@app:eventPool size should be a positive " +
+                                "integer, but found '" + sizeElement.getValue() + "'",
+                                annotation.getQueryContextStartIndex(), annotation.getQueryContextEndIndex());
+                    }
+                    if (eventPoolSize <= 0) {
+                        throw new SiddhiAppCreationException("@app:eventPool size should be a positive " +
+                                "integer, but found '" + sizeElement.getValue() + "'",
+                                annotation.getQueryContextStartIndex(), annotation.getQueryContextEndIndex());
+                    }
+                }
+                siddhiAppContext.setEventPoolSize(eventPoolSize);
+            }
+
+            annotation = AnnotationHelper.getAnnotation(SiddhiConstants.ANNOTATION_COMPILE,
+                    siddhiApp.getAnnotations());
+            if (annotation != null) {
+                Element compileElement = AnnotationHelper.getAnnotationElement(SiddhiConstants.ANNOTATION_COMPILE,
+                        null, siddhiApp.getAnnotations());
+                siddhiAppContext.setCompileExpressions(compileElement == null ||
+                        Boolean.parseBoolean(compileElement.getValue()));
+            }
+
+            annotation = AnnotationHelper.getAnnotation(SiddhiConstants.ANNOTATION_PRIMITIVE_LAYOUT,
+                    siddhiApp.getAnnotations());
+            if (annotation != null) {
+                Element primitiveLayoutElement = AnnotationHelper.getAnnotationElement(
+                        SiddhiConstants.ANNOTATION_PRIMITIVE_LAYOUT, null, siddhiApp.getAnnotations());
+                siddhiAppContext.setPrimitiveLayout(primitiveLayoutElement == null ||
+                        Boolean.parseBoolean(primitiveLayoutElement.getValue()));
+            }
+
+            Element nonBlockingSnapshotElement = AnnotationHelper.getAnnotationElement(
+                    SiddhiConstants.ANNOTATION_SNAPSHOT, SiddhiConstants.ANNOTATION_ELEMENT_NON_BLOCKING,
+                    siddhiApp.getAnnotations());
+            if (nonBlockingSnapshotElement != null) {
+                siddhiAppContext.setNonBlockingSnapshot(
+                        Boolean.parseBoolean(nonBlockingSnapshotElement.getValue()));
+            }
+
             annotation = AnnotationHelper.getAnnotation(SiddhiConstants.ANNOTATION_STATISTICS,
                     siddhiApp.getAnnotations());
 
@@ -216,6 +266,7 @@ public class SiddhiAppParser {
             } else {
                 siddhiAppContext.setTimestampGenerator(new TimestampGeneratorImpl(siddhiAppContext));
             }
+            siddhiAppContext.setTimingWheel(new TimingWheel(siddhiAppContext));
             siddhiAppContext.setSnapshotService(new SnapshotService(siddhiAppContext));
             siddhiAppContext.setIdGenerator(new IdGenerator());
 
@@ -25,6 +25,7 @@ import io.siddhi.core.exception.OperationNotSupportedException;
 import io.siddhi.core.exception.SiddhiAppCreationException;
 import io.siddhi.core.executor.ExpressionExecutor;
 import io.siddhi.core.executor.VariableExpressionExecutor;
+import io.siddhi.core.executor.condition.compiled.ConditionCompiler;
 import io.siddhi.core.query.input.ProcessStreamReceiver;
 import io.siddhi.core.query.input.stream.single.EntryValveProcessor;
 import io.siddhi.core.query.input.stream.single.SingleStreamRuntime;
@@ -54,6 +55,17 @@ import io.siddhi.query.api.execution.query.input.handler.Window;
 import io.siddhi.query.api.execution.query.input.stream.SingleInputStream;
 import io.siddhi.query.api.expression.Expression;
 import io.siddhi.query.api.expression.Variable;
+import io.siddhi.query.api.expression.condition.And;
+import io.siddhi.query.api.expression.condition.Compare;
+import io.siddhi.query.api.expression.condition.IsNull;
+import io.siddhi.query.api.expression.condition.Not;
+import io.siddhi.query.api.expression.condition.Or;
+import io.siddhi.query.api.expression.constant.Constant;
+import io.siddhi.query.api.expression.math.Add;
+import io.siddhi.query.api.expression.math.Divide;
+import io.siddhi.query.api.expression.math.Mod;
+import io.siddhi.query.api.expression.math.Multiply;
+import io.siddhi.query.api.expression.math.Subtract;
 import io.siddhi.query.api.extension.Extension;
 
 import java.util.List;
@@ -204,7 +216,12 @@ public class SingleInputStreamParser {
 
         ConfigReader configReader;
         if (streamHandler instanceof Filter) {
-            return new FilterProcessor(attributeExpressionExecutors[0]);
+            ExpressionExecutor conditionExecutor = attributeExpressionExecutors[0];
+            if (siddhiQueryContext.getSiddhiAppContext().isCompileExpressions()) {
+                conditionExecutor = ConditionCompiler.compile(conditionExecutor);
+            }
+            return new FilterProcessor(conditionExecutor,
+                    isFreeOfFunctions(((Filter) streamHandler).getParameters()[0]));
 
         } else if (streamHandler instanceof Window) {
             WindowProcessor windowProcessor = (WindowProcessor) SiddhiClassLoader.loadExtensionImplementation(
@@ -251,6 +268,49 @@ public class SingleInputStreamParser {
         }
     }
 
+    /**
+     * Check whether the expression is built only of attributes, constants, conditions and arithmetic. Functions,
+     * including aggregators and extensions, can hold state and hence must see the events one at a time, in order.
+     *
+     * @param expression expression to check
+     * @return true if the expression does not call any function
+     */
+    private static boolean isFreeOfFunctions(Expression expression) {
+        if (expression instanceof Variable || expression instanceof Constant) {
+            return true;
+        } else if (expression instanceof And) {
+            return isFreeOfFunctions(((And) expression).getLeftExpression()) &&
+                    isFreeOfFunctions(((And) expression).getRightExpression());
+        } else if (expression instanceof Or) {
+            return isFreeOfFunctions(((Or) expression).getLeftExpression()) &&
+                    isFreeOfFunctions(((Or) expression).getRightExpression());
+        } else if (expression instanceof Compare) {
+            return isFreeOfFunctions(((Compare) expression).getLeftExpression()) &&
+                    isFreeOfFunctions(((Compare) expression).getRightExpression());
+        } else if (expression instanceof Not) {
+            return isFreeOfFunctions(((Not) expression).getExpression());
+        } else if (expression instanceof IsNull) {
+            return ((IsNull) expression).getExpression() == null ||
+                    isFreeOfFunctions(((IsNull) expression).getExpression());
+        } else if (expression instanceof Add) {
+            return isFreeOfFunctions(((Add) expression).getLeftValue()) &&
+                    isFreeOfFunctions(((Add) expression).getRightValue());
+        } else if (expression instanceof Subtract) {
+            return isFreeOfFunctions(((Subtract) expression).getLeftValue()) &&
+                    isFreeOfFunctions(((Subtract) expression).getRightValue());
+        } else if (expression instanceof Multiply) {
+            return isFreeOfFunctions(((Multiply) expression).getLeftValue()) &&
+                    isFreeOfFunctions(((Multiply) expression).getRightValue());
+        } else if (expression instanceof Divide) {
+            return isFreeOfFunctions(((Divide) expression).getLeftValue()) &&
+                    isFreeOfFunctions(((Divide) expression).getRightValue());
+        } else if (expression instanceof Mod) {
+            return isFreeOfFunctions(((Mod) expression).getLeftValue()) &&
+                    isFreeOfFunctions(((Mod) expression).getRightValue());
+        }
+        return false;
+    }
+
     /**
      * Method to generate MetaStreamEvent reagent to the given input stream. Empty definition will be created and
      * definition and reference is will be set accordingly in this method.
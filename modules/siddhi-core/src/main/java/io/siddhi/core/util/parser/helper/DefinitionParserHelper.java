@@ -30,6 +30,7 @@ import io.siddhi.core.stream.input.source.Source;
 import io.siddhi.core.stream.input.source.SourceHandler;
 import io.siddhi.core.stream.input.source.SourceHandlerManager;
 import io.siddhi.core.stream.input.source.SourceMapper;
+import io.siddhi.core.stream.output.sink.AsyncSinkPublisher;
 import io.siddhi.core.stream.output.sink.DynamicOptionGroupDeterminer;
 import io.siddhi.core.stream.output.sink.OutputGroupDeterminer;
 import io.siddhi.core.stream.output.sink.PartitionedGroupDeterminer;
@@ -567,6 +568,13 @@ public class DefinitionParserHelper {
                                 sink.getMapper().setGroupDeterminer(groupDeterminer);
                             }
 
+                            Annotation asyncAnnotation = AnnotationHelper.getAnnotation(
+                                    SiddhiConstants.ANNOTATION_ASYNC, sinkAnnotation.getAnnotations());
+                            if (asyncAnnotation != null) {
+                                sink.setAsyncPublisher(new AsyncSinkPublisher(sink, asyncAnnotation,
+                                        streamDefinition, siddhiAppContext));
+                            }
+
                             List<Sink> eventSinks = eventSinkMap.get(streamDefinition.getId());
                             if (eventSinks == null) {
                                 eventSinks = new ArrayList<>();
@@ -19,6 +19,7 @@
 package io.siddhi.core.util.parser.helper;
 
 import io.siddhi.core.config.SiddhiAppContext;
+import io.siddhi.core.config.SiddhiQueryContext;
 import io.siddhi.core.event.MetaComplexEvent;
 import io.siddhi.core.event.state.MetaStateEvent;
 import io.siddhi.core.event.state.MetaStateEventAttribute;
@@ -33,11 +34,22 @@ import io.siddhi.core.executor.VariableExpressionExecutor;
 import io.siddhi.core.query.input.ProcessStreamReceiver;
 import io.siddhi.core.query.input.stream.StreamRuntime;
 import io.siddhi.core.query.input.stream.join.JoinProcessor;
+import io.siddhi.core.query.input.stream.single.EntryValveProcessor;
 import io.siddhi.core.query.input.stream.single.SingleStreamRuntime;
 import io.siddhi.core.query.input.stream.state.StreamPreStateProcessor;
+import io.siddhi.core.query.output.callback.InsertIntoStreamCallback;
+import io.siddhi.core.query.output.callback.OutputCallback;
+import io.siddhi.core.query.output.ratelimit.OutputRateLimiter;
+import io.siddhi.core.query.output.ratelimit.PassThroughOutputRateLimiter;
 import io.siddhi.core.query.processor.Processor;
 import io.siddhi.core.query.processor.SchedulingProcessor;
+import io.siddhi.core.query.processor.filter.FilterProcessor;
 import io.siddhi.core.query.processor.stream.AbstractStreamProcessor;
+import io.siddhi.core.query.processor.stream.window.ExternalTimeWindowProcessor;
+import io.siddhi.core.query.processor.stream.window.LengthWindowProcessor;
+import io.siddhi.core.query.processor.stream.window.TimeLengthWindowProcessor;
+import io.siddhi.core.query.processor.stream.window.TimeWindowProcessor;
+import io.siddhi.core.query.selector.QuerySelector;
 import io.siddhi.core.util.SiddhiConstants;
 import io.siddhi.core.util.collection.operator.IncrementalAggregateCompileCondition;
 import io.siddhi.core.util.lock.LockWrapper;
@@ -224,6 +236,60 @@ public class QueryParserHelper {
         }
     }
 
+    /**
+     * Enables event recycling for the given query when {@code @app:eventPool} is set and the query only
+     * consists of filters and the sliding windows known to hand over expired events, so that events
+     * leaving the query selector or rejected by filters can safely be returned to the StreamEventFactory.
+     *
+     * @param streamRuntime      stream runtime of the query
+     * @param querySelector      selector of the query
+     * @param outputRateLimiter  output rate limiter of the query
+     * @param outputCallback     output callback of the query, can be null
+     * @param siddhiQueryContext siddhi query context
+     */
+    public static void initEventPooling(StreamRuntime streamRuntime, QuerySelector querySelector,
+                                        OutputRateLimiter outputRateLimiter, OutputCallback outputCallback,
+                                        SiddhiQueryContext siddhiQueryContext) {
+        SiddhiAppContext siddhiAppContext = siddhiQueryContext.getSiddhiAppContext();
+        if (siddhiAppContext.getEventPoolSize() <= 0 || !(streamRuntime instanceof SingleStreamRuntime) ||
+                !(outputRateLimiter instanceof PassThroughOutputRateLimiter) ||
+                (outputCallback != null && !(outputCallback instanceof InsertIntoStreamCallback))) {
+            return;
+        }
+        SingleStreamRuntime singleStreamRuntime = (SingleStreamRuntime) streamRuntime;
+        ProcessStreamReceiver processStreamReceiver = singleStreamRuntime.getProcessStreamReceiver();
+        if (processStreamReceiver.getClass() != ProcessStreamReceiver.class ||
+                ((MetaStreamEvent) singleStreamRuntime.getMetaComplexEvent()).getEventType() !=
+                        MetaStreamEvent.EventType.DEFAULT) {
+            return;
+        }
+        Processor processor = singleStreamRuntime.getProcessorChain();
+        while (processor != null) {
+            Class<? extends Processor> processorClass = processor.getClass();
+            if (processorClass != FilterProcessor.class && processorClass != EntryValveProcessor.class &&
+                    processorClass != LengthWindowProcessor.class && processorClass != TimeWindowProcessor.class &&
+                    processorClass != ExternalTimeWindowProcessor.class &&
+                    processorClass != TimeLengthWindowProcessor.class) {
+                return;
+            }
+            processor = processor.getNextProcessor();
+        }
+        StreamEventFactory streamEventFactory = processStreamReceiver.getStreamEventFactory();
+        streamEventFactory.enablePooling(siddhiAppContext.getEventPoolSize(), siddhiAppContext,
+                createThroughputTracker(siddhiAppContext, siddhiQueryContext.getName(),
+                        SiddhiConstants.METRIC_INFIX_QUERIES, SiddhiConstants.METRIC_TYPE_EVENT_POOL_HITS),
+                createThroughputTracker(siddhiAppContext, siddhiQueryContext.getName(),
+                        SiddhiConstants.METRIC_INFIX_QUERIES, SiddhiConstants.METRIC_TYPE_EVENT_POOL_MISSES));
+        processor = singleStreamRuntime.getProcessorChain();
+        while (processor != null) {
+            if (processor instanceof FilterProcessor) {
+                ((FilterProcessor) processor).setRecyclingStreamEventFactory(streamEventFactory);
+            }
+            processor = processor.getNextProcessor();
+        }
+        querySelector.setRecyclingStreamEventFactory(streamEventFactory);
+    }
+
     public static LatencyTracker createLatencyTracker(SiddhiAppContext siddhiAppContext, String name, String type,
                                                       String function) {
         LatencyTracker latencyTracker = null;
@@ -20,17 +20,22 @@ package io.siddhi.core.util.persistence;
 
 import com.google.common.io.Files;
 import io.siddhi.core.exception.CannotClearSiddhiAppStateException;
+import io.siddhi.core.exception.PersistenceStoreException;
 import io.siddhi.core.util.persistence.util.PersistenceConstants;
+import io.siddhi.core.util.persistence.util.PersistenceFileUtil;
 import org.apache.log4j.Logger;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.Map;
 
 /**
- * Implementation of Persistence Store that would persist snapshots to the file system
+ * Implementation of Persistence Store that would persist snapshots to the file system. Snapshots are streamed to a
+ * temporary file, synced to the disk once, and atomically renamed to their revision, and are read back through
+ * memory mapped regions.
  */
-public class FileSystemPersistenceStore implements PersistenceStore {
+public class FileSystemPersistenceStore implements StreamingPersistenceStore {
 
     private static final Logger log = Logger.getLogger(FileSystemPersistenceStore.class);
     private int numberOfRevisionsToSave;
@@ -38,17 +43,25 @@ public class FileSystemPersistenceStore implements PersistenceStore {
 
     @Override
     public void save(String siddhiAppName, String revision, byte[] snapshot) {
+        try {
+            save(siddhiAppName, revision, outputStream -> outputStream.write(snapshot));
+        } catch (PersistenceStoreException e) {
+            log.error(e.getMessage(), e.getCause());
+        }
+    }
+
+    @Override
+    public void save(String siddhiAppName, String revision, SnapshotWriter snapshotWriter) {
         File file = new File(folder + File.separator + siddhiAppName + File.separator + revision);
         try {
-            Files.createParentDirs(file);
-            Files.write(snapshot, file);
+            PersistenceFileUtil.write(file, snapshotWriter);
             cleanOldRevisions(siddhiAppName);
             if (log.isDebugEnabled()) {
                 log.debug("Periodic persistence of " + siddhiAppName + " persisted successfully.");
             }
         } catch (IOException e) {
-            log.error("Cannot save the revision " + revision + " of SiddhiApp: " + siddhiAppName +
-                    " to the file system.", e);
+            throw new PersistenceStoreException("Cannot save the revision " + revision + " of SiddhiApp: " +
+                    siddhiAppName + " to the file system.", e);
         }
     }
 
@@ -99,10 +112,24 @@ public class FileSystemPersistenceStore implements PersistenceStore {
         return null;
     }
 
+    @Override
+    public InputStream loadAsStream(String siddhiAppName, String revision) {
+        File file = new File(folder + File.separator + siddhiAppName + File.separator + revision);
+        try {
+            InputStream inputStream = PersistenceFileUtil.openMapped(file);
+            log.info("State loaded for " + siddhiAppName + " revision " + revision + " from the file system.");
+            return inputStream;
+        } catch (IOException e) {
+            log.error("Cannot load the revision " + revision + " of SiddhiApp: " + siddhiAppName +
+                    " from file system.", e);
+        }
+        return null;
+    }
+
     @Override
     public String getLastRevision(String siddhiAppName) {
         File dir = new File(folder + File.separator + siddhiAppName);
-        File[] files = dir.listFiles();
+        File[] files = listRevisionFiles(dir);
 
         if (files == null || files.length == 0) {
             return null;
@@ -148,7 +175,7 @@ public class FileSystemPersistenceStore implements PersistenceStore {
 
     private void cleanOldRevisions(String siddhiAppName) {
         File targetDirectory = new File(folder + File.separator + siddhiAppName);
-        File[] files = targetDirectory.listFiles();
+        File[] files = listRevisionFiles(targetDirectory);
         if (files != null) {
             while (files.length > numberOfRevisionsToSave) {
                 String firstRevision = null;
@@ -165,11 +192,15 @@ public class FileSystemPersistenceStore implements PersistenceStore {
                         log.error("Error deleting old revision " + firstRevision);
                     }
                 }
-                files = targetDirectory.listFiles();
+                files = listRevisionFiles(targetDirectory);
                 if (files == null || files.length < 1) {
                     break;
                 }
             }
         }
     }
+
+    private File[] listRevisionFiles(File directory) {
+        return directory.listFiles(file -> !PersistenceFileUtil.isTemporary(file.getName()));
+    }
 }
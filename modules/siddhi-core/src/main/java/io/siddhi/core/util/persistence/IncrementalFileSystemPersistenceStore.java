@@ -22,6 +22,7 @@ import com.google.common.io.Files;
 import io.siddhi.core.exception.CannotClearSiddhiAppStateException;
 import io.siddhi.core.util.persistence.util.IncrementalSnapshotInfo;
 import io.siddhi.core.util.persistence.util.PersistenceConstants;
+import io.siddhi.core.util.persistence.util.PersistenceFileUtil;
 import io.siddhi.core.util.persistence.util.PersistenceHelper;
 import org.apache.log4j.Logger;
 
@@ -51,8 +52,7 @@ public class IncrementalFileSystemPersistenceStore implements IncrementalPersist
         File file = new File(folder + File.separator + snapshotInfo.getSiddhiAppId() + File.separator +
                 snapshotInfo.getRevision());
         try {
-            Files.createParentDirs(file);
-            Files.write(snapshot, file);
+            PersistenceFileUtil.write(file, outputStream -> outputStream.write(snapshot));
             cleanOldRevisions(snapshotInfo);
             if (log.isDebugEnabled()) {
                 log.debug("Incremental persistence of '" + snapshotInfo.getSiddhiAppId() +
@@ -91,7 +91,7 @@ public class IncrementalFileSystemPersistenceStore implements IncrementalPersist
     public List<IncrementalSnapshotInfo> getListOfRevisionsToLoad(long restoreTime, String siddhiAppName) {
 
         File dir = new File(folder + File.separator + siddhiAppName);
-        File[] files = dir.listFiles();
+        File[] files = listRevisionFiles(dir);
         if (files == null || files.length == 0) {
             return null;
         }
@@ -119,7 +119,7 @@ public class IncrementalFileSystemPersistenceStore implements IncrementalPersist
         long restoreTime = -1;
         IncrementalSnapshotInfo lastSnapshotInfo = null;
         File dir = new File(folder + File.separator + siddhiAppName);
-        File[] files = dir.listFiles();
+        File[] files = listRevisionFiles(dir);
         if (files == null || files.length == 0) {
             return null;
         }
@@ -170,7 +170,7 @@ public class IncrementalFileSystemPersistenceStore implements IncrementalPersist
     private void cleanOldRevisions(IncrementalSnapshotInfo incrementalSnapshotInfo) {
         if (incrementalSnapshotInfo.getType() != IncrementalSnapshotInfo.SnapshotType.INCREMENT) {
             File dir = new File(folder + File.separator + incrementalSnapshotInfo.getSiddhiAppId());
-            File[] files = dir.listFiles();
+            File[] files = listRevisionFiles(dir);
             if (files != null) {
                 long baseTimeStamp = (incrementalSnapshotInfo.getTime());
                 for (File file : files) {
@@ -200,4 +200,8 @@ public class IncrementalFileSystemPersistenceStore implements IncrementalPersist
             }
         }
     }
+
+    private File[] listRevisionFiles(File directory) {
+        return directory.listFiles(file -> !PersistenceFileUtil.isTemporary(file.getName()));
+    }
 }
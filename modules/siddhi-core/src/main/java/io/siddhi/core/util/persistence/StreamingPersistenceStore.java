@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.util.persistence;
+
+import java.io.InputStream;
+
+/**
+ * Persistence Store that saves and loads the snapshots as streams. Snapshots persisted to this store are written
+ * directly to the store, instead of being copied into a single byte array first. The serialized states of the
+ * individual elements are still held in memory while the snapshot is written.
+ */
+public interface StreamingPersistenceStore extends PersistenceStore {
+
+    /**
+     * Saves the snapshot written by the given writer. The revision should only become visible to
+     * {@link #getLastRevision(String)} once the snapshot is completely written.
+     *
+     * @param siddhiAppId    name of the Siddhi App
+     * @param revision       revision of the snapshot
+     * @param snapshotWriter writer of the snapshot
+     * @throws io.siddhi.core.exception.PersistenceStoreException if the snapshot cannot be serialized or saved
+     */
+    void save(String siddhiAppId, String revision, SnapshotWriter snapshotWriter);
+
+    /**
+     * Opens the snapshot of the given revision for reading. The caller is responsible for closing the stream.
+     *
+     * @param siddhiAppId name of the Siddhi App
+     * @param revision    revision of the snapshot
+     * @return stream of the snapshot, or null if the revision cannot be loaded
+     */
+    InputStream loadAsStream(String siddhiAppId, String revision);
+
+}
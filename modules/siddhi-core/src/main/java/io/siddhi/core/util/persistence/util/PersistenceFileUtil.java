@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.util.persistence.util;
+
+import io.siddhi.core.util.persistence.SnapshotWriter;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Utility methods used by the file system persistence stores to write and read the snapshot files.
+ */
+public final class PersistenceFileUtil {
+
+    private static final String TEMPORARY_FILE_SUFFIX = ".tmp";
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+    private static final long MAPPED_REGION_SIZE = 64 * 1024 * 1024;
+
+    private PersistenceFileUtil() {
+    }
+
+    /**
+     * Writes the snapshot to a temporary file next to the given file, syncs it to the disk once it is completely
+     * written, and then atomically renames it to the given file and syncs the directory holding it, such that the
+     * rename also survives a crash. Hence readers either see the previous revision or the complete new revision, and
+     * a failed write does not leave a partial revision behind.
+     *
+     * @param file           file to write the snapshot
+     * @param snapshotWriter writer of the snapshot
+     * @throws IOException if the snapshot cannot be written
+     */
+    public static void write(File file, SnapshotWriter snapshotWriter) throws IOException {
+        Path target = file.toPath();
+        Path directory = target.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = target.resolveSibling(file.getName() + TEMPORARY_FILE_SUFFIX);
+        boolean written = false;
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                OutputStream outputStream = new BufferedOutputStream(Channels.newOutputStream(channel),
+                        WRITE_BUFFER_SIZE);
+                snapshotWriter.writeTo(outputStream);
+                outputStream.flush();
+                channel.force(true);
+            }
+            try {
+                Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE,
+                        StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            written = true;
+            syncDirectory(directory);
+        } finally {
+            if (!written) {
+                Files.deleteIfExists(temporary);
+            }
+        }
+    }
+
+    private static void syncDirectory(Path directory) throws IOException {
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(directory, StandardOpenOption.READ);
+        } catch (IOException e) {
+            // Directories cannot be opened on some platforms such as Windows, which do not need them to be synced
+            return;
+        }
+        try {
+            channel.force(true);
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Opens the file for reading through memory mapped regions, such that the content is paged in by the operating
+     * system instead of being copied to the heap.
+     *
+     * @param file file to read
+     * @return stream of the file content
+     * @throws IOException if the file cannot be opened
+     */
+    public static InputStream openMapped(File file) throws IOException {
+        return new MappedFileInputStream(FileChannel.open(file.toPath(), StandardOpenOption.READ));
+    }
+
+    /**
+     * @param fileName name of the file
+     * @return whether the file is a snapshot that is still being written
+     */
+    public static boolean isTemporary(String fileName) {
+        return fileName.endsWith(TEMPORARY_FILE_SUFFIX);
+    }
+
+    /**
+     * {@link InputStream} reading a file through memory mapped regions of up to {@link #MAPPED_REGION_SIZE} bytes,
+     * such that files larger than the maximum size of a single mapping can also be read.
+     */
+    private static class MappedFileInputStream extends InputStream {
+        private final FileChannel channel;
+        private final long size;
+        private long position;
+        private MappedByteBuffer region;
+
+        private MappedFileInputStream(FileChannel channel) throws IOException {
+            this.channel = channel;
+            this.size = channel.size();
+        }
+
+        private boolean ensureRegion() throws IOException {
+            if (region != null && region.hasRemaining()) {
+                return true;
+            }
+            if (position >= size) {
+                return false;
+            }
+            long regionSize = Math.min(MAPPED_REGION_SIZE, size - position);
+            region = channel.map(FileChannel.MapMode.READ_ONLY, position, regionSize);
+            position += regionSize;
+            return true;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (!ensureRegion()) {
+                return -1;
+            }
+            return region.get() & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            if (!ensureRegion()) {
+                return -1;
+            }
+            int readLength = Math.min(length, region.remaining());
+            region.get(bytes, offset, readLength);
+            return readLength;
+        }
+
+        @Override
+        public int available() {
+            long available = (region == null ? 0 : region.remaining()) + size - position;
+            return (int) Math.min(available, Integer.MAX_VALUE);
+        }
+
+        @Override
+        public void close() throws IOException {
+            region = null;
+            channel.close();
+        }
+    }
+}
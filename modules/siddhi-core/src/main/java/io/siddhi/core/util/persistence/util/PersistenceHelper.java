@@ -21,6 +21,7 @@ package io.siddhi.core.util.persistence.util;
 import io.siddhi.core.config.SiddhiAppContext;
 import io.siddhi.core.exception.PersistenceStoreException;
 import io.siddhi.core.util.SiddhiConstants;
+import io.siddhi.core.util.persistence.SnapshotWriter;
 import io.siddhi.core.util.snapshot.AsyncIncrementalSnapshotPersistor;
 import io.siddhi.core.util.snapshot.AsyncSnapshotPersistor;
 import io.siddhi.core.util.snapshot.IncrementalSnapshot;
@@ -52,6 +53,10 @@ public final class PersistenceHelper {
     }
 
     public static PersistenceReference persist(byte[] serializeObj, SiddhiAppContext siddhiAppContext) {
+        return persist(outputStream -> outputStream.write(serializeObj), siddhiAppContext);
+    }
+
+    public static PersistenceReference persist(SnapshotWriter serializeObj, SiddhiAppContext siddhiAppContext) {
         long revisionTime = System.currentTimeMillis();
         // start the snapshot persisting task asynchronously
         AsyncSnapshotPersistor asyncSnapshotPersistor = new AsyncSnapshotPersistor(serializeObj,
@@ -62,6 +67,16 @@ public final class PersistenceHelper {
     }
 
     public static PersistenceReference persist(IncrementalSnapshot serializeObj, SiddhiAppContext siddhiAppContext) {
+        try {
+            return persistIncrements(serializeObj, siddhiAppContext);
+        } catch (RuntimeException e) {
+            serializeObj.markCapturedStatesModified();
+            throw e;
+        }
+    }
+
+    private static PersistenceReference persistIncrements(IncrementalSnapshot serializeObj,
+                                                          SiddhiAppContext siddhiAppContext) {
         long revisionTime = System.currentTimeMillis();
         List<Future> incrementalFutures = new ArrayList<>();
         //Periodic state
@@ -76,7 +91,7 @@ public final class PersistenceHelper {
                             new IncrementalSnapshotInfo(siddhiAppContext.getName(), partitionId, items[1], items[2],
                                     revisionTime, IncrementalSnapshotInfo.SnapshotType.PERIODIC, items[0]));
                     Future future = siddhiAppContext.getExecutorService().
-                            submit(asyncIncrementSnapshotPersistor);
+                            submit(markModifiedOnFailure(asyncIncrementSnapshotPersistor, serializeObj));
                     incrementalFutures.add(future);
                 });
             });
@@ -93,7 +108,7 @@ public final class PersistenceHelper {
                             new IncrementalSnapshotInfo(siddhiAppContext.getName(), partitionId, items[1], items[2],
                                     revisionTime, IncrementalSnapshotInfo.SnapshotType.BASE, items[0]));
                     Future future = siddhiAppContext.getExecutorService().
-                            submit(asyncIncrementSnapshotPersistor);
+                            submit(markModifiedOnFailure(asyncIncrementSnapshotPersistor, serializeObj));
                     incrementalFutures.add(future);
                 });
             });
@@ -111,7 +126,7 @@ public final class PersistenceHelper {
                             new IncrementalSnapshotInfo(siddhiAppContext.getName(), partitionId, items[1], items[2],
                                     revisionTime, IncrementalSnapshotInfo.SnapshotType.INCREMENT, items[0]));
                     Future future = siddhiAppContext.getExecutorService().
-                            submit(asyncIncrementSnapshotPersistor);
+                            submit(markModifiedOnFailure(asyncIncrementSnapshotPersistor, serializeObj));
                     incrementalFutures.add(future);
                 });
             });
@@ -119,4 +134,16 @@ public final class PersistenceHelper {
         return new PersistenceReference(incrementalFutures,
                 revisionTime + PersistenceConstants.REVISION_SEPARATOR + siddhiAppContext.getName());
     }
+
+    private static Runnable markModifiedOnFailure(AsyncIncrementalSnapshotPersistor persistor,
+                                                  IncrementalSnapshot snapshot) {
+        return () -> {
+            try {
+                persistor.run();
+            } catch (RuntimeException e) {
+                snapshot.markCapturedStatesModified();
+                throw e;
+            }
+        };
+    }
 }
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.util.sketch;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * HyperLogLog sketch estimating the number of distinct values offered to it, using a fixed number of registers
+ * chosen based on the expected relative error.
+ */
+public class HyperLogLog implements Serializable {
+    private static final long serialVersionUID = 6457312470926377491L;
+    private static final int MIN_PRECISION = 4;
+    private static final int MAX_PRECISION = 18;
+    private final int precision;
+    private final byte[] registers;
+    // Kept up to date on offer, so that estimating does not need a pass over all the registers
+    private double inverseSum;
+    private int zeroRegisters;
+
+    public HyperLogLog(double relativeError) {
+        this.precision = precisionOf(relativeError);
+        this.registers = new byte[1 << precision];
+        this.inverseSum = registers.length;
+        this.zeroRegisters = registers.length;
+    }
+
+    /**
+     * Returns the number of index bits needed such that the standard error of the estimate, 1.04/sqrt(2^precision),
+     * is within the given relative error.
+     *
+     * @param relativeError expected relative error of the estimate
+     * @return the precision
+     */
+    public static int precisionOf(double relativeError) {
+        int precision = (int) Math.ceil(2 * (Math.log(1.04 / relativeError) / Math.log(2)));
+        return Math.max(MIN_PRECISION, Math.min(MAX_PRECISION, precision));
+    }
+
+    public void offer(Object value) {
+        if (value == null) {
+            return;
+        }
+        long hash = hash(value);
+        int index = (int) (hash >>> (Long.SIZE - precision));
+        // Guard bit bounds the rank when all the remaining bits are zero
+        long remainder = (hash << precision) | (1L << (precision - 1));
+        byte rank = (byte) (Long.numberOfLeadingZeros(remainder) + 1);
+        byte current = registers[index];
+        if (current < rank) {
+            if (current == 0) {
+                zeroRegisters--;
+            }
+            inverseSum += 1.0 / (1L << rank) - 1.0 / (1L << current);
+            registers[index] = rank;
+        }
+    }
+
+    public long estimate() {
+        int registerCount = registers.length;
+        double estimate = alpha(registerCount) * registerCount * registerCount / inverseSum;
+        if (estimate <= 2.5 * registerCount && zeroRegisters > 0) {
+            // Linear counting is more accurate for small cardinalities
+            estimate = registerCount * Math.log((double) registerCount / zeroRegisters);
+        }
+        return Math.round(estimate);
+    }
+
+    public boolean isEmpty() {
+        return zeroRegisters == registers.length;
+    }
+
+    public void clear() {
+        Arrays.fill(registers, (byte) 0);
+        inverseSum = registers.length;
+        zeroRegisters = registers.length;
+    }
+
+    public int getPrecision() {
+        return precision;
+    }
+
+    private static double alpha(int registerCount) {
+        switch (registerCount) {
+            case 16:
+                return 0.673;
+            case 32:
+                return 0.697;
+            case 64:
+                return 0.709;
+            default:
+                return 0.7213 / (1 + 1.079 / registerCount);
+        }
+    }
+
+    /**
+     * 64 bit hash of the value; 32 bit hash codes collide too often for hundreds of millions of distinct values.
+     */
+    static long hash(Object value) {
+        if (value instanceof String) {
+            String string = (String) value;
+            long hash = 0xcbf29ce484222325L;
+            for (int i = 0; i < string.length(); i++) {
+                hash = (hash ^ string.charAt(i)) * 0x100000001b3L;
+            }
+            return mix(hash);
+        } else if (value instanceof Double) {
+            return mix(Double.doubleToLongBits((Double) value));
+        } else if (value instanceof Float) {
+            return mix(Float.floatToIntBits((Float) value));
+        } else if (value instanceof Number) {
+            return mix(((Number) value).longValue());
+        } else if (value instanceof Boolean) {
+            return mix((Boolean) value ? 1 : 0);
+        } else {
+            return mix(value.hashCode());
+        }
+    }
+
+    private static long mix(long value) {
+        long mixed = value + 0x9e3779b97f4a7c15L;
+        mixed = (mixed ^ (mixed >>> 30)) * 0xbf58476d1ce4e5b9L;
+        mixed = (mixed ^ (mixed >>> 27)) * 0x94d049bb133111ebL;
+        return mixed ^ (mixed >>> 31);
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.util.sketch;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Space-Saving sketch counting the most frequent keys offered to it using a fixed number of counters.
+ * <p>
+ * With capacity k, every key occurring more than N/k times out of N offers is guaranteed to be tracked, and the
+ * count of a tracked key overestimates its true frequency by at most N/k.
+ *
+ * @param <K> type of the counted keys
+ */
+public class SpaceSavingSketch<K> implements Serializable {
+    private static final long serialVersionUID = -2860335532424826871L;
+    private final int capacity;
+    private final Map<K, Counter<K>> counters = new HashMap<>();
+    private final TreeSet<Counter<K>> orderedCounters = new TreeSet<>();
+    private long totalCount;
+    private long sequence;
+
+    public SpaceSavingSketch(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Counts an occurrence of the given key.
+     *
+     * @param key the key
+     * @return the key that stopped being tracked to make room for the given key, or null if none
+     */
+    public K offer(K key) {
+        totalCount++;
+        Counter<K> counter = counters.get(key);
+        if (counter != null) {
+            orderedCounters.remove(counter);
+            counter.count++;
+            counter.sequence = sequence++;
+            orderedCounters.add(counter);
+            return null;
+        }
+        K evictedKey = null;
+        if (counters.size() < capacity) {
+            counter = new Counter<>(key, 1, 0, sequence++);
+        } else {
+            // Newcomer inherits the count of the least frequent key, which bounds its overestimation
+            Counter<K> minCounter = orderedCounters.pollFirst();
+            counters.remove(minCounter.key);
+            evictedKey = minCounter.key;
+            counter = new Counter<>(key, minCounter.count + 1, minCounter.count, sequence++);
+        }
+        counters.put(key, counter);
+        orderedCounters.add(counter);
+        return evictedKey;
+    }
+
+    /**
+     * @param key the key
+     * @return the estimated count of the key, which is never below its true count, or 0 if it is not tracked
+     */
+    public long estimateCount(K key) {
+        Counter<K> counter = counters.get(key);
+        return counter == null ? 0 : counter.count;
+    }
+
+    /**
+     * @param key the key
+     * @return the maximum overestimation of the count of the key, or 0 if it is not tracked
+     */
+    public long getMaxError(K key) {
+        Counter<K> counter = counters.get(key);
+        return counter == null ? 0 : counter.error;
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    public int size() {
+        return counters.size();
+    }
+
+    public void clear() {
+        counters.clear();
+        orderedCounters.clear();
+        totalCount = 0;
+    }
+
+    private static class Counter<K> implements Comparable<Counter<K>>, Serializable {
+        private static final long serialVersionUID = 4097516587474413185L;
+        private final K key;
+        private final long error;
+        private long count;
+        private long sequence;
+
+        Counter(K key, long count, long error, long sequence) {
+            this.key = key;
+            this.count = count;
+            this.error = error;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(Counter<K> other) {
+            int result = Long.compare(count, other.count);
+            return result != 0 ? result : Long.compare(sequence, other.sequence);
+        }
+    }
+}
@@ -19,16 +19,22 @@
 package io.siddhi.core.util.snapshot;
 
 import io.siddhi.core.exception.NoPersistenceStoreException;
+import io.siddhi.core.exception.PersistenceStoreException;
 import io.siddhi.core.util.persistence.PersistenceStore;
+import io.siddhi.core.util.persistence.SnapshotWriter;
+import io.siddhi.core.util.persistence.StreamingPersistenceStore;
 import io.siddhi.core.util.persistence.util.PersistenceConstants;
 import org.apache.log4j.Logger;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
 /**
  * {@link Runnable} which is responsible for persisting the snapshots that are taken
  */
 public class AsyncSnapshotPersistor implements Runnable {
     private static final Logger log = Logger.getLogger(AsyncSnapshotPersistor.class);
-    private byte[] snapshots;
+    private SnapshotWriter snapshots;
     private PersistenceStore persistenceStore;
     private String siddhiAppName;
     private String revision;
@@ -36,6 +42,17 @@ public class AsyncSnapshotPersistor implements Runnable {
 
     public AsyncSnapshotPersistor(byte[] snapshots, PersistenceStore persistenceStore,
                                   String siddhiAppName, long time) {
+        this(outputStream -> outputStream.write(snapshots), persistenceStore, siddhiAppName, time);
+    }
+
+    /**
+     * @param snapshots        writer of the serialized snapshot, invoked on the persisting thread
+     * @param persistenceStore persistence store to save the snapshot
+     * @param siddhiAppName    name of the Siddhi App
+     * @param time             revision time of the snapshot
+     */
+    public AsyncSnapshotPersistor(SnapshotWriter snapshots, PersistenceStore persistenceStore,
+                                  String siddhiAppName, long time) {
         if (persistenceStore == null) {
             throw new NoPersistenceStoreException("No persistence store assigned for siddhi app '" +
                     siddhiAppName + "'");
@@ -57,7 +74,18 @@ public class AsyncSnapshotPersistor implements Runnable {
             if (log.isDebugEnabled()) {
                 log.debug("Persisting...");
             }
-            persistenceStore.save(siddhiAppName, revision, snapshots);
+            if (persistenceStore instanceof StreamingPersistenceStore) {
+                ((StreamingPersistenceStore) persistenceStore).save(siddhiAppName, revision, snapshots);
+            } else {
+                ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+                try {
+                    snapshots.writeTo(outputStream);
+                } catch (IOException e) {
+                    throw new PersistenceStoreException("Cannot save the revision " + revision + " of SiddhiApp: " +
+                            siddhiAppName + ", as its snapshot cannot be serialized.", e);
+                }
+                persistenceStore.save(siddhiAppName, revision, outputStream.toByteArray());
+            }
             if (log.isDebugEnabled()) {
                 log.debug("Persisted.");
             }
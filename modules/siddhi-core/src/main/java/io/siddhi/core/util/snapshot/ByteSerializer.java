@@ -22,14 +22,13 @@ import io.siddhi.core.config.SiddhiAppContext;
 import io.siddhi.core.util.ExceptionUtil;
 import org.apache.log4j.Logger;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
 
 /**
- * Serializer used by {@link SnapshotService} to do Object to Byte[] conversion and vise-versa
+ * Serializer used by {@link SnapshotService} to do Object to Byte[] conversion and vise-versa, using the
+ * {@link io.siddhi.core.util.snapshot.serializer.StateSerializer} of the Siddhi Manager
  */
 public class ByteSerializer {
     private static final Logger log = Logger.getLogger(ByteSerializer.class);
@@ -42,10 +41,7 @@ public class ByteSerializer {
         byte[] out = null;
         if (obj != null) {
             try {
-                ByteArrayOutputStream baos = new ByteArrayOutputStream();
-                ObjectOutputStream oos = new ObjectOutputStream(baos);
-                oos.writeObject(obj);
-                out = baos.toByteArray();
+                out = siddhiAppContext.getSiddhiContext().getStateSerializer().serialize(obj);
             } catch (IOException e) {
                 log.error(ExceptionUtil.getMessageWithContext(e, siddhiAppContext) +
                         " Error when writing byte array.", e);
@@ -59,14 +55,25 @@ public class ByteSerializer {
         return out;
     }
 
+    /**
+     * Writes the serialized object to the stream, without buffering the whole serialized object in memory.
+     */
+    public static void objectToStream(Object obj, OutputStream outputStream, SiddhiAppContext siddhiAppContext)
+            throws IOException {
+        long start = System.currentTimeMillis();
+        siddhiAppContext.getSiddhiContext().getStateSerializer().serialize(obj, outputStream);
+        long end = System.currentTimeMillis();
+        if (log.isDebugEnabled()) {
+            log.debug("For SiddhiApp '" + siddhiAppContext.getName() + "'. Encoded in :" + (end - start) + " msec");
+        }
+    }
+
     public static Object byteToObject(byte[] bytes, SiddhiAppContext siddhiAppContext) {
         long start = System.currentTimeMillis();
         Object out = null;
         if (bytes != null) {
             try {
-                ByteArrayInputStream bios = new ByteArrayInputStream(bytes);
-                ObjectInputStream ois = new ObjectInputStream(bios);
-                out = ois.readObject();
+                out = siddhiAppContext.getSiddhiContext().getStateSerializer().deserialize(bytes);
             } catch (IOException e) {
                 log.error(ExceptionUtil.getMessageWithContext(e, siddhiAppContext) +
                         " Error when writing to object.", e);
@@ -83,4 +90,21 @@ public class ByteSerializer {
         }
         return out;
     }
+
+    public static Object streamToObject(InputStream inputStream, SiddhiAppContext siddhiAppContext) {
+        long start = System.currentTimeMillis();
+        Object out;
+        try {
+            out = siddhiAppContext.getSiddhiContext().getStateSerializer().deserialize(inputStream);
+        } catch (IOException | ClassNotFoundException e) {
+            log.error(ExceptionUtil.getMessageWithContext(e, siddhiAppContext) +
+                    " Error when reading the object from stream.", e);
+            return null;
+        }
+        long end = System.currentTimeMillis();
+        if (log.isDebugEnabled()) {
+            log.debug("SiddhiApp '" + siddhiAppContext.getName() + "' decoded in: " + (end - start) + " milliseconds");
+        }
+        return out;
+    }
 }
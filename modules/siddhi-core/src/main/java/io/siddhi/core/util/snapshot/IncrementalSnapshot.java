@@ -18,6 +18,10 @@
 
 package io.siddhi.core.util.snapshot;
 
+import io.siddhi.core.util.snapshot.state.State;
+
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -27,7 +31,7 @@ public class IncrementalSnapshot {
     private Map<String, Map<String, byte[]>> incrementalState;
     private Map<String, Map<String, byte[]>> incrementalStateBase;
     private Map<String, Map<String, byte[]>> periodicState;
-
+    private List<State> capturedStates = new ArrayList<>();
 
     public Map<String, Map<String, byte[]>> getIncrementalState() {
         return incrementalState;
@@ -53,6 +57,20 @@ public class IncrementalSnapshot {
         this.periodicState = periodicState;
     }
 
+    public void addCapturedState(State state) {
+        capturedStates.add(state);
+    }
+
+    /**
+     * Marks the states captured by this snapshot as modified, such that the next incremental snapshot captures them
+     * again when this snapshot could not be persisted.
+     */
+    public void markCapturedStatesModified() {
+        for (State state : capturedStates) {
+            state.markModified();
+        }
+    }
+
     @Override
     public String toString() {
         return "IncrementalSnapshot{" +
@@ -26,6 +26,8 @@ import io.siddhi.core.exception.SiddhiAppRuntimeException;
 import io.siddhi.core.util.ThreadBarrier;
 import io.siddhi.core.util.persistence.IncrementalPersistenceStore;
 import io.siddhi.core.util.persistence.PersistenceStore;
+import io.siddhi.core.util.persistence.SnapshotWriter;
+import io.siddhi.core.util.persistence.StreamingPersistenceStore;
 import io.siddhi.core.util.persistence.util.IncrementalSnapshotInfo;
 import io.siddhi.core.util.persistence.util.PersistenceConstants;
 import io.siddhi.core.util.persistence.util.PersistenceHelper;
@@ -33,8 +35,16 @@ import io.siddhi.core.util.snapshot.state.Snapshot;
 import io.siddhi.core.util.snapshot.state.SnapshotStateList;
 import io.siddhi.core.util.snapshot.state.State;
 import io.siddhi.core.util.snapshot.state.StateHolder;
+import io.siddhi.core.util.statistics.LatencyTracker;
+import io.siddhi.core.util.statistics.metrics.Level;
 import org.apache.log4j.Logger;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -42,6 +52,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Service level implementation to take/restore snapshots of processing elements.
@@ -54,6 +70,8 @@ public class SnapshotService {
     private final ThreadBarrier threadBarrier;
     private ConcurrentHashMap<String, PartitionIdStateHolder> partitionIdStates;
     private SiddhiAppContext siddhiAppContext;
+    private LatencyTracker pauseLatencyTracker;
+    private volatile long lastPauseDuration;
 
     public SnapshotService(SiddhiAppContext siddhiAppContext) {
         this.siddhiAppContext = siddhiAppContext;
@@ -88,26 +106,48 @@ public class SnapshotService {
     }
 
     public byte[] fullSnapshot() {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try {
+            captureFullSnapshot().writeTo(outputStream);
+        } catch (IOException e) {
+            log.error("Taking snapshot of Siddhi app '" + siddhiAppContext.getName() + "' failed.", e);
+            return null;
+        }
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Captures the full snapshot of the Siddhi App. When non-blocking snapshots are enabled the processing threads
+     * are only held while the state is copied, and the serialization is deferred to the returned writer.
+     *
+     * @return writer of the serialized snapshot
+     */
+    public SnapshotWriter captureFullSnapshot() {
         try {
             SnapshotRequest.requestForFullSnapshot(true);
             Map<String, Map<String, Map<String, Map<String, Map<String, Object>>>>> fullSnapshot = new HashMap<>();
-            byte[] serializedFullState = null;
+            boolean nonBlocking = siddhiAppContext.isNonBlockingSnapshot();
+            StateCapturer stateCapturer = nonBlocking ? new StateCapturer(siddhiAppContext) : null;
+            Map<String, Map<String, Map<String, Map<String, byte[]>>>> serializedFullState = null;
             if (log.isDebugEnabled()) {
                 log.debug("Taking snapshot ...");
             }
+            long pauseStartTime = System.nanoTime();
             try {
                 threadBarrier.lock();
+                markPauseIn();
                 waitForSystemStabilization();
                 for (Map.Entry<String, PartitionIdStateHolder> partitionIdState : partitionIdStates.entrySet()) {
                     for (Map.Entry<String, ElementStateHolder> queryState :
                             partitionIdState.getValue().queryStateHolderMap.entrySet()) {
                         for (Map.Entry<String, StateHolder> elementState :
                                 queryState.getValue().elementHolderMap.entrySet()) {
-                            Map<String, Map<String, State>> partitionKeyStates = elementState.getValue().getAllStates();
+                            Map<String, Map<Object, State>> partitionKeyStates =
+                                    elementState.getValue().getAllStatesForSnapshot();
                             try {
-                                for (Map.Entry<String, Map<String, State>> partitionKeyState :
+                                for (Map.Entry<String, Map<Object, State>> partitionKeyState :
                                         partitionKeyStates.entrySet()) {
-                                    for (Map.Entry<String, State> groupByKeyState :
+                                    for (Map.Entry<Object, State> groupByKeyState :
                                             partitionKeyState.getValue().entrySet()) {
                                         String partitionAndGroupByKey = partitionKeyState.getKey() + "--" +
                                                 groupByKeyState.getKey();
@@ -128,10 +168,12 @@ public class SnapshotService {
                                                                 + "' groupByKey:'" + groupByKeyState.getKey()
                                                                 + "' and itemKey:'" + itemState.getKey() + "'");
                                                     } else {
-                                                        itemSnapshots.put(itemState.getKey(), itemState.getValue());
+                                                        itemSnapshots.put(itemState.getKey(),
+                                                                capture(stateCapturer, itemState.getValue()));
                                                     }
                                                 } else {
-                                                    itemSnapshots.put(itemState.getKey(), itemState.getValue());
+                                                    itemSnapshots.put(itemState.getKey(),
+                                                            capture(stateCapturer, itemState.getValue()));
                                                 }
                                             }
                                             Map<String, Map<String, Map<String, Map<String, Object>>>>
@@ -167,49 +209,65 @@ public class SnapshotService {
                         }
                     }
                 }
-                if (log.isDebugEnabled()) {
-                    log.debug("Snapshot serialization started ...");
-                }
-                serializedFullState = ByteSerializer.objectToByte(fullSnapshot, siddhiAppContext);
-                if (log.isDebugEnabled()) {
-                    log.debug("Snapshot serialization finished.");
+                if (!nonBlocking) {
+                    serializedFullState = serializeElements(fullSnapshot);
                 }
             } finally {
+                markPauseOut(pauseStartTime);
                 threadBarrier.unlock();
             }
             if (log.isDebugEnabled()) {
                 log.debug("Snapshot taken for Siddhi app '" + siddhiAppContext.getName() + "'");
             }
-            return serializedFullState;
+            if (nonBlocking) {
+                return outputStream -> writeSnapshot(serializeElements(fullSnapshot), outputStream);
+            }
+            Map<String, Map<String, Map<String, Map<String, byte[]>>>> serializedState = serializedFullState;
+            return outputStream -> writeSnapshot(serializedState, outputStream);
         } finally {
             SnapshotRequest.requestForFullSnapshot(false);
         }
     }
 
     public IncrementalSnapshot incrementalSnapshot() {
+        IncrementalSnapshot snapshot = new IncrementalSnapshot();
         try {
             SnapshotRequest.requestForFullSnapshot(false);
-            Map<String, Map<String, byte[]>> incrementalSnapshotMap = new HashMap<>();
-            Map<String, Map<String, byte[]>> incrementalBaseSnapshotMap = new HashMap<>();
-            Map<String, Map<String, byte[]>> periodicSnapshotMap = new HashMap<>();
+            Map<String, Map<String, Map<String, Object>>> incrementalSnapshotMap = new HashMap<>();
+            Map<String, Map<String, Map<String, Object>>> incrementalBaseSnapshotMap = new HashMap<>();
+            Map<String, Map<String, Map<String, Object>>> periodicSnapshotMap = new HashMap<>();
+            boolean nonBlocking = siddhiAppContext.isNonBlockingSnapshot();
+            StateCapturer stateCapturer = nonBlocking ? new StateCapturer(siddhiAppContext) : null;
             if (log.isDebugEnabled()) {
                 log.debug("Taking snapshot ...");
             }
+            long pauseStartTime = System.nanoTime();
             try {
                 threadBarrier.lock();
+                markPauseIn();
                 waitForSystemStabilization();
                 for (Map.Entry<String, PartitionIdStateHolder> partitionIdState : partitionIdStates.entrySet()) {
                     for (Map.Entry<String, ElementStateHolder> queryState :
                             partitionIdState.getValue().queryStateHolderMap.entrySet()) {
                         for (Map.Entry<String, StateHolder> elementState :
                                 queryState.getValue().elementHolderMap.entrySet()) {
-                            Map<String, Map<String, State>> partitionKeyStates = elementState.getValue().getAllStates();
+                            Map<String, Map<Object, State>> partitionKeyStates =
+                                    elementState.getValue().getAllStatesForSnapshot();
+                            boolean modificationTracked = elementState.getValue().isModificationTracked();
                             try {
-                                for (Map.Entry<String, Map<String, State>> partitionKeyState :
+                                for (Map.Entry<String, Map<Object, State>> partitionKeyState :
                                         partitionKeyStates.entrySet()) {
-                                    for (Map.Entry<String, State> groupByKeyState :
+                                    for (Map.Entry<Object, State> groupByKeyState :
                                             partitionKeyState.getValue().entrySet()) {
                                         State state = groupByKeyState.getValue();
+                                        if (modificationTracked) {
+                                            if (!state.isModified()) {
+                                                // Snapshot taken previously is still valid
+                                                continue;
+                                            }
+                                            state.clearModified();
+                                            snapshot.addCapturedState(state);
+                                        }
                                         Map<String, Object> itemStates = state.snapshot();
                                         if (itemStates != null) {
                                             Map<String, Object> itemSnapshotsIncremental = new HashMap<>();
@@ -219,13 +277,14 @@ public class SnapshotService {
                                                 if (itemState.getValue() instanceof Snapshot) {
                                                     if (((Snapshot) itemState.getValue()).isIncrementalSnapshot()) {
                                                         itemSnapshotsIncremental.put(itemState.getKey(),
-                                                                itemState.getValue());
+                                                                capture(stateCapturer, itemState.getValue()));
                                                     } else {
-                                                        itemSnapshotsIncrementalBase.put(
-                                                                itemState.getKey(), itemState.getValue());
+                                                        itemSnapshotsIncrementalBase.put(itemState.getKey(),
+                                                                capture(stateCapturer, itemState.getValue()));
                                                     }
                                                 } else {
-                                                    itemSnapshotsPeriodic.put(itemState.getKey(), itemState.getValue());
+                                                    itemSnapshotsPeriodic.put(itemState.getKey(),
+                                                            capture(stateCapturer, itemState.getValue()));
                                                 }
                                             }
                                             if (!itemSnapshotsIncremental.isEmpty()) {
@@ -252,45 +311,226 @@ public class SnapshotService {
                         }
                     }
                 }
-
+                if (!nonBlocking) {
+                    serializeIncrements(snapshot, incrementalSnapshotMap, incrementalBaseSnapshotMap,
+                            periodicSnapshotMap);
+                }
             } finally {
+                markPauseOut(pauseStartTime);
                 threadBarrier.unlock();
             }
+            if (nonBlocking) {
+                serializeIncrements(snapshot, incrementalSnapshotMap, incrementalBaseSnapshotMap,
+                        periodicSnapshotMap);
+            }
             if (log.isDebugEnabled()) {
                 log.debug("Snapshot taken for Siddhi app '" + siddhiAppContext.getName() + "'");
             }
-            IncrementalSnapshot snapshot = new IncrementalSnapshot();
-            if (!incrementalSnapshotMap.isEmpty()) {
-                snapshot.setIncrementalState(incrementalSnapshotMap);
-            }
-            if (!incrementalBaseSnapshotMap.isEmpty()) {
-                snapshot.setIncrementalStateBase(incrementalBaseSnapshotMap);
-            }
-            if (!periodicSnapshotMap.isEmpty()) {
-                snapshot.setPeriodicState(periodicSnapshotMap);
-            }
             return snapshot;
+        } catch (RuntimeException e) {
+            snapshot.markCapturedStatesModified();
+            throw e;
         } finally {
             SnapshotRequest.requestForFullSnapshot(false);
         }
     }
 
-    private void addToSnapshotIncrements(Map<String, Map<String, byte[]>> incrementalSnapshotMap,
+    private void addToSnapshotIncrements(Map<String, Map<String, Map<String, Object>>> incrementalSnapshotMap,
                                          Map.Entry<String, PartitionIdStateHolder> partitionIdState,
                                          Map.Entry<String, ElementStateHolder> queryState,
                                          Map.Entry<String, StateHolder> elementState,
-                                         Map.Entry<String, Map<String, State>> partitionKeyState,
-                                         Map.Entry<String, State> groupByKeyState,
+                                         Map.Entry<String, Map<Object, State>> partitionKeyState,
+                                         Map.Entry<Object, State> groupByKeyState,
                                          Map<String, Object> itemSnapshotsIncremental) {
         String id = partitionKeyState.getKey() + "--" + groupByKeyState.getKey() +
                 PersistenceConstants.REVISION_SEPARATOR + queryState.getKey() +
                 PersistenceConstants.REVISION_SEPARATOR + elementState.getKey();
-        Map<String, byte[]> partitionIdSnapshot =
+        Map<String, Map<String, Object>> partitionIdSnapshot =
                 incrementalSnapshotMap.computeIfAbsent(
                         partitionIdState.getKey(),
                         k -> new HashMap<>());
-        partitionIdSnapshot.put(id, ByteSerializer.objectToByte(
-                itemSnapshotsIncremental, siddhiAppContext));
+        partitionIdSnapshot.put(id, itemSnapshotsIncremental);
+    }
+
+    private void serializeIncrements(IncrementalSnapshot snapshot,
+                                     Map<String, Map<String, Map<String, Object>>> incrementalSnapshotMap,
+                                     Map<String, Map<String, Map<String, Object>>> incrementalBaseSnapshotMap,
+                                     Map<String, Map<String, Map<String, Object>>> periodicSnapshotMap) {
+        if (!incrementalSnapshotMap.isEmpty()) {
+            snapshot.setIncrementalState(serializeIncrements(incrementalSnapshotMap));
+        }
+        if (!incrementalBaseSnapshotMap.isEmpty()) {
+            snapshot.setIncrementalStateBase(serializeIncrements(incrementalBaseSnapshotMap));
+        }
+        if (!periodicSnapshotMap.isEmpty()) {
+            snapshot.setPeriodicState(serializeIncrements(periodicSnapshotMap));
+        }
+    }
+
+    private Map<String, Map<String, byte[]>> serializeIncrements(
+            Map<String, Map<String, Map<String, Object>>> snapshotMap) {
+        List<Map<String, byte[]>> serializedItemMaps = new ArrayList<>();
+        List<String> ids = new ArrayList<>();
+        List<Map<String, Object>> itemSnapshots = new ArrayList<>();
+        Map<String, Map<String, byte[]>> serializedSnapshotMap = new HashMap<>();
+        for (Map.Entry<String, Map<String, Map<String, Object>>> partitionIdSnapshot : snapshotMap.entrySet()) {
+            Map<String, byte[]> serializedPartitionIdSnapshot = new HashMap<>();
+            serializedSnapshotMap.put(partitionIdSnapshot.getKey(), serializedPartitionIdSnapshot);
+            for (Map.Entry<String, Map<String, Object>> itemSnapshot : partitionIdSnapshot.getValue().entrySet()) {
+                serializedItemMaps.add(serializedPartitionIdSnapshot);
+                ids.add(itemSnapshot.getKey());
+                itemSnapshots.add(itemSnapshot.getValue());
+            }
+        }
+        List<byte[]> serializedItemSnapshots = serializeAll(itemSnapshots);
+        for (int i = 0; i < serializedItemSnapshots.size(); i++) {
+            serializedItemMaps.get(i).put(ids.get(i), serializedItemSnapshots.get(i));
+        }
+        return serializedSnapshotMap;
+    }
+
+    /**
+     * Serializes the snapshot of each element separately, such that they can be serialized in parallel.
+     *
+     * @return the map of the serialized element snapshots, or null if an element cannot be serialized
+     */
+    private Map<String, Map<String, Map<String, Map<String, byte[]>>>> serializeElements(
+            Map<String, Map<String, Map<String, Map<String, Map<String, Object>>>>> fullSnapshot) {
+        if (log.isDebugEnabled()) {
+            log.debug("Snapshot serialization started ...");
+        }
+        List<Map<String, byte[]>> serializedQuerySnapshots = new ArrayList<>();
+        List<String> elementIds = new ArrayList<>();
+        List<Map<String, Object>> elementSnapshots = new ArrayList<>();
+        Map<String, Map<String, Map<String, Map<String, byte[]>>>> serializedFullSnapshot = new HashMap<>();
+        for (Map.Entry<String, Map<String, Map<String, Map<String, Map<String, Object>>>>> partitionIdSnapshot :
+                fullSnapshot.entrySet()) {
+            Map<String, Map<String, Map<String, byte[]>>> serializedPartitionIdSnapshot = new HashMap<>();
+            serializedFullSnapshot.put(partitionIdSnapshot.getKey(), serializedPartitionIdSnapshot);
+            for (Map.Entry<String, Map<String, Map<String, Map<String, Object>>>> partitionGroupByKeySnapshot :
+                    partitionIdSnapshot.getValue().entrySet()) {
+                Map<String, Map<String, byte[]>> serializedPartitionGroupByKeySnapshot = new HashMap<>();
+                serializedPartitionIdSnapshot.put(partitionGroupByKeySnapshot.getKey(),
+                        serializedPartitionGroupByKeySnapshot);
+                for (Map.Entry<String, Map<String, Map<String, Object>>> querySnapshot :
+                        partitionGroupByKeySnapshot.getValue().entrySet()) {
+                    Map<String, byte[]> serializedQuerySnapshot = new HashMap<>();
+                    serializedPartitionGroupByKeySnapshot.put(querySnapshot.getKey(), serializedQuerySnapshot);
+                    for (Map.Entry<String, Map<String, Object>> elementSnapshot :
+                            querySnapshot.getValue().entrySet()) {
+                        serializedQuerySnapshots.add(serializedQuerySnapshot);
+                        elementIds.add(elementSnapshot.getKey());
+                        elementSnapshots.add(elementSnapshot.getValue());
+                    }
+                }
+            }
+        }
+        List<byte[]> serializedElementSnapshots = serializeAll(elementSnapshots);
+        for (int i = 0; i < serializedElementSnapshots.size(); i++) {
+            if (serializedElementSnapshots.get(i) == null) {
+                return null;
+            }
+            serializedQuerySnapshots.get(i).put(elementIds.get(i), serializedElementSnapshots.get(i));
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Snapshot serialization finished.");
+        }
+        return serializedFullSnapshot;
+    }
+
+    private void writeSnapshot(Map<String, Map<String, Map<String, Map<String, byte[]>>>> serializedFullSnapshot,
+                               OutputStream outputStream) throws IOException {
+        if (serializedFullSnapshot == null) {
+            throw new IOException("Serialization of the snapshot of Siddhi app '" + siddhiAppContext.getName() +
+                    "' failed.");
+        }
+        ByteSerializer.objectToStream(serializedFullSnapshot, outputStream, siddhiAppContext);
+    }
+
+    private List<byte[]> serializeAll(List<?> states) {
+        return mapInParallel(states, state -> ByteSerializer.objectToByte(state, siddhiAppContext));
+    }
+
+    private List<Object> deserializeAll(List<byte[]> serializedStates) {
+        return mapInParallel(serializedStates, bytes -> ByteSerializer.byteToObject(bytes, siddhiAppContext));
+    }
+
+    /**
+     * Applies the function to the items in parallel, using the calling thread and the executor service of the
+     * Siddhi App, and returns the results in the order of the items.
+     */
+    private <T, R> List<R> mapInParallel(List<T> items, Function<T, R> function) {
+        int parallelism = Math.min(items.size(), Runtime.getRuntime().availableProcessors());
+        if (parallelism < 2) {
+            return items.stream().map(function).collect(Collectors.toList());
+        }
+        List<R> results = new ArrayList<>(Collections.nCopies(items.size(), null));
+        List<Future<?>> futures = new ArrayList<>(parallelism - 1);
+        for (int i = 1; i < parallelism; i++) {
+            int offset = i;
+            Runnable task = () -> map(items, function, results, offset, parallelism);
+            try {
+                futures.add(siddhiAppContext.getExecutorService().submit(task));
+            } catch (RejectedExecutionException e) {
+                // Siddhi App is shutting down
+                task.run();
+            }
+        }
+        map(items, function, results, 0, parallelism);
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SiddhiAppRuntimeException("Serialization of the snapshot of Siddhi App " +
+                    siddhiAppContext.getName() + " interrupted. " + e.getMessage(), e);
+        } catch (ExecutionException e) {
+            throw new SiddhiAppRuntimeException("Serialization of the snapshot of Siddhi App " +
+                    siddhiAppContext.getName() + " failed. " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    private static <T, R> void map(List<T> items, Function<T, R> function, List<R> results, int offset,
+                                   int stride) {
+        for (int i = offset; i < items.size(); i += stride) {
+            results.set(i, function.apply(items.get(i)));
+        }
+    }
+
+    private static Object capture(StateCapturer stateCapturer, Object itemState) {
+        return stateCapturer == null ? itemState : stateCapturer.capture(itemState);
+    }
+
+    private void markPauseIn() {
+        if (pauseLatencyTracker != null &&
+                Level.BASIC.compareTo(siddhiAppContext.getRootMetricsLevel()) <= 0) {
+            pauseLatencyTracker.markIn();
+        }
+    }
+
+    private void markPauseOut(long pauseStartTime) {
+        if (pauseLatencyTracker != null &&
+                Level.BASIC.compareTo(siddhiAppContext.getRootMetricsLevel()) <= 0) {
+            pauseLatencyTracker.markOut();
+        }
+        lastPauseDuration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - pauseStartTime);
+        if (log.isDebugEnabled()) {
+            log.debug("Processing of Siddhi app '" + siddhiAppContext.getName() + "' paused " +
+                    lastPauseDuration + " msec for snapshot");
+        }
+    }
+
+    /**
+     * @return time in milliseconds the processing threads were held by the last snapshot
+     */
+    public long getLastPauseDuration() {
+        return lastPauseDuration;
+    }
+
+    public void setPauseLatencyTracker(LatencyTracker pauseLatencyTracker) {
+        this.pauseLatencyTracker = pauseLatencyTracker;
     }
 
     public Map<String, Object> queryState(String queryName) {
@@ -304,11 +544,12 @@ public class SnapshotService {
                 ElementStateHolder elementStateHolder = partitionIdStateHolder.queryStateHolderMap.get(queryName);
                 if (elementStateHolder != null) {
                     for (Map.Entry<String, StateHolder> elementState : elementStateHolder.elementHolderMap.entrySet()) {
-                        Map<String, Map<String, State>> partitionKeyStates = elementState.getValue().getAllStates();
+                        Map<String, Map<Object, State>> partitionKeyStates =
+                                elementState.getValue().getAllStatesForSnapshot();
                         try {
-                            for (Map.Entry<String, Map<String, State>> partitionKeyState :
+                            for (Map.Entry<String, Map<Object, State>> partitionKeyState :
                                     partitionKeyStates.entrySet()) {
-                                for (Map.Entry<String, State> groupByKeyState :
+                                for (Map.Entry<Object, State> groupByKeyState :
                                         partitionKeyState.getValue().entrySet()) {
                                     String id = partitionKeyState.getKey() + "--" + groupByKeyState.getKey() + "_"
                                             + queryName + "_" + elementState.getKey();
@@ -335,9 +576,26 @@ public class SnapshotService {
             throw new CannotRestoreSiddhiAppStateException("Restoring of Siddhi app " + siddhiAppContext.
                     getName() + " failed due to no snapshot.");
         }
-        Map<String, Map<String, Map<String, Map<String, Map<String, Object>>>>> fullSnapshot =
-                (Map<String, Map<String, Map<String, Map<String, Map<String, Object>>>>>)
-                        ByteSerializer.byteToObject(snapshot, siddhiAppContext);
+        restoreFullSnapshot(deserialize(ByteSerializer.byteToObject(snapshot, siddhiAppContext)));
+    }
+
+    /**
+     * Restores the snapshot read from the stream, without buffering the whole serialized snapshot in memory.
+     * The stream is not closed.
+     *
+     * @param snapshot stream of the serialized snapshot
+     * @throws CannotRestoreSiddhiAppStateException if the snapshot cannot be restored
+     */
+    public void restore(InputStream snapshot) throws CannotRestoreSiddhiAppStateException {
+        if (snapshot == null) {
+            throw new CannotRestoreSiddhiAppStateException("Restoring of Siddhi app " + siddhiAppContext.
+                    getName() + " failed due to no snapshot.");
+        }
+        restoreFullSnapshot(deserialize(ByteSerializer.streamToObject(snapshot, siddhiAppContext)));
+    }
+
+    private void restoreFullSnapshot(Map<String, Map<String, Map<String, Map<String, Map<String, Object>>>>>
+                                             fullSnapshot) throws CannotRestoreSiddhiAppStateException {
         if (fullSnapshot == null) {
             throw new CannotRestoreSiddhiAppStateException("Restoring of Siddhi app " + siddhiAppContext.
                     getName() + " failed due to invalid snapshot.");
@@ -429,6 +687,44 @@ public class SnapshotService {
         }
     }
 
+    /**
+     * Deserializes the full snapshot, deserializing the snapshots of the elements in parallel. Snapshots taken
+     * before the elements were serialized separately are returned as they are.
+     */
+    private Map<String, Map<String, Map<String, Map<String, Map<String, Object>>>>> deserialize(Object snapshot) {
+        @SuppressWarnings("unchecked")
+        Map<String, Map<String, Map<String, Map<String, Object>>>> fullSnapshot =
+                (Map<String, Map<String, Map<String, Map<String, Object>>>>) snapshot;
+        if (fullSnapshot == null) {
+            return null;
+        }
+        List<Map.Entry<String, Object>> serializedElementSnapshots = new ArrayList<>();
+        for (Map<String, Map<String, Map<String, Object>>> partitionIdSnapshot : fullSnapshot.values()) {
+            for (Map<String, Map<String, Object>> partitionGroupByKeySnapshot : partitionIdSnapshot.values()) {
+                for (Map<String, Object> querySnapshot : partitionGroupByKeySnapshot.values()) {
+                    for (Map.Entry<String, Object> elementSnapshot : querySnapshot.entrySet()) {
+                        if (elementSnapshot.getValue() instanceof byte[]) {
+                            serializedElementSnapshots.add(elementSnapshot);
+                        }
+                    }
+                }
+            }
+        }
+        List<Object> elementSnapshots = deserializeAll(serializedElementSnapshots.stream()
+                .map(elementSnapshot -> (byte[]) elementSnapshot.getValue()).collect(Collectors.toList()));
+        for (int i = 0; i < elementSnapshots.size(); i++) {
+            if (elementSnapshots.get(i) == null) {
+                return null;
+            }
+            serializedElementSnapshots.get(i).setValue(elementSnapshots.get(i));
+        }
+        // The element snapshots were replaced by their deserialized maps
+        @SuppressWarnings("unchecked")
+        Map<String, Map<String, Map<String, Map<String, Map<String, Object>>>>> deserializedSnapshot =
+                (Map) fullSnapshot;
+        return deserializedSnapshot;
+    }
+
     public void restore(Map<String, Map<String, Map<String, Map<Long, Map<IncrementalSnapshotInfo, byte[]>>>>>
                                 snapshot)
             throws CannotRestoreSiddhiAppStateException {
@@ -604,6 +900,25 @@ public class SnapshotService {
         }
     }
 
+    private void restoreStreamingRevision(StreamingPersistenceStore persistenceStore, String revision)
+            throws CannotRestoreSiddhiAppStateException {
+        try (InputStream snapshot = persistenceStore.loadAsStream(siddhiAppContext.getName(), revision)) {
+            if (snapshot == null) {
+                if (log.isDebugEnabled()) {
+                    log.debug("No data found for revision: " + revision);
+                }
+                throw new PersistenceStoreException("No data found for revision: " + revision);
+            }
+            restore(snapshot);
+            if (log.isDebugEnabled()) {
+                log.debug("Restored revision: " + revision);
+            }
+        } catch (IOException e) {
+            throw new CannotRestoreSiddhiAppStateException("Restoring of Siddhi app " + siddhiAppContext.getName() +
+                    " failed when reading revision " + revision + ".", e);
+        }
+    }
+
     public void restoreRevision(String revision) throws CannotRestoreSiddhiAppStateException {
         PersistenceStore persistenceStore = siddhiAppContext.getSiddhiContext().getPersistenceStore();
         IncrementalPersistenceStore incrementalPersistenceStore =
@@ -613,6 +928,10 @@ public class SnapshotService {
             if (log.isDebugEnabled()) {
                 log.debug("Restoring revision: " + revision + " ...");
             }
+            if (persistenceStore instanceof StreamingPersistenceStore) {
+                restoreStreamingRevision((StreamingPersistenceStore) persistenceStore, revision);
+                return;
+            }
             byte[] snapshot = persistenceStore.load(siddhiAppContext.getName(), revision);
             if (snapshot != null) {
                 restore(snapshot);
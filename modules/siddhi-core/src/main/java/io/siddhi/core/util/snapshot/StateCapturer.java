@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.util.snapshot;
+
+import io.siddhi.core.config.SiddhiAppContext;
+import io.siddhi.core.event.state.StateEvent;
+import io.siddhi.core.event.stream.Operation;
+import io.siddhi.core.event.stream.StreamEvent;
+import io.siddhi.core.query.selector.GroupByKey;
+import io.siddhi.core.table.holder.IndexEventHolder;
+import io.siddhi.core.util.snapshot.state.Snapshot;
+
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Captures a point in time copy of the state returned by {@link io.siddhi.core.util.snapshot.state.State#snapshot()},
+ * such that the copy can be serialized by {@link ByteSerializer} after the processing threads are released.
+ * <p>
+ * Immutable values are shared, while events, arrays, java.util collections and in memory table data are copied
+ * structurally. Objects reached through these structural copies are copied once, such that the references shared
+ * among them are preserved.
+ * <p>
+ * Any other object is copied through its own Java serialization round trip, which runs under the thread barrier.
+ * Such a copy does not share references with the rest of the captured state, hence an object referred from both
+ * inside and outside it is restored as two separate objects.
+ */
+class StateCapturer {
+
+    private final SiddhiAppContext siddhiAppContext;
+    private final Map<Object, Object> copies = new IdentityHashMap<>();
+
+    StateCapturer(SiddhiAppContext siddhiAppContext) {
+        this.siddhiAppContext = siddhiAppContext;
+    }
+
+    Object capture(Object object) {
+        if (isImmutable(object)) {
+            return object;
+        }
+        Object copy = copies.get(object);
+        if (copy != null) {
+            return copy;
+        }
+        if (object.getClass() == StreamEvent.class) {
+            return captureStreamEvent((StreamEvent) object);
+        } else if (object.getClass() == StateEvent.class) {
+            return captureStateEvent((StateEvent) object);
+        } else if (object instanceof Snapshot) {
+            Snapshot snapshot = (Snapshot) object;
+            copy = new Snapshot(capture(snapshot.getState()), snapshot.isIncrementalSnapshot());
+        } else if (object instanceof IndexEventHolder) {
+            copy = ((IndexEventHolder) object).copy(this::capture);
+        } else if (object instanceof Operation) {
+            Operation operation = (Operation) object;
+            copy = new Operation(operation.operation, capture(operation.parameters));
+        } else if (object instanceof Object[]) {
+            copy = captureArray((Object[]) object);
+        } else if (object.getClass().isArray()) {
+            int length = Array.getLength(object);
+            copy = Array.newInstance(object.getClass().getComponentType(), length);
+            System.arraycopy(object, 0, copy, 0, length);
+        } else if (object instanceof Map && isJavaUtilType(object)) {
+            @SuppressWarnings("unchecked")
+            Map<Object, Object> map = (Map<Object, Object>) object;
+            copy = captureMap(map);
+        } else if (object instanceof Collection && isJavaUtilType(object)) {
+            @SuppressWarnings("unchecked")
+            Collection<Object> collection = (Collection<Object>) object;
+            copy = captureCollection(collection);
+        }
+        if (copy == null) {
+            copy = ByteSerializer.byteToObject(ByteSerializer.objectToByte(object, siddhiAppContext),
+                    siddhiAppContext);
+            if (copy == null) {
+                // Not serializable; keep the reference such that the serialization reports the failure
+                return object;
+            }
+        }
+        copies.put(object, copy);
+        return copy;
+    }
+
+    private static boolean isImmutable(Object object) {
+        return object == null || object instanceof String || object instanceof Boolean ||
+                object instanceof Character || object instanceof Enum || object instanceof GroupByKey ||
+                object instanceof Integer || object instanceof Long || object instanceof Double ||
+                object instanceof Float || object instanceof Short || object instanceof Byte ||
+                object instanceof BigInteger || object instanceof BigDecimal;
+    }
+
+    private static boolean isJavaUtilType(Object object) {
+        return object.getClass().getName().startsWith("java.util.");
+    }
+
+    private Object[] captureArray(Object[] array) {
+        Object[] copy = (Object[]) Array.newInstance(array.getClass().getComponentType(), array.length);
+        copies.put(array, copy);
+        for (int i = 0; i < array.length; i++) {
+            copy[i] = capture(array[i]);
+        }
+        return copy;
+    }
+
+    private Object[] captureData(Object[] data) {
+        return data == null ? null : captureArray(data);
+    }
+
+    private StreamEvent captureStreamEvent(StreamEvent streamEvent) {
+        StreamEvent first = null;
+        StreamEvent previous = null;
+        for (StreamEvent event = streamEvent; event != null; event = event.getNext()) {
+            StreamEvent copy = (StreamEvent) copies.get(event);
+            boolean captured = copy != null;
+            if (!captured) {
+                copy = new StreamEvent(0, 0, 0);
+                copies.put(event, copy);
+                copy.setBeforeWindowData(captureData(event.getBeforeWindowData()));
+                copy.setOnAfterWindowData(captureData(event.getOnAfterWindowData()));
+                copy.setOutputData(captureData(event.getOutputData()));
+                copy.setTimestamp(event.getTimestamp());
+                copy.setType(event.getType());
+            }
+            if (previous == null) {
+                first = copy;
+            } else {
+                previous.setNext(copy);
+            }
+            if (captured) {
+                // Rest of the chain is already captured
+                break;
+            }
+            previous = copy;
+        }
+        return first;
+    }
+
+    private StateEvent captureStateEvent(StateEvent stateEvent) {
+        StateEvent first = null;
+        StateEvent previous = null;
+        for (StateEvent event = stateEvent; event != null; event = event.getNext()) {
+            StateEvent copy = (StateEvent) copies.get(event);
+            boolean captured = copy != null;
+            if (!captured) {
+                StreamEvent[] streamEvents = event.getStreamEvents();
+                Object[] outputData = event.getOutputData();
+                copy = new StateEvent(streamEvents.length, outputData.length);
+                copies.put(event, copy);
+                for (int i = 0; i < streamEvents.length; i++) {
+                    copy.setEvent(i, (StreamEvent) capture(streamEvents[i]));
+                }
+                for (int i = 0; i < outputData.length; i++) {
+                    copy.setOutputData(capture(outputData[i]), i);
+                }
+                copy.setTimestamp(event.getTimestamp());
+                copy.setType(event.getType());
+                copy.setId(event.getId());
+            }
+            if (previous == null) {
+                first = copy;
+            } else {
+                previous.setNext(copy);
+            }
+            if (captured) {
+                break;
+            }
+            previous = copy;
+        }
+        return first;
+    }
+
+    private Map<Object, Object> captureMap(Map<Object, Object> map) {
+        Map<Object, Object> copy;
+        if (map instanceof TreeMap) {
+            copy = new TreeMap<>(((SortedMap<Object, Object>) map).comparator());
+        } else {
+            @SuppressWarnings("unchecked")
+            Map<Object, Object> instance = (Map<Object, Object>) newInstance(map);
+            if (instance == null) {
+                return null;
+            }
+            copy = instance;
+        }
+        copies.put(map, copy);
+        for (Map.Entry<Object, Object> entry : map.entrySet()) {
+            copy.put(capture(entry.getKey()), capture(entry.getValue()));
+        }
+        return copy;
+    }
+
+    private Collection<Object> captureCollection(Collection<Object> collection) {
+        Collection<Object> copy;
+        if (collection instanceof TreeSet) {
+            copy = new TreeSet<>(((SortedSet<Object>) collection).comparator());
+        } else if (collection instanceof PriorityQueue) {
+            copy = new PriorityQueue<>(Math.max(1, collection.size()),
+                    ((PriorityQueue<Object>) collection).comparator());
+        } else {
+            @SuppressWarnings("unchecked")
+            Collection<Object> instance = (Collection<Object>) newInstance(collection);
+            if (instance == null) {
+                return null;
+            }
+            copy = instance;
+        }
+        copies.put(collection, copy);
+        for (Object element : collection) {
+            copy.add(capture(element));
+        }
+        return copy;
+    }
+
+    private static Object newInstance(Object object) {
+        try {
+            return object.getClass().getConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            // Wrapped and fixed size collections are captured through serialization
+            return null;
+        }
+    }
+}
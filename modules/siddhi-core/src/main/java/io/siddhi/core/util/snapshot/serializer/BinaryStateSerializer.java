@@ -0,0 +1,674 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.util.snapshot.serializer;
+
+import io.siddhi.core.event.ComplexEvent;
+import io.siddhi.core.event.state.StateEvent;
+import io.siddhi.core.event.stream.Operation;
+import io.siddhi.core.event.stream.StreamEvent;
+import io.siddhi.core.query.selector.GroupByKey;
+import io.siddhi.core.util.snapshot.state.Snapshot;
+import io.siddhi.core.util.snapshot.state.SnapshotStateList;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.PushbackInputStream;
+import java.io.StreamCorruptedException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Compact binary {@link StateSerializer}.
+ * <p>
+ * Events, Siddhi attribute values, group by keys, snapshots and the commonly used java.util collections are written
+ * with a one byte type tag followed by their content, without class descriptors. Objects referred from multiple
+ * places of the state are written once and referred by their handle afterwards. Repeated strings, such as the
+ * attribute values of the events in a window, are also written only once.
+ * <p>
+ * Any other object is embedded using Java serialization, through a single object stream per snapshot that also
+ * carries the tagged content. Hence class descriptors are written once per snapshot, and the references shared
+ * among the embedded objects are preserved. An object referred both from the tagged content and from within an
+ * embedded object is restored as two separate objects.
+ * <p>
+ * The output can optionally be compressed with Deflate. Snapshots serialized with {@link JavaStateSerializer} can be
+ * restored by this serializer, so existing revisions remain readable after switching to it.
+ */
+public class BinaryStateSerializer implements StateSerializer {
+
+    private static final byte[] MAGIC = {'S', 'B'};
+    private static final byte VERSION = 1;
+    private static final byte COMPRESSION_NONE = 0;
+    private static final byte COMPRESSION_DEFLATE = 1;
+    private static final byte JAVA_SERIALIZATION_MAGIC_0 = (byte) 0xAC;
+    private static final byte JAVA_SERIALIZATION_MAGIC_1 = (byte) 0xED;
+
+    private static final byte NULL = 0;
+    private static final byte REFERENCE = 1;
+    private static final byte STRING = 2;
+    private static final byte INTEGER = 3;
+    private static final byte LONG = 4;
+    private static final byte DOUBLE = 5;
+    private static final byte FLOAT = 6;
+    private static final byte BOOLEAN = 7;
+    private static final byte SHORT = 8;
+    private static final byte BYTE = 9;
+    private static final byte CHARACTER = 10;
+    private static final byte BYTE_ARRAY = 11;
+    private static final byte OBJECT_ARRAY = 12;
+    private static final byte HASH_MAP = 13;
+    private static final byte LINKED_HASH_MAP = 14;
+    private static final byte TREE_MAP = 15;
+    private static final byte CONCURRENT_HASH_MAP = 16;
+    private static final byte ARRAY_LIST = 17;
+    private static final byte LINKED_LIST = 18;
+    private static final byte HASH_SET = 19;
+    private static final byte LINKED_HASH_SET = 20;
+    private static final byte TREE_SET = 21;
+    private static final byte STREAM_EVENT = 22;
+    private static final byte STATE_EVENT = 23;
+    private static final byte SNAPSHOT = 24;
+    private static final byte SNAPSHOT_STATE_LIST = 25;
+    private static final byte OPERATION = 26;
+    private static final byte SERIALIZABLE = 27;
+    private static final byte STRING_REFERENCE = 28;
+    private static final byte GROUP_BY_KEY = 29;
+    private static final byte LONG_GROUP_BY_KEY = 30;
+
+    private static final byte END_OF_CHAIN = 0;
+    private static final byte NEXT_EVENT = 1;
+    private static final byte NEXT_REFERENCE = 2;
+
+    private static final ComplexEvent.Type[] EVENT_TYPES = ComplexEvent.Type.values();
+    private static final Operation.Operator[] OPERATORS = Operation.Operator.values();
+
+    private final boolean compress;
+    private final JavaStateSerializer javaStateSerializer = new JavaStateSerializer();
+
+    public BinaryStateSerializer() {
+        this(false);
+    }
+
+    /**
+     * @param compress whether the serialized state should be compressed with Deflate
+     */
+    public BinaryStateSerializer(boolean compress) {
+        this.compress = compress;
+    }
+
+    @Override
+    public byte[] serialize(Object state) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        serialize(state, baos);
+        return baos.toByteArray();
+    }
+
+    @Override
+    public void serialize(Object state, OutputStream outputStream) throws IOException {
+        outputStream.write(MAGIC);
+        outputStream.write(VERSION);
+        outputStream.write(compress ? COMPRESSION_DEFLATE : COMPRESSION_NONE);
+        Deflater deflater = compress ? new Deflater(Deflater.BEST_SPEED) : null;
+        try {
+            DeflaterOutputStream deflaterOutputStream = compress ?
+                    new DeflaterOutputStream(outputStream, deflater) : null;
+            ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(
+                    compress ? deflaterOutputStream : outputStream));
+            new Writer(out).write(state);
+            out.flush();
+            if (deflaterOutputStream != null) {
+                deflaterOutputStream.finish();
+            }
+        } finally {
+            if (deflater != null) {
+                deflater.end();
+            }
+        }
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws IOException, ClassNotFoundException {
+        return deserialize(new ByteArrayInputStream(bytes));
+    }
+
+    @Override
+    public Object deserialize(InputStream inputStream) throws IOException, ClassNotFoundException {
+        PushbackInputStream pushbackInputStream = new PushbackInputStream(inputStream, 2);
+        byte[] header = new byte[4];
+        readHeader(pushbackInputStream, header, 0, 2);
+        if (header[0] == JAVA_SERIALIZATION_MAGIC_0 && header[1] == JAVA_SERIALIZATION_MAGIC_1) {
+            pushbackInputStream.unread(header, 0, 2);
+            return javaStateSerializer.deserialize(pushbackInputStream);
+        }
+        if (header[0] != MAGIC[0] || header[1] != MAGIC[1]) {
+            throw new StreamCorruptedException("Invalid header of the serialized state");
+        }
+        readHeader(pushbackInputStream, header, 2, 2);
+        if (header[2] != VERSION) {
+            throw new StreamCorruptedException("Unsupported version '" + header[2] + "' of the serialized state");
+        }
+        Inflater inflater = null;
+        InputStream contentInputStream = pushbackInputStream;
+        if (header[3] == COMPRESSION_DEFLATE) {
+            inflater = new Inflater();
+            contentInputStream = new InflaterInputStream(pushbackInputStream, inflater);
+        } else if (header[3] != COMPRESSION_NONE) {
+            throw new StreamCorruptedException("Unsupported compression '" + header[3] + "' of the serialized state");
+        }
+        try {
+            return new Reader(new ObjectInputStream(new BufferedInputStream(contentInputStream))).read();
+        } finally {
+            if (inflater != null) {
+                inflater.end();
+            }
+        }
+    }
+
+    private static void readHeader(InputStream inputStream, byte[] header, int offset, int length)
+            throws IOException {
+        try {
+            new DataInputStream(inputStream).readFully(header, offset, length);
+        } catch (EOFException e) {
+            throw new StreamCorruptedException("Invalid header of the serialized state");
+        }
+    }
+
+    private class Writer {
+        private final ObjectOutputStream out;
+        private final Map<Object, Integer> handles = new IdentityHashMap<>();
+        private final Map<String, Integer> strings = new HashMap<>();
+
+        private Writer(ObjectOutputStream out) {
+            this.out = out;
+        }
+
+        private void write(Object object) throws IOException {
+            if (object == null) {
+                out.writeByte(NULL);
+                return;
+            }
+            Class<?> clazz = object.getClass();
+            if (clazz == String.class) {
+                Integer stringHandle = strings.putIfAbsent((String) object, strings.size());
+                if (stringHandle != null) {
+                    out.writeByte(STRING_REFERENCE);
+                    out.writeInt(stringHandle);
+                } else {
+                    out.writeByte(STRING);
+                    writeString((String) object);
+                }
+            } else if (clazz == Integer.class) {
+                out.writeByte(INTEGER);
+                out.writeInt((Integer) object);
+            } else if (clazz == Long.class) {
+                out.writeByte(LONG);
+                out.writeLong((Long) object);
+            } else if (clazz == Double.class) {
+                out.writeByte(DOUBLE);
+                out.writeDouble((Double) object);
+            } else if (clazz == Float.class) {
+                out.writeByte(FLOAT);
+                out.writeFloat((Float) object);
+            } else if (clazz == Boolean.class) {
+                out.writeByte(BOOLEAN);
+                out.writeBoolean((Boolean) object);
+            } else if (clazz == Short.class) {
+                out.writeByte(SHORT);
+                out.writeShort((Short) object);
+            } else if (clazz == Byte.class) {
+                out.writeByte(BYTE);
+                out.writeByte((Byte) object);
+            } else if (clazz == Character.class) {
+                out.writeByte(CHARACTER);
+                out.writeChar((Character) object);
+            } else {
+                Integer handle = handles.get(object);
+                if (handle != null) {
+                    out.writeByte(REFERENCE);
+                    out.writeInt(handle);
+                    return;
+                }
+                handles.put(object, handles.size());
+                writeObject(object, clazz);
+            }
+        }
+
+        private void writeObject(Object object, Class<?> clazz) throws IOException {
+            if (clazz == StreamEvent.class) {
+                out.writeByte(STREAM_EVENT);
+                writeStreamEvent((StreamEvent) object);
+            } else if (clazz == StateEvent.class) {
+                out.writeByte(STATE_EVENT);
+                writeStateEvent((StateEvent) object);
+            } else if (clazz == Object[].class) {
+                out.writeByte(OBJECT_ARRAY);
+                writeArray((Object[]) object);
+            } else if (clazz == byte[].class) {
+                out.writeByte(BYTE_ARRAY);
+                out.writeInt(((byte[]) object).length);
+                out.write((byte[]) object);
+            } else if (clazz == Snapshot.class) {
+                out.writeByte(SNAPSHOT);
+                out.writeBoolean(((Snapshot) object).isIncrementalSnapshot());
+                write(((Snapshot) object).getState());
+            } else if (clazz == SnapshotStateList.class) {
+                out.writeByte(SNAPSHOT_STATE_LIST);
+                writeMap(((SnapshotStateList) object).getSnapshotStates());
+            } else if (clazz == Operation.class) {
+                out.writeByte(OPERATION);
+                Operation operation = (Operation) object;
+                out.writeByte(operation.operation == null ? -1 : operation.operation.ordinal());
+                write(operation.parameters);
+            } else if (clazz == HashMap.class) {
+                out.writeByte(HASH_MAP);
+                writeMap((Map) object);
+            } else if (clazz == LinkedHashMap.class) {
+                out.writeByte(LINKED_HASH_MAP);
+                writeMap((Map) object);
+            } else if (clazz == ConcurrentHashMap.class) {
+                out.writeByte(CONCURRENT_HASH_MAP);
+                writeMap((Map) object);
+            } else if (clazz == TreeMap.class && ((TreeMap) object).comparator() == null) {
+                out.writeByte(TREE_MAP);
+                writeMap((Map) object);
+            } else if (clazz == ArrayList.class) {
+                out.writeByte(ARRAY_LIST);
+                writeCollection((Collection) object);
+            } else if (clazz == LinkedList.class) {
+                out.writeByte(LINKED_LIST);
+                writeCollection((Collection) object);
+            } else if (clazz == HashSet.class) {
+                out.writeByte(HASH_SET);
+                writeCollection((Collection) object);
+            } else if (clazz == LinkedHashSet.class) {
+                out.writeByte(LINKED_HASH_SET);
+                writeCollection((Collection) object);
+            } else if (clazz == TreeSet.class && ((TreeSet) object).comparator() == null) {
+                out.writeByte(TREE_SET);
+                writeCollection((Collection) object);
+            } else if (object instanceof GroupByKey) {
+                Object[] values = ((GroupByKey) object).getValues();
+                if (values == null) {
+                    out.writeByte(LONG_GROUP_BY_KEY);
+                    out.writeLong(((GroupByKey) object).getLongValue());
+                } else {
+                    out.writeByte(GROUP_BY_KEY);
+                    writeArray(values);
+                }
+            } else {
+                out.writeByte(SERIALIZABLE);
+                out.writeObject(object);
+            }
+        }
+
+        private void writeString(String value) throws IOException {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+
+        private void writeArray(Object[] array) throws IOException {
+            if (array == null) {
+                out.writeInt(-1);
+                return;
+            }
+            out.writeInt(array.length);
+            for (Object element : array) {
+                write(element);
+            }
+        }
+
+        private void writeMap(Map<?, ?> map) throws IOException {
+            out.writeInt(map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                write(entry.getKey());
+                write(entry.getValue());
+            }
+        }
+
+        private void writeCollection(Collection<?> collection) throws IOException {
+            out.writeInt(collection.size());
+            for (Object element : collection) {
+                write(element);
+            }
+        }
+
+        private void writeStreamEvent(StreamEvent streamEvent) throws IOException {
+            writeEventContent(streamEvent);
+            // Chains are written iteratively as they can be as long as the window
+            StreamEvent next = streamEvent.getNext();
+            while (next != null) {
+                Integer handle = handles.get(next);
+                if (handle != null) {
+                    out.writeByte(NEXT_REFERENCE);
+                    out.writeInt(handle);
+                    return;
+                }
+                out.writeByte(NEXT_EVENT);
+                handles.put(next, handles.size());
+                writeEventContent(next);
+                next = next.getNext();
+            }
+            out.writeByte(END_OF_CHAIN);
+        }
+
+        private void writeEventContent(StreamEvent streamEvent) throws IOException {
+            writeArray(streamEvent.getBeforeWindowData());
+            writeArray(streamEvent.getOnAfterWindowData());
+            writeArray(streamEvent.getOutputData());
+            out.writeByte(streamEvent.getType() == null ? -1 : streamEvent.getType().ordinal());
+            out.writeLong(streamEvent.getTimestamp());
+        }
+
+        private void writeStateEvent(StateEvent stateEvent) throws IOException {
+            writeStateEventContent(stateEvent);
+            StateEvent next = stateEvent.getNext();
+            while (next != null) {
+                Integer handle = handles.get(next);
+                if (handle != null) {
+                    out.writeByte(NEXT_REFERENCE);
+                    out.writeInt(handle);
+                    return;
+                }
+                out.writeByte(NEXT_EVENT);
+                handles.put(next, handles.size());
+                writeStateEventContent(next);
+                next = next.getNext();
+            }
+            out.writeByte(END_OF_CHAIN);
+        }
+
+        private void writeStateEventContent(StateEvent stateEvent) throws IOException {
+            StreamEvent[] streamEvents = stateEvent.getStreamEvents();
+            Object[] outputData = stateEvent.getOutputData();
+            out.writeInt(streamEvents.length);
+            out.writeInt(outputData.length);
+            for (StreamEvent streamEvent : streamEvents) {
+                write(streamEvent);
+            }
+            for (Object value : outputData) {
+                write(value);
+            }
+            out.writeByte(stateEvent.getType() == null ? -1 : stateEvent.getType().ordinal());
+            out.writeLong(stateEvent.getTimestamp());
+            out.writeLong(stateEvent.getId());
+        }
+    }
+
+    private class Reader {
+        private final ObjectInputStream in;
+        private final List<Object> handles = new ArrayList<>();
+        private final List<String> strings = new ArrayList<>();
+
+        private Reader(ObjectInputStream in) {
+            this.in = in;
+        }
+
+        private Object read() throws IOException, ClassNotFoundException {
+            byte tag = in.readByte();
+            switch (tag) {
+                case NULL:
+                    return null;
+                case REFERENCE:
+                    return handles.get(in.readInt());
+                case STRING: {
+                    String value = readString();
+                    strings.add(value);
+                    return value;
+                }
+                case STRING_REFERENCE:
+                    return strings.get(in.readInt());
+                case INTEGER:
+                    return in.readInt();
+                case LONG:
+                    return in.readLong();
+                case DOUBLE:
+                    return in.readDouble();
+                case FLOAT:
+                    return in.readFloat();
+                case BOOLEAN:
+                    return in.readBoolean();
+                case SHORT:
+                    return in.readShort();
+                case BYTE:
+                    return in.readByte();
+                case CHARACTER:
+                    return in.readChar();
+                default:
+                    return readObject(tag);
+            }
+        }
+
+        private Object readObject(byte tag) throws IOException, ClassNotFoundException {
+            int handle = handles.size();
+            handles.add(null);
+            switch (tag) {
+                case STREAM_EVENT:
+                    return readStreamEvent(handle);
+                case STATE_EVENT:
+                    return readStateEvent(handle);
+                case OBJECT_ARRAY: {
+                    int length = in.readInt();
+                    Object[] array = new Object[length];
+                    handles.set(handle, array);
+                    for (int i = 0; i < length; i++) {
+                        array[i] = read();
+                    }
+                    return array;
+                }
+                case BYTE_ARRAY: {
+                    byte[] bytes = new byte[in.readInt()];
+                    in.readFully(bytes);
+                    handles.set(handle, bytes);
+                    return bytes;
+                }
+                case SNAPSHOT: {
+                    boolean isIncrementalSnapshot = in.readBoolean();
+                    Snapshot snapshot = new Snapshot(read(), isIncrementalSnapshot);
+                    handles.set(handle, snapshot);
+                    return snapshot;
+                }
+                case SNAPSHOT_STATE_LIST: {
+                    TreeMap<Long, Snapshot> snapshotStates = new TreeMap<>();
+                    SnapshotStateList snapshotStateList = new SnapshotStateList(snapshotStates);
+                    handles.set(handle, snapshotStateList);
+                    readMap(snapshotStates);
+                    return snapshotStateList;
+                }
+                case OPERATION: {
+                    byte operator = in.readByte();
+                    Operation operation = new Operation(operator < 0 ? null : OPERATORS[operator]);
+                    handles.set(handle, operation);
+                    operation.parameters = read();
+                    return operation;
+                }
+                case HASH_MAP:
+                    return readMap(handle, new HashMap<>());
+                case LINKED_HASH_MAP:
+                    return readMap(handle, new LinkedHashMap<>());
+                case CONCURRENT_HASH_MAP:
+                    return readMap(handle, new ConcurrentHashMap<>());
+                case TREE_MAP:
+                    return readMap(handle, new TreeMap<>());
+                case ARRAY_LIST:
+                    return readCollection(handle, new ArrayList<>());
+                case LINKED_LIST:
+                    return readCollection(handle, new LinkedList<>());
+                case HASH_SET:
+                    return readCollection(handle, new HashSet<>());
+                case LINKED_HASH_SET:
+                    return readCollection(handle, new LinkedHashSet<>());
+                case TREE_SET:
+                    return readCollection(handle, new TreeSet<>());
+                case GROUP_BY_KEY: {
+                    GroupByKey groupByKey = GroupByKey.of(readArray());
+                    handles.set(handle, groupByKey);
+                    return groupByKey;
+                }
+                case LONG_GROUP_BY_KEY: {
+                    GroupByKey groupByKey = GroupByKey.of(in.readLong());
+                    handles.set(handle, groupByKey);
+                    return groupByKey;
+                }
+                case SERIALIZABLE: {
+                    Object object = in.readObject();
+                    handles.set(handle, object);
+                    return object;
+                }
+                default:
+                    throw new StreamCorruptedException("Invalid type '" + tag + "' in the serialized state");
+            }
+        }
+
+        private String readString() throws IOException {
+            byte[] bytes = new byte[in.readInt()];
+            in.readFully(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        private Object[] readArray() throws IOException, ClassNotFoundException {
+            int length = in.readInt();
+            if (length < 0) {
+                return null;
+            }
+            Object[] array = new Object[length];
+            for (int i = 0; i < length; i++) {
+                array[i] = read();
+            }
+            return array;
+        }
+
+        private Map<Object, Object> readMap(int handle, Map<Object, Object> map)
+                throws IOException, ClassNotFoundException {
+            handles.set(handle, map);
+            readMap(map);
+            return map;
+        }
+
+        private void readMap(Map map) throws IOException, ClassNotFoundException {
+            int size = in.readInt();
+            for (int i = 0; i < size; i++) {
+                map.put(read(), read());
+            }
+        }
+
+        private Collection<Object> readCollection(int handle, Collection<Object> collection)
+                throws IOException, ClassNotFoundException {
+            handles.set(handle, collection);
+            int size = in.readInt();
+            for (int i = 0; i < size; i++) {
+                collection.add(read());
+            }
+            return collection;
+        }
+
+        private StreamEvent readStreamEvent(int handle) throws IOException, ClassNotFoundException {
+            StreamEvent first = new StreamEvent(0, 0, 0);
+            handles.set(handle, first);
+            readEventContent(first);
+            StreamEvent previous = first;
+            byte marker = in.readByte();
+            while (marker == NEXT_EVENT) {
+                StreamEvent next = new StreamEvent(0, 0, 0);
+                handles.add(next);
+                readEventContent(next);
+                previous.setNext(next);
+                previous = next;
+                marker = in.readByte();
+            }
+            if (marker == NEXT_REFERENCE) {
+                previous.setNext((StreamEvent) handles.get(in.readInt()));
+            }
+            return first;
+        }
+
+        private void readEventContent(StreamEvent streamEvent) throws IOException, ClassNotFoundException {
+            streamEvent.setBeforeWindowData(readArray());
+            streamEvent.setOnAfterWindowData(readArray());
+            streamEvent.setOutputData(readArray());
+            byte type = in.readByte();
+            streamEvent.setType(type < 0 ? null : EVENT_TYPES[type]);
+            streamEvent.setTimestamp(in.readLong());
+        }
+
+        private StateEvent readStateEvent(int handle) throws IOException, ClassNotFoundException {
+            StateEvent first = readStateEventContent(handle);
+            StateEvent previous = first;
+            byte marker = in.readByte();
+            while (marker == NEXT_EVENT) {
+                StateEvent next = readStateEventContent(-1);
+                previous.setNext(next);
+                previous = next;
+                marker = in.readByte();
+            }
+            if (marker == NEXT_REFERENCE) {
+                previous.setNext((StateEvent) handles.get(in.readInt()));
+            }
+            return first;
+        }
+
+        /**
+         * @param handle reserved handle of the event, or -1 to add one as the event is part of a chain
+         */
+        private StateEvent readStateEventContent(int handle) throws IOException, ClassNotFoundException {
+            int streamEventsSize = in.readInt();
+            int outputSize = in.readInt();
+            StateEvent stateEvent = new StateEvent(streamEventsSize, outputSize);
+            if (handle < 0) {
+                handles.add(stateEvent);
+            } else {
+                handles.set(handle, stateEvent);
+            }
+            for (int i = 0; i < streamEventsSize; i++) {
+                stateEvent.setEvent(i, (StreamEvent) read());
+            }
+            for (int i = 0; i < outputSize; i++) {
+                stateEvent.setOutputData(read(), i);
+            }
+            byte type = in.readByte();
+            stateEvent.setType(type < 0 ? null : EVENT_TYPES[type]);
+            stateEvent.setTimestamp(in.readLong());
+            stateEvent.setId(in.readLong());
+            return stateEvent;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.util.snapshot.serializer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Interface class for State Serializers. State Serializers are used by
+ * {@link io.siddhi.core.util.snapshot.ByteSerializer} to convert the snapshots of Siddhi Apps to bytes before they
+ * are handed over to the persistence stores, and to convert the bytes back when the snapshots are restored.
+ */
+public interface StateSerializer {
+
+    byte[] serialize(Object state) throws IOException;
+
+    Object deserialize(byte[] bytes) throws IOException, ClassNotFoundException;
+
+    /**
+     * Writes the serialized state to the given stream, such that large snapshots can be written to the persistence
+     * store without buffering them in memory. The stream is not closed.
+     *
+     * @param state        state to serialize
+     * @param outputStream stream to write the serialized state
+     * @throws IOException if the state cannot be serialized or written
+     */
+    default void serialize(Object state, OutputStream outputStream) throws IOException {
+        outputStream.write(serialize(state));
+    }
+
+    /**
+     * Reads a state serialized by {@link #serialize(Object, OutputStream)} from the given stream. The stream is
+     * not closed.
+     *
+     * @param inputStream stream to read the serialized state
+     * @return deserialized state
+     * @throws IOException            if the state cannot be read
+     * @throws ClassNotFoundException if a class of the state cannot be found
+     */
+    default Object deserialize(InputStream inputStream) throws IOException, ClassNotFoundException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int length;
+        while ((length = inputStream.read(buffer)) != -1) {
+            baos.write(buffer, 0, length);
+        }
+        return deserialize(baos.toByteArray());
+    }
+
+}
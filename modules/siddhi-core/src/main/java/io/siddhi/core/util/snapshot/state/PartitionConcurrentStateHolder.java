@@ -0,0 +1,257 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.util.snapshot.state;
+
+import io.siddhi.core.config.SiddhiAppContext;
+import io.siddhi.core.exception.SiddhiAppRuntimeException;
+import io.siddhi.core.query.selector.GroupByKey;
+import org.apache.log4j.Logger;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * State holder for partitioned and group by use cases where events of different keys are processed by multiple
+ * threads. States are kept in concurrent maps and the use count of a state is updated atomically with its lookup,
+ * so threads working on different keys do not contend on a holder wide lock.
+ * <p>
+ * Maps returned by {@link #getAllStates()} and {@link #getAllGroupByStates()} are copies, and the states in them
+ * are released through {@link #returnAllStates(Map)} and {@link #returnGroupByStates(Map)}.
+ */
+public class PartitionConcurrentStateHolder implements StateHolder {
+    private static final Logger log = Logger.getLogger(PartitionConcurrentStateHolder.class);
+    private static final Object NULL_KEY = new Object();
+    private final StateFactory stateFactory;
+    private final ConcurrentMap<Object, GroupByStates> states = new ConcurrentHashMap<>();
+
+    public PartitionConcurrentStateHolder(StateFactory stateFactory) {
+        this.stateFactory = stateFactory;
+    }
+
+    @Override
+    public State getState() {
+        Object partitionKey = maskNull(SiddhiAppContext.getPartitionFlowId());
+        Object groupByKey = maskNull(SiddhiAppContext.getGroupByFlowKey());
+        while (true) {
+            GroupByStates groupByStates = states.computeIfAbsent(partitionKey, k -> new GroupByStates());
+            if (partitionKey == NULL_KEY) {
+                // States of the null partition are never retired, hence no need to lock
+                return acquire(groupByStates, groupByKey);
+            }
+            groupByStates.lock.readLock().lock();
+            try {
+                if (!groupByStates.retired) {
+                    return acquire(groupByStates, groupByKey);
+                }
+            } finally {
+                groupByStates.lock.readLock().unlock();
+            }
+        }
+    }
+
+    private State acquire(GroupByStates groupByStates, Object groupByKey) {
+        if (groupByKey instanceof GroupByKey && !groupByStates.states.isEmpty() &&
+                !groupByStates.states.containsKey(groupByKey)) {
+            // States restored from snapshots are keyed by the delimited form of the group key
+            State restoredState = groupByStates.states.remove(groupByKey.toString());
+            if (restoredState != null) {
+                groupByStates.states.putIfAbsent(groupByKey, restoredState);
+            }
+        }
+        return groupByStates.states.compute(groupByKey, (key, state) -> {
+            if (state == null) {
+                state = stateFactory.createNewState();
+            }
+            state.activeUseCount++;
+            state.modified = true;
+            return state;
+        });
+    }
+
+    @Override
+    public void returnState(State state) {
+        release(maskNull(SiddhiAppContext.getPartitionFlowId()),
+                maskNull(SiddhiAppContext.getGroupByFlowKey()), state);
+    }
+
+    private void release(Object partitionKey, Object groupByKey, State state) {
+        GroupByStates groupByStates = states.get(partitionKey);
+        boolean[] released = new boolean[1];
+        if (groupByStates != null) {
+            groupByStates.states.computeIfPresent(groupByKey, (key, currentState) -> {
+                if (currentState != state) {
+                    return currentState;
+                }
+                released[0] = true;
+                state.activeUseCount--;
+                return canDestroy(partitionKey, groupByKey, state) ? null : state;
+            });
+        }
+        if (!released[0]) {
+            state.activeUseCount--;
+            canDestroy(partitionKey, groupByKey, state);
+        }
+        if (groupByStates != null && partitionKey != NULL_KEY && groupByStates.states.isEmpty()) {
+            retire(partitionKey, groupByStates);
+        }
+    }
+
+    private boolean canDestroy(Object partitionKey, Object groupByKey, State state) {
+        if (state.activeUseCount == 0) {
+            try {
+                return state.canDestroy();
+            } catch (Throwable t) {
+                log.error("Dropping partition state for partition key '" + unmaskNull(partitionKey) +
+                        "' and the group by key '" + unmaskNull(groupByKey) + "', due to error! " +
+                        t.getMessage(), t);
+                return true;
+            }
+        } else if (state.activeUseCount < 0) {
+            throw new SiddhiAppRuntimeException("State active count has reached less then zero for partition key '" +
+                    unmaskNull(partitionKey) + "' and the group by key '" + unmaskNull(groupByKey) +
+                    "', current value is " + state.activeUseCount);
+        }
+        return false;
+    }
+
+    private void retire(Object partitionKey, GroupByStates groupByStates) {
+        groupByStates.lock.writeLock().lock();
+        try {
+            if (!groupByStates.retired && groupByStates.states.isEmpty()) {
+                groupByStates.retired = true;
+                states.remove(partitionKey, groupByStates);
+            }
+        } finally {
+            groupByStates.lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Map<String, Map<Object, State>> getAllStates() {
+        return copyAllStates(true);
+    }
+
+    @Override
+    public Map<String, Map<Object, State>> getAllStatesForSnapshot() {
+        return copyAllStates(false);
+    }
+
+    @Override
+    public boolean isModificationTracked() {
+        return true;
+    }
+
+    private Map<String, Map<Object, State>> copyAllStates(boolean markModified) {
+        Map<String, Map<Object, State>> allStates = new HashMap<>();
+        for (Map.Entry<Object, GroupByStates> entry : states.entrySet()) {
+            Map<Object, State> groupByStates = copyGroupByStates(entry.getValue(), markModified);
+            if (!groupByStates.isEmpty()) {
+                allStates.put((String) unmaskNull(entry.getKey()), groupByStates);
+            }
+        }
+        return allStates;
+    }
+
+    @Override
+    public void returnAllStates(Map states) {
+        for (Map.Entry<String, Map<Object, State>> entry :
+                ((Map<String, Map<Object, State>>) states).entrySet()) {
+            Object partitionKey = maskNull(entry.getKey());
+            for (Map.Entry<Object, State> stateEntry : entry.getValue().entrySet()) {
+                release(partitionKey, maskNull(stateEntry.getKey()), stateEntry.getValue());
+            }
+        }
+    }
+
+    @Override
+    public Map<Object, State> getAllGroupByStates() {
+        GroupByStates groupByStates = states.get(maskNull(SiddhiAppContext.getPartitionFlowId()));
+        if (groupByStates == null) {
+            return new HashMap<>();
+        }
+        return copyGroupByStates(groupByStates, true);
+    }
+
+    @Override
+    public void returnGroupByStates(Map states) {
+        Object partitionKey = maskNull(SiddhiAppContext.getPartitionFlowId());
+        for (Map.Entry<Object, State> stateEntry : ((Map<Object, State>) states).entrySet()) {
+            release(partitionKey, maskNull(stateEntry.getKey()), stateEntry.getValue());
+        }
+    }
+
+    @Override
+    public State cleanGroupByStates() {
+        Object partitionKey = maskNull(SiddhiAppContext.getPartitionFlowId());
+        GroupByStates groupByStates = states.get(partitionKey);
+        if (groupByStates == null) {
+            return null;
+        }
+        State firstState = null;
+        for (Object groupByKey : groupByStates.states.keySet()) {
+            State state = groupByStates.states.remove(groupByKey);
+            if (firstState == null) {
+                firstState = state;
+            }
+        }
+        if (partitionKey != NULL_KEY) {
+            retire(partitionKey, groupByStates);
+        }
+        return firstState;
+    }
+
+    private Map<Object, State> copyGroupByStates(GroupByStates groupByStates, boolean markModified) {
+        Map<Object, State> copy = new HashMap<>();
+        for (Object groupByKey : groupByStates.states.keySet()) {
+            State state = groupByStates.states.computeIfPresent(groupByKey, (key, currentState) -> {
+                currentState.activeUseCount++;
+                if (markModified) {
+                    currentState.modified = true;
+                }
+                return currentState;
+            });
+            if (state != null) {
+                copy.put(unmaskNull(groupByKey), state);
+            }
+        }
+        return copy;
+    }
+
+    private static Object maskNull(Object key) {
+        return key == null ? NULL_KEY : key;
+    }
+
+    private static Object unmaskNull(Object key) {
+        return key == NULL_KEY ? null : key;
+    }
+
+    /**
+     * States of a partition key. Once retired the instance is no longer reachable from the holder and lookups
+     * retry with a new instance.
+     */
+    private static class GroupByStates {
+        private final ConcurrentMap<Object, State> states = new ConcurrentHashMap<>();
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private boolean retired = false;
+    }
+}
@@ -20,6 +20,7 @@ package io.siddhi.core.util.snapshot.state;
 
 import io.siddhi.core.config.SiddhiAppContext;
 import io.siddhi.core.exception.SiddhiAppRuntimeException;
+import io.siddhi.core.query.selector.GroupByKey;
 import org.apache.log4j.Logger;
 
 import java.util.HashMap;
@@ -33,7 +34,7 @@ import java.util.Set;
 public class PartitionStateHolder implements StateHolder {
     private static final Logger log = Logger.getLogger(PartitionStateHolder.class);
     private StateFactory stateFactory;
-    private Map<String, Map<String, State>> states = new HashMap<>();
+    private Map<String, Map<Object, State>> states = new HashMap<>();
 
     public PartitionStateHolder(StateFactory stateFactory) {
         this.stateFactory = stateFactory;
@@ -42,15 +43,27 @@ public class PartitionStateHolder implements StateHolder {
     @Override
     public State getState() {
         String partitionFlowId = SiddhiAppContext.getPartitionFlowId();
-        String groupByFlowId = SiddhiAppContext.getGroupByFlowId();
-        Map<String, State> partitionStates = states.computeIfAbsent(partitionFlowId, k -> new HashMap<>());
-        return partitionStates.computeIfAbsent(groupByFlowId, s -> stateFactory.createNewState());
+        Object groupByFlowId = SiddhiAppContext.getGroupByFlowKey();
+        Map<Object, State> partitionStates = states.computeIfAbsent(partitionFlowId, k -> new HashMap<>());
+        State state = partitionStates.get(groupByFlowId);
+        if (state == null) {
+            if (groupByFlowId instanceof GroupByKey) {
+                // States restored from snapshots are keyed by the delimited form of the group key
+                state = partitionStates.remove(groupByFlowId.toString());
+            }
+            if (state == null) {
+                state = stateFactory.createNewState();
+            }
+            partitionStates.put(groupByFlowId, state);
+        }
+        state.modified = true;
+        return state;
     }
 
     @Override
     public void returnState(State state) {
         String partitionFlowId = SiddhiAppContext.getPartitionFlowId();
-        String groupByFlowId = SiddhiAppContext.getGroupByFlowId();
+        Object groupByFlowId = SiddhiAppContext.getGroupByFlowKey();
         if (state.activeUseCount == 0) {
             try {
                 if (state.canDestroy()) {
@@ -68,8 +81,8 @@ public class PartitionStateHolder implements StateHolder {
         }
     }
 
-    private void removeState(String partitionFlowId, String groupByFlowId) {
-        Map<String, State> groupByStates = states.get(partitionFlowId);
+    private void removeState(String partitionFlowId, Object groupByFlowId) {
+        Map<Object, State> groupByStates = states.get(partitionFlowId);
         if (groupByStates != null) {
             groupByStates.remove(groupByFlowId);
             if (groupByStates.isEmpty()) {
@@ -78,20 +91,40 @@ public class PartitionStateHolder implements StateHolder {
         }
     }
 
-    public Map<String, Map<String, State>> getAllStates() {
+    public Map<String, Map<Object, State>> getAllStates() {
+        for (Map<Object, State> groupByStates : states.values()) {
+            markModified(groupByStates);
+        }
+        return states;
+    }
+
+    @Override
+    public Map<String, Map<Object, State>> getAllStatesForSnapshot() {
         return states;
     }
 
     @Override
-    public Map<String, State> getAllGroupByStates() {
+    public boolean isModificationTracked() {
+        return true;
+    }
+
+    @Override
+    public Map<Object, State> getAllGroupByStates() {
         String partitionFlowId = SiddhiAppContext.getPartitionFlowId();
-        return states.computeIfAbsent(partitionFlowId, k -> new HashMap<>());
+        return markModified(states.computeIfAbsent(partitionFlowId, k -> new HashMap<>()));
+    }
+
+    private static Map<Object, State> markModified(Map<Object, State> groupByStates) {
+        for (State state : groupByStates.values()) {
+            state.modified = true;
+        }
+        return groupByStates;
     }
 
     @Override
     public State cleanGroupByStates() {
         String partitionFlowId = SiddhiAppContext.getPartitionFlowId();
-        Map<String, State> groupByStates = states.remove(partitionFlowId);
+        Map<Object, State> groupByStates = states.remove(partitionFlowId);
         if (groupByStates != null) {
             return groupByStates.values().stream().findFirst().orElse(null);
         }
@@ -101,10 +134,10 @@ public class PartitionStateHolder implements StateHolder {
     @Override
     public void returnGroupByStates(Map states) {
         String partitionFlowId = SiddhiAppContext.getPartitionFlowId();
-        for (Iterator<Map.Entry<String, State>> iterator =
-             ((Set<Map.Entry<String, State>>) states.entrySet()).iterator();
+        for (Iterator<Map.Entry<Object, State>> iterator =
+             ((Set<Map.Entry<Object, State>>) states.entrySet()).iterator();
              iterator.hasNext(); ) {
-            Map.Entry<String, State> stateEntry = iterator.next();
+            Map.Entry<Object, State> stateEntry = iterator.next();
             State state = stateEntry.getValue();
             if (state.activeUseCount == 0) {
                 try {
@@ -130,12 +163,12 @@ public class PartitionStateHolder implements StateHolder {
 
     @Override
     public void returnAllStates(Map states) {
-        for (Iterator<Map.Entry<String, Map<String, State>>> statesIterator =
-             ((Set<Map.Entry<String, Map<String, State>>>) states.entrySet()).iterator(); statesIterator.hasNext(); ) {
-            Map.Entry<String, Map<String, State>> statesEntry = statesIterator.next();
-            for (Iterator<Map.Entry<String, State>> stateIterator = statesEntry.getValue().entrySet().iterator();
+        for (Iterator<Map.Entry<String, Map<Object, State>>> statesIterator =
+             ((Set<Map.Entry<String, Map<Object, State>>>) states.entrySet()).iterator(); statesIterator.hasNext(); ) {
+            Map.Entry<String, Map<Object, State>> statesEntry = statesIterator.next();
+            for (Iterator<Map.Entry<Object, State>> stateIterator = statesEntry.getValue().entrySet().iterator();
                  stateIterator.hasNext(); ) {
-                Map.Entry<String, State> stateEntry = stateIterator.next();
+                Map.Entry<Object, State> stateEntry = stateIterator.next();
                 State state = stateEntry.getValue();
                 if (state.activeUseCount == 0) {
                     try {
@@ -44,9 +44,9 @@ public class PartitionSyncStateHolder implements StateHolder {
     }
 
 
-    public synchronized Map<String, Map<String, State>> getAllStates() {
-        Map<String, Map<String, State>> states = partitionStateHolder.getAllStates();
-        for (Map<String, State> groupByStates : states.values()) {
+    public synchronized Map<String, Map<Object, State>> getAllStates() {
+        Map<String, Map<Object, State>> states = partitionStateHolder.getAllStates();
+        for (Map<Object, State> groupByStates : states.values()) {
             for (State state : groupByStates.values()) {
                 state.activeUseCount++;
             }
@@ -55,8 +55,24 @@ public class PartitionSyncStateHolder implements StateHolder {
     }
 
     @Override
-    public synchronized Map<String, State> getAllGroupByStates() {
-        Map<String, State> groupByStates = partitionStateHolder.getAllGroupByStates();
+    public synchronized Map<String, Map<Object, State>> getAllStatesForSnapshot() {
+        Map<String, Map<Object, State>> states = partitionStateHolder.getAllStatesForSnapshot();
+        for (Map<Object, State> groupByStates : states.values()) {
+            for (State state : groupByStates.values()) {
+                state.activeUseCount++;
+            }
+        }
+        return states;
+    }
+
+    @Override
+    public boolean isModificationTracked() {
+        return true;
+    }
+
+    @Override
+    public synchronized Map<Object, State> getAllGroupByStates() {
+        Map<Object, State> groupByStates = partitionStateHolder.getAllGroupByStates();
         for (State state : groupByStates.values()) {
             state.activeUseCount++;
         }
@@ -70,7 +86,7 @@ public class PartitionSyncStateHolder implements StateHolder {
 
     @Override
     public synchronized void returnGroupByStates(Map states) {
-        for (State state : ((Map<String, State>) states).values()) {
+        for (State state : ((Map<Object, State>) states).values()) {
             state.activeUseCount--;
         }
         partitionStateHolder.returnGroupByStates(states);
@@ -78,7 +94,7 @@ public class PartitionSyncStateHolder implements StateHolder {
 
     @Override
     public synchronized void returnAllStates(Map states) {
-        for (Map<String, State> groupByStates : ((Map<String, Map<String, State>>) states).values()) {
+        for (Map<Object, State> groupByStates : ((Map<String, Map<Object, State>>) states).values()) {
             for (State state : groupByStates.values()) {
                 state.activeUseCount--;
             }
@@ -28,8 +28,8 @@ import java.util.Map;
  */
 public class SingleSyncStateHolder implements StateHolder {
     private static final Logger log = Logger.getLogger(SingleSyncStateHolder.class);
-    final Map<String, State> groupByStates = new HashMap<>(1);
-    final Map<String, Map<String, State>> allStates = new HashMap<>(1);
+    final Map<Object, State> groupByStates = new HashMap<>(1);
+    final Map<String, Map<Object, State>> allStates = new HashMap<>(1);
     private final StateFactory stateFactory;
     private State state = null;
 
@@ -56,7 +56,7 @@ public class SingleSyncStateHolder implements StateHolder {
         //ignore
     }
 
-    public Map<String, Map<String, State>> getAllStates() {
+    public Map<String, Map<Object, State>> getAllStates() {
         if (state == null) {
             synchronized (this) {
                 if (state == null) {
@@ -75,7 +75,7 @@ public class SingleSyncStateHolder implements StateHolder {
     }
 
     @Override
-    public Map<String, State> getAllGroupByStates() {
+    public Map<Object, State> getAllGroupByStates() {
         if (state == null) {
             synchronized (this) {
                 if (state == null) {
@@ -26,6 +26,7 @@ import java.util.Map;
 public abstract class State {
 
     int activeUseCount = 0;
+    boolean modified = true;
 
     public abstract boolean canDestroy();
 
@@ -33,4 +34,20 @@ public abstract class State {
 
     public abstract void restore(Map<String, Object> state);
 
+    /**
+     * @return whether the state may have been modified since {@link #clearModified()} was last called. States are
+     * marked as modified by their {@link StateHolder} when they are obtained for processing.
+     */
+    public boolean isModified() {
+        return modified;
+    }
+
+    public void clearModified() {
+        this.modified = false;
+    }
+
+    public void markModified() {
+        this.modified = true;
+    }
+
 }
@@ -22,6 +22,13 @@ import java.util.Map;
 
 /**
  * Holder to have all the states
+ * <p>
+ * Group by states are keyed by the group by key of their flow, as given by
+ * {@link io.siddhi.core.config.SiddhiAppContext#getGroupByFlowKey()}. The {@code toString()} of such a key is the
+ * delimited string that keyed these maps before 5.1.17. Note that this changed the key type of the maps used by
+ * {@link #getAllStates()}, {@link #returnAllStates(Map)}, {@link #getAllGroupByStates()} and
+ * {@link #returnGroupByStates(Map)} from {@code String} to {@code Object}, hence extensions implementing or calling
+ * these methods with {@code String} keyed maps need to be updated.
  *
  * @param <S> state
  */
@@ -31,13 +38,31 @@ public interface StateHolder<S extends State> {
 
     void returnState(S state);
 
-    Map<String, Map<String, S>> getAllStates();
+    Map<String, Map<Object, S>> getAllStates();
 
-    void returnAllStates(Map<String, Map<String, S>> states);
+    void returnAllStates(Map<String, Map<Object, S>> states);
 
-    Map<String, S> getAllGroupByStates();
+    Map<Object, S> getAllGroupByStates();
 
     S cleanGroupByStates();
 
-    void returnGroupByStates(Map<String, S> states);
+    void returnGroupByStates(Map<Object, S> states);
+
+    /**
+     * Returns all the states to take their snapshots. Unlike {@link #getAllStates()} the states are not marked as
+     * modified. The states should be released through {@link #returnAllStates(Map)}.
+     *
+     * @return all the states
+     */
+    default Map<String, Map<Object, S>> getAllStatesForSnapshot() {
+        return getAllStates();
+    }
+
+    /**
+     * @return whether the holder marks its states as modified whenever they are obtained, such that incremental
+     * snapshots can skip the states that were not modified since their previous snapshot
+     */
+    default boolean isModificationTracked() {
+        return false;
+    }
 }
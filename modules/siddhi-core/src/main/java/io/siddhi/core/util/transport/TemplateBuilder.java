@@ -45,6 +45,9 @@ public class TemplateBuilder {
     private boolean isObjectMessage = false;
     private int objectIndex = -1;
     private Attribute.Type type = Attribute.Type.STRING;
+    private String constantMessage = null;
+    private int singleAttributeIndex = -1;
+    private int constantLength = 0;
 
     public TemplateBuilder(StreamDefinition streamDefinition, String template) {
         parse(streamDefinition, template);
@@ -101,6 +104,25 @@ public class TemplateBuilder {
             String[] templateArray = templateString.split(SPLIT_PATTERN);
             assignTemplateArrayAttributePositions(templateArray, streamDefinition);
             this.splitTemplateArray = templateArray;
+            compile();
+        }
+    }
+
+    /**
+     * Resolve, once, the parts of the template that do not change from event to event: templates without any
+     * attributes always produce the same message, and templates that only refer to a single attribute need no
+     * concatenation.
+     */
+    private void compile() {
+        if (positionArray.length == 0) {
+            this.constantMessage = String.join("", splitTemplateArray);
+            return;
+        }
+        for (int i = 0; i < splitTemplateArray.length; i += 2) {
+            constantLength += splitTemplateArray[i].length();
+        }
+        if (positionArray.length == 1 && constantLength == 0) {
+            this.singleAttributeIndex = positionArray[0];
         }
     }
 
@@ -127,7 +149,12 @@ public class TemplateBuilder {
     }
 
     private String formatMessage(Object[] outputData) {
-        StringBuilder stringBuilder = new StringBuilder();
+        if (constantMessage != null) {
+            return constantMessage;
+        } else if (singleAttributeIndex != -1) {
+            return String.valueOf(outputData[singleAttributeIndex]);
+        }
+        StringBuilder stringBuilder = new StringBuilder(constantLength + 16 * positionArray.length);
         for (int i = 0; i < splitTemplateArray.length; i++) {
             if (i % 2 == 0) {
                 stringBuilder.append(splitTemplateArray[i]);
@@ -161,4 +188,11 @@ public class TemplateBuilder {
     public boolean isObjectMessage() {
         return isObjectMessage;
     }
+
+    /**
+     * @return true if the template does not refer to any attribute and hence builds the same message for every event
+     */
+    public boolean isConstant() {
+        return constantMessage != null;
+    }
 }
@@ -25,6 +25,7 @@ import io.siddhi.core.event.Event;
 import io.siddhi.core.exception.SiddhiAppCreationException;
 import io.siddhi.core.exception.StoreQueryCreationException;
 import io.siddhi.core.query.output.callback.QueryCallback;
+import io.siddhi.core.query.table.util.TestStoreForReadCounting;
 import io.siddhi.core.stream.input.InputHandler;
 import io.siddhi.core.util.EventPrinter;
 import io.siddhi.core.util.Scheduler;
@@ -1132,5 +1133,247 @@ public class Aggregation2TestCase {
         SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(stockStream + query);
         siddhiAppRuntime.shutdown();
     }
-}
 
+    @Test
+    public void incrementalStreamProcessorTestConcurrentAggregation() throws InterruptedException {
+
+        LOG.info("incrementalStreamProcessorTestConcurrentAggregation - Aggregating events from multiple threads");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String stockStream =
+                "define stream stockStream (symbol string, price double, timestamp long);";
+        String query = "@concurrentAggregation " +
+                "define aggregation stockAggregation " +
+                "from stockStream " +
+                "select symbol, sum(price) as totalPrice, count() as count, max(price) as maxPrice " +
+                "group by symbol " +
+                "aggregate by timestamp every sec...year ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(stockStream + query);
+
+        try {
+            InputHandler stockStreamInputHandler = siddhiAppRuntime.getInputHandler("stockStream");
+            siddhiAppRuntime.start();
+
+            int threads = 4;
+            int eventsPerThread = 5000;
+            int symbols = 100;
+            AtomicInteger failures = new AtomicInteger();
+            List<Thread> senders = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                Thread sender = new Thread(() -> {
+                    try {
+                        for (int i = 0; i < eventsPerThread; i++) {
+                            // Thursday, June 1, 2017 4:05:50 AM to 4:05:54 AM
+                            stockStreamInputHandler.send(new Object[]{"S" + (i % symbols), (double) (i % 10),
+                                    1496289950000L + (i * 5L / eventsPerThread) * 1000});
+                        }
+                    } catch (InterruptedException e) {
+                        failures.incrementAndGet();
+                    }
+                });
+                senders.add(sender);
+                sender.start();
+            }
+            for (Thread sender : senders) {
+                sender.join();
+            }
+            AssertJUnit.assertEquals("Sending failures", 0, failures.get());
+
+            Event[] events = siddhiAppRuntime.query("from stockAggregation within 0L, 1543664151000L per " +
+                    "'minutes' select symbol, totalPrice, count, maxPrice ");
+
+            AssertJUnit.assertNotNull("Aggregation event list is null", events);
+            AssertJUnit.assertEquals("Symbols", symbols, events.length);
+            for (Event event : events) {
+                int symbol = Integer.parseInt(((String) event.getData(0)).substring(1));
+                int eventsPerSymbol = threads * eventsPerThread / symbols;
+                AssertJUnit.assertEquals("Total of " + event.getData(0), (double) (symbol % 10) * eventsPerSymbol,
+                        event.getData(1));
+                AssertJUnit.assertEquals("Count of " + event.getData(0), (long) eventsPerSymbol, event.getData(2));
+                AssertJUnit.assertEquals("Max of " + event.getData(0), (double) (symbol % 10), event.getData(3));
+            }
+        } finally {
+            siddhiAppRuntime.shutdown();
+        }
+    }
+
+    @Test
+    public void incrementalStreamProcessorTestClosedBucketCache() throws InterruptedException {
+
+        LOG.info("incrementalStreamProcessorTestClosedBucketCache - Querying closed buckets repeatedly while new " +
+                "buckets get persisted");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        siddhiManager.setExtension("store:testStoreForReadCounting", TestStoreForReadCounting.class);
+
+        String stockStream =
+                "define stream stockStream (symbol string, price double);";
+        String query = "" +
+                "@store(type='testStoreForReadCounting') " +
+                "define aggregation stockAggregation " +
+                "from stockStream " +
+                "select sum(price) as totalPrice, count() as count " +
+                "aggregate every sec...year; " +
+
+                "define stream inputStream (startTime long, endTime long); " +
+
+                "@info(name = 'query1') " +
+                "from inputStream join stockAggregation " +
+                "within startTime, endTime " +
+                "per 'seconds' " +
+                "select totalPrice, count " +
+                "insert all events into outputStream; ";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(stockStream + query);
+
+        try {
+            List<Event[]> results = new ArrayList<>();
+            siddhiAppRuntime.addCallback("query1", new QueryCallback() {
+                @Override
+                public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+                    EventPrinter.print(timestamp, inEvents, removeEvents);
+                    synchronized (results) {
+                        results.add(inEvents == null ? new Event[0] : inEvents);
+                    }
+                }
+            });
+
+            InputHandler stockStreamInputHandler = siddhiAppRuntime.getInputHandler("stockStream");
+            InputHandler inputStreamInputHandler = siddhiAppRuntime.getInputHandler("inputStream");
+            siddhiAppRuntime.start();
+
+            stockStreamInputHandler.send(new Object[]{"WSO2", 50.0});
+            stockStreamInputHandler.send(new Object[]{"IBM", 100.0});
+            stockStreamInputHandler.send(new Object[]{"WSO2", 70.0});
+            Thread.sleep(2500);
+
+            long endTime = System.currentTimeMillis() + 3600000L;
+            long eventsRead = TestStoreForReadCounting.EVENTS_READ.get();
+            inputStreamInputHandler.send(new Object[]{0L, endTime});
+            long eventsReadByFirstQuery = TestStoreForReadCounting.EVENTS_READ.get() - eventsRead;
+            eventsRead = TestStoreForReadCounting.EVENTS_READ.get();
+            inputStreamInputHandler.send(new Object[]{0L, endTime});
+            AssertJUnit.assertTrue("Closed buckets are read from the table", eventsReadByFirstQuery > 0);
+            AssertJUnit.assertEquals("Closed buckets read again from the table", 0,
+                    TestStoreForReadCounting.EVENTS_READ.get() - eventsRead);
+
+            stockStreamInputHandler.send(new Object[]{"IBM", 30.0});
+            Thread.sleep(2500);
+            stockStreamInputHandler.send(new Object[]{"WSO2", 5.0});
+
+            eventsRead = TestStoreForReadCounting.EVENTS_READ.get();
+            inputStreamInputHandler.send(new Object[]{0L, endTime});
+            long eventsReadByThirdQuery = TestStoreForReadCounting.EVENTS_READ.get() - eventsRead;
+            eventsRead = TestStoreForReadCounting.EVENTS_READ.get();
+            inputStreamInputHandler.send(new Object[]{0L, endTime});
+            AssertJUnit.assertEquals("Only the newly closed bucket is read from the table", 1,
+                    eventsReadByThirdQuery);
+            AssertJUnit.assertEquals("Closed buckets read again from the table", 0,
+                    TestStoreForReadCounting.EVENTS_READ.get() - eventsRead);
+
+            double[] expectedTotals = {220.0, 220.0, 255.0, 255.0};
+            long[] expectedCounts = {3L, 3L, 5L, 5L};
+            AssertJUnit.assertEquals("Number of query results", expectedTotals.length, results.size());
+            for (int i = 0; i < expectedTotals.length; i++) {
+                double total = 0;
+                long count = 0;
+                for (Event event : results.get(i)) {
+                    if (event.getData(0) == null) {
+                        // Empty in-memory bucket of the current second
+                        continue;
+                    }
+                    total += (Double) event.getData(0);
+                    count += (Long) event.getData(1);
+                }
+                AssertJUnit.assertEquals("Total of query " + i, expectedTotals[i], total);
+                AssertJUnit.assertEquals("Count of query " + i, expectedCounts[i], count);
+            }
+        } finally {
+            siddhiAppRuntime.shutdown();
+        }
+    }
+
+    @Test
+    public void incrementalStreamProcessorTestRecreateFromTables() throws InterruptedException {
+
+        LOG.info("incrementalStreamProcessorTestRecreateFromTables - Recreating in-memory aggregations from the " +
+                "aggregation tables");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String app = "" +
+                "define stream stockStream (symbol string, price double, timestamp long); " +
+
+                "define aggregation stockAggregation " +
+                "from stockStream " +
+                "select symbol, sum(price) as totalPrice, count() as count " +
+                "group by symbol " +
+                "aggregate by timestamp every sec...hour ; " +
+
+                "define stream secondsStream (AGG_TIMESTAMP long, AGG_EVENT_TIMESTAMP long, symbol string, " +
+                "AGG_SUM_price double, AGG_COUNT long); " +
+                "define stream minutesStream (AGG_TIMESTAMP long, AGG_EVENT_TIMESTAMP long, symbol string, " +
+                "AGG_SUM_price double, AGG_COUNT long); " +
+
+                "from secondsStream " +
+                "insert into stockAggregation_SECONDS; " +
+
+                "from minutesStream " +
+                "insert into stockAggregation_MINUTES; ";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(app);
+        try {
+            InputHandler stockStreamInputHandler = siddhiAppRuntime.getInputHandler("stockStream");
+            InputHandler secondsStreamInputHandler = siddhiAppRuntime.getInputHandler("secondsStream");
+            InputHandler minutesStreamInputHandler = siddhiAppRuntime.getInputHandler("minutesStream");
+            siddhiAppRuntime.start();
+
+            // Tables as left by a previous run, which persisted the first minute and 90 seconds,
+            // with more events per second than a single page of recovery
+            int symbols = 400;
+            // Thursday, June 1, 2017 4:05:00 AM
+            long startTime = 1496289900000L;
+            for (int symbol = 0; symbol < symbols; symbol++) {
+                minutesStreamInputHandler.send(new Object[]{startTime, startTime, "S" + symbol, 60.0, 60L});
+            }
+            for (int second = 50; second < 90; second++) {
+                long secondStartTime = startTime + second * 1000L;
+                for (int symbol = 0; symbol < symbols; symbol++) {
+                    secondsStreamInputHandler.send(new Object[]{secondStartTime, secondStartTime, "S" + symbol,
+                            1.0, 1L});
+                }
+            }
+            stockStreamInputHandler.send(new Object[]{"S0", 1.0, startTime + 200000L});
+
+            Event[] events = siddhiAppRuntime.query("from stockAggregation within 0L, 1543664151000L per " +
+                    "'minutes' select AGG_TIMESTAMP, symbol, totalPrice, count ");
+
+            AssertJUnit.assertNotNull("Aggregation event list is null", events);
+            Map<Long, Long> countPerMinute = new HashMap<>();
+            for (Event event : events) {
+                countPerMinute.merge((Long) event.getData(0), (Long) event.getData(3), Long::sum);
+            }
+            AssertJUnit.assertEquals("Minutes", 3, countPerMinute.size());
+            AssertJUnit.assertEquals("Count of the first minute", 60L * symbols,
+                    (long) countPerMinute.get(startTime));
+            AssertJUnit.assertEquals("Count of the second minute", 30L * symbols,
+                    (long) countPerMinute.get(startTime + 60000L));
+            AssertJUnit.assertEquals("Count of the fourth minute", 1L,
+                    (long) countPerMinute.get(startTime + 180000L));
+
+            events = siddhiAppRuntime.query("from stockAggregation within 0L, 1543664151000L per " +
+                    "'hours' select symbol, count ");
+
+            AssertJUnit.assertNotNull("Aggregation event list is null", events);
+            long count = 0;
+            for (Event event : events) {
+                count += (Long) event.getData(1);
+            }
+            AssertJUnit.assertEquals("Count of the hour", 90L * symbols + 1, count);
+        } finally {
+            siddhiAppRuntime.shutdown();
+        }
+    }
+}
@@ -32,7 +32,12 @@ import org.testng.AssertJUnit;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 
 public class AsyncTestCase {
@@ -401,4 +406,189 @@ public class AsyncTestCase {
         SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
 
     }
+
+    @Test(dependsOnMethods = {"asyncTest8"})
+    public void asyncTest9() throws InterruptedException {
+        log.info("async test 9");
+        HashMap<String, String> symbolThreads = new HashMap<>();
+        HashMap<String, Integer> lastVolumes = new HashMap<>();
+        AtomicInteger outOfOrderCount = new AtomicInteger();
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                " " +
+                "@async(buffer.size='64', workers='4', batch.size.max='10', partition.by='symbol')" +
+                "define stream cseEventStream (symbol string, price float, volume int);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from cseEventStream[70 < price] " +
+                "select * " +
+                "insert into outputStream ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+
+        siddhiAppRuntime.addCallback("outputStream", new StreamCallback() {
+
+            @Override
+            public void receive(Event[] events) {
+                eventArrived = true;
+                synchronized (symbolThreads) {
+                    for (Event event : events) {
+                        String symbol = (String) event.getData(0);
+                        String thread = symbolThreads.put(symbol, Thread.currentThread().getName());
+                        if (thread != null && !thread.equals(Thread.currentThread().getName())) {
+                            outOfOrderCount.incrementAndGet();
+                        }
+                        Integer lastVolume = lastVolumes.put(symbol, (Integer) event.getData(2));
+                        if (lastVolume != null && lastVolume >= (Integer) event.getData(2)) {
+                            outOfOrderCount.incrementAndGet();
+                        }
+                        count.incrementAndGet();
+                    }
+                }
+            }
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        siddhiAppRuntime.start();
+        String[] symbols = new String[]{"WSO2", "IBM", "ORACLE", "GOOG", "FB", "MSFT", "AMZN", "APPL"};
+        for (int i = 0; i < 800; i++) {
+            inputHandler.send(new Object[]{symbols[i % symbols.length], 115.6f, i});
+        }
+        SiddhiTestHelper.waitForEvents(100, 800, count, 10000);
+        siddhiAppRuntime.shutdown();
+        AssertJUnit.assertTrue(eventArrived);
+        AssertJUnit.assertEquals(800, count.get());
+        AssertJUnit.assertEquals(0, outOfOrderCount.get());
+        AssertJUnit.assertEquals(symbols.length, symbolThreads.size());
+    }
+
+    @Test(expectedExceptions = SiddhiAppCreationException.class, dependsOnMethods = {"asyncTest9"})
+    public void asyncTest10() throws InterruptedException {
+        log.info("async test 10");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                " " +
+                "@async(buffer.size='16', workers='2', partition.by='company')" +
+                "define stream cseEventStream (symbol string, price float, volume int);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from cseEventStream[70 > price] " +
+                "select * " +
+                "insert into outputStream ;";
+
+        siddhiManager.createSiddhiAppRuntime(siddhiApp);
+    }
+
+    @Test(dependsOnMethods = {"asyncTest10"})
+    public void asyncTest11() throws InterruptedException {
+        log.info("async test 11");
+        AtomicInteger outOfOrderCount = new AtomicInteger();
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                " " +
+                "@async(buffer.size='16', wait.strategy='yielding')" +
+                "define stream cseEventStream (symbol string, price float, volume int);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from cseEventStream[70 < price] " +
+                "select * " +
+                "insert into outputStream ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+
+        siddhiAppRuntime.addCallback("outputStream", new StreamCallback() {
+
+            @Override
+            public void receive(Event[] events) {
+                eventArrived = true;
+                for (Event event : events) {
+                    if ((Integer) event.getData(2) != count.getAndIncrement()) {
+                        outOfOrderCount.incrementAndGet();
+                    }
+                }
+            }
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        siddhiAppRuntime.start();
+        for (int i = 0; i < 10; i++) {
+            Event[] events = new Event[100];
+            for (int j = 0; j < events.length; j++) {
+                events[j] = new Event(System.currentTimeMillis(), new Object[]{"WSO2", 115.6f, i * 100 + j});
+            }
+            inputHandler.send(events);
+        }
+        SiddhiTestHelper.waitForEvents(100, 1000, count, 10000);
+        siddhiAppRuntime.shutdown();
+        AssertJUnit.assertTrue(eventArrived);
+        AssertJUnit.assertEquals(1000, count.get());
+        AssertJUnit.assertEquals(0, outOfOrderCount.get());
+    }
+
+    @Test(expectedExceptions = SiddhiAppCreationException.class, dependsOnMethods = {"asyncTest11"})
+    public void asyncTest12() throws InterruptedException {
+        log.info("async test 12");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                " " +
+                "@async(buffer.size='16', wait.strategy='polling')" +
+                "define stream cseEventStream (symbol string, price float, volume int);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from cseEventStream[70 > price] " +
+                "select * " +
+                "insert into outputStream ;";
+
+        siddhiManager.createSiddhiAppRuntime(siddhiApp);
+    }
+
+    @Test(dependsOnMethods = {"asyncTest12"})
+    public void asyncTest13() throws InterruptedException {
+        log.info("async test 13");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                "define stream cseEventStream (symbol string, price float, volume int);" +
+                "@async(buffer.size='16')" +
+                "define stream outputStream (symbol string, price float, volume int);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from cseEventStream[70 < price] " +
+                "select * " +
+                "insert into outputStream ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+
+        List<Event[]> receivedArrays = Collections.synchronizedList(new ArrayList<>());
+        siddhiAppRuntime.addCallback("outputStream", new StreamCallback() {
+
+            @Override
+            public void receive(Event[] events) {
+                receivedArrays.add(events);
+                count.addAndGet(events.length);
+            }
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        siddhiAppRuntime.start();
+        for (int i = 0; i < 10; i++) {
+            Event[] events = new Event[100];
+            for (int j = 0; j < events.length; j++) {
+                events[j] = new Event(System.currentTimeMillis(), new Object[]{"WSO2", 115.6f, i * 100 + j});
+            }
+            inputHandler.send(events);
+        }
+        SiddhiTestHelper.waitForEvents(100, 1000, count, 10000);
+        siddhiAppRuntime.shutdown();
+        AssertJUnit.assertEquals(1000, count.get());
+        Set<Event[]> distinctArrays = Collections.newSetFromMap(new IdentityHashMap<>());
+        distinctArrays.addAll(receivedArrays);
+        AssertJUnit.assertEquals(receivedArrays.size(), distinctArrays.size());
+    }
 }
@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.managment;
+
+import io.siddhi.core.SiddhiAppRuntime;
+import io.siddhi.core.SiddhiManager;
+import io.siddhi.core.event.Event;
+import io.siddhi.core.exception.SiddhiAppCreationException;
+import io.siddhi.core.query.output.callback.QueryCallback;
+import io.siddhi.core.stream.input.InputHandler;
+import io.siddhi.core.stream.output.StreamCallback;
+import io.siddhi.core.util.SiddhiConstants;
+import io.siddhi.core.util.statistics.metrics.Level;
+import org.apache.log4j.Logger;
+import org.testng.AssertJUnit;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+
+public class EventPoolTestCase {
+    private static final Logger log = Logger.getLogger(EventPoolTestCase.class);
+    private int inEventCount;
+    private int removeEventCount;
+    private List<Object[]> inEvents;
+    private List<Object[]> removeEvents;
+
+    @BeforeMethod
+    public void init() {
+        inEventCount = 0;
+        removeEventCount = 0;
+        inEvents = new ArrayList<>();
+        removeEvents = new ArrayList<>();
+    }
+
+    @Test
+    public void eventPoolTest1() throws InterruptedException {
+        log.info("event pool test 1 - filter query");
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String siddhiApp = "" +
+                "@app:eventPool(size = '16') " +
+                "define stream cseEventStream (symbol string, price float, volume long);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from cseEventStream[volume % 2 == 0] " +
+                "select symbol, price, volume " +
+                "insert into outputStream ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        siddhiAppRuntime.addCallback("outputStream", new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                for (Event event : events) {
+                    inEvents.add(event.getData());
+                }
+            }
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        siddhiAppRuntime.start();
+        for (long i = 0; i < 1000; i++) {
+            inputHandler.send(new Object[]{"WSO2" + i, (float) i, i});
+        }
+        siddhiAppRuntime.shutdown();
+
+        AssertJUnit.assertEquals(500, inEvents.size());
+        for (int i = 0; i < inEvents.size(); i++) {
+            long volume = i * 2L;
+            AssertJUnit.assertEquals("WSO2" + volume, inEvents.get(i)[0]);
+            AssertJUnit.assertEquals((float) volume, inEvents.get(i)[1]);
+            AssertJUnit.assertEquals(volume, inEvents.get(i)[2]);
+        }
+    }
+
+    @Test(dependsOnMethods = "eventPoolTest1")
+    public void eventPoolTest2() throws InterruptedException {
+        log.info("event pool test 2 - length window with expired events");
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String siddhiApp = "" +
+                "@app:eventPool(size = '4') " +
+                "define stream cseEventStream (symbol string, price float, volume int);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from cseEventStream[price > 0]#window.length(3) " +
+                "select symbol, volume " +
+                "insert all events into outputStream ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        siddhiAppRuntime.addCallback("query1", new QueryCallback() {
+            @Override
+            public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+                if (inEvents != null) {
+                    for (Event event : inEvents) {
+                        inEventCount++;
+                        EventPoolTestCase.this.inEvents.add(event.getData());
+                    }
+                }
+                if (removeEvents != null) {
+                    for (Event event : removeEvents) {
+                        removeEventCount++;
+                        EventPoolTestCase.this.removeEvents.add(event.getData());
+                    }
+                }
+            }
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        siddhiAppRuntime.start();
+        for (int i = 0; i < 100; i++) {
+            inputHandler.send(new Object[]{"IBM" + i, 10f, i});
+        }
+        siddhiAppRuntime.shutdown();
+
+        AssertJUnit.assertEquals(100, inEventCount);
+        AssertJUnit.assertEquals(97, removeEventCount);
+        for (int i = 0; i < removeEvents.size(); i++) {
+            AssertJUnit.assertEquals("IBM" + i, removeEvents.get(i)[0]);
+            AssertJUnit.assertEquals(i, removeEvents.get(i)[1]);
+        }
+    }
+
+    @Test(dependsOnMethods = "eventPoolTest2")
+    public void eventPoolTest3() throws InterruptedException {
+        log.info("event pool test 3 - group by over length window with a downstream query");
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String siddhiApp = "" +
+                "@app:eventPool " +
+                "define stream cseEventStream (symbol string, price float, volume long);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from cseEventStream#window.length(4) " +
+                "select symbol, sum(volume) as totalVolume " +
+                "group by symbol " +
+                "insert into sumStream ;" +
+                "" +
+                "@info(name = 'query2') " +
+                "from sumStream[totalVolume > 0] " +
+                "select symbol, totalVolume " +
+                "insert into outputStream ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        siddhiAppRuntime.addCallback("outputStream", new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                for (Event event : events) {
+                    inEvents.add(event.getData());
+                }
+            }
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        siddhiAppRuntime.start();
+        for (long i = 1; i <= 8; i++) {
+            inputHandler.send(new Object[]{i % 2 == 0 ? "IBM" : "WSO2", 10f, i});
+        }
+        siddhiAppRuntime.shutdown();
+
+        AssertJUnit.assertEquals(8, inEvents.size());
+        long[] expectedTotals = new long[]{1, 2, 4, 6, 8, 10, 12, 14};
+        for (int i = 0; i < inEvents.size(); i++) {
+            AssertJUnit.assertEquals(i % 2 == 0 ? "WSO2" : "IBM", inEvents.get(i)[0]);
+            AssertJUnit.assertEquals(expectedTotals[i], inEvents.get(i)[1]);
+        }
+    }
+
+    @Test(dependsOnMethods = "eventPoolTest3")
+    public void eventPoolTest4() throws InterruptedException {
+        log.info("event pool test 4 - pool statistics");
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String siddhiApp = "" +
+                "@app:statistics(reporter = 'console', interval = '2' ) " +
+                "@app:eventPool(size = '8') " +
+                "define stream cseEventStream (symbol string, price float, volume int);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from cseEventStream[70 > price] " +
+                "select * " +
+                "insert into outputStream ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        siddhiAppRuntime.addCallback("outputStream", new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                inEventCount += events.length;
+            }
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PrintStream ps = new PrintStream(baos);
+        PrintStream old = System.out;
+        System.setOut(ps);
+
+        siddhiAppRuntime.start();
+        siddhiAppRuntime.setStatisticsLevel(Level.BASIC);
+        for (int i = 0; i < 10; i++) {
+            inputHandler.send(new Object[]{"WSO2", 55.6f, i});
+        }
+
+        Thread.sleep(3010);
+        siddhiAppRuntime.shutdown();
+        System.out.flush();
+        String output = baos.toString();
+        System.setOut(old);
+        log.info(output);
+
+        AssertJUnit.assertEquals(10, inEventCount);
+        AssertJUnit.assertTrue(output.contains("query1." + SiddhiConstants.METRIC_TYPE_EVENT_POOL_HITS));
+        AssertJUnit.assertTrue(output.contains("query1." + SiddhiConstants.METRIC_TYPE_EVENT_POOL_MISSES));
+    }
+
+    @Test(dependsOnMethods = "eventPoolTest4", expectedExceptions = SiddhiAppCreationException.class)
+    public void eventPoolTest5() {
+        log.info("event pool test 5 - invalid pool size");
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String siddhiApp = "" +
+                "@app:eventPool(size = '-1') " +
+                "define stream cseEventStream (symbol string, price float, volume int);" +
+                "" +
+                "from cseEventStream " +
+                "select * " +
+                "insert into outputStream ;";
+        try {
+            siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        } finally {
+            siddhiManager.shutdown();
+        }
+    }
+}
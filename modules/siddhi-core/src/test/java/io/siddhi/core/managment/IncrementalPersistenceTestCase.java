@@ -22,12 +22,14 @@ import io.siddhi.core.SiddhiAppRuntime;
 import io.siddhi.core.SiddhiManager;
 import io.siddhi.core.event.Event;
 import io.siddhi.core.exception.CannotRestoreSiddhiAppStateException;
+import io.siddhi.core.exception.PersistenceStoreException;
 import io.siddhi.core.query.output.callback.QueryCallback;
 import io.siddhi.core.stream.input.InputHandler;
 import io.siddhi.core.stream.output.StreamCallback;
 import io.siddhi.core.util.EventPrinter;
 import io.siddhi.core.util.SiddhiTestHelper;
 import io.siddhi.core.util.persistence.IncrementalFileSystemPersistenceStore;
+import io.siddhi.core.util.persistence.util.IncrementalSnapshotInfo;
 import org.apache.log4j.Logger;
 import org.testng.Assert;
 import org.testng.AssertJUnit;
@@ -37,6 +39,7 @@ import org.testng.annotations.Test;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -1280,4 +1283,314 @@ public class IncrementalPersistenceTestCase {
 
         AssertJUnit.assertEquals(true, eventArrived);
     }
+
+    @Test
+    public void incrementalPersistenceTest13() throws InterruptedException {
+        log.info("Incremental persistence test 13 - primary key table updates and group by aggregation changes " +
+                "restored from incremental snapshots.");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        siddhiManager.setIncrementalPersistenceStore(new IncrementalFileSystemPersistenceStore(storageFilePath));
+
+        String siddhiApp = "" +
+                "@app:name('incrementalPersistenceTest13') " +
+                "" +
+                "define stream StockStream (symbol string, volume long); " +
+                "define stream UpdateStockStream (symbol string, volume long); " +
+                "define stream DeleteStockStream (symbol string); " +
+                "define stream CheckStockStream (symbol string); " +
+                "define stream TradeStream (symbol string, volume long); " +
+                "@PrimaryKey('symbol') " +
+                "define table StockTable (symbol string, volume long); " +
+                "" +
+                "from StockStream " +
+                "insert into StockTable; " +
+                "" +
+                "from UpdateStockStream " +
+                "update StockTable " +
+                "   set StockTable.volume = volume " +
+                "   on StockTable.symbol == symbol; " +
+                "" +
+                "from DeleteStockStream " +
+                "delete StockTable " +
+                "   on StockTable.symbol == symbol; " +
+                "" +
+                "@info(name = 'query1') " +
+                "from CheckStockStream join StockTable " +
+                "   on CheckStockStream.symbol == StockTable.symbol " +
+                "select StockTable.symbol, StockTable.volume " +
+                "insert into OutStream; " +
+                "" +
+                "@info(name = 'query2') " +
+                "from TradeStream " +
+                "select symbol, sum(volume) as totalVolume " +
+                "group by symbol " +
+                "insert into TotalStream; ";
+
+        QueryCallback checkCallback = new QueryCallback() {
+            @Override
+            public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+                EventPrinter.print(timestamp, inEvents, removeEvents);
+                if (inEvents != null) {
+                    for (Event event : inEvents) {
+                        inEventsList.add(event.getData());
+                    }
+                }
+            }
+        };
+        QueryCallback totalCallback = new QueryCallback() {
+            @Override
+            public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+                EventPrinter.print(timestamp, inEvents, removeEvents);
+                if (inEvents != null) {
+                    lastValue = (Long) inEvents[inEvents.length - 1].getData(1);
+                }
+            }
+        };
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        try {
+            InputHandler stockStream = siddhiAppRuntime.getInputHandler("StockStream");
+            InputHandler updateStockStream = siddhiAppRuntime.getInputHandler("UpdateStockStream");
+            InputHandler deleteStockStream = siddhiAppRuntime.getInputHandler("DeleteStockStream");
+            InputHandler tradeStream = siddhiAppRuntime.getInputHandler("TradeStream");
+            siddhiAppRuntime.start();
+
+            stockStream.send(new Object[]{"WSO2", 10L});
+            stockStream.send(new Object[]{"IBM", 20L});
+            stockStream.send(new Object[]{"ORCL", 30L});
+            tradeStream.send(new Object[]{"IBM", 20L});
+            tradeStream.send(new Object[]{"WSO2", 10L});
+
+            //persisting the base snapshot
+            siddhiAppRuntime.persist();
+            Thread.sleep(1000);
+
+            updateStockStream.send(new Object[]{"IBM", 200L});
+            updateStockStream.send(new Object[]{"IBM", 210L});
+            deleteStockStream.send(new Object[]{"ORCL"});
+            stockStream.send(new Object[]{"MSFT", 40L});
+            tradeStream.send(new Object[]{"WSO2", 5L});
+
+            //persisting the changes as an incremental snapshot
+            siddhiAppRuntime.persist();
+            Thread.sleep(1000);
+            siddhiAppRuntime.shutdown();
+
+            siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+            siddhiAppRuntime.addCallback("query1", checkCallback);
+            siddhiAppRuntime.addCallback("query2", totalCallback);
+            InputHandler checkStockStream = siddhiAppRuntime.getInputHandler("CheckStockStream");
+            tradeStream = siddhiAppRuntime.getInputHandler("TradeStream");
+            //loading
+            try {
+                siddhiAppRuntime.restoreLastRevision();
+            } catch (CannotRestoreSiddhiAppStateException e) {
+                Assert.fail("Restoring of Siddhi app " + siddhiAppRuntime.getName() + " failed.", e);
+            }
+            siddhiAppRuntime.start();
+
+            checkStockStream.send(new Object[]{"WSO2"});
+            checkStockStream.send(new Object[]{"IBM"});
+            checkStockStream.send(new Object[]{"ORCL"});
+            checkStockStream.send(new Object[]{"MSFT"});
+            List<Object[]> expected = Arrays.asList(
+                    new Object[]{"WSO2", 10L},
+                    new Object[]{"IBM", 210L},
+                    new Object[]{"MSFT", 40L}
+            );
+            AssertJUnit.assertEquals("In events matched", true,
+                    SiddhiTestHelper.isEventsMatch(inEventsList, expected));
+
+            tradeStream.send(new Object[]{"IBM", 1L});
+            AssertJUnit.assertEquals((Long) 21L, lastValue);
+            tradeStream.send(new Object[]{"WSO2", 1L});
+            AssertJUnit.assertEquals((Long) 16L, lastValue);
+        } finally {
+            siddhiAppRuntime.shutdown();
+        }
+    }
+
+    @Test
+    public void incrementalPersistenceTest14() throws InterruptedException {
+        log.info("Incremental persistence test 14 - primary key table changing more keys than it holds between " +
+                "snapshots.");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        siddhiManager.setIncrementalPersistenceStore(new IncrementalFileSystemPersistenceStore(storageFilePath));
+
+        String siddhiApp = "" +
+                "@app:name('incrementalPersistenceTest14') " +
+                "" +
+                "define stream StockStream (symbol string, volume long); " +
+                "define stream DeleteStockStream (symbol string); " +
+                "define stream CheckStockStream (symbol string); " +
+                "@PrimaryKey('symbol') " +
+                "define table StockTable (symbol string, volume long); " +
+                "" +
+                "from StockStream " +
+                "update or insert into StockTable " +
+                "   on StockTable.symbol == symbol; " +
+                "" +
+                "from DeleteStockStream " +
+                "delete StockTable " +
+                "   on StockTable.symbol == symbol; " +
+                "" +
+                "@info(name = 'query1') " +
+                "from CheckStockStream join StockTable " +
+                "   on CheckStockStream.symbol == StockTable.symbol " +
+                "select StockTable.symbol, StockTable.volume " +
+                "insert into OutStream; ";
+
+        QueryCallback checkCallback = new QueryCallback() {
+            @Override
+            public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+                EventPrinter.print(timestamp, inEvents, removeEvents);
+                if (inEvents != null) {
+                    for (Event event : inEvents) {
+                        inEventsList.add(event.getData());
+                    }
+                }
+            }
+        };
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        try {
+            InputHandler stockStream = siddhiAppRuntime.getInputHandler("StockStream");
+            InputHandler deleteStockStream = siddhiAppRuntime.getInputHandler("DeleteStockStream");
+            siddhiAppRuntime.start();
+
+            stockStream.send(new Object[]{"WSO2", 10L});
+            stockStream.send(new Object[]{"IBM", 20L});
+
+            //persisting the base snapshot
+            siddhiAppRuntime.persist();
+            Thread.sleep(1000);
+
+            for (int i = 0; i < 10; i++) {
+                stockStream.send(new Object[]{"TEMP" + i, (long) i});
+                deleteStockStream.send(new Object[]{"TEMP" + i});
+            }
+            stockStream.send(new Object[]{"IBM", 200L});
+            stockStream.send(new Object[]{"MSFT", 40L});
+
+            //persisting the changes, as a full snapshot of the table
+            siddhiAppRuntime.persist();
+            Thread.sleep(1000);
+
+            stockStream.send(new Object[]{"WSO2", 100L});
+
+            //persisting the changes since the full snapshot as an incremental snapshot
+            siddhiAppRuntime.persist();
+            Thread.sleep(1000);
+            siddhiAppRuntime.shutdown();
+
+            siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+            siddhiAppRuntime.addCallback("query1", checkCallback);
+            InputHandler checkStockStream = siddhiAppRuntime.getInputHandler("CheckStockStream");
+            //loading
+            try {
+                siddhiAppRuntime.restoreLastRevision();
+            } catch (CannotRestoreSiddhiAppStateException e) {
+                Assert.fail("Restoring of Siddhi app " + siddhiAppRuntime.getName() + " failed.", e);
+            }
+            siddhiAppRuntime.start();
+
+            checkStockStream.send(new Object[]{"WSO2"});
+            checkStockStream.send(new Object[]{"IBM"});
+            checkStockStream.send(new Object[]{"MSFT"});
+            checkStockStream.send(new Object[]{"TEMP0"});
+            List<Object[]> expected = Arrays.asList(
+                    new Object[]{"WSO2", 100L},
+                    new Object[]{"IBM", 200L},
+                    new Object[]{"MSFT", 40L}
+            );
+            AssertJUnit.assertEquals("In events matched", true,
+                    SiddhiTestHelper.isEventsMatch(inEventsList, expected));
+        } finally {
+            siddhiAppRuntime.shutdown();
+        }
+    }
+
+    @Test
+    public void incrementalPersistenceTest15() throws InterruptedException {
+        log.info("Incremental persistence test 15 - group by states of a failed incremental snapshot persisted " +
+                "by the next one.");
+
+        AtomicBoolean failSaves = new AtomicBoolean(false);
+        SiddhiManager siddhiManager = new SiddhiManager();
+        siddhiManager.setIncrementalPersistenceStore(new IncrementalFileSystemPersistenceStore(storageFilePath) {
+            @Override
+            public void save(IncrementalSnapshotInfo snapshotInfo, byte[] snapshot) {
+                if (failSaves.get()) {
+                    throw new PersistenceStoreException("Cannot save revision '" + snapshotInfo.getRevision() +
+                            "'");
+                }
+                super.save(snapshotInfo, snapshot);
+            }
+        });
+
+        String siddhiApp = "" +
+                "@app:name('incrementalPersistenceTest15') " +
+                "" +
+                "define stream TradeStream (symbol string, volume long); " +
+                "" +
+                "@info(name = 'query1') " +
+                "from TradeStream " +
+                "select symbol, sum(volume) as totalVolume " +
+                "group by symbol " +
+                "insert into TotalStream; ";
+
+        QueryCallback totalCallback = new QueryCallback() {
+            @Override
+            public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+                EventPrinter.print(timestamp, inEvents, removeEvents);
+                lastValue = (Long) inEvents[inEvents.length - 1].getData(1);
+            }
+        };
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        try {
+            InputHandler tradeStream = siddhiAppRuntime.getInputHandler("TradeStream");
+            siddhiAppRuntime.start();
+
+            tradeStream.send(new Object[]{"IBM", 20L});
+            tradeStream.send(new Object[]{"WSO2", 10L});
+
+            //persisting the base snapshot
+            siddhiAppRuntime.persist();
+            Thread.sleep(1000);
+
+            tradeStream.send(new Object[]{"WSO2", 5L});
+
+            //failing to persist the changes
+            failSaves.set(true);
+            siddhiAppRuntime.persist();
+            Thread.sleep(1000);
+            failSaves.set(false);
+
+            //persisting the changes that could not be persisted previously
+            siddhiAppRuntime.persist();
+            Thread.sleep(1000);
+            siddhiAppRuntime.shutdown();
+
+            siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+            siddhiAppRuntime.addCallback("query1", totalCallback);
+            tradeStream = siddhiAppRuntime.getInputHandler("TradeStream");
+            //loading
+            try {
+                siddhiAppRuntime.restoreLastRevision();
+            } catch (CannotRestoreSiddhiAppStateException e) {
+                Assert.fail("Restoring of Siddhi app " + siddhiAppRuntime.getName() + " failed.", e);
+            }
+            siddhiAppRuntime.start();
+
+            tradeStream.send(new Object[]{"WSO2", 1L});
+            AssertJUnit.assertEquals((Long) 16L, lastValue);
+            tradeStream.send(new Object[]{"IBM", 1L});
+            AssertJUnit.assertEquals((Long) 21L, lastValue);
+        } finally {
+            siddhiAppRuntime.shutdown();
+        }
+    }
 }
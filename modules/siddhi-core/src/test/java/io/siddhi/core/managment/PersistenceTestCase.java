@@ -23,20 +23,30 @@ import io.siddhi.core.SiddhiManager;
 import io.siddhi.core.event.Event;
 import io.siddhi.core.exception.CannotRestoreSiddhiAppStateException;
 import io.siddhi.core.exception.NoPersistenceStoreException;
+import io.siddhi.core.exception.PersistenceStoreException;
 import io.siddhi.core.query.output.callback.QueryCallback;
 import io.siddhi.core.stream.input.InputHandler;
 import io.siddhi.core.stream.output.StreamCallback;
 import io.siddhi.core.util.EventPrinter;
 import io.siddhi.core.util.SiddhiTestHelper;
+import io.siddhi.core.util.persistence.FileSystemPersistenceStore;
 import io.siddhi.core.util.persistence.InMemoryPersistenceStore;
 import io.siddhi.core.util.persistence.PersistenceStore;
+import io.siddhi.core.util.persistence.util.PersistenceConstants;
 import io.siddhi.core.util.snapshot.PersistenceReference;
+import io.siddhi.core.util.snapshot.serializer.BinaryStateSerializer;
 import org.apache.log4j.Logger;
 import org.testng.Assert;
 import org.testng.AssertJUnit;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -1119,4 +1129,457 @@ public class PersistenceTestCase {
 
         siddhiAppRuntime.shutdown();
     }
+
+    @Test(dependsOnMethods = "persistenceTest13")
+    public void persistenceTest14() throws InterruptedException, ExecutionException {
+        log.info("Persistence test 14 - non-blocking snapshot of group by and window state.");
+        PersistenceStore persistenceStore = new InMemoryPersistenceStore();
+        SiddhiManager siddhiManager = new SiddhiManager();
+        siddhiManager.setPersistenceStore(persistenceStore);
+
+        String siddhiApp = "" +
+                "@app:name('Test') " +
+                "@app:snapshot(non.blocking='true') " +
+                "" +
+                "define stream StockStream ( symbol string, price float, volume int );" +
+                "" +
+                "@info(name = 'query1')" +
+                "from StockStream#window.length(1000) " +
+                "select symbol, price, sum(volume) as totalVol " +
+                "group by symbol " +
+                "insert into OutStream ";
+
+        QueryCallback queryCallback = new QueryCallback() {
+            @Override
+            public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+                EventPrinter.print(timestamp, inEvents, removeEvents);
+                eventArrived = true;
+                for (Event inEvent : inEvents) {
+                    count++;
+                    if ("IBM".equals(inEvent.getData(0))) {
+                        lastValue = (Long) inEvent.getData(2);
+                    }
+                }
+            }
+        };
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        siddhiAppRuntime.addCallback("query1", queryCallback);
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+
+        for (int i = 0; i < 50; i++) {
+            inputHandler.send(new Object[]{"IBM", 75.6f, 100});
+            inputHandler.send(new Object[]{"WSO2", 57.6f, 10});
+        }
+        AssertJUnit.assertEquals(new Long(5000), lastValue);
+
+        //persisting, events sent after the capture should not be part of the snapshot
+        PersistenceReference persistenceReference = siddhiAppRuntime.persist();
+        for (int i = 0; i < 20; i++) {
+            inputHandler.send(new Object[]{"IBM", 75.6f, 100});
+        }
+        persistenceReference.getFuture().get();
+        AssertJUnit.assertEquals(new Long(7000), lastValue);
+
+        //restarting siddhi app
+        siddhiAppRuntime.shutdown();
+        siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        siddhiAppRuntime.addCallback("query1", queryCallback);
+        inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+
+        //loading
+        try {
+            siddhiAppRuntime.restoreLastRevision();
+        } catch (CannotRestoreSiddhiAppStateException e) {
+            Assert.fail("Restoring of Siddhi app " + siddhiAppRuntime.getName() + " failed");
+        }
+
+        inputHandler.send(new Object[]{"IBM", 75.6f, 100});
+        AssertJUnit.assertEquals(new Long(5100), lastValue);
+        AssertJUnit.assertEquals(121, count);
+
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test(dependsOnMethods = "persistenceTest14")
+    public void persistenceTest15() throws InterruptedException, ExecutionException {
+        log.info("Persistence test 15 - snapshot of multiple partitions and queries.");
+        PersistenceStore persistenceStore = new InMemoryPersistenceStore();
+        SiddhiManager siddhiManager = new SiddhiManager();
+        siddhiManager.setPersistenceStore(persistenceStore);
+
+        String siddhiApp = "" +
+                "@app:name('Test') " +
+                "" +
+                "define stream StockStream ( symbol string, price float, volume int );" +
+                "" +
+                "partition with ( symbol of StockStream ) " +
+                "begin " +
+                "   @info(name = 'query1')" +
+                "   from StockStream#window.length(100) " +
+                "   select symbol, sum(volume) as totalVol " +
+                "   insert into OutStream; " +
+                "" +
+                "   @info(name = 'query2')" +
+                "   from StockStream " +
+                "   select symbol, count() as eventCount " +
+                "   insert into CountStream; " +
+                "end; " +
+                "" +
+                "@info(name = 'query3')" +
+                "from StockStream#window.lengthBatch(7) " +
+                "select count() as eventCount " +
+                "insert into BatchStream; ";
+
+        StreamCallback outStreamCallback = new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                EventPrinter.print(events);
+                for (Event event : events) {
+                    if ("S3".equals(event.getData(0))) {
+                        lastValue = (Long) event.getData(1);
+                    }
+                }
+            }
+        };
+        StreamCallback countStreamCallback = new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                for (Event event : events) {
+                    if ("S3".equals(event.getData(0))) {
+                        firstValue = (Long) event.getData(1);
+                    }
+                }
+            }
+        };
+        StreamCallback batchStreamCallback = new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                atomicCount.addAndGet(events.length);
+            }
+        };
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        siddhiAppRuntime.addCallback("OutStream", outStreamCallback);
+        siddhiAppRuntime.addCallback("CountStream", countStreamCallback);
+        siddhiAppRuntime.addCallback("BatchStream", batchStreamCallback);
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+
+        for (int i = 0; i < 10; i++) {
+            for (int j = 0; j < 10; j++) {
+                inputHandler.send(new Object[]{"S" + j, 75.6f, 100});
+            }
+        }
+        AssertJUnit.assertEquals(new Long(1000), lastValue);
+        AssertJUnit.assertEquals(10, firstValue);
+        AssertJUnit.assertEquals(14, atomicCount.get());
+
+        //persisting
+        siddhiAppRuntime.persist().getFuture().get();
+
+        //restarting siddhi app
+        siddhiAppRuntime.shutdown();
+        siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        siddhiAppRuntime.addCallback("OutStream", outStreamCallback);
+        siddhiAppRuntime.addCallback("CountStream", countStreamCallback);
+        siddhiAppRuntime.addCallback("BatchStream", batchStreamCallback);
+        inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+
+        //loading
+        try {
+            siddhiAppRuntime.restoreLastRevision();
+        } catch (CannotRestoreSiddhiAppStateException e) {
+            Assert.fail("Restoring of Siddhi app " + siddhiAppRuntime.getName() + " failed");
+        }
+
+        for (int i = 0; i < 5; i++) {
+            inputHandler.send(new Object[]{"S3", 75.6f, 100});
+        }
+        AssertJUnit.assertEquals(new Long(1500), lastValue);
+        AssertJUnit.assertEquals(15, firstValue);
+        AssertJUnit.assertEquals(15, atomicCount.get());
+
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test(dependsOnMethods = "persistenceTest15")
+    public void persistenceTest16() throws InterruptedException, ExecutionException {
+        log.info("Persistence test 16 - streaming snapshots to the file system.");
+        String folder = "target/persistence-test-16";
+        PersistenceStore persistenceStore = new FileSystemPersistenceStore();
+        Map<String, Object> configs = new HashMap<>();
+        configs.put("location", folder);
+        Map<String, Object> properties = new HashMap<>();
+        properties.put(PersistenceConstants.STATE_PERSISTENCE_CONFIGS, configs);
+        persistenceStore.setProperties(properties);
+        persistenceStore.clearAllRevisions("Test");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        siddhiManager.setPersistenceStore(persistenceStore);
+        siddhiManager.setStateSerializer(new BinaryStateSerializer(true));
+
+        String siddhiApp = "" +
+                "@app:name('Test') " +
+                "" +
+                "define stream StockStream ( symbol string, price float, volume int );" +
+                "" +
+                "@info(name = 'query1')" +
+                "from StockStream#window.length(2000) " +
+                "select symbol, price, sum(volume) as totalVol " +
+                "group by symbol " +
+                "insert into OutStream ";
+
+        QueryCallback queryCallback = new QueryCallback() {
+            @Override
+            public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+                EventPrinter.print(timestamp, inEvents, removeEvents);
+                for (Event inEvent : inEvents) {
+                    count++;
+                    if ("IBM".equals(inEvent.getData(0))) {
+                        lastValue = (Long) inEvent.getData(2);
+                    }
+                }
+            }
+        };
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        siddhiAppRuntime.addCallback("query1", queryCallback);
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+
+        for (int i = 0; i < 500; i++) {
+            inputHandler.send(new Object[]{"IBM", 75.6f, 100});
+            inputHandler.send(new Object[]{"WSO2", 57.6f, 10});
+        }
+        AssertJUnit.assertEquals(new Long(50000), lastValue);
+
+        //persisting
+        PersistenceReference persistenceReference = siddhiAppRuntime.persist();
+        persistenceReference.getFuture().get();
+        File[] files = new File(folder + File.separator + "Test").listFiles();
+        AssertJUnit.assertNotNull(files);
+        AssertJUnit.assertEquals(1, files.length);
+        AssertJUnit.assertEquals(persistenceReference.getRevision(), files[0].getName());
+
+        //restarting siddhi app
+        siddhiAppRuntime.shutdown();
+        siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        siddhiAppRuntime.addCallback("query1", queryCallback);
+        inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+
+        //loading
+        try {
+            siddhiAppRuntime.restoreLastRevision();
+        } catch (CannotRestoreSiddhiAppStateException e) {
+            Assert.fail("Restoring of Siddhi app " + siddhiAppRuntime.getName() + " failed");
+        }
+
+        inputHandler.send(new Object[]{"IBM", 75.6f, 100});
+        AssertJUnit.assertEquals(new Long(50100), lastValue);
+        AssertJUnit.assertEquals(1001, count);
+
+        siddhiAppRuntime.shutdown();
+        persistenceStore.clearAllRevisions("Test");
+    }
+
+    @Test(dependsOnMethods = "persistenceTest16")
+    public void persistenceTest17() throws InterruptedException, ExecutionException {
+        log.info("Persistence test 17 - min and max over windows expiring in and out of arrival order.");
+        PersistenceStore persistenceStore = new InMemoryPersistenceStore();
+        SiddhiManager siddhiManager = new SiddhiManager();
+        siddhiManager.setPersistenceStore(persistenceStore);
+
+        String siddhiApp = "" +
+                "@app:name('Test') " +
+                "" +
+                "define stream StockStream ( symbol string, price int );" +
+                "" +
+                "@info(name = 'query1')" +
+                "from StockStream#window.length(3) " +
+                "select max(price) as maxPrice, min(0 - price) as minPrice " +
+                "insert into OutStream; " +
+                "" +
+                "@info(name = 'query2')" +
+                "from StockStream#window.sort(2, price) " +
+                "select max(price) as maxPrice, min(0 - price) as minPrice " +
+                "insert into SortedOutStream; ";
+
+        List<Object[]> outputs = new ArrayList<>();
+        List<Object[]> sortedOutputs = new ArrayList<>();
+        QueryCallback queryCallback = new QueryCallback() {
+            @Override
+            public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+                EventPrinter.print(timestamp, inEvents, removeEvents);
+                for (Event inEvent : inEvents) {
+                    outputs.add(inEvent.getData());
+                }
+            }
+        };
+        QueryCallback sortedQueryCallback = new QueryCallback() {
+            @Override
+            public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+                EventPrinter.print(timestamp, inEvents, removeEvents);
+                for (Event inEvent : inEvents) {
+                    sortedOutputs.add(inEvent.getData());
+                }
+            }
+        };
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        siddhiAppRuntime.addCallback("query1", queryCallback);
+        siddhiAppRuntime.addCallback("query2", sortedQueryCallback);
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+
+        inputHandler.send(new Object[]{"IBM", 2});
+        inputHandler.send(new Object[]{"IBM", 5});
+        inputHandler.send(new Object[]{"IBM", 2});
+        inputHandler.send(new Object[]{"IBM", 1});
+
+        //persisting
+        siddhiAppRuntime.persist().getFuture().get();
+
+        //restarting siddhi app
+        siddhiAppRuntime.shutdown();
+        siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        siddhiAppRuntime.addCallback("query1", queryCallback);
+        siddhiAppRuntime.addCallback("query2", sortedQueryCallback);
+        inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+
+        //loading
+        try {
+            siddhiAppRuntime.restoreLastRevision();
+        } catch (CannotRestoreSiddhiAppStateException e) {
+            Assert.fail("Restoring of Siddhi app " + siddhiAppRuntime.getName() + " failed");
+        }
+
+        inputHandler.send(new Object[]{"IBM", 0});
+        inputHandler.send(new Object[]{"IBM", 0});
+        inputHandler.send(new Object[]{"IBM", 3});
+        siddhiAppRuntime.shutdown();
+
+        // length(3) expires the oldest value, and sort(2, price) expires the largest value
+        int[] expectedMax = new int[]{2, 5, 5, 5, 2, 1, 3};
+        int[] expectedSortedMax = new int[]{2, 5, 5, 2, 2, 1, 3};
+        AssertJUnit.assertEquals(expectedMax.length, outputs.size());
+        AssertJUnit.assertEquals(expectedSortedMax.length, sortedOutputs.size());
+        for (int i = 0; i < expectedMax.length; i++) {
+            AssertJUnit.assertEquals(expectedMax[i], outputs.get(i)[0]);
+            AssertJUnit.assertEquals(-expectedMax[i], outputs.get(i)[1]);
+            AssertJUnit.assertEquals(expectedSortedMax[i], sortedOutputs.get(i)[0]);
+            AssertJUnit.assertEquals(-expectedSortedMax[i], sortedOutputs.get(i)[1]);
+        }
+    }
+
+    @Test(dependsOnMethods = "persistenceTest17")
+    public void persistenceTest18() throws InterruptedException, ExecutionException {
+        log.info("Persistence test 18 - non-blocking snapshot of an indexed table.");
+        PersistenceStore persistenceStore = new InMemoryPersistenceStore();
+        SiddhiManager siddhiManager = new SiddhiManager();
+        siddhiManager.setPersistenceStore(persistenceStore);
+
+        String siddhiApp = "" +
+                "@app:name('Test') " +
+                "@app:snapshot(non.blocking='true') " +
+                "" +
+                "define stream StockStream ( symbol string, price float, volume long );" +
+                "@PrimaryKey('symbol') " +
+                "@Index('volume') " +
+                "define table StockTable ( symbol string, price float, volume long );" +
+                "" +
+                "@info(name = 'query1')" +
+                "from StockStream " +
+                "update or insert into StockTable " +
+                "   on StockTable.symbol == symbol ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+
+        inputHandler.send(new Object[]{"IBM", 75.6f, 100L});
+        inputHandler.send(new Object[]{"WSO2", 57.6f, 10L});
+        inputHandler.send(new Object[]{"ORACLE", 45.6f, 100L});
+
+        //persisting, updates done after the capture should not be part of the snapshot
+        PersistenceReference persistenceReference = siddhiAppRuntime.persist();
+        inputHandler.send(new Object[]{"IBM", 80.6f, 200L});
+        inputHandler.send(new Object[]{"GOOGLE", 95.6f, 100L});
+        persistenceReference.getFuture().get();
+
+        //restarting siddhi app
+        siddhiAppRuntime.shutdown();
+        siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        siddhiAppRuntime.start();
+
+        //loading
+        try {
+            siddhiAppRuntime.restoreLastRevision();
+        } catch (CannotRestoreSiddhiAppStateException e) {
+            Assert.fail("Restoring of Siddhi app " + siddhiAppRuntime.getName() + " failed");
+        }
+
+        Event[] events = siddhiAppRuntime.query("from StockTable select symbol, price, volume ");
+        AssertJUnit.assertEquals(3, events.length);
+        events = siddhiAppRuntime.query("from StockTable on volume == 100L select symbol ");
+        AssertJUnit.assertEquals(2, events.length);
+        events = siddhiAppRuntime.query("from StockTable on symbol == 'IBM' select price, volume ");
+        AssertJUnit.assertEquals(1, events.length);
+        AssertJUnit.assertEquals(75.6f, events[0].getData(0));
+        AssertJUnit.assertEquals(100L, events[0].getData(1));
+
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test(dependsOnMethods = "persistenceTest18")
+    public void persistenceTest19() throws InterruptedException, IOException {
+        log.info("Persistence test 19 - failure of a streamed save fails the persistence future.");
+        // A file in place of the persistence folder, such that the revision cannot be written
+        File folder = new File("target/persistence-test-18");
+        folder.getParentFile().mkdirs();
+        folder.createNewFile();
+        PersistenceStore persistenceStore = new FileSystemPersistenceStore();
+        Map<String, Object> configs = new HashMap<>();
+        configs.put("location", folder.getPath());
+        Map<String, Object> properties = new HashMap<>();
+        properties.put(PersistenceConstants.STATE_PERSISTENCE_CONFIGS, configs);
+        persistenceStore.setProperties(properties);
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        siddhiManager.setPersistenceStore(persistenceStore);
+
+        String siddhiApp = "" +
+                "@app:name('Test') " +
+                "" +
+                "define stream StockStream ( symbol string, price float, volume int );" +
+                "" +
+                "@info(name = 'query1')" +
+                "from StockStream#window.length(10) " +
+                "select symbol, sum(volume) as totalVol " +
+                "insert into OutStream ";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+        inputHandler.send(new Object[]{"IBM", 75.6f, 100});
+
+        PersistenceReference persistenceReference = siddhiAppRuntime.persist();
+        try {
+            persistenceReference.getFuture().get();
+            Assert.fail("Persisting to " + folder + " should have failed");
+        } catch (ExecutionException e) {
+            AssertJUnit.assertTrue(e.getCause() instanceof PersistenceStoreException);
+        } finally {
+            siddhiAppRuntime.shutdown();
+            folder.delete();
+        }
+    }
 }
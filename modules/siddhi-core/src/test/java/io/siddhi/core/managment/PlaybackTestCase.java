@@ -23,6 +23,7 @@ import io.siddhi.core.SiddhiManager;
 import io.siddhi.core.event.Event;
 import io.siddhi.core.query.output.callback.QueryCallback;
 import io.siddhi.core.stream.input.InputHandler;
+import io.siddhi.core.stream.output.StreamCallback;
 import io.siddhi.core.util.EventPrinter;
 import io.siddhi.core.util.SiddhiTestHelper;
 import io.siddhi.query.compiler.exception.SiddhiParserException;
@@ -31,6 +32,9 @@ import org.testng.AssertJUnit;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public class PlaybackTestCase {
     private static final Logger log = Logger.getLogger(PlaybackTestCase.class);
     private int inEventCount;
@@ -1035,5 +1039,56 @@ public class PlaybackTestCase {
             siddhiAppRuntime.shutdown();
         }
     }
-}
 
+    @Test(dependsOnMethods = {"playbackTest18"})
+    public void playbackTest19() throws InterruptedException {
+        log.info("Playback Test 19: Playback with heartbeat disabled in a partition with many keys containing " +
+                "regular time window");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String cseEventStream = "" +
+                "@app:playback " +
+                "define stream cseEventStream (symbol string, price float, volume int);";
+        String query = "" +
+                "partition with (symbol of cseEventStream) " +
+                "begin " +
+                "   @info(name = 'query1') " +
+                "   from cseEventStream#window.time(1 sec) " +
+                "   select * " +
+                "   insert expired events into outputStream ;" +
+                "end ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(cseEventStream + query);
+        List<Long> removeEventTimestamps = new ArrayList<>();
+        siddhiAppRuntime.addCallback("outputStream", new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                for (Event event : events) {
+                    removeEventTimestamps.add(event.getTimestamp());
+                    removeEventCount++;
+                }
+                eventArrived = true;
+            }
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        siddhiAppRuntime.start();
+        long timestamp = System.currentTimeMillis();
+        int keys = 1000;
+        for (int i = 0; i < keys; i++) {
+            inputHandler.send(timestamp + i, new Object[]{"SYM" + i, 700f, i});
+        }
+        inputHandler.send(timestamp + 1500, new Object[]{"WSO2", 60.5f, 1});
+
+        AssertJUnit.assertEquals(keys / 2 + 1, removeEventCount);
+        for (int i = 1; i < removeEventTimestamps.size(); i++) {
+            AssertJUnit.assertTrue(removeEventTimestamps.get(i - 1) <= removeEventTimestamps.get(i));
+        }
+
+        inputHandler.send(timestamp + 3000, new Object[]{"WSO2", 60.5f, 1});
+        AssertJUnit.assertEquals(keys + 1, removeEventCount);
+        AssertJUnit.assertTrue(eventArrived);
+        siddhiAppRuntime.shutdown();
+    }
+}
@@ -0,0 +1,347 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.managment;
+
+import io.siddhi.core.SiddhiAppRuntime;
+import io.siddhi.core.SiddhiManager;
+import io.siddhi.core.event.ComplexEvent;
+import io.siddhi.core.event.Event;
+import io.siddhi.core.event.state.StateEvent;
+import io.siddhi.core.event.stream.Operation;
+import io.siddhi.core.event.stream.StreamEvent;
+import io.siddhi.core.exception.CannotRestoreSiddhiAppStateException;
+import io.siddhi.core.query.output.callback.QueryCallback;
+import io.siddhi.core.query.selector.GroupByKey;
+import io.siddhi.core.stream.input.InputHandler;
+import io.siddhi.core.util.EventPrinter;
+import io.siddhi.core.util.persistence.InMemoryPersistenceStore;
+import io.siddhi.core.util.persistence.IncrementalFileSystemPersistenceStore;
+import io.siddhi.core.util.persistence.PersistenceStore;
+import io.siddhi.core.util.snapshot.serializer.BinaryStateSerializer;
+import io.siddhi.core.util.snapshot.serializer.JavaStateSerializer;
+import io.siddhi.core.util.snapshot.state.Snapshot;
+import io.siddhi.core.util.snapshot.state.SnapshotStateList;
+import org.apache.log4j.Logger;
+import org.testng.Assert;
+import org.testng.AssertJUnit;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+
+public class StateSerializerTestCase {
+    private static final Logger log = Logger.getLogger(StateSerializerTestCase.class);
+    private int count;
+    private Long lastValue;
+
+    @BeforeMethod
+    public void init() {
+        count = 0;
+        lastValue = 0L;
+    }
+
+    @Test
+    public void stateSerializerTest1() throws IOException, ClassNotFoundException {
+        log.info("State serializer test 1 - binary serialization of events and snapshots");
+
+        StreamEvent first = null;
+        StreamEvent last = null;
+        for (int i = 0; i < 10000; i++) {
+            StreamEvent streamEvent = new StreamEvent(0, 1, 3);
+            streamEvent.setOnAfterWindowData(new Object[]{i % 2 == 0 ? null : "WSO2"});
+            streamEvent.setOutputData(new Object[]{"IBM", 75.6f + i, (long) i});
+            streamEvent.setTimestamp(i);
+            streamEvent.setType(ComplexEvent.Type.EXPIRED);
+            if (first == null) {
+                first = streamEvent;
+            } else {
+                last.setNext(streamEvent);
+            }
+            last = streamEvent;
+        }
+        StateEvent stateEvent = new StateEvent(2, 1);
+        stateEvent.setEvent(0, last);
+        stateEvent.setOutputData(10.5, 0);
+        stateEvent.setId(7);
+        List<Operation> operations = new ArrayList<>();
+        operations.add(new Operation(Operation.Operator.ADD, last));
+        operations.add(new Operation(Operation.Operator.CLEAR));
+        SnapshotStateList snapshotStateList = new SnapshotStateList();
+        snapshotStateList.putSnapshotState(1L, new Snapshot(first, false));
+        snapshotStateList.putSnapshotState(2L, new Snapshot(operations, true));
+
+        Map<String, Object> state = new HashMap<>();
+        state.put("Events", snapshotStateList);
+        state.put("StateEvent", stateEvent);
+        state.put("Values", new Object[]{1, 2L, 3.0, 4.0f, true, "five", 'c', (short) 7, (byte) 8,
+                new int[]{9}});
+
+        byte[] javaBytes = new JavaStateSerializer().serialize(state);
+        for (BinaryStateSerializer stateSerializer :
+                new BinaryStateSerializer[]{new BinaryStateSerializer(), new BinaryStateSerializer(true)}) {
+            byte[] bytes = stateSerializer.serialize(state);
+            log.info("Java serialization: " + javaBytes.length + " bytes, binary serialization: " +
+                    bytes.length + " bytes");
+            AssertJUnit.assertTrue(bytes.length < javaBytes.length);
+
+            Map<String, Object> restoredState = (Map<String, Object>) stateSerializer.deserialize(bytes);
+            SnapshotStateList restoredList = (SnapshotStateList) restoredState.get("Events");
+            StreamEvent restoredEvent = (StreamEvent) restoredList.getSnapshotStates().get(1L).getState();
+            StreamEvent restoredLast = null;
+            for (int i = 0; i < 10000; i++) {
+                AssertJUnit.assertEquals(i % 2 == 0 ? null : "WSO2", restoredEvent.getOnAfterWindowData()[0]);
+                AssertJUnit.assertEquals(75.6f + i, restoredEvent.getOutputData()[1]);
+                AssertJUnit.assertEquals((long) i, restoredEvent.getOutputData()[2]);
+                AssertJUnit.assertEquals(i, restoredEvent.getTimestamp());
+                AssertJUnit.assertEquals(ComplexEvent.Type.EXPIRED, restoredEvent.getType());
+                AssertJUnit.assertNull(restoredEvent.getBeforeWindowData());
+                restoredLast = restoredEvent;
+                restoredEvent = restoredEvent.getNext();
+            }
+            AssertJUnit.assertNull(restoredEvent);
+
+            Snapshot incrementalSnapshot = restoredList.getSnapshotStates().get(2L);
+            AssertJUnit.assertTrue(incrementalSnapshot.isIncrementalSnapshot());
+            List<Operation> restoredOperations = (List<Operation>) incrementalSnapshot.getState();
+            AssertJUnit.assertEquals(Operation.Operator.ADD, restoredOperations.get(0).operation);
+            AssertJUnit.assertEquals(Operation.Operator.CLEAR, restoredOperations.get(1).operation);
+            // Shared references are preserved
+            AssertJUnit.assertSame(restoredLast, restoredOperations.get(0).parameters);
+
+            StateEvent restoredStateEvent = (StateEvent) restoredState.get("StateEvent");
+            AssertJUnit.assertSame(restoredLast, restoredStateEvent.getStreamEvent(0));
+            AssertJUnit.assertNull(restoredStateEvent.getStreamEvent(1));
+            AssertJUnit.assertEquals(10.5, restoredStateEvent.getOutputData()[0]);
+            AssertJUnit.assertEquals(7, restoredStateEvent.getId());
+
+            Object[] values = (Object[]) restoredState.get("Values");
+            Object[] expectedValues = (Object[]) state.get("Values");
+            for (int i = 0; i < expectedValues.length - 1; i++) {
+                AssertJUnit.assertEquals(expectedValues[i], values[i]);
+            }
+            AssertJUnit.assertEquals(9, ((int[]) values[expectedValues.length - 1])[0]);
+        }
+    }
+
+    @Test
+    public void stateSerializerTest2() throws InterruptedException, ExecutionException {
+        log.info("State serializer test 2 - restoring a snapshot taken with Java serialization using the " +
+                "binary serializer");
+
+        PersistenceStore persistenceStore = new InMemoryPersistenceStore();
+        SiddhiManager siddhiManager = new SiddhiManager();
+        siddhiManager.setPersistenceStore(persistenceStore);
+
+        String siddhiApp = "" +
+                "@app:name('Test') " +
+                "" +
+                "define stream StockStream ( symbol string, price float, volume int );" +
+                "" +
+                "@info(name = 'query1')" +
+                "from StockStream#window.length(10) " +
+                "select symbol, price, sum(volume) as totalVol " +
+                "group by symbol " +
+                "insert into OutStream ";
+
+        QueryCallback queryCallback = new QueryCallback() {
+            @Override
+            public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+                EventPrinter.print(timestamp, inEvents, removeEvents);
+                for (Event inEvent : inEvents) {
+                    count++;
+                    lastValue = (Long) inEvent.getData(2);
+                }
+            }
+        };
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        siddhiAppRuntime.addCallback("query1", queryCallback);
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+
+        inputHandler.send(new Object[]{"IBM", 75.6f, 100});
+        inputHandler.send(new Object[]{"IBM", 75.6f, 100});
+        siddhiAppRuntime.persist().getFuture().get();
+        siddhiAppRuntime.shutdown();
+
+        for (boolean compress : new boolean[]{false, true}) {
+            siddhiManager.setStateSerializer(new BinaryStateSerializer(compress));
+            siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+            siddhiAppRuntime.addCallback("query1", queryCallback);
+            inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+            siddhiAppRuntime.start();
+            try {
+                siddhiAppRuntime.restoreLastRevision();
+            } catch (CannotRestoreSiddhiAppStateException e) {
+                Assert.fail("Restoring of Siddhi app " + siddhiAppRuntime.getName() + " failed");
+            }
+            inputHandler.send(new Object[]{"IBM", 75.6f, 100});
+            AssertJUnit.assertEquals(new Long(300), lastValue);
+
+            // Snapshots taken by the binary serializer are restored as well
+            siddhiAppRuntime.persist().getFuture().get();
+            siddhiAppRuntime.shutdown();
+            siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+            siddhiAppRuntime.addCallback("query1", queryCallback);
+            inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+            siddhiAppRuntime.start();
+            try {
+                siddhiAppRuntime.restoreLastRevision();
+            } catch (CannotRestoreSiddhiAppStateException e) {
+                Assert.fail("Restoring of Siddhi app " + siddhiAppRuntime.getName() + " failed");
+            }
+            inputHandler.send(new Object[]{"IBM", 75.6f, 100});
+            AssertJUnit.assertEquals(new Long(400), lastValue);
+            siddhiAppRuntime.shutdown();
+
+            siddhiManager.setStateSerializer(new JavaStateSerializer());
+            siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+            siddhiAppRuntime.addCallback("query1", queryCallback);
+            inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+            siddhiAppRuntime.start();
+            inputHandler.send(new Object[]{"IBM", 75.6f, 100});
+            inputHandler.send(new Object[]{"IBM", 75.6f, 100});
+            siddhiAppRuntime.persist().getFuture().get();
+            siddhiAppRuntime.shutdown();
+        }
+        AssertJUnit.assertEquals(10, count);
+    }
+
+    @Test
+    public void stateSerializerTest3() throws InterruptedException {
+        log.info("State serializer test 3 - incremental persistence with the compressed binary serializer");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        siddhiManager.setIncrementalPersistenceStore(
+                new IncrementalFileSystemPersistenceStore("target/state-serializer-test"));
+        siddhiManager.setStateSerializer(new BinaryStateSerializer(true));
+
+        String siddhiApp = "" +
+                "@app:name('StateSerializerTest3') " +
+                "" +
+                "define stream StockStream ( symbol string, price float, volume int );" +
+                "define table StockTable ( symbol string, volume int );" +
+                "" +
+                "from StockStream " +
+                "select symbol, volume " +
+                "insert into StockTable ;" +
+                "" +
+                "@info(name = 'query1')" +
+                "from StockStream#window.length(10) " +
+                "select symbol, price, sum(volume) as totalVol " +
+                "insert into OutStream ";
+
+        QueryCallback queryCallback = new QueryCallback() {
+            @Override
+            public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+                EventPrinter.print(timestamp, inEvents, removeEvents);
+                for (Event inEvent : inEvents) {
+                    count++;
+                    lastValue = (Long) inEvent.getData(2);
+                }
+            }
+        };
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        siddhiAppRuntime.clearAllRevisions();
+        siddhiAppRuntime.addCallback("query1", queryCallback);
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+
+        for (int i = 0; i < 8; i++) {
+            inputHandler.send(new Object[]{"IBM", 75.6f, 100});
+            if (i % 3 == 0) {
+                siddhiAppRuntime.persist();
+                Thread.sleep(100);
+            }
+        }
+        siddhiAppRuntime.persist();
+        Thread.sleep(500);
+        siddhiAppRuntime.shutdown();
+
+        siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        siddhiAppRuntime.addCallback("query1", queryCallback);
+        inputHandler = siddhiAppRuntime.getInputHandler("StockStream");
+        siddhiAppRuntime.start();
+        try {
+            siddhiAppRuntime.restoreLastRevision();
+        } catch (CannotRestoreSiddhiAppStateException e) {
+            Assert.fail("Restoring of Siddhi app " + siddhiAppRuntime.getName() + " failed");
+        }
+        inputHandler.send(new Object[]{"IBM", 75.6f, 100});
+        AssertJUnit.assertEquals(new Long(900), lastValue);
+        Event[] tableEvents = siddhiAppRuntime.query("from StockTable select symbol, volume");
+        AssertJUnit.assertEquals(9, tableEvents.length);
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void stateSerializerTest4() throws IOException, ClassNotFoundException {
+        log.info("State serializer test 4 - binary serialization of group by keys, state event chains and " +
+                "Java serializable values");
+
+        StateEvent first = null;
+        StateEvent last = null;
+        for (int i = 0; i < 100000; i++) {
+            StateEvent stateEvent = new StateEvent(1, 1);
+            stateEvent.setOutputData((long) i, 0);
+            stateEvent.setId(i);
+            if (first == null) {
+                first = stateEvent;
+            } else {
+                last.setNext(stateEvent);
+            }
+            last = stateEvent;
+        }
+        Map<Object, Object> groups = new HashMap<>();
+        groups.put(GroupByKey.of(new Object[]{"IBM", 10}), 1L);
+        groups.put(GroupByKey.of(7L), 2L);
+        int[] shared = new int[]{9};
+
+        Map<String, Object> state = new HashMap<>();
+        state.put("StateEvents", first);
+        state.put("Groups", groups);
+        state.put("Entries", new Object[]{new AbstractMap.SimpleEntry<>("a", shared),
+                new AbstractMap.SimpleEntry<>("b", shared)});
+
+        BinaryStateSerializer stateSerializer = new BinaryStateSerializer();
+        Map<String, Object> restoredState = (Map<String, Object>) stateSerializer.deserialize(
+                stateSerializer.serialize(state));
+
+        StateEvent restoredEvent = (StateEvent) restoredState.get("StateEvents");
+        for (int i = 0; i < 100000; i++) {
+            AssertJUnit.assertEquals((long) i, restoredEvent.getOutputData()[0]);
+            AssertJUnit.assertEquals(i, restoredEvent.getId());
+            restoredEvent = restoredEvent.getNext();
+        }
+        AssertJUnit.assertNull(restoredEvent);
+
+        AssertJUnit.assertEquals(groups, restoredState.get("Groups"));
+
+        Object[] entries = (Object[]) restoredState.get("Entries");
+        // References shared among the Java serialized values are preserved
+        AssertJUnit.assertSame(((Map.Entry) entries[0]).getValue(), ((Map.Entry) entries[1]).getValue());
+    }
+}
@@ -618,5 +618,46 @@ public class StatisticsTestCase {
 
     }
 
+    @Test
+    public void statisticsTest9() throws InterruptedException {
+        log.info("statistics test 9");
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String siddhiApp = "" +
+                "@app:statistics(reporter = 'console', interval = '2' )" +
+                " " +
+                "define stream cseEventStream (symbol string, price float, volume int);" +
+                "@sink(type='log', @async(buffer.size='2')) " +
+                "define stream outputStream (symbol string, price float, volume int);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from cseEventStream " +
+                "select * " +
+                "insert into outputStream ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PrintStream ps = new PrintStream(baos);
+        PrintStream old = System.out;
+        System.setOut(ps);
 
+        siddhiAppRuntime.start();
+        siddhiAppRuntime.setStatisticsLevel(Level.BASIC);
+        inputHandler.send(new Object[]{"WSO2", 55.6f, 100});
+        inputHandler.send(new Object[]{"IBM", 75.6f, 100});
+
+        Thread.sleep(3010);
+        siddhiAppRuntime.shutdown();
+
+        System.out.flush();
+        String output = baos.toString();
+        log.info(output);
+
+        AssertJUnit.assertTrue(output.contains("Gauges"));
+        AssertJUnit.assertTrue(output.contains(SiddhiConstants.METRIC_INFIX_SIDDHI + SiddhiConstants.METRIC_DELIMITER +
+                SiddhiConstants.METRIC_INFIX_SINKS + SiddhiConstants.METRIC_DELIMITER + "outputStream.log.size"));
+
+        System.setOut(old);
+    }
 }
@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.query;
+
+import io.siddhi.core.SiddhiAppRuntime;
+import io.siddhi.core.SiddhiManager;
+import io.siddhi.core.event.Event;
+import io.siddhi.core.executor.ConstantExpressionExecutor;
+import io.siddhi.core.executor.ExpressionExecutor;
+import io.siddhi.core.executor.condition.compare.greaterthan.GreaterThanCompareConditionExpressionExecutorIntInt;
+import io.siddhi.core.executor.condition.compiled.CompiledConditionExpressionExecutor;
+import io.siddhi.core.executor.condition.compiled.ConditionCompiler;
+import io.siddhi.core.stream.input.InputHandler;
+import io.siddhi.core.stream.output.StreamCallback;
+import io.siddhi.query.api.definition.Attribute;
+import org.apache.log4j.Logger;
+import org.testng.AssertJUnit;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class CompiledConditionTestCase {
+    private static final Logger log = Logger.getLogger(CompiledConditionTestCase.class);
+
+    private static final String STREAM_DEFINITION = "" +
+            "define stream cseEventStream (symbol string, price float, volume long, quantity int, " +
+            "avgPrice double);";
+
+    private static final Object[][] EVENTS = new Object[][]{
+            {"WSO2", 55.6f, 100L, 10, 1.5},
+            {"IBM", 75.6f, 80L, 20, 2.5},
+            {"ORACLE", null, 120L, 30, null},
+            {"WSO2", 700f, null, 40, 700.0},
+            {null, 10f, 700L, null, -1.0},
+            {"IBM", 75.6f, 75L, 75, 75.6},
+            {"WSO2", 100f, 100L, 100, 100.0}
+    };
+
+    private List<String> runQuery(String condition, String selection, boolean compile)
+            throws InterruptedException {
+        return runQuery(STREAM_DEFINITION, EVENTS, condition, selection, compile);
+    }
+
+    private List<String> runQuery(String definition, Object[][] events, String condition, String selection,
+                                  boolean compile) throws InterruptedException {
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String siddhiApp = "" +
+                (compile ? "@app:compile('true') " : "") +
+                definition +
+                "" +
+                "@info(name = 'query1') " +
+                "from cseEventStream[" + condition + "] " +
+                "select " + selection + " " +
+                "insert into outputStream ;";
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        List<String> results = new ArrayList<>();
+        siddhiAppRuntime.addCallback("outputStream", new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                for (Event event : events) {
+                    results.add(Arrays.toString(event.getData()));
+                }
+            }
+        });
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        siddhiAppRuntime.start();
+        for (Object[] data : events) {
+            inputHandler.send(data.clone());
+        }
+        siddhiAppRuntime.shutdown();
+        return results;
+    }
+
+    private void assertSameResults(String condition, String selection, int expectedCount)
+            throws InterruptedException {
+        List<String> interpreted = runQuery(condition, selection, false);
+        List<String> compiled = runQuery(condition, selection, true);
+        log.info(condition + " -> " + compiled);
+        AssertJUnit.assertEquals(expectedCount, interpreted.size());
+        AssertJUnit.assertEquals(interpreted, compiled);
+    }
+
+    @Test
+    public void compiledConditionTest1() throws InterruptedException {
+        log.info("compiled condition test 1 - numeric comparisons with mixed types and nulls");
+        assertSameResults("700 > price", "*", 5);
+        assertSameResults("volume >= quantity", "*", 5);
+        assertSameResults("price == avgPrice", "*", 2);
+        assertSameResults("quantity != 75", "*", 6);
+        assertSameResults("avgPrice <= volume", "*", 4);
+        assertSameResults("price * 2 > volume + quantity", "*", 3);
+    }
+
+    @Test(dependsOnMethods = "compiledConditionTest1")
+    public void compiledConditionTest2() throws InterruptedException {
+        log.info("compiled condition test 2 - logical operators");
+        assertSameResults("price > 50 and volume < 110 and quantity > 10", "*", 3);
+        assertSameResults("price > 600 or volume > 110 or quantity == 10", "*", 4);
+        assertSameResults("not (price > 60) and (symbol == 'WSO2' or volume is null)", "*", 1);
+        assertSameResults("not (volume > 100)", "*", 5);
+    }
+
+    @Test(dependsOnMethods = "compiledConditionTest2")
+    public void compiledConditionTest3() throws InterruptedException {
+        log.info("compiled condition test 3 - interpreted leaves and selected conditions");
+        assertSameResults("symbol == 'IBM' and price > 70", "*", 2);
+        assertSameResults("ifThenElse(price > 70, true, false) or quantity < 20",
+                "symbol, price > 70 and volume > 70 as flag", 5);
+        assertSameResults("true", "symbol, not (quantity >= 40) as flag", 7);
+    }
+
+    @Test(dependsOnMethods = "compiledConditionTest3")
+    public void compiledConditionTest4() throws InterruptedException {
+        log.info("compiled condition test 4 - comparisons of float and long");
+        String definition = "define stream cseEventStream (symbol string, price float, volume long);";
+        Object[][] events = new Object[][]{
+                {"WSO2", 1.6777216E7f, 16777217L},
+                {"IBM", 1.6777216E7f, 16777216L},
+                {"ORACLE", 0.5f, 1L},
+                {"GOOG", null, 1L}
+        };
+        String[] conditions = new String[]{"price == volume", "volume == price", "price != volume",
+                "volume != price", "price < volume", "volume >= price"};
+        int[] expectedCounts = new int[]{1, 1, 3, 3, 1, 3};
+        for (int i = 0; i < conditions.length; i++) {
+            List<String> interpreted = runQuery(definition, events, conditions[i], "symbol", false);
+            List<String> compiled = runQuery(definition, events, conditions[i], "symbol", true);
+            log.info(conditions[i] + " -> " + compiled);
+            AssertJUnit.assertEquals(expectedCounts[i], interpreted.size());
+            AssertJUnit.assertEquals(interpreted, compiled);
+        }
+    }
+
+    @Test(dependsOnMethods = "compiledConditionTest4")
+    public void compiledConditionTest5() {
+        log.info("compiled condition test 5 - compiler output");
+        ExpressionExecutor compareExecutor = new GreaterThanCompareConditionExpressionExecutorIntInt(
+                new ConstantExpressionExecutor(10, Attribute.Type.INT),
+                new ConstantExpressionExecutor(5, Attribute.Type.INT));
+        ExpressionExecutor compiledExecutor = ConditionCompiler.compile(compareExecutor);
+        AssertJUnit.assertTrue(compiledExecutor instanceof CompiledConditionExpressionExecutor);
+        AssertJUnit.assertEquals(Boolean.TRUE, compiledExecutor.execute(null));
+        AssertJUnit.assertSame(compiledExecutor, ConditionCompiler.compile(compiledExecutor));
+
+        ExpressionExecutor constantExecutor = new ConstantExpressionExecutor(10, Attribute.Type.INT);
+        AssertJUnit.assertSame(constantExecutor, ConditionCompiler.compile(constantExecutor));
+    }
+}
@@ -0,0 +1,343 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.siddhi.core.query;
+
+import io.siddhi.core.SiddhiAppRuntime;
+import io.siddhi.core.SiddhiManager;
+import io.siddhi.core.event.ComplexEvent;
+import io.siddhi.core.event.ComplexEventChunk;
+import io.siddhi.core.event.Event;
+import io.siddhi.core.event.stream.StreamEvent;
+import io.siddhi.core.executor.BatchBuffers;
+import io.siddhi.core.executor.ConstantExpressionExecutor;
+import io.siddhi.core.executor.ExpressionExecutor;
+import io.siddhi.core.executor.VariableExpressionExecutor;
+import io.siddhi.core.executor.condition.AndConditionExpressionExecutor;
+import io.siddhi.core.executor.condition.IsNullConditionExpressionExecutor;
+import io.siddhi.core.executor.condition.NotConditionExpressionExecutor;
+import io.siddhi.core.executor.condition.OrConditionExpressionExecutor;
+import io.siddhi.core.executor.condition.compare.equal.EqualCompareConditionExpressionExecutorStringString;
+import io.siddhi.core.executor.condition.compare.greaterthan.GreaterThanCompareConditionExpressionExecutorFloatFloat;
+import io.siddhi.core.query.extension.util.RecordingFunctionExtension;
+import io.siddhi.core.query.processor.Processor;
+import io.siddhi.core.query.processor.filter.FilterProcessor;
+import io.siddhi.core.stream.input.InputHandler;
+import io.siddhi.core.stream.output.StreamCallback;
+import io.siddhi.core.util.SiddhiConstants;
+import io.siddhi.query.api.definition.Attribute;
+import org.apache.log4j.Logger;
+import org.testng.AssertJUnit;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class FilterBatchTestCase {
+    private static final Logger log = Logger.getLogger(FilterBatchTestCase.class);
+
+    private static final Object[][] EVENTS = new Object[][]{
+            {"WSO2", 55.6f, 100L, 10, 1.5},
+            {"IBM", 75.6f, 80L, 20, 2.5},
+            {"ORACLE", null, 120L, 30, null},
+            {"WSO2", 700f, null, 40, 700.0},
+            {null, 10f, 700L, null, -1.0},
+            {"IBM", 75.6f, 75L, 75, 75.6},
+            {"WSO2", 100f, 100L, 100, 100.0}
+    };
+
+    // id, symbol, price, quantity
+    private static final Object[][] CHUNK_EVENTS = new Object[][]{
+            {"A", "IBM", 55.6f, 10},
+            {"B", "ORACLE", null, 20},
+            {"C", "IBM", 700f, null},
+            {"D", "WSO2", 10f, null},
+            {"E", "IBM", 10f, 30},
+            {"F", "ORACLE", 75.6f, 40},
+            {"G", null, 100f, 50}
+    };
+
+    private List<String> runQuery(String appAnnotations, String condition, boolean batch)
+            throws InterruptedException {
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String siddhiApp = "" +
+                appAnnotations +
+                "define stream cseEventStream (symbol string, price float, volume long, quantity int, " +
+                "avgPrice double);" +
+                "define stream SymbolStream (symbol string);" +
+                "define table SymbolTable (symbol string);" +
+                "" +
+                "from SymbolStream " +
+                "insert into SymbolTable ;" +
+                "" +
+                "@info(name = 'query1') " +
+                "from cseEventStream[" + condition + "] " +
+                "select * " +
+                "insert into outputStream ;";
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        List<String> results = new ArrayList<>();
+        siddhiAppRuntime.addCallback("outputStream", new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                for (Event event : events) {
+                    results.add(Arrays.toString(event.getData()));
+                }
+            }
+        });
+        siddhiAppRuntime.start();
+        siddhiAppRuntime.getInputHandler("SymbolStream").send(new Object[]{"IBM"});
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        if (batch) {
+            // a smaller second batch to reuse the buffers grown by the first one
+            int firstBatchSize = 5;
+            Event[] events = new Event[firstBatchSize];
+            for (int i = 0; i < firstBatchSize; i++) {
+                events[i] = new Event(i, EVENTS[i].clone());
+            }
+            inputHandler.send(events);
+            events = new Event[EVENTS.length - firstBatchSize];
+            for (int i = firstBatchSize; i < EVENTS.length; i++) {
+                events[i - firstBatchSize] = new Event(i, EVENTS[i].clone());
+            }
+            inputHandler.send(events);
+        } else {
+            for (int i = 0; i < EVENTS.length; i++) {
+                inputHandler.send(i, EVENTS[i].clone());
+            }
+        }
+        siddhiAppRuntime.shutdown();
+        return results;
+    }
+
+    private void assertSameResults(String appAnnotations, String condition, int expectedCount)
+            throws InterruptedException {
+        List<String> perEvent = runQuery(appAnnotations, condition, false);
+        List<String> batched = runQuery(appAnnotations, condition, true);
+        log.info(condition + " -> " + batched);
+        AssertJUnit.assertEquals(expectedCount, perEvent.size());
+        AssertJUnit.assertEquals(perEvent, batched);
+    }
+
+    private static VariableExpressionExecutor variable(String name, Attribute.Type type, int index) {
+        VariableExpressionExecutor variableExpressionExecutor = new VariableExpressionExecutor(new Attribute(name,
+                type), 0, 0);
+        variableExpressionExecutor.setPosition(new int[]{0, SiddhiConstants.UNKNOWN_STATE,
+                SiddhiConstants.OUTPUT_DATA_INDEX, index});
+        return variableExpressionExecutor;
+    }
+
+    /**
+     * (price > 50 and not(quantity is null)) or symbol == 'WSO2', which matches A, D, F and G.
+     */
+    private static ExpressionExecutor condition() {
+        ExpressionExecutor priceExecutor = new GreaterThanCompareConditionExpressionExecutorFloatFloat(
+                variable("price", Attribute.Type.FLOAT, 2), new ConstantExpressionExecutor(50f, Attribute.Type.FLOAT));
+        ExpressionExecutor quantityExecutor = new NotConditionExpressionExecutor(
+                new IsNullConditionExpressionExecutor(variable("quantity", Attribute.Type.INT, 3)));
+        ExpressionExecutor symbolExecutor = new EqualCompareConditionExpressionExecutorStringString(
+                variable("symbol", Attribute.Type.STRING, 1),
+                new ConstantExpressionExecutor("WSO2", Attribute.Type.STRING));
+        return new OrConditionExpressionExecutor(new AndConditionExpressionExecutor(priceExecutor, quantityExecutor),
+                symbolExecutor);
+    }
+
+    private static FilterProcessor filterProcessor(List<String> matches) {
+        return filterProcessor(condition(), matches);
+    }
+
+    private static FilterProcessor filterProcessor(ExpressionExecutor condition, List<String> matches) {
+        FilterProcessor filterProcessor = new FilterProcessor(condition, true);
+        filterProcessor.setNextProcessor(new Processor() {
+            @Override
+            public void process(ComplexEventChunk complexEventChunk) {
+                for (ComplexEvent event = complexEventChunk.getFirst(); event != null; event = event.getNext()) {
+                    matches.add((String) event.getOutputData()[0]);
+                }
+            }
+
+            @Override
+            public void process(List<ComplexEventChunk> complexEventChunks) {
+                for (ComplexEventChunk complexEventChunk : complexEventChunks) {
+                    process(complexEventChunk);
+                }
+            }
+
+            @Override
+            public Processor getNextProcessor() {
+                return null;
+            }
+
+            @Override
+            public void setNextProcessor(Processor processor) {
+            }
+
+            @Override
+            public void setToLast(Processor processor) {
+            }
+        });
+        return filterProcessor;
+    }
+
+    private static ComplexEventChunk<StreamEvent> chunk(int... indexes) {
+        ComplexEventChunk<StreamEvent> complexEventChunk = new ComplexEventChunk<>();
+        for (int index : indexes) {
+            StreamEvent streamEvent = new StreamEvent(0, 0, 4);
+            streamEvent.setOutputData(CHUNK_EVENTS[index].clone());
+            complexEventChunk.add(streamEvent);
+        }
+        return complexEventChunk;
+    }
+
+    @Test
+    public void filterBatchTest1() throws InterruptedException {
+        log.info("filter batch test 1 - comparisons over a batch");
+        assertSameResults("", "700 > price", 5);
+        assertSameResults("", "volume >= quantity", 5);
+        assertSameResults("", "quantity != 75", 6);
+        assertSameResults("", "symbol == 'WSO2'", 3);
+        assertSameResults("", "price * 2 > volume + quantity", 3);
+    }
+
+    @Test(dependsOnMethods = "filterBatchTest1")
+    public void filterBatchTest2() throws InterruptedException {
+        log.info("filter batch test 2 - logical, is null and in conditions over a batch");
+        assertSameResults("", "price > 50 and volume < 110 and quantity > 10", 3);
+        assertSameResults("", "price > 600 or volume > 110 or quantity == 10", 4);
+        assertSameResults("", "not (price > 60) and (symbol == 'WSO2' or volume is null)", 1);
+        assertSameResults("", "avgPrice is null or symbol is null", 2);
+        assertSameResults("", "(price > 600 and volume is null) or (quantity > 25 and symbol != 'IBM')", 3);
+        assertSameResults("", "symbol == SymbolTable.symbol in SymbolTable", 2);
+        assertSameResults("", "true", 7);
+        assertSameResults("", "false", 0);
+    }
+
+    @Test(dependsOnMethods = "filterBatchTest2")
+    public void filterBatchTest3() throws InterruptedException {
+        log.info("filter batch test 3 - compiled conditions and pooled events over a batch");
+        assertSameResults("@app:compile ", "price > 50 and volume < 110 and quantity > 10", 3);
+        assertSameResults("@app:compile ", "not (volume > 100) or symbol == 'ORACLE'", 6);
+        assertSameResults("@app:eventPool(size = '4') ", "quantity != 75 and avgPrice > 0", 4);
+    }
+
+    @Test(dependsOnMethods = "filterBatchTest3")
+    public void filterBatchTest4() {
+        log.info("filter batch test 4 - chunk boundaries");
+        List<String> matches = new ArrayList<>();
+        FilterProcessor filterProcessor = filterProcessor(matches);
+
+        filterProcessor.process(chunk(0));
+        AssertJUnit.assertEquals(Collections.singletonList("A"), matches);
+
+        matches.clear();
+        filterProcessor.process(chunk(0, 1, 2, 3, 4, 5, 6));
+        AssertJUnit.assertEquals(Arrays.asList("A", "D", "F", "G"), matches);
+
+        matches.clear();
+        filterProcessor.process(chunk(1, 2, 4));
+        AssertJUnit.assertEquals(Collections.emptyList(), matches);
+
+        matches.clear();
+        filterProcessor.process(chunk(0, 3, 5, 6));
+        AssertJUnit.assertEquals(Arrays.asList("A", "D", "F", "G"), matches);
+
+        matches.clear();
+        filterProcessor.process(chunk(1, 3, 4));
+        AssertJUnit.assertEquals(Collections.singletonList("D"), matches);
+
+        matches.clear();
+        filterProcessor.process(chunk(0, 2, 6));
+        AssertJUnit.assertEquals(Arrays.asList("A", "G"), matches);
+    }
+
+    @Test(dependsOnMethods = "filterBatchTest4")
+    public void filterBatchTest5() {
+        log.info("filter batch test 5 - buffers reused by smaller chunks");
+        List<String> matches = new ArrayList<>();
+        FilterProcessor filterProcessor = filterProcessor(matches);
+
+        // the buffers grown by an all matching chunk must not leak matches into the smaller chunks that follow
+        filterProcessor.process(chunk(0, 3, 5, 6, 0, 3, 5, 6));
+        AssertJUnit.assertEquals(Arrays.asList("A", "D", "F", "G", "A", "D", "F", "G"), matches);
+
+        matches.clear();
+        filterProcessor.process(chunk(1, 2, 4, 1));
+        AssertJUnit.assertEquals(Collections.emptyList(), matches);
+
+        matches.clear();
+        filterProcessor.process(chunk(4, 6));
+        AssertJUnit.assertEquals(Collections.singletonList("G"), matches);
+
+        BatchBuffers buffers = new BatchBuffers();
+        ComplexEvent[] events = buffers.events(8);
+        Arrays.fill(events, new StreamEvent(0, 0, 4));
+        buffers.clear(8);
+        AssertJUnit.assertSame(events, buffers.events(4));
+        for (ComplexEvent event : events) {
+            AssertJUnit.assertNull(event);
+        }
+    }
+
+    @Test(dependsOnMethods = "filterBatchTest5")
+    public void filterBatchTest6() throws InterruptedException {
+        log.info("filter batch test 6 - functions see the events one at a time");
+        RecordingFunctionExtension.CALLS.clear();
+        SiddhiManager siddhiManager = new SiddhiManager();
+        siddhiManager.setExtension("test:record", RecordingFunctionExtension.class);
+        String siddhiApp = "" +
+                "define stream cseEventStream (symbol string, quantity int);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from cseEventStream[test:record('a', quantity) and test:record('b', quantity)] " +
+                "select * " +
+                "insert into outputStream ;";
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        siddhiAppRuntime.start();
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        inputHandler.send(new Event[]{
+                new Event(1, new Object[]{"IBM", 1}),
+                new Event(2, new Object[]{"WSO2", 2}),
+                new Event(3, new Object[]{"ORACLE", 3})});
+        siddhiAppRuntime.shutdown();
+        AssertJUnit.assertEquals(Arrays.asList("a1", "b1", "a2", "b2", "a3", "b3"),
+                RecordingFunctionExtension.CALLS);
+    }
+
+    @Test(dependsOnMethods = "filterBatchTest6")
+    public void filterBatchTest7() throws IOException, ClassNotFoundException {
+        log.info("filter batch test 7 - batch evaluation of deserialized conditions");
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        try (ObjectOutputStream objectOutputStream = new ObjectOutputStream(byteArrayOutputStream)) {
+            objectOutputStream.writeObject(condition());
+        }
+        ExpressionExecutor condition;
+        try (ObjectInputStream objectInputStream = new ObjectInputStream(
+                new ByteArrayInputStream(byteArrayOutputStream.toByteArray()))) {
+            condition = (ExpressionExecutor) objectInputStream.readObject();
+        }
+        List<String> matches = new ArrayList<>();
+        filterProcessor(condition, matches).process(chunk(0, 1, 2, 3, 4, 5, 6));
+        AssertJUnit.assertEquals(Arrays.asList("A", "D", "F", "G"), matches);
+    }
+}
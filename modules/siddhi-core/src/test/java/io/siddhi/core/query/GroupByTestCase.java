@@ -29,7 +29,15 @@ import org.testng.AssertJUnit;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class GroupByTestCase {
     private static final Logger log = Logger.getLogger(GroupByTestCase.class);
@@ -146,4 +154,176 @@ public class GroupByTestCase {
 
         siddhiAppRuntime.shutdown();
     }
+
+    @Test
+    public void testGroupByQuery3() throws InterruptedException {
+        log.info("GroupBy test3 - group by values containing the key delimiter");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                "define stream cseEventStream (symbol string, exchange string, volume long);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from cseEventStream " +
+                "select symbol, exchange, sum(volume) as totalVolume " +
+                "   group by symbol, exchange " +
+                "insert into outputStream;" +
+                "";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        List<Object> totals = new ArrayList<>();
+        siddhiAppRuntime.addCallback("query1", new QueryCallback() {
+            @Override
+            public void receive(long timeStamp, Event[] inEvents, Event[] removeEvents) {
+                EventPrinter.print(timeStamp, inEvents, removeEvents);
+                for (Event event : inEvents) {
+                    totals.add(event.getData(2));
+                }
+                count = count + inEvents.length;
+                eventArrived.set(true);
+            }
+
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+
+        siddhiAppRuntime.start();
+
+        inputHandler.send(new Object[]{"IBM:-:", "NYSE", 100L});
+        inputHandler.send(new Object[]{"IBM", ":-:NYSE", 200L});
+        inputHandler.send(new Object[]{"IBM:-:", "NYSE", 300L});
+        inputHandler.send(new Object[]{null, "NYSE", 400L});
+        inputHandler.send(new Object[]{"null", "NYSE", 500L});
+        SiddhiTestHelper.waitForEvents(10, 5, count, 100);
+        AssertJUnit.assertEquals(5, count);
+        AssertJUnit.assertEquals(100L, totals.get(0));
+        AssertJUnit.assertEquals(200L, totals.get(1));
+        AssertJUnit.assertEquals(400L, totals.get(2));
+        AssertJUnit.assertEquals(400L, totals.get(3));
+        AssertJUnit.assertEquals(500L, totals.get(4));
+
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void testGroupByQuery4() throws InterruptedException {
+        log.info("GroupBy test4 - group by a single long attribute over a length window");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                "define stream TempStream (roomNo long, temp double);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from TempStream#window.length(4) " +
+                "select roomNo, max(temp) as maxTemp, count() as readings " +
+                "   group by roomNo " +
+                "insert all events into outputStream;" +
+                "";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        List<Object[]> inEventData = new ArrayList<>();
+        siddhiAppRuntime.addCallback("query1", new QueryCallback() {
+            @Override
+            public void receive(long timeStamp, Event[] inEvents, Event[] removeEvents) {
+                EventPrinter.print(timeStamp, inEvents, removeEvents);
+                if (inEvents != null) {
+                    for (Event event : inEvents) {
+                        inEventData.add(event.getData());
+                    }
+                    count = count + inEvents.length;
+                }
+                eventArrived.set(true);
+            }
+
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("TempStream");
+
+        siddhiAppRuntime.start();
+
+        inputHandler.send(new Object[]{1L, 20.0});
+        inputHandler.send(new Object[]{2L, 30.0});
+        inputHandler.send(new Object[]{1, 25.0});
+        inputHandler.send(new Object[]{null, 10.0});
+        inputHandler.send(new Object[]{2L, 15.0});
+        inputHandler.send(new Object[]{null, 5.0});
+        SiddhiTestHelper.waitForEvents(10, 6, count, 100);
+        AssertJUnit.assertEquals(6, count);
+        AssertJUnit.assertEquals(2L, inEventData.get(2)[2]);
+        AssertJUnit.assertEquals(25.0, inEventData.get(2)[1]);
+        AssertJUnit.assertEquals(2L, inEventData.get(4)[2]);
+        AssertJUnit.assertEquals(30.0, inEventData.get(4)[1]);
+        AssertJUnit.assertNull(inEventData.get(5)[0]);
+        AssertJUnit.assertEquals(2L, inEventData.get(5)[2]);
+        AssertJUnit.assertEquals(10.0, inEventData.get(5)[1]);
+
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void testGroupByQuery5() throws InterruptedException {
+        log.info("GroupBy test5 - group by with events of different groups sent from multiple threads");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                "define stream cseEventStream (symbol string, volume long);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from cseEventStream " +
+                "select symbol, sum(volume) as totalVolume, count() as total " +
+                "   group by symbol " +
+                "insert into outputStream;" +
+                "";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        Map<String, Long> maxTotals = new ConcurrentHashMap<>();
+        AtomicInteger eventCount = new AtomicInteger(0);
+        siddhiAppRuntime.addCallback("query1", new QueryCallback() {
+            @Override
+            public void receive(long timeStamp, Event[] inEvents, Event[] removeEvents) {
+                if (inEvents != null) {
+                    for (Event event : inEvents) {
+                        AssertJUnit.assertEquals(event.getData(2), event.getData(1));
+                        maxTotals.merge((String) event.getData(0), (Long) event.getData(2), Math::max);
+                        eventCount.incrementAndGet();
+                    }
+                }
+            }
+
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+
+        siddhiAppRuntime.start();
+
+        int threads = 4;
+        int eventsPerThread = 1000;
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        for (int i = 0; i < threads; i++) {
+            String symbol = "SYM" + i;
+            executorService.submit(() -> {
+                for (int j = 0; j < eventsPerThread; j++) {
+                    try {
+                        inputHandler.send(new Object[]{symbol, 1L});
+                        inputHandler.send(new Object[]{"WSO2", 1L});
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            });
+        }
+        executorService.shutdown();
+        AssertJUnit.assertTrue(executorService.awaitTermination(30, TimeUnit.SECONDS));
+        AssertJUnit.assertEquals(2 * threads * eventsPerThread, eventCount.get());
+        for (int i = 0; i < threads; i++) {
+            AssertJUnit.assertEquals(Long.valueOf(eventsPerThread), maxTotals.get("SYM" + i));
+        }
+        AssertJUnit.assertEquals(Long.valueOf(threads * eventsPerThread), maxTotals.get("WSO2"));
+
+        siddhiAppRuntime.shutdown();
+    }
 }
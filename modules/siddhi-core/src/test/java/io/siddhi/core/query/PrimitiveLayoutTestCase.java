@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.query;
+
+import io.siddhi.core.SiddhiAppRuntime;
+import io.siddhi.core.SiddhiManager;
+import io.siddhi.core.event.Event;
+import io.siddhi.core.stream.input.InputHandler;
+import io.siddhi.core.stream.output.StreamCallback;
+import org.apache.log4j.Logger;
+import org.testng.AssertJUnit;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class PrimitiveLayoutTestCase {
+    private static final Logger log = Logger.getLogger(PrimitiveLayoutTestCase.class);
+
+    private static final String STREAM_DEFINITION = "" +
+            "define stream cseEventStream (symbol string, price float, volume long, quantity int, " +
+            "avgPrice double);";
+
+    private static final Object[][] EVENTS = new Object[][]{
+            {"WSO2", 55.6f, 100L, 10, 1.5},
+            {"IBM", 75.6f, 80L, 20, 2.5},
+            {"ORACLE", null, 120L, 30, null},
+            {"WSO2", 700f, null, 40, 700.0},
+            {null, 10f, 700L, null, -1.0},
+            {"IBM", 75.6f, 75L, 75, 75.6},
+            {"WSO2", 100f, 0L, 0, 100.0}
+    };
+
+    private List<String> runQuery(String annotations, String definitions, String query, String inputStream,
+                                  Object[][] events) throws InterruptedException {
+        SiddhiManager siddhiManager = new SiddhiManager();
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(annotations + definitions +
+                "@info(name = 'query1') " + query);
+        List<String> results = new ArrayList<>();
+        siddhiAppRuntime.addCallback("outputStream", new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                for (Event event : events) {
+                    results.add(event.isExpired() + ":" + Arrays.toString(event.getData()));
+                }
+            }
+        });
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler(inputStream);
+        siddhiAppRuntime.start();
+        for (Object[] data : events) {
+            inputHandler.send(data.clone());
+        }
+        siddhiAppRuntime.shutdown();
+        return results;
+    }
+
+    private void assertSameResults(String query, int expectedCount) throws InterruptedException {
+        assertSameResults("", query, expectedCount);
+    }
+
+    private void assertSameResults(String annotations, String query, int expectedCount)
+            throws InterruptedException {
+        List<String> boxed = runQuery(annotations, STREAM_DEFINITION, query, "cseEventStream", EVENTS);
+        List<String> primitive = runQuery(annotations + "@app:primitiveLayout ", STREAM_DEFINITION, query,
+                "cseEventStream", EVENTS);
+        log.info(query + " -> " + primitive);
+        AssertJUnit.assertEquals(expectedCount, boxed.size());
+        AssertJUnit.assertEquals(boxed, primitive);
+    }
+
+    @Test
+    public void primitiveLayoutTest1() throws InterruptedException {
+        log.info("primitive layout test 1 - filters over nested math with nulls and division by zero");
+        assertSameResults("from cseEventStream[volume / quantity > 5] select * insert into outputStream;", 1);
+        assertSameResults("from cseEventStream[quantity % 4 == 2] select * insert into outputStream;", 2);
+        assertSameResults("from cseEventStream[price * 2 + quantity > 150] select * insert into outputStream;", 4);
+        assertSameResults("from cseEventStream[avgPrice / (quantity - 10) < 1] select * insert into outputStream;",
+                2);
+    }
+
+    @Test(dependsOnMethods = "primitiveLayoutTest1")
+    public void primitiveLayoutTest2() throws InterruptedException {
+        log.info("primitive layout test 2 - selectors and windows over nested math");
+        assertSameResults("from cseEventStream[volume >= 0] " +
+                "select symbol, (price + avgPrice) * quantity as total, volume / (quantity - 10) as ratio, " +
+                "volume % 7 as remainder " +
+                "insert into outputStream;", 6);
+        assertSameResults("from cseEventStream[volume >= 0]#window.length(2) " +
+                "select symbol, price * quantity as total, volume - quantity as diff " +
+                "insert all events into outputStream;", 10);
+        assertSameResults("from cseEventStream#window.length(3) " +
+                "select sum(quantity * 2) as doubled, sum(quantity) + 1 as next " +
+                "insert into outputStream;", 7);
+        assertSameResults("@app:eventPool(size = '2') ", "from cseEventStream[volume >= 0]#window.length(2) " +
+                "select symbol, price * quantity + avgPrice as total " +
+                "insert all events into outputStream;", 10);
+    }
+
+    @Test(dependsOnMethods = "primitiveLayoutTest2")
+    public void primitiveLayoutTest3() throws InterruptedException {
+        log.info("primitive layout test 3 - values not of the type of their attribute");
+        Object[][] events = new Object[][]{
+                {"WSO2", 55, 100, 10, 1.5},
+                {"IBM", 75.6f, 80L, 20, 2.5},
+                {"ORACLE", 20.0, 120L, 30L, 4f},
+                {"IBM", 75.6f, 75L, 75, 75.6}
+        };
+        String query = "from cseEventStream " +
+                "select symbol, price * volume as total, quantity + 1 as next, avgPrice - price as diff " +
+                "insert into outputStream;";
+        List<String> boxed = runQuery("", STREAM_DEFINITION, query, "cseEventStream", events);
+        List<String> primitive = runQuery("@app:primitiveLayout ", STREAM_DEFINITION, query, "cseEventStream",
+                events);
+        AssertJUnit.assertEquals(4, boxed.size());
+        AssertJUnit.assertEquals(boxed, primitive);
+    }
+
+    @Test(dependsOnMethods = "primitiveLayoutTest3")
+    public void primitiveLayoutTest4() throws InterruptedException {
+        log.info("primitive layout test 4 - joins over nested math");
+        String definitions = "" +
+                "define stream cseEventStream (symbol string, price float, volume long); " +
+                "define stream twitterStream (symbol string, count int); ";
+        String query = "" +
+                "from cseEventStream#window.length(3) join twitterStream#window.length(2) " +
+                "on cseEventStream.symbol == twitterStream.symbol " +
+                "   and cseEventStream.volume / twitterStream.count > 5 " +
+                "select cseEventStream.symbol, price * count as total, volume - count as diff " +
+                "insert all events into outputStream;";
+        List<List<String>> results = new ArrayList<>();
+        for (String annotations : new String[]{"", "@app:primitiveLayout "}) {
+            SiddhiManager siddhiManager = new SiddhiManager();
+            SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(annotations + definitions +
+                    "@info(name = 'query1') " + query);
+            List<String> joined = new ArrayList<>();
+            siddhiAppRuntime.addCallback("outputStream", new StreamCallback() {
+                @Override
+                public void receive(Event[] events) {
+                    for (Event event : events) {
+                        joined.add(event.isExpired() + ":" + Arrays.toString(event.getData()));
+                    }
+                }
+            });
+            InputHandler cseEventStreamHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+            InputHandler twitterStreamHandler = siddhiAppRuntime.getInputHandler("twitterStream");
+            siddhiAppRuntime.start();
+            cseEventStreamHandler.send(new Object[]{"WSO2", 55.6f, 100L});
+            twitterStreamHandler.send(new Object[]{"WSO2", 10});
+            cseEventStreamHandler.send(new Object[]{"IBM", 75.6f, 20L});
+            twitterStreamHandler.send(new Object[]{"IBM", 5});
+            cseEventStreamHandler.send(new Object[]{"WSO2", 57.6f, 40L});
+            twitterStreamHandler.send(new Object[]{"WSO2", 0});
+            cseEventStreamHandler.send(new Object[]{"WSO2", null, 200L});
+            twitterStreamHandler.send(new Object[]{"WSO2", 20});
+            siddhiAppRuntime.shutdown();
+            results.add(joined);
+        }
+        log.info(results.get(1));
+        AssertJUnit.assertFalse(results.get(0).isEmpty());
+        AssertJUnit.assertEquals(results.get(0), results.get(1));
+    }
+
+    @Test(dependsOnMethods = "primitiveLayoutTest4")
+    public void primitiveLayoutTest5() throws InterruptedException {
+        log.info("primitive layout test 5 - streams having object attributes");
+        String definitions = "define stream cseEventStream (symbol string, price float, volume long, data object);";
+        String query = "from cseEventStream[price * volume > 6000] select symbol, price * 2 as total " +
+                "insert into outputStream;";
+        Object[][] events = new Object[][]{
+                {"WSO2", 55.6f, 100L, new Object()},
+                {"IBM", 75.6f, 80L, null},
+                {"ORACLE", null, 120L, "data"}
+        };
+        List<String> primitive = runQuery("@app:primitiveLayout ", definitions, query, "cseEventStream", events);
+        AssertJUnit.assertEquals(Arrays.asList("false:[IBM, 151.2]"), primitive);
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.query.extension.util;
+
+import io.siddhi.core.config.SiddhiQueryContext;
+import io.siddhi.core.executor.ExpressionExecutor;
+import io.siddhi.core.executor.function.FunctionExecutor;
+import io.siddhi.core.util.config.ConfigReader;
+import io.siddhi.core.util.snapshot.state.State;
+import io.siddhi.core.util.snapshot.state.StateFactory;
+import io.siddhi.query.api.definition.Attribute;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Function for testing, which records its calls as the concatenation of its arguments and returns true. Registered
+ * as a function extension through {@link io.siddhi.core.SiddhiManager#setExtension}.
+ */
+public class RecordingFunctionExtension extends FunctionExecutor {
+    public static final List<String> CALLS = new CopyOnWriteArrayList<>();
+
+    @Override
+    public StateFactory init(ExpressionExecutor[] attributeExpressionExecutors,
+                             ConfigReader configReader,
+                             SiddhiQueryContext siddhiQueryContext) {
+        return null;
+    }
+
+    @Override
+    public Attribute.Type getReturnType() {
+        return Attribute.Type.BOOL;
+    }
+
+    @Override
+    protected Object execute(Object[] data, State state) {
+        StringBuilder call = new StringBuilder();
+        for (Object value : data) {
+            call.append(value);
+        }
+        CALLS.add(call.toString());
+        return true;
+    }
+
+    @Override
+    protected Object execute(Object data, State state) {
+        CALLS.add(String.valueOf(data));
+        return true;
+    }
+}
@@ -31,6 +31,9 @@ import org.testng.AssertJUnit;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 
 public class JoinTestCase {
@@ -981,4 +984,160 @@ public class JoinTestCase {
             siddhiAppRuntime.shutdown();
         }
     }
+
+    @Test
+    public void joinTest21() throws InterruptedException {
+        log.info("Join test21 - indexed lookups on length and time windows");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String streams = "" +
+                "define stream StockStream (symbol string, volume long); " +
+                "define stream CheckStream (symbol string, minVolume long); ";
+        String query = "" +
+                "@info(name = 'query1') " +
+                "from CheckStream unidirectional join StockStream#window.length(3) " +
+                "   on CheckStream.symbol == StockStream.symbol and StockStream.volume > CheckStream.minVolume " +
+                "select StockStream.symbol, StockStream.volume " +
+                "insert into OutStream; " +
+                "" +
+                "@info(name = 'query2') " +
+                "from CheckStream unidirectional join StockStream#window.time(1 hour) " +
+                "   on CheckStream.minVolume <= StockStream.volume " +
+                "select StockStream.symbol, StockStream.volume " +
+                "insert into RangeOutStream; ";
+
+        final List<Object[]> equalityEvents = new ArrayList<>();
+        final List<Object[]> rangeEvents = new ArrayList<>();
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(streams + query);
+        try {
+            siddhiAppRuntime.addCallback("query1", new QueryCallback() {
+                @Override
+                public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+                    EventPrinter.print(timestamp, inEvents, removeEvents);
+                    for (Event event : inEvents) {
+                        equalityEvents.add(event.getData());
+                    }
+                }
+            });
+            siddhiAppRuntime.addCallback("query2", new QueryCallback() {
+                @Override
+                public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+                    EventPrinter.print(timestamp, inEvents, removeEvents);
+                    for (Event event : inEvents) {
+                        rangeEvents.add(event.getData());
+                    }
+                }
+            });
+            InputHandler stockStream = siddhiAppRuntime.getInputHandler("StockStream");
+            InputHandler checkStream = siddhiAppRuntime.getInputHandler("CheckStream");
+            siddhiAppRuntime.start();
+
+            stockStream.send(new Object[]{"WSO2", 100L});
+            stockStream.send(new Object[]{"IBM", 200L});
+            checkStream.send(new Object[]{"WSO2", 60L});
+            stockStream.send(new Object[]{"WSO2", 300L});
+            stockStream.send(new Object[]{"WSO2", 50L});
+            checkStream.send(new Object[]{"WSO2", 60L});
+            checkStream.send(new Object[]{"IBM", 0L});
+            checkStream.send(new Object[]{"ORCL", 0L});
+
+            List<Object[]> expectedEqualityEvents = Arrays.asList(
+                    new Object[]{"WSO2", 100L},
+                    new Object[]{"WSO2", 300L},
+                    new Object[]{"IBM", 200L}
+            );
+            AssertJUnit.assertTrue(SiddhiTestHelper.isEventsMatch(equalityEvents, expectedEqualityEvents));
+            AssertJUnit.assertEquals(3, equalityEvents.size());
+            AssertJUnit.assertEquals("WSO2", equalityEvents.get(0)[0]);
+            AssertJUnit.assertEquals(300L, equalityEvents.get(1)[1]);
+
+            List<Object[]> expectedRangeEvents = Arrays.asList(
+                    new Object[]{"WSO2", 100L},
+                    new Object[]{"IBM", 200L},
+                    new Object[]{"WSO2", 100L},
+                    new Object[]{"IBM", 200L},
+                    new Object[]{"WSO2", 300L},
+                    new Object[]{"WSO2", 100L},
+                    new Object[]{"IBM", 200L},
+                    new Object[]{"WSO2", 300L},
+                    new Object[]{"WSO2", 50L},
+                    new Object[]{"WSO2", 100L},
+                    new Object[]{"IBM", 200L},
+                    new Object[]{"WSO2", 300L},
+                    new Object[]{"WSO2", 50L}
+            );
+            AssertJUnit.assertEquals(expectedRangeEvents.size(), rangeEvents.size());
+            for (int i = 0; i < expectedRangeEvents.size(); i++) {
+                AssertJUnit.assertTrue(Arrays.equals(expectedRangeEvents.get(i), rangeEvents.get(i)));
+            }
+        } finally {
+            siddhiAppRuntime.shutdown();
+        }
+    }
+
+    @Test
+    public void joinTest22() throws InterruptedException {
+        log.info("Join test22 - indexed lookups on signed zero and NaN doubles");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String streams = "" +
+                "define stream PriceStream (symbol string, price double); " +
+                "define stream CheckStream (price double); ";
+        String query = "" +
+                "@info(name = 'query1') " +
+                "from CheckStream unidirectional join PriceStream#window.length(4) " +
+                "   on PriceStream.price == CheckStream.price " +
+                "select PriceStream.symbol " +
+                "insert into OutStream; " +
+                "" +
+                "@info(name = 'query2') " +
+                "from CheckStream unidirectional join PriceStream#window.length(4) " +
+                "   on PriceStream.price >= CheckStream.price " +
+                "select PriceStream.symbol " +
+                "insert into RangeOutStream; ";
+
+        final List<Object> equalitySymbols = new ArrayList<>();
+        final List<Object> rangeSymbols = new ArrayList<>();
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(streams + query);
+        try {
+            siddhiAppRuntime.addCallback("query1", new QueryCallback() {
+                @Override
+                public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+                    EventPrinter.print(timestamp, inEvents, removeEvents);
+                    if (inEvents != null) {
+                        for (Event event : inEvents) {
+                            equalitySymbols.add(event.getData(0));
+                        }
+                    }
+                }
+            });
+            siddhiAppRuntime.addCallback("query2", new QueryCallback() {
+                @Override
+                public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+                    EventPrinter.print(timestamp, inEvents, removeEvents);
+                    if (inEvents != null) {
+                        for (Event event : inEvents) {
+                            rangeSymbols.add(event.getData(0));
+                        }
+                    }
+                }
+            });
+            InputHandler priceStream = siddhiAppRuntime.getInputHandler("PriceStream");
+            InputHandler checkStream = siddhiAppRuntime.getInputHandler("CheckStream");
+            siddhiAppRuntime.start();
+
+            priceStream.send(new Object[]{"WSO2", -0.0});
+            priceStream.send(new Object[]{"IBM", 0.0});
+            priceStream.send(new Object[]{"ORCL", Double.NaN});
+            priceStream.send(new Object[]{"MSFT", 1.0});
+            checkStream.send(new Object[]{0.0});
+            checkStream.send(new Object[]{-0.0});
+            checkStream.send(new Object[]{Double.NaN});
+
+            AssertJUnit.assertEquals(Arrays.asList("WSO2", "IBM", "WSO2", "IBM"), equalitySymbols);
+            AssertJUnit.assertEquals(Arrays.asList("WSO2", "IBM", "MSFT", "WSO2", "IBM", "MSFT"), rangeSymbols);
+        } finally {
+            siddhiAppRuntime.shutdown();
+        }
+    }
 }
@@ -0,0 +1,281 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.query.partition;
+
+import io.siddhi.core.SiddhiAppRuntime;
+import io.siddhi.core.SiddhiManager;
+import io.siddhi.core.event.Event;
+import io.siddhi.core.exception.SiddhiAppCreationException;
+import io.siddhi.core.stream.input.InputHandler;
+import io.siddhi.core.stream.output.StreamCallback;
+import io.siddhi.core.util.SiddhiTestHelper;
+import org.apache.log4j.Logger;
+import org.testng.AssertJUnit;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class AsyncPartitionTestCase {
+    private static final Logger log = Logger.getLogger(AsyncPartitionTestCase.class);
+    private AtomicInteger count = new AtomicInteger(0);
+
+    @BeforeMethod
+    public void init() {
+        count.set(0);
+    }
+
+    @Test
+    public void testAsyncPartitionQuery1() throws InterruptedException {
+        log.info("Async partition test1 - events of each key are processed in order by the partition workers");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                "define stream streamA (symbol string, price long);" +
+                "" +
+                "@async(workers='4', buffer.size='64') " +
+                "partition with (symbol of streamA) " +
+                "begin " +
+                "   @info(name = 'query1') " +
+                "   from streamA " +
+                "   select symbol, price, count() as total " +
+                "   insert into StockQuote ;  " +
+                "end ";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        Map<String, List<Object[]>> results = new ConcurrentHashMap<>();
+        AtomicInteger senderThreadEvents = new AtomicInteger(0);
+        Thread senderThread = Thread.currentThread();
+        siddhiAppRuntime.addCallback("StockQuote", new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                if (Thread.currentThread() == senderThread) {
+                    senderThreadEvents.incrementAndGet();
+                }
+                for (Event event : events) {
+                    results.computeIfAbsent((String) event.getData(0), k -> new ArrayList<>()).add(event.getData());
+                    count.incrementAndGet();
+                }
+            }
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("streamA");
+        siddhiAppRuntime.start();
+
+        int keys = 50;
+        int eventsPerKey = 100;
+        for (int i = 0; i < eventsPerKey; i++) {
+            for (int j = 0; j < keys; j++) {
+                inputHandler.send(new Object[]{"SYM" + j, (long) i});
+            }
+        }
+        SiddhiTestHelper.waitForEvents(100, keys * eventsPerKey, count, 10000);
+        AssertJUnit.assertEquals(keys * eventsPerKey, count.get());
+        AssertJUnit.assertEquals(0, senderThreadEvents.get());
+        AssertJUnit.assertEquals(keys, results.size());
+        for (List<Object[]> keyResults : results.values()) {
+            AssertJUnit.assertEquals(eventsPerKey, keyResults.size());
+            for (int i = 0; i < eventsPerKey; i++) {
+                AssertJUnit.assertEquals((long) i, keyResults.get(i)[1]);
+                AssertJUnit.assertEquals((long) i + 1, keyResults.get(i)[2]);
+            }
+        }
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void testAsyncPartitionQuery2() throws InterruptedException {
+        log.info("Async partition test2 - events matching multiple range partitions");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                "define stream streamA (symbol string, price int);" +
+                "" +
+                "@async(workers='2') " +
+                "partition with (price < 50 as 'low' or price >= 20 as 'high' of streamA) " +
+                "begin " +
+                "   @info(name = 'query1') " +
+                "   from streamA#window.length(100) " +
+                "   select symbol, sum(price) as total, count() as events " +
+                "   insert into StockQuote ;  " +
+                "end ";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        Set<String> totals = ConcurrentHashMap.newKeySet();
+        siddhiAppRuntime.addCallback("StockQuote", new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                for (Event event : events) {
+                    totals.add(event.getData(2) + ":" + event.getData(1));
+                    count.incrementAndGet();
+                }
+            }
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("streamA");
+        siddhiAppRuntime.start();
+
+        for (int i = 0; i < 10; i++) {
+            inputHandler.send(new Object[]{"IBM", 10});
+            inputHandler.send(new Object[]{"WSO2", 30});
+            inputHandler.send(new Object[]{"ORACLE", 70});
+        }
+        SiddhiTestHelper.waitForEvents(100, 40, count, 10000);
+        AssertJUnit.assertEquals(40, count.get());
+        // 'low' receives the events of IBM and WSO2, and 'high' receives the events of WSO2 and ORACLE
+        AssertJUnit.assertTrue(totals.contains("20:400"));
+        AssertJUnit.assertTrue(totals.contains("20:1000"));
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test(expectedExceptions = SiddhiAppCreationException.class)
+    public void testAsyncPartitionQuery3() {
+        log.info("Async partition test3 - invalid worker count");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                "define stream streamA (symbol string, price int);" +
+                "" +
+                "@async(workers='0') " +
+                "partition with (symbol of streamA) " +
+                "begin " +
+                "   from streamA " +
+                "   select symbol, price " +
+                "   insert into StockQuote ;  " +
+                "end ";
+
+        siddhiManager.createSiddhiAppRuntime(siddhiApp);
+    }
+
+    @Test(dependsOnMethods = "testAsyncPartitionQuery3")
+    public void testAsyncPartitionQuery4() throws InterruptedException {
+        log.info("Async partition test4 - queued events are processed in order when shutting down");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                "define stream streamA (symbol string, price long);" +
+                "" +
+                "@async(workers='2', buffer.size='64') " +
+                "partition with (symbol of streamA) " +
+                "begin " +
+                "   @info(name = 'query1') " +
+                "   from streamA " +
+                "   select symbol, price " +
+                "   insert into StockQuote ;  " +
+                "end ";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        Map<String, List<Object[]>> results = new ConcurrentHashMap<>();
+        siddhiAppRuntime.addCallback("StockQuote", new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                for (Event event : events) {
+                    results.computeIfAbsent((String) event.getData(0), k -> new ArrayList<>()).add(event.getData());
+                    count.incrementAndGet();
+                }
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("streamA");
+        siddhiAppRuntime.start();
+
+        int keys = 4;
+        int eventsPerKey = 100;
+        for (int i = 0; i < eventsPerKey; i++) {
+            for (int j = 0; j < keys; j++) {
+                inputHandler.send(new Object[]{"SYM" + j, (long) i});
+            }
+        }
+        siddhiAppRuntime.shutdown();
+        SiddhiTestHelper.waitForEvents(100, keys * eventsPerKey, count, 15000);
+        AssertJUnit.assertEquals(keys * eventsPerKey, count.get());
+        for (List<Object[]> keyResults : results.values()) {
+            AssertJUnit.assertEquals(eventsPerKey, keyResults.size());
+            for (int i = 0; i < eventsPerKey; i++) {
+                AssertJUnit.assertEquals((long) i, keyResults.get(i)[1]);
+            }
+        }
+    }
+
+    @Test(dependsOnMethods = "testAsyncPartitionQuery4")
+    public void testAsyncPartitionQuery5() throws InterruptedException {
+        log.info("Async partition test5 - event batches matching multiple range partitions");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String siddhiApp = "" +
+                "define stream streamA (symbol string, price int);" +
+                "" +
+                "@async(workers='2') " +
+                "partition with (price < 50 as 'low' or price >= 20 as 'high' of streamA) " +
+                "begin " +
+                "   @info(name = 'query1') " +
+                "   from streamA " +
+                "   select symbol, count() as events, sum(price) as total " +
+                "   insert into StockQuote ;  " +
+                "end ";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        List<String> results = Collections.synchronizedList(new ArrayList<>());
+        siddhiAppRuntime.addCallback("StockQuote", new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                for (Event event : events) {
+                    results.add(event.getData(0) + ":" + event.getData(1) + ":" + event.getData(2));
+                    count.incrementAndGet();
+                }
+            }
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("streamA");
+        siddhiAppRuntime.start();
+
+        int batches = 100;
+        for (int i = 0; i < batches; i++) {
+            inputHandler.send(new Event[]{
+                    new Event(i, new Object[]{"IBM", 10}),
+                    new Event(i, new Object[]{"WSO2", 30}),
+                    new Event(i, new Object[]{"ORACLE", 70})});
+        }
+        SiddhiTestHelper.waitForEvents(100, 4 * batches, count, 10000);
+        siddhiAppRuntime.shutdown();
+
+        // 'low' receives IBM and WSO2 in turns, and 'high' receives WSO2 and ORACLE in turns
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < batches; i++) {
+            expected.add("IBM:" + (2 * i + 1) + ":" + (40L * i + 10));
+            expected.add("WSO2:" + (2 * i + 2) + ":" + (40L * i + 40));
+            expected.add("WSO2:" + (2 * i + 1) + ":" + (100L * i + 30));
+            expected.add("ORACLE:" + (2 * i + 2) + ":" + (100L * i + 100));
+        }
+        List<String> actual = new ArrayList<>(results);
+        Collections.sort(expected);
+        Collections.sort(actual);
+        AssertJUnit.assertEquals(expected, actual);
+    }
+}
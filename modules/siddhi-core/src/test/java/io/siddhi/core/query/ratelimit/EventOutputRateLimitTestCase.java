@@ -21,16 +21,33 @@ package io.siddhi.core.query.ratelimit;
 
 import io.siddhi.core.SiddhiAppRuntime;
 import io.siddhi.core.SiddhiManager;
+import io.siddhi.core.config.SiddhiAppContext;
+import io.siddhi.core.config.SiddhiQueryContext;
+import io.siddhi.core.event.ComplexEventChunk;
 import io.siddhi.core.event.Event;
+import io.siddhi.core.event.GroupedComplexEvent;
+import io.siddhi.core.event.stream.StreamEvent;
 import io.siddhi.core.query.output.callback.QueryCallback;
+import io.siddhi.core.query.output.ratelimit.event.FirstGroupByPerEventOutputRateLimiter;
+import io.siddhi.core.query.selector.GroupByKey;
 import io.siddhi.core.stream.input.InputHandler;
 import io.siddhi.core.util.EventPrinter;
+import io.siddhi.core.util.SiddhiConstants;
+import io.siddhi.core.util.snapshot.SnapshotService;
+import io.siddhi.core.util.snapshot.state.State;
+import io.siddhi.core.util.snapshot.state.StateHolder;
 import org.apache.log4j.Logger;
 import org.testng.Assert;
 import org.testng.AssertJUnit;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 public class EventOutputRateLimitTestCase {
     private static final Logger log = Logger.getLogger(EventOutputRateLimitTestCase.class);
     private volatile int count;
@@ -1065,4 +1082,49 @@ public class EventOutputRateLimitTestCase {
         AssertJUnit.assertEquals("Number of output event value", 6, count);
         siddhiAppRuntime.shutdown();
     }
+
+    @Test
+    public void testEventOutputRateLimitQuery19() {
+        log.info("EventOutputRateLimit test19 - restoring group by states of snapshots with String group keys");
+
+        SiddhiAppContext siddhiAppContext = new SiddhiAppContext();
+        siddhiAppContext.setName("EventOutputRateLimitTest19");
+        siddhiAppContext.setSnapshotService(new SnapshotService(siddhiAppContext));
+        SiddhiQueryContext siddhiQueryContext = new SiddhiQueryContext(siddhiAppContext, "query1");
+        FirstGroupByPerEventOutputRateLimiter outputRateLimiter =
+                new FirstGroupByPerEventOutputRateLimiter("query1", 2);
+        List<Object> outputs = new ArrayList<>();
+        outputRateLimiter.addQueryCallback(new QueryCallback() {
+            @Override
+            public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+                EventPrinter.print(timestamp, inEvents, removeEvents);
+                for (Event event : inEvents) {
+                    outputs.add(event.getData(0));
+                }
+            }
+        });
+        outputRateLimiter.init(null, false, siddhiQueryContext);
+
+        // Snapshot taken before group keys were typed, after the first event of 192.10.1.5 was output
+        Map<Object, Integer> groupByOutputTime = new HashMap<>();
+        groupByOutputTime.put(GroupByKey.of(new Object[]{"192.10.1.5"}).toString(), 1);
+        Map<String, Object> snapshot = new HashMap<>();
+        snapshot.put("GroupByOutputTime", groupByOutputTime);
+        StateHolder stateHolder = siddhiAppContext.getSnapshotService().getStateHolderMap(
+                SiddhiConstants.PARTITION_ID_DEFAULT, "query1").values().iterator().next();
+        State state = stateHolder.getState();
+        state.restore(snapshot);
+        stateHolder.returnState(state);
+
+        ComplexEventChunk<GroupedComplexEvent> complexEventChunk = new ComplexEventChunk<>();
+        for (String ip : new String[]{"192.10.1.5", "192.10.1.3", "192.10.1.5", "192.10.1.5"}) {
+            StreamEvent streamEvent = new StreamEvent(0, 0, 1);
+            streamEvent.setOutputData(new Object[]{ip});
+            streamEvent.setType(StreamEvent.Type.CURRENT);
+            complexEventChunk.add(new GroupedComplexEvent(GroupByKey.of(new Object[]{ip}), streamEvent));
+        }
+        outputRateLimiter.process(complexEventChunk);
+
+        AssertJUnit.assertEquals(Arrays.asList("192.10.1.3", "192.10.1.5"), outputs);
+    }
 }
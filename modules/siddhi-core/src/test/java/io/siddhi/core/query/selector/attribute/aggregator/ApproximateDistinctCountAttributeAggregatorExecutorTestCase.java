@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.query.selector.attribute.aggregator;
+
+import io.siddhi.core.SiddhiAppRuntime;
+import io.siddhi.core.SiddhiManager;
+import io.siddhi.core.event.Event;
+import io.siddhi.core.exception.SiddhiAppCreationException;
+import io.siddhi.core.stream.input.InputHandler;
+import io.siddhi.core.stream.output.StreamCallback;
+import org.apache.log4j.Logger;
+import org.testng.AssertJUnit;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ApproximateDistinctCountAttributeAggregatorExecutorTestCase {
+
+    private static final Logger log = Logger.getLogger(
+            ApproximateDistinctCountAttributeAggregatorExecutorTestCase.class);
+    private List<Object> counts;
+
+    @BeforeMethod
+    public void init() {
+
+        counts = new ArrayList<>();
+    }
+
+    @Test
+    public void approximateDistinctCountTest1() throws InterruptedException {
+
+        log.info("Approximate Distinct Count TestCase 1");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String inStreamDefinition = "" +
+                "define stream inputStream (userID string, pageID string); ";
+
+        String query = "" +
+                "@info(name = 'query1') " +
+                "from inputStream#window.lengthBatch(5) " +
+                "select approximateDistinctCount(pageID) as distinctPages " +
+                "insert into outputStream; ";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(inStreamDefinition + query);
+        siddhiAppRuntime.addCallback("outputStream", new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+
+                for (Event event : events) {
+                    counts.add(event.getData(0));
+                }
+            }
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("inputStream");
+        siddhiAppRuntime.start();
+
+        inputHandler.send(new Object[]{"USER_1", "WEB_PAGE_1"});
+        inputHandler.send(new Object[]{"USER_2", "WEB_PAGE_1"});
+        inputHandler.send(new Object[]{"USER_1", "WEB_PAGE_2"});
+        inputHandler.send(new Object[]{"USER_2", "WEB_PAGE_3"});
+        inputHandler.send(new Object[]{"USER_1", "WEB_PAGE_2"});
+
+        inputHandler.send(new Object[]{"USER_1", "WEB_PAGE_4"});
+        inputHandler.send(new Object[]{"USER_2", "WEB_PAGE_4"});
+        inputHandler.send(new Object[]{"USER_1", "WEB_PAGE_4"});
+        inputHandler.send(new Object[]{"USER_2", "WEB_PAGE_5"});
+        inputHandler.send(new Object[]{"USER_1", "WEB_PAGE_4"});
+
+        siddhiAppRuntime.shutdown();
+        AssertJUnit.assertEquals("Batch count", 2, counts.size());
+        AssertJUnit.assertEquals("Distinct pages of first batch", 3L, counts.get(0));
+        AssertJUnit.assertEquals("Distinct pages of second batch", 2L, counts.get(1));
+    }
+
+    @Test
+    public void approximateDistinctCountTest2() throws InterruptedException {
+
+        log.info("Approximate Distinct Count TestCase 2");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String inStreamDefinition = "" +
+                "define stream inputStream (userID long); ";
+
+        String query = "" +
+                "@info(name = 'query1') " +
+                "from inputStream " +
+                "select approximateDistinctCount(userID, 0.02) as distinctUsers " +
+                "insert into outputStream; ";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(inStreamDefinition + query);
+        siddhiAppRuntime.addCallback("outputStream", new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+
+                for (Event event : events) {
+                    counts.add(event.getData(0));
+                }
+            }
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("inputStream");
+        siddhiAppRuntime.start();
+
+        int distinctUsers = 100000;
+        for (int i = 0; i < 2 * distinctUsers; i++) {
+            inputHandler.send(new Object[]{(long) (i % distinctUsers)});
+        }
+
+        siddhiAppRuntime.shutdown();
+        long estimate = (Long) counts.get(counts.size() - 1);
+        AssertJUnit.assertTrue("Estimate " + estimate + " not within 3 standard errors",
+                Math.abs(estimate - distinctUsers) <= 0.06 * distinctUsers);
+    }
+
+    @Test(expectedExceptions = SiddhiAppCreationException.class)
+    public void approximateDistinctCountTest3() {
+
+        log.info("Approximate Distinct Count TestCase 3");
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String inStreamDefinition = "" +
+                "define stream inputStream (userID string, pageID string); ";
+
+        String query = "" +
+                "@info(name = 'query1') " +
+                "from inputStream#window.time(5 sec) " +
+                "select approximateDistinctCount(pageID) as distinctPages " +
+                "insert into outputStream; ";
+
+        try {
+            siddhiManager.createSiddhiAppRuntime(inStreamDefinition + query);
+        } finally {
+            siddhiManager.shutdown();
+        }
+    }
+
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.core.query.table.util;
+
+import io.siddhi.core.event.state.StateEvent;
+import io.siddhi.core.event.stream.StreamEvent;
+import io.siddhi.core.table.InMemoryTable;
+import io.siddhi.core.util.collection.operator.CompiledCondition;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In memory table for testing, which counts the events read through find. Registered as a store extension through
+ * {@link io.siddhi.core.SiddhiManager#setExtension}.
+ */
+public class TestStoreForReadCounting extends InMemoryTable {
+    public static final AtomicLong EVENTS_READ = new AtomicLong();
+
+    @Override
+    public StreamEvent find(CompiledCondition compiledCondition, StateEvent matchingEvent) {
+        StreamEvent streamEvent = super.find(compiledCondition, matchingEvent);
+        for (StreamEvent event = streamEvent; event != null; event = event.getNext()) {
+            EVENTS_READ.incrementAndGet();
+        }
+        return streamEvent;
+    }
+}
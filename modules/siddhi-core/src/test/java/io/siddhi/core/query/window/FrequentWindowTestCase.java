@@ -23,12 +23,17 @@ import io.siddhi.core.SiddhiManager;
 import io.siddhi.core.event.Event;
 import io.siddhi.core.query.output.callback.QueryCallback;
 import io.siddhi.core.stream.input.InputHandler;
+import io.siddhi.core.stream.output.StreamCallback;
 import io.siddhi.core.util.EventPrinter;
 import org.apache.log4j.Logger;
 import org.testng.AssertJUnit;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 public class FrequentWindowTestCase {
     private static final Logger log = Logger.getLogger(FrequentWindowTestCase.class);
 
@@ -142,4 +147,105 @@ public class FrequentWindowTestCase {
 
     }
 
+    @Test
+    public void approximateFrequentWindowTest1() throws InterruptedException {
+        log.info("approximateFrequentWindow test1");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String cseEventStream = "" +
+                "define stream purchase (cardNo string, price float);";
+        String query = "" +
+                "@info(name = 'query1') " +
+                "from purchase#window.approximateFrequent(0.25, 0.25, cardNo) " +
+                "select cardNo, price " +
+                "insert all events into PotentialFraud ;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(cseEventStream + query);
+
+        siddhiAppRuntime.addCallback("query1", new QueryCallback() {
+            @Override
+            public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+                EventPrinter.print(timestamp, inEvents, removeEvents);
+                if (inEvents != null) {
+                    inEventCount += inEvents.length;
+                }
+                if (removeEvents != null) {
+                    for (Event event : removeEvents) {
+                        AssertJUnit.assertEquals("Evicted card", "2", event.getData(0));
+                    }
+                    removeEventCount += removeEvents.length;
+                }
+                eventArrived = true;
+            }
+
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("purchase");
+        siddhiAppRuntime.start();
+
+        for (int i = 0; i < 3; i++) {
+            inputHandler.send(new Object[]{"1", 73.36f});
+        }
+        // Card 2 reaches the support threshold and is emitted, while cards 3 and 4 are only counted
+        inputHandler.send(new Object[]{"2", 46.36f});
+        inputHandler.send(new Object[]{"3", 48.36f});
+        inputHandler.send(new Object[]{"4", 78.36f});
+        // Only four counters are kept, the least frequent card is evicted to make room for the new card
+        inputHandler.send(new Object[]{"5", 78.36f});
+        // Card 3 is evicted, but it is not expired as it was never emitted
+        inputHandler.send(new Object[]{"6", 78.36f});
+        Thread.sleep(100);
+        AssertJUnit.assertEquals("Event arrived", true, eventArrived);
+        AssertJUnit.assertEquals("In Event count", 6, inEventCount);
+        AssertJUnit.assertEquals("Out Event count", 1, removeEventCount);
+
+        siddhiAppRuntime.shutdown();
+    }
+
+    @Test
+    public void approximateFrequentWindowTest2() throws InterruptedException {
+        log.info("approximateFrequentWindow test2");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String cseEventStream = "" +
+                "define stream purchase (symbol string, cardNo string, price float);";
+        String query = "" +
+                "partition with (symbol of purchase) " +
+                "begin " +
+                "   from purchase#window.approximateFrequent(0.9, 0.5, cardNo) " +
+                "   select cardNo, price " +
+                "   insert all events into PotentialFraud ;" +
+                "end;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(cseEventStream + query);
+        List<Object> cardNumbers = new ArrayList<>();
+
+        siddhiAppRuntime.addCallback("PotentialFraud", new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                EventPrinter.print(events);
+                for (Event event : events) {
+                    cardNumbers.add(event.getData(0));
+                }
+                eventArrived = true;
+            }
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("purchase");
+        siddhiAppRuntime.start();
+
+        inputHandler.send(new Object[]{"WSO2", "1", 73.36f});
+        inputHandler.send(new Object[]{"WSO2", "2", 46.36f});
+        // Card 1 is evicted and expired, after which the window holds no emitted events but still counts cards
+        inputHandler.send(new Object[]{"WSO2", "3", 48.36f});
+        // Card 2 is evicted, and card 5 stays below the support threshold of the counts kept for the partition
+        inputHandler.send(new Object[]{"WSO2", "5", 78.36f});
+        Thread.sleep(100);
+        AssertJUnit.assertEquals("Event arrived", true, eventArrived);
+        // Card 1 is emitted when it arrives and again when it expires
+        AssertJUnit.assertEquals("Card numbers", Arrays.asList("1", "1"), cardNumbers);
+
+        siddhiAppRuntime.shutdown();
+    }
 }
@@ -31,6 +31,9 @@ import org.testng.AssertJUnit;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public class LengthWindowTestCase {
     private static final Logger log = Logger.getLogger(LengthWindowTestCase.class);
     private int inEventCount;
@@ -387,4 +390,96 @@ public class LengthWindowTestCase {
         execPlanRunTime.shutdown();
 
     }
+
+    @Test
+    public void minMaxAggregatorTest60() throws InterruptedException {
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String execPlan = "" +
+                "define stream cseEventStream (price int);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from cseEventStream#window.length(2) " +
+                "select min(price) as minPrice, max(0 - price) as maxPrice " +
+                "insert into outputStream;";
+
+        List<Object[]> outputs = new ArrayList<>();
+        SiddhiAppRuntime execPlanRunTime = siddhiManager.createSiddhiAppRuntime(execPlan);
+        execPlanRunTime.addCallback("query1", new QueryCallback() {
+            @Override
+            public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+
+                EventPrinter.print(timestamp, inEvents, removeEvents);
+                for (Event event : inEvents) {
+                    outputs.add(event.getData());
+                }
+            }
+        });
+
+        InputHandler inputHandler = execPlanRunTime.getInputHandler("cseEventStream");
+
+        execPlanRunTime.start();
+        // The expired first 5 must not remove the second 5 which is still in the window
+        inputHandler.send(new Object[]{5});
+        inputHandler.send(new Object[]{3});
+        inputHandler.send(new Object[]{5});
+        inputHandler.send(new Object[]{7});
+        inputHandler.send(new Object[]{8});
+        Thread.sleep(100);
+        execPlanRunTime.shutdown();
+
+        AssertJUnit.assertEquals(5, outputs.size());
+        int[] expectedMin = new int[]{5, 3, 3, 5, 7};
+        for (int i = 0; i < expectedMin.length; i++) {
+            AssertJUnit.assertEquals(expectedMin[i], outputs.get(i)[0]);
+            AssertJUnit.assertEquals(-expectedMin[i], outputs.get(i)[1]);
+        }
+    }
+
+    @Test
+    public void minMaxAggregatorTest61() throws InterruptedException {
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String execPlan = "" +
+                "define stream cseEventStream (price int);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from cseEventStream#window.length(3) " +
+                "select max(price) as maxPrice, min(0 - price) as minPrice " +
+                "insert into outputStream;";
+
+        List<Object[]> outputs = new ArrayList<>();
+        SiddhiAppRuntime execPlanRunTime = siddhiManager.createSiddhiAppRuntime(execPlan);
+        execPlanRunTime.addCallback("query1", new QueryCallback() {
+            @Override
+            public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+
+                EventPrinter.print(timestamp, inEvents, removeEvents);
+                for (Event event : inEvents) {
+                    outputs.add(event.getData());
+                }
+            }
+        });
+
+        InputHandler inputHandler = execPlanRunTime.getInputHandler("cseEventStream");
+
+        execPlanRunTime.start();
+        // The expired first 2 has already been dropped by 5, hence it must not remove the second 2 from the deque
+        inputHandler.send(new Object[]{2});
+        inputHandler.send(new Object[]{5});
+        inputHandler.send(new Object[]{2});
+        inputHandler.send(new Object[]{1});
+        inputHandler.send(new Object[]{0});
+        Thread.sleep(100);
+        execPlanRunTime.shutdown();
+
+        AssertJUnit.assertEquals(5, outputs.size());
+        int[] expectedMax = new int[]{2, 5, 5, 5, 2};
+        for (int i = 0; i < expectedMax.length; i++) {
+            AssertJUnit.assertEquals(expectedMax[i], outputs.get(i)[0]);
+            AssertJUnit.assertEquals(-expectedMax[i], outputs.get(i)[1]);
+        }
+    }
 }
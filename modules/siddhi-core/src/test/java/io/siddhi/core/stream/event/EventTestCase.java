@@ -20,11 +20,14 @@ package io.siddhi.core.stream.event;
 import io.siddhi.core.aggregation.AggregationRuntime;
 import io.siddhi.core.config.SiddhiAppContext;
 import io.siddhi.core.config.SiddhiContext;
+import io.siddhi.core.event.ComplexEvent;
 import io.siddhi.core.event.Event;
 import io.siddhi.core.event.state.MetaStateEvent;
 import io.siddhi.core.event.stream.MetaStreamEvent;
 import io.siddhi.core.event.stream.StreamEvent;
+import io.siddhi.core.event.stream.StreamEventCloner;
 import io.siddhi.core.event.stream.StreamEventFactory;
+import io.siddhi.core.event.stream.converter.PrimitiveStreamEventConverter;
 import io.siddhi.core.event.stream.converter.SelectiveStreamEventConverter;
 import io.siddhi.core.event.stream.converter.SimpleStreamEventConverter;
 import io.siddhi.core.event.stream.converter.StreamEventConverter;
@@ -33,11 +36,17 @@ import io.siddhi.core.event.stream.converter.ZeroStreamEventConverter;
 import io.siddhi.core.exception.OperationNotSupportedException;
 import io.siddhi.core.executor.ConstantExpressionExecutor;
 import io.siddhi.core.executor.ExpressionExecutor;
+import io.siddhi.core.executor.PrimitiveExpressionExecutor;
 import io.siddhi.core.executor.VariableExpressionExecutor;
 import io.siddhi.core.executor.condition.AndConditionExpressionExecutor;
 import io.siddhi.core.executor.condition.compare.greaterthan.GreaterThanCompareConditionExpressionExecutorIntInt;
 import io.siddhi.core.executor.condition.compare.lessthan.LessThanCompareConditionExpressionExecutorFloatFloat;
 import io.siddhi.core.executor.math.add.AddExpressionExecutorFloat;
+import io.siddhi.core.executor.math.add.AddExpressionExecutorLong;
+import io.siddhi.core.executor.math.divide.DivideExpressionExecutorInt;
+import io.siddhi.core.executor.math.mod.ModExpressionExecutorLong;
+import io.siddhi.core.executor.math.multiply.MultiplyExpressionExecutorDouble;
+import io.siddhi.core.executor.math.subtract.SubtractExpressionExecutorFloat;
 import io.siddhi.core.query.QueryRuntimeImpl;
 import io.siddhi.core.query.input.stream.single.SingleStreamRuntime;
 import io.siddhi.core.stream.input.source.Source;
@@ -67,6 +76,7 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class EventTestCase {
 
@@ -195,6 +205,201 @@ public class EventTestCase {
         AssertJUnit.assertEquals("Result of adding should be 20.0", 20f, addExecutor.execute(event));
     }
 
+    @Test
+    public void testNestedMathExpressionExecutors() {
+        VariableExpressionExecutor priceVariableExpressionExecutor = new VariableExpressionExecutor(new Attribute
+                ("price", Attribute.Type.FLOAT), 0, 0);
+        priceVariableExpressionExecutor.setPosition(new int[]{0, SiddhiConstants.UNKNOWN_STATE, SiddhiConstants
+                .OUTPUT_DATA_INDEX, 1});
+        VariableExpressionExecutor volumeVariableExpressionExecutor = new VariableExpressionExecutor(new Attribute
+                ("volume", Attribute.Type.INT), 0, 0);
+        volumeVariableExpressionExecutor.setPosition(new int[]{0, SiddhiConstants.UNKNOWN_STATE, SiddhiConstants
+                .OUTPUT_DATA_INDEX, 2});
+
+        // (price * volume) * ((volume / 2) + 1000000000000)
+        ExpressionExecutor multiplyExecutor = new MultiplyExpressionExecutorDouble(priceVariableExpressionExecutor,
+                volumeVariableExpressionExecutor);
+        ExpressionExecutor divideExecutor = new DivideExpressionExecutorInt(volumeVariableExpressionExecutor,
+                new ConstantExpressionExecutor(2, Attribute.Type.INT));
+        ExpressionExecutor scaleExecutor = new AddExpressionExecutorLong(divideExecutor,
+                new ConstantExpressionExecutor(1000000000000L, Attribute.Type.LONG));
+        ExpressionExecutor productExecutor = new MultiplyExpressionExecutorDouble(multiplyExecutor, scaleExecutor);
+
+        StreamEvent event = new StreamEvent(0, 0, 3);
+        event.setOutputData(new Object[]{"WSO2", 10.5f, 5});
+        AssertJUnit.assertEquals(52.5, multiplyExecutor.execute(event));
+        AssertJUnit.assertEquals(2, divideExecutor.execute(event));
+        AssertJUnit.assertEquals(1000000000002L, scaleExecutor.execute(event));
+        AssertJUnit.assertEquals(52.5 * 1000000000002L, productExecutor.execute(event));
+
+        event.setOutputData(new Object[]{"WSO2", 10.5f, 0});
+        AssertJUnit.assertEquals(0, divideExecutor.execute(event));
+        AssertJUnit.assertEquals(0.0, productExecutor.execute(event));
+
+        ExpressionExecutor divideByVolumeExecutor = new DivideExpressionExecutorInt(
+                new ConstantExpressionExecutor(10, Attribute.Type.INT), volumeVariableExpressionExecutor);
+        ExpressionExecutor nestedNullExecutor = new AddExpressionExecutorLong(divideByVolumeExecutor,
+                new ConstantExpressionExecutor(1L, Attribute.Type.LONG));
+        AssertJUnit.assertNull(divideByVolumeExecutor.execute(event));
+        AssertJUnit.assertNull(nestedNullExecutor.execute(event));
+
+        event.setOutputData(new Object[]{"WSO2", null, 4});
+        AssertJUnit.assertNull(productExecutor.execute(event));
+        AssertJUnit.assertEquals(3L, nestedNullExecutor.execute(event));
+    }
+
+    @Test
+    public void testPrimitiveStreamEventConverter() {
+        Attribute price = new Attribute("price", Attribute.Type.DOUBLE);
+        Attribute volume = new Attribute("volume", Attribute.Type.INT);
+        Attribute symbol = new Attribute("symbol", Attribute.Type.STRING);
+        Attribute quantity = new Attribute("quantity", Attribute.Type.LONG);
+
+        MetaStreamEvent metaStreamEvent = new MetaStreamEvent();
+        metaStreamEvent.addData(volume);
+        metaStreamEvent.initializeOnAfterWindowData();
+        metaStreamEvent.addData(price);
+        metaStreamEvent.addOutputData(symbol);
+        metaStreamEvent.addOutputData(quantity);
+
+        StreamDefinition streamDefinition = StreamDefinition.id("cseEventStream").attribute("symbol", Attribute.Type
+                .STRING).attribute("price", Attribute.Type.DOUBLE).attribute("volume", Attribute.Type.INT)
+                .attribute("quantity", Attribute.Type.LONG);
+        metaStreamEvent.addInputDefinition(streamDefinition);
+        StreamEventConverter converter = StreamEventConverterFactory.constructEventConverter(metaStreamEvent, true);
+        StreamEventFactory eventPool = new StreamEventFactory(metaStreamEvent);
+
+        StreamEvent newEvent = eventPool.newInstance();
+        converter.convertEvent(new Event(System.currentTimeMillis(), new Object[]{"WSO2", 200.5, 50, 7L}), newEvent);
+
+        AssertJUnit.assertTrue(converter instanceof PrimitiveStreamEventConverter);
+        AssertJUnit.assertNotNull(newEvent.getPrimitiveLayout());
+        AssertJUnit.assertEquals(50, newEvent.getBeforeWindowData()[0]);
+        AssertJUnit.assertEquals(200.5, newEvent.getOnAfterWindowData()[0]);
+        AssertJUnit.assertEquals("WSO2", newEvent.getOutputData()[0]);
+        AssertJUnit.assertEquals(7L, newEvent.getOutputData()[1]);
+        int volumeSlot = newEvent.getPrimitiveLayout().getLongSlot(SiddhiConstants.BEFORE_WINDOW_DATA_INDEX, 0);
+        int priceSlot = newEvent.getPrimitiveLayout().getDoubleSlot(SiddhiConstants.ON_AFTER_WINDOW_DATA_INDEX, 0);
+        int quantitySlot = newEvent.getPrimitiveLayout().getLongSlot(SiddhiConstants.OUTPUT_DATA_INDEX, 1);
+        AssertJUnit.assertEquals(50L, newEvent.getLongData()[volumeSlot]);
+        AssertJUnit.assertEquals(200.5, newEvent.getDoubleData()[priceSlot]);
+        AssertJUnit.assertEquals(7L, newEvent.getLongData()[quantitySlot]);
+        AssertJUnit.assertEquals(-1, newEvent.getPrimitiveLayout().getLongSlot(SiddhiConstants.OUTPUT_DATA_INDEX, 0));
+        AssertJUnit.assertEquals(-1, newEvent.getPrimitiveLayout().getDoubleSlot(SiddhiConstants.OUTPUT_DATA_INDEX,
+                1));
+
+        StreamEvent copiedEvent = new StreamEventCloner(metaStreamEvent, eventPool).copyStreamEvent(newEvent);
+        AssertJUnit.assertSame(newEvent.getPrimitiveLayout(), copiedEvent.getPrimitiveLayout());
+        AssertJUnit.assertEquals(50L, copiedEvent.getLongData()[volumeSlot]);
+        AssertJUnit.assertEquals(200.5, copiedEvent.getDoubleData()[priceSlot]);
+
+        // Slots are no longer used once the Object[] data changes
+        newEvent.setOutputData(8L, 1);
+        AssertJUnit.assertNull(newEvent.getPrimitiveLayout());
+        AssertJUnit.assertNotNull(copiedEvent.getPrimitiveLayout());
+
+        // Values not of the type of their attribute are only kept in the Object[] data
+        StreamEvent mismatchedEvent = eventPool.newInstance();
+        converter.convertEvent(new Event(System.currentTimeMillis(), new Object[]{"WSO2", 200, 50, 7L}),
+                mismatchedEvent);
+        AssertJUnit.assertNull(mismatchedEvent.getPrimitiveLayout());
+        AssertJUnit.assertEquals(200, mismatchedEvent.getOnAfterWindowData()[0]);
+
+        StreamEvent nullEvent = eventPool.newInstance();
+        converter.convertEvent(new Event(System.currentTimeMillis(), new Object[]{"WSO2", null, 50, 7L}), nullEvent);
+        AssertJUnit.assertNotNull(nullEvent.getPrimitiveLayout());
+        AssertJUnit.assertNull(nullEvent.getOnAfterWindowData()[0]);
+
+        StreamDefinition objectStreamDefinition = StreamDefinition.id("cseEventStream").attribute("symbol",
+                Attribute.Type.STRING).attribute("price", Attribute.Type.DOUBLE).attribute("volume", Attribute.Type
+                .INT).attribute("quantity", Attribute.Type.LONG).attribute("extra", Attribute.Type.OBJECT);
+        MetaStreamEvent objectMetaStreamEvent = new MetaStreamEvent();
+        objectMetaStreamEvent.addOutputData(price);
+        objectMetaStreamEvent.addInputDefinition(objectStreamDefinition);
+        AssertJUnit.assertTrue(StreamEventConverterFactory.constructEventConverter(objectMetaStreamEvent, true)
+                instanceof SimpleStreamEventConverter);
+    }
+
+    @Test
+    public void testPrimitiveMathExpressionExecutors() {
+        MetaStreamEvent metaStreamEvent = new MetaStreamEvent();
+        metaStreamEvent.addOutputDataAllowingDuplicate(new Attribute("symbol", Attribute.Type.STRING));
+        metaStreamEvent.addOutputDataAllowingDuplicate(new Attribute("price", Attribute.Type.FLOAT));
+        metaStreamEvent.addOutputDataAllowingDuplicate(new Attribute("volume", Attribute.Type.LONG));
+        metaStreamEvent.addInputDefinition(StreamDefinition.id("cseEventStream").attribute("symbol", Attribute
+                .Type.STRING).attribute("price", Attribute.Type.FLOAT).attribute("volume", Attribute.Type.LONG));
+        StreamEventConverter converter = StreamEventConverterFactory.constructEventConverter(metaStreamEvent, true);
+        StreamEventFactory eventPool = new StreamEventFactory(metaStreamEvent);
+
+        VariableExpressionExecutor priceVariableExpressionExecutor = new VariableExpressionExecutor(new Attribute
+                ("price", Attribute.Type.FLOAT), 0, 0);
+        priceVariableExpressionExecutor.setPosition(new int[]{0, SiddhiConstants.UNKNOWN_STATE, SiddhiConstants
+                .OUTPUT_DATA_INDEX, 1});
+        VariableExpressionExecutor volumeVariableExpressionExecutor = new VariableExpressionExecutor(new Attribute
+                ("volume", Attribute.Type.LONG), 0, 0);
+        volumeVariableExpressionExecutor.setPosition(new int[]{0, SiddhiConstants.UNKNOWN_STATE, SiddhiConstants
+                .OUTPUT_DATA_INDEX, 2});
+
+        // (price - 0.5) * (volume % 3)
+        ExpressionExecutor subtractExecutor = new SubtractExpressionExecutorFloat(priceVariableExpressionExecutor,
+                new ConstantExpressionExecutor(0.5f, Attribute.Type.FLOAT));
+        ExpressionExecutor modExecutor = new ModExpressionExecutorLong(volumeVariableExpressionExecutor,
+                new ConstantExpressionExecutor(3L, Attribute.Type.LONG));
+        ExpressionExecutor productExecutor = new MultiplyExpressionExecutorDouble(subtractExecutor, modExecutor);
+        AssertJUnit.assertTrue(PrimitiveExpressionExecutor.supportsPrimitive(productExecutor));
+
+        StreamEvent event = eventPool.newInstance();
+        converter.convertEvent(new Event(System.currentTimeMillis(), new Object[]{"WSO2", 10.5f, 5L}), event);
+        AssertJUnit.assertNotNull(event.getPrimitiveLayout());
+        AssertJUnit.assertEquals(10.5f, priceVariableExpressionExecutor.executeFloat(event));
+        AssertJUnit.assertEquals(5L, volumeVariableExpressionExecutor.executeLong(event));
+        AssertJUnit.assertEquals(10f, subtractExecutor.execute(event));
+        AssertJUnit.assertEquals(2L, modExecutor.execute(event));
+        AssertJUnit.assertEquals(20.0, productExecutor.execute(event));
+
+        // The Object[] data is read when the slots are no longer in sync
+        event.setOutputData(6L, 2);
+        AssertJUnit.assertNull(event.getPrimitiveLayout());
+        AssertJUnit.assertEquals(0L, modExecutor.execute(event));
+        AssertJUnit.assertEquals(0.0, productExecutor.execute(event));
+
+        StreamEvent nullEvent = eventPool.newInstance();
+        converter.convertEvent(new Event(System.currentTimeMillis(), new Object[]{"WSO2", null, 5L}), nullEvent);
+        AssertJUnit.assertNotNull(nullEvent.getPrimitiveLayout());
+        AssertJUnit.assertNull(subtractExecutor.execute(nullEvent));
+        AssertJUnit.assertNull(productExecutor.execute(nullEvent));
+        AssertJUnit.assertEquals(2L, modExecutor.execute(nullEvent));
+
+        ExpressionExecutor modByVolumeExecutor = new ModExpressionExecutorLong(new ConstantExpressionExecutor(10L,
+                Attribute.Type.LONG), volumeVariableExpressionExecutor);
+        StreamEvent zeroEvent = eventPool.newInstance();
+        converter.convertEvent(new Event(System.currentTimeMillis(), new Object[]{"WSO2", 1f, 0L}), zeroEvent);
+        AssertJUnit.assertNull(modByVolumeExecutor.execute(zeroEvent));
+        AssertJUnit.assertNull(new MultiplyExpressionExecutorDouble(subtractExecutor, modByVolumeExecutor)
+                .execute(zeroEvent));
+
+        // An operand that cannot be evaluated unboxed is executed once per evaluation
+        AtomicInteger executions = new AtomicInteger();
+        ExpressionExecutor countingExecutor = new ExpressionExecutor() {
+            @Override
+            public Object execute(ComplexEvent event) {
+                return (long) executions.incrementAndGet();
+            }
+
+            @Override
+            public Attribute.Type getReturnType() {
+                return Attribute.Type.LONG;
+            }
+        };
+        ExpressionExecutor countingAddExecutor = new AddExpressionExecutorLong(countingExecutor, modExecutor);
+        ExpressionExecutor countingProductExecutor = new MultiplyExpressionExecutorDouble(subtractExecutor,
+                countingAddExecutor);
+        AssertJUnit.assertFalse(PrimitiveExpressionExecutor.supportsPrimitive(countingAddExecutor));
+        AssertJUnit.assertFalse(PrimitiveExpressionExecutor.supportsPrimitive(countingProductExecutor));
+        AssertJUnit.assertEquals(0.5, countingProductExecutor.execute(zeroEvent));
+        AssertJUnit.assertEquals(1, executions.get());
+    }
+
     @Test
     public void testConditionExpressionExecutors() {
 //        StreamDefinition streamDefinition = StreamDefinition.id("cseEventStream").attribute("symbol", Attribute
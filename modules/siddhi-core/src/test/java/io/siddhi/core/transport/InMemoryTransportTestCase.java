@@ -26,10 +26,15 @@ import io.siddhi.core.exception.SiddhiAppCreationException;
 import io.siddhi.core.stream.ServiceDeploymentInfo;
 import io.siddhi.core.stream.input.InputHandler;
 import io.siddhi.core.stream.output.StreamCallback;
+import io.siddhi.core.stream.output.sink.AsyncSinkPublisher;
 import io.siddhi.core.util.EventPrinter;
+import io.siddhi.core.util.SiddhiTestHelper;
 import io.siddhi.core.util.config.InMemoryConfigManager;
 import io.siddhi.core.util.transport.InMemoryBroker;
 import io.siddhi.core.util.transport.SubscriberUnAvailableException;
+import io.siddhi.core.util.transport.TemplateBuilder;
+import io.siddhi.query.api.definition.Attribute;
+import io.siddhi.query.api.definition.StreamDefinition;
 import org.apache.log4j.Logger;
 import org.testng.Assert;
 import org.testng.AssertJUnit;
@@ -37,8 +42,15 @@ import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -1621,4 +1633,313 @@ public class InMemoryTransportTestCase {
         Assert.assertEquals(wso2Count.get(), 3);
         siddhiManager.shutdown();
     }
+
+    @Test(dependsOnMethods = {"inMemoryTestCase22"})
+    public void inMemoryAsyncSinkTestCase1() throws InterruptedException {
+        log.info("Test inMemoryAsyncSinkTestCase1 - publishing batches of events from the sink workers");
+
+        List<Object> received = Collections.synchronizedList(new ArrayList<>());
+        Set<String> publishingThreads = Collections.synchronizedSet(new HashSet<>());
+        CountDownLatch firstMessage = new CountDownLatch(1);
+        InMemoryBroker.Subscriber subscription = new InMemoryBroker.Subscriber() {
+            @Override
+            public void onMessage(Object msg) {
+                publishingThreads.add(Thread.currentThread().getName());
+                if (msg instanceof Event[]) {
+                    received.addAll(Arrays.asList((Event[]) msg));
+                } else {
+                    received.add(msg);
+                }
+                wso2Count.incrementAndGet();
+                try {
+                    // Slow down the first publish to let the events pile up into batches
+                    firstMessage.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            @Override
+            public String getTopic() {
+                return "AsyncOutput";
+            }
+        };
+        InMemoryBroker.subscribe(subscription);
+
+        String streams = "" +
+                "@app:name('TestSiddhiApp')" +
+                "define stream FooStream (symbol string, price float, volume long); " +
+                "@sink(type='inMemory', topic='AsyncOutput', @map(type='passThrough'), " +
+                "   @async(buffer.size='64', batch.size='16', flush.interval='100')) " +
+                "define stream BarStream (symbol string, price float, volume long); ";
+
+        String query = "" +
+                "from FooStream " +
+                "select * " +
+                "insert into BarStream; ";
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(streams + query);
+        InputHandler stockStream = siddhiAppRuntime.getInputHandler("FooStream");
+        try {
+            siddhiAppRuntime.start();
+            stockStream.send(new Object[]{"WSO2", 0f, 0L});
+            Thread.sleep(300);
+            for (int i = 1; i < 50; i++) {
+                stockStream.send(new Object[]{"WSO2", (float) i, (long) i});
+            }
+            firstMessage.countDown();
+            Thread.sleep(500);
+
+            AssertJUnit.assertEquals("Number of events", 50, received.size());
+            for (int i = 0; i < received.size(); i++) {
+                AssertJUnit.assertEquals("Order of events", (long) i, ((Event) received.get(i)).getData(2));
+            }
+            AssertJUnit.assertTrue("Events are not published in batches", wso2Count.get() < 50);
+            AssertJUnit.assertFalse("Events are published by the sending thread",
+                    publishingThreads.contains(Thread.currentThread().getName()));
+        } finally {
+            firstMessage.countDown();
+            siddhiAppRuntime.shutdown();
+            InMemoryBroker.unsubscribe(subscription);
+        }
+    }
+
+    @Test(dependsOnMethods = {"inMemoryAsyncSinkTestCase1"})
+    public void inMemoryAsyncSinkTestCase2() throws InterruptedException {
+        log.info("Test inMemoryAsyncSinkTestCase2 - dropping events when the sink buffer is full");
+
+        CountDownLatch release = new CountDownLatch(1);
+        InMemoryBroker.Subscriber subscription = new InMemoryBroker.Subscriber() {
+            @Override
+            public void onMessage(Object msg) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                wso2Count.addAndGet(msg instanceof Event[] ? ((Event[]) msg).length : 1);
+            }
+
+            @Override
+            public String getTopic() {
+                return "AsyncOutput";
+            }
+        };
+        InMemoryBroker.subscribe(subscription);
+
+        String streams = "" +
+                "@app:name('TestSiddhiApp')" +
+                "define stream FooStream (symbol string, price float, volume long); " +
+                "@sink(type='inMemory', topic='AsyncOutput', @map(type='passThrough'), " +
+                "   @async(buffer.size='16', workers='2', on.overflow='drop')) " +
+                "define stream BarStream (symbol string, price float, volume long); ";
+
+        String query = "" +
+                "from FooStream " +
+                "select * " +
+                "insert into BarStream; ";
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(streams + query);
+        InputHandler stockStream = siddhiAppRuntime.getInputHandler("FooStream");
+        try {
+            siddhiAppRuntime.start();
+            for (int i = 0; i < 100; i++) {
+                stockStream.send(new Object[]{"WSO2", (float) i, (long) i});
+            }
+            AsyncSinkPublisher asyncPublisher = siddhiAppRuntime.getSinks().iterator().next().get(0)
+                    .getAsyncPublisher();
+            AssertJUnit.assertTrue("No events are dropped", asyncPublisher.getDroppedEvents() > 0);
+            release.countDown();
+            Thread.sleep(500);
+
+            AssertJUnit.assertEquals("Number of events published and dropped", 100,
+                    wso2Count.get() + asyncPublisher.getDroppedEvents());
+            AssertJUnit.assertEquals("Buffered events", 0, asyncPublisher.getBufferedEvents());
+        } finally {
+            release.countDown();
+            siddhiAppRuntime.shutdown();
+            InMemoryBroker.unsubscribe(subscription);
+        }
+    }
+
+    @Test(dependsOnMethods = {"inMemoryAsyncSinkTestCase2"}, expectedExceptions = SiddhiAppCreationException.class)
+    public void inMemoryAsyncSinkTestCase3() {
+        log.info("Test inMemoryAsyncSinkTestCase3 - invalid sink buffer size");
+
+        String streams = "" +
+                "@app:name('TestSiddhiApp')" +
+                "@sink(type='inMemory', topic='AsyncOutput', @map(type='passThrough'), @async(buffer.size='100')) " +
+                "define stream BarStream (symbol string, price float, volume long); ";
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        siddhiManager.createSiddhiAppRuntime(streams);
+    }
+
+    @Test(dependsOnMethods = {"inMemoryAsyncSinkTestCase3"})
+    public void inMemoryAsyncSinkTestCase4() throws InterruptedException {
+        log.info("Test inMemoryAsyncSinkTestCase4 - default sink buffer size");
+
+        List<Object> received = Collections.synchronizedList(new ArrayList<>());
+        InMemoryBroker.Subscriber subscription = new InMemoryBroker.Subscriber() {
+            @Override
+            public void onMessage(Object msg) {
+                if (msg instanceof Event[]) {
+                    received.addAll(Arrays.asList((Event[]) msg));
+                } else {
+                    received.add(msg);
+                }
+            }
+
+            @Override
+            public String getTopic() {
+                return "AsyncOutput";
+            }
+        };
+        InMemoryBroker.subscribe(subscription);
+
+        String streams = "" +
+                "@app:name('TestSiddhiApp')" +
+                "define stream FooStream (symbol string, price float, volume long); " +
+                "@sink(type='inMemory', topic='AsyncOutput', @map(type='passThrough'), @async(batch.size='100')) " +
+                "define stream BarStream (symbol string, price float, volume long); ";
+
+        String query = "" +
+                "from FooStream " +
+                "select * " +
+                "insert into BarStream; ";
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(streams + query);
+        InputHandler stockStream = siddhiAppRuntime.getInputHandler("FooStream");
+        try {
+            siddhiAppRuntime.start();
+            for (int i = 0; i < 10; i++) {
+                stockStream.send(new Object[]{"WSO2", (float) i, (long) i});
+            }
+            SiddhiTestHelper.waitForEvents(100, 10, received, 5000);
+            AssertJUnit.assertEquals("Number of events", 10, received.size());
+        } finally {
+            siddhiAppRuntime.shutdown();
+            InMemoryBroker.unsubscribe(subscription);
+        }
+    }
+
+    @Test(dependsOnMethods = {"inMemoryAsyncSinkTestCase4"})
+    public void inMemoryAsyncSinkTestCase5() throws InterruptedException {
+        log.info("Test inMemoryAsyncSinkTestCase5 - publishing the partial batch on shutdown");
+
+        List<Object> received = Collections.synchronizedList(new ArrayList<>());
+        InMemoryBroker.Subscriber subscription = new InMemoryBroker.Subscriber() {
+            @Override
+            public void onMessage(Object msg) {
+                if (msg instanceof Event[]) {
+                    received.addAll(Arrays.asList((Event[]) msg));
+                } else {
+                    received.add(msg);
+                }
+            }
+
+            @Override
+            public String getTopic() {
+                return "AsyncOutput";
+            }
+        };
+        InMemoryBroker.subscribe(subscription);
+
+        String streams = "" +
+                "@app:name('TestSiddhiApp')" +
+                "define stream FooStream (symbol string, price float, volume long); " +
+                "@sink(type='inMemory', topic='AsyncOutput', @map(type='passThrough'), " +
+                "   @async(buffer.size='1024', batch.size='100', flush.interval='5000')) " +
+                "define stream BarStream (symbol string, price float, volume long); ";
+
+        String query = "" +
+                "from FooStream " +
+                "select * " +
+                "insert into BarStream; ";
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(streams + query);
+        InputHandler stockStream = siddhiAppRuntime.getInputHandler("FooStream");
+        try {
+            siddhiAppRuntime.start();
+            for (int i = 0; i < 3; i++) {
+                stockStream.send(new Object[]{"WSO2", (float) i, (long) i});
+            }
+            Thread.sleep(100);
+            AssertJUnit.assertEquals("Events published before the flush interval", 0, received.size());
+            siddhiAppRuntime.shutdown();
+            AssertJUnit.assertEquals("Number of events published on shutdown", 3, received.size());
+        } finally {
+            siddhiAppRuntime.shutdown();
+            InMemoryBroker.unsubscribe(subscription);
+        }
+    }
+
+    @Test(dependsOnMethods = {"inMemoryAsyncSinkTestCase5"})
+    public void inMemoryTemplateTestCase1() throws InterruptedException {
+        log.info("Test inMemory sink with a dynamic topic built from several attributes");
+
+        List<Object> received = Collections.synchronizedList(new ArrayList<>());
+        InMemoryBroker.Subscriber subscriptionWSO2 = new InMemoryBroker.Subscriber() {
+            @Override
+            public void onMessage(Object msg) {
+                received.add(msg);
+            }
+
+            @Override
+            public String getTopic() {
+                return "stock-WSO2-100{x}";
+            }
+        };
+        InMemoryBroker.subscribe(subscriptionWSO2);
+
+        String streams = "" +
+                "@app:name('TestSiddhiApp')" +
+                "define stream FooStream (symbol string, price float, volume long); " +
+                "@sink(type='inMemory', topic='stock-{{symbol}}-{{volume}}{x}', @map(type='passThrough')) " +
+                "define stream BarStream (symbol string, price float, volume long); ";
+
+        String query = "" +
+                "from FooStream " +
+                "select * " +
+                "insert into BarStream; ";
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(streams + query);
+        InputHandler stockStream = siddhiAppRuntime.getInputHandler("FooStream");
+
+        siddhiAppRuntime.start();
+        stockStream.send(new Object[]{"WSO2", 55.6f, 100L});
+        stockStream.send(new Object[]{"IBM", 75.6f, 100L});
+        stockStream.send(new Object[]{"WSO2", 57.6f, 200L});
+        stockStream.send(new Object[]{"WSO2", 58.6f, 100L});
+        Thread.sleep(100);
+
+        AssertJUnit.assertEquals("Number of WSO2 events", 2, received.size());
+        siddhiAppRuntime.shutdown();
+        InMemoryBroker.unsubscribe(subscriptionWSO2);
+
+        StreamDefinition streamDefinition = StreamDefinition.id("FooStream")
+                .attribute("symbol", Attribute.Type.STRING)
+                .attribute("price", Attribute.Type.FLOAT)
+                .attribute("volume", Attribute.Type.LONG);
+        Event event = new Event(System.currentTimeMillis(), new Object[]{"WSO2", 55.6f, 100L});
+
+        TemplateBuilder constantTemplate = new TemplateBuilder(streamDefinition, "stock-{x}");
+        AssertJUnit.assertTrue(constantTemplate.isConstant());
+        AssertJUnit.assertEquals("stock-{x}", constantTemplate.build(event));
+        AssertJUnit.assertSame(constantTemplate.build(event), constantTemplate.build(event));
+
+        TemplateBuilder attributeTemplate = new TemplateBuilder(streamDefinition, "{{volume}}");
+        AssertJUnit.assertFalse(attributeTemplate.isConstant());
+        AssertJUnit.assertFalse(attributeTemplate.isObjectMessage());
+        AssertJUnit.assertEquals("100", attributeTemplate.build(event));
+
+        TemplateBuilder textTemplate = new TemplateBuilder(streamDefinition, "{{symbol}} at {{price}}");
+        AssertJUnit.assertFalse(textTemplate.isConstant());
+        AssertJUnit.assertEquals("WSO2 at 55.6", textTemplate.build(event));
+    }
 }
@@ -37,6 +37,9 @@ import org.testng.AssertJUnit;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -1075,4 +1078,50 @@ public class SessionWindowTestCase {
         siddhiAppRuntime.shutdown();
     }
 
+    @Test(description = "Check whether max is correct when sessions of different keys expire out of order")
+    public void testSessionWindow21() throws InterruptedException {
+        log.info("SessionWindow Test21: testing max with sessions expiring out of their arrival order");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String streams = ""
+                + "@app:playback "
+                + "define stream purchaseEventStream (user string, price double); ";
+
+        String query = ""
+                + "@info(name = 'query0') "
+                + "from purchaseEventStream#window.session(1 sec, user) "
+                + "select user, max(price) as maxPrice "
+                + "insert all events into outputStream;";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(streams + query);
+
+        List<Double> maxPrices = new ArrayList<>();
+        siddhiAppRuntime.addCallback("outputStream", new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                EventPrinter.print(events);
+                for (Event event : events) {
+                    if ("C".equals(event.getData(0))) {
+                        maxPrices.add((Double) event.getData(1));
+                    }
+                }
+            }
+        });
+
+        InputHandler purchaseEventStreamHandler = siddhiAppRuntime.getInputHandler("purchaseEventStream");
+        siddhiAppRuntime.start();
+
+        purchaseEventStreamHandler.send(1000, new Object[]{"A", 10.0});
+        purchaseEventStreamHandler.send(1100, new Object[]{"B", 5.0});
+        purchaseEventStreamHandler.send(1900, new Object[]{"A", 1.0});
+        purchaseEventStreamHandler.send(2500, new Object[]{"A", 1.0});
+        // Session of B expires before the one of A, although B's value arrived later
+        purchaseEventStreamHandler.send(4000, new Object[]{"C", 3.0});
+        purchaseEventStreamHandler.send(4100, new Object[]{"C", 2.0});
+
+        AssertJUnit.assertEquals(Arrays.asList(3.0, 3.0), maxPrices);
+        siddhiAppRuntime.shutdown();
+    }
+
 }
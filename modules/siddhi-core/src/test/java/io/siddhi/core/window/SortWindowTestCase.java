@@ -29,6 +29,10 @@ import org.testng.AssertJUnit;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 public class SortWindowTestCase {
     private static final Logger log = Logger.getLogger(SortWindowTestCase.class);
     private int inEventCount;
@@ -146,4 +150,72 @@ public class SortWindowTestCase {
         siddhiAppRuntime.shutdown();
 
     }
+
+    @Test
+    public void testSortWindow3() throws InterruptedException {
+        log.info("SortWindow test3 - expiry of equal events and joining in the sorted order");
+
+        SiddhiManager siddhiManager = new SiddhiManager();
+
+        String cseEventStream = "" +
+                "define stream cseEventStream (symbol string, volume long); " +
+                "define stream checkStream (limit long); " +
+                "define window cseEventWindow (symbol string, volume long) sort(3, volume, 'asc'); ";
+        String query = "" +
+                "@info(name = 'query0') " +
+                "from cseEventStream " +
+                "insert into cseEventWindow; " +
+                "" +
+                "@info(name = 'query1') " +
+                "from cseEventWindow " +
+                "select symbol " +
+                "insert expired events into expiredStream; " +
+                "" +
+                "@info(name = 'query2') " +
+                "from checkStream join cseEventWindow " +
+                "   on cseEventWindow.volume < checkStream.limit " +
+                "select symbol " +
+                "insert into joinedStream; ";
+
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(cseEventStream + query);
+        final List<Object> expiredSymbols = new ArrayList<>();
+        final List<Object> joinedSymbols = new ArrayList<>();
+        siddhiAppRuntime.addCallback("query1", new QueryCallback() {
+            @Override
+            public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+                EventPrinter.print(timestamp, inEvents, removeEvents);
+                if (removeEvents != null) {
+                    for (Event event : removeEvents) {
+                        expiredSymbols.add(event.getData(0));
+                    }
+                }
+            }
+        });
+        siddhiAppRuntime.addCallback("query2", new QueryCallback() {
+            @Override
+            public void receive(long timestamp, Event[] inEvents, Event[] removeEvents) {
+                EventPrinter.print(timestamp, inEvents, removeEvents);
+                if (inEvents != null) {
+                    for (Event event : inEvents) {
+                        joinedSymbols.add(event.getData(0));
+                    }
+                }
+            }
+        });
+
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        InputHandler checkHandler = siddhiAppRuntime.getInputHandler("checkStream");
+        siddhiAppRuntime.start();
+        inputHandler.send(new Object[]{"A", 10L});
+        inputHandler.send(new Object[]{"B", 30L});
+        inputHandler.send(new Object[]{"C", 30L});
+        inputHandler.send(new Object[]{"D", 20L});
+        inputHandler.send(new Object[]{"E", 30L});
+        inputHandler.send(new Object[]{"F", 5L});
+        checkHandler.send(new Object[]{25L});
+
+        AssertJUnit.assertEquals(Arrays.asList("C", "E", "B"), expiredSymbols);
+        AssertJUnit.assertEquals(Arrays.asList("F", "A", "D"), joinedSymbols);
+        siddhiAppRuntime.shutdown();
+    }
 }
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.siddhi.performance;
+
+import io.siddhi.core.SiddhiAppRuntime;
+import io.siddhi.core.SiddhiManager;
+import io.siddhi.core.exception.CannotRestoreSiddhiAppStateException;
+import io.siddhi.core.stream.input.InputHandler;
+import io.siddhi.core.util.snapshot.serializer.BinaryStateSerializer;
+import io.siddhi.core.util.snapshot.serializer.JavaStateSerializer;
+import io.siddhi.core.util.snapshot.serializer.StateSerializer;
+
+public class SnapshotSerializationPerformance {
+
+    private static final int WINDOW_SIZE = 1000000;
+    private static final int ITERATIONS = 5;
+
+    public static void main(String[] args) throws InterruptedException, CannotRestoreSiddhiAppStateException {
+        String siddhiApp = "" +
+                "define stream cseEventStream (symbol string, price float, volume int, timestamp long);" +
+                "" +
+                "@info(name = 'query1') " +
+                "from cseEventStream#window.length(" + WINDOW_SIZE + ") " +
+                "select symbol, sum(price) as total, avg(volume) as avgVolume, timestamp " +
+                "group by symbol " +
+                "insert into outputStream ;";
+
+        run("Java", new JavaStateSerializer(), siddhiApp);
+        run("Binary", new BinaryStateSerializer(), siddhiApp);
+        run("Binary with Deflate", new BinaryStateSerializer(true), siddhiApp);
+    }
+
+    private static void run(String name, StateSerializer stateSerializer, String siddhiApp)
+            throws InterruptedException, CannotRestoreSiddhiAppStateException {
+        SiddhiManager siddhiManager = new SiddhiManager();
+        siddhiManager.setStateSerializer(stateSerializer);
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(siddhiApp);
+        InputHandler inputHandler = siddhiAppRuntime.getInputHandler("cseEventStream");
+        siddhiAppRuntime.start();
+        for (int i = 0; i < WINDOW_SIZE; i++) {
+            inputHandler.send(new Object[]{"SYM" + (i % 100), 55.6f + i % 10, i, System.currentTimeMillis()});
+        }
+
+        long snapshotTime = 0;
+        long restoreTime = 0;
+        byte[] snapshot = null;
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            snapshot = siddhiAppRuntime.snapshot();
+            snapshotTime += System.nanoTime() - start;
+            start = System.nanoTime();
+            siddhiAppRuntime.restore(snapshot);
+            restoreTime += System.nanoTime() - start;
+        }
+        System.out.println(name + " serializer, snapshot size : " + snapshot.length + " bytes, snapshot time : " +
+                (snapshotTime / ITERATIONS / 1000000) + " ms, restore time : " +
+                (restoreTime / ITERATIONS / 1000000) + " ms");
+        siddhiManager.shutdown();
+    }
+}